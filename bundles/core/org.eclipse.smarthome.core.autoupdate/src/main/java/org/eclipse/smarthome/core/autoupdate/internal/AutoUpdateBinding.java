@@ -13,10 +13,12 @@ import java.util.concurrent.CopyOnWriteArraySet;
 import org.eclipse.smarthome.core.autoupdate.AutoUpdateBindingConfigProvider;
 import org.eclipse.smarthome.core.events.AbstractEventSubscriber;
 import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.events.ItemEventFilter;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.EventType;
 import org.eclipse.smarthome.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +39,8 @@ import org.slf4j.LoggerFactory;
  */
 public class AutoUpdateBinding extends AbstractEventSubscriber {
 
+    private static final ItemEventFilter COMMAND_FILTER = ItemEventFilter.forEventTypes(EventType.COMMAND);
+
     private final Logger logger = LoggerFactory.getLogger(AutoUpdateBinding.class);
 
     protected ItemRegistry itemRegistry;
@@ -70,6 +74,11 @@ public class AutoUpdateBinding extends AbstractEventSubscriber {
         this.itemRegistry = null;
     }
 
+    @Override
+    public ItemEventFilter getItemEventFilter() {
+        return COMMAND_FILTER;
+    }
+
     /**
      * <p>
      * Iterates through all registered {@link AutoUpdateBindingConfigProvider}s and checks whether an autoupdate
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@link BenchmarkRunner} runs the benchmarks of this module and writes the results as JSON, so that the results
+ * of two builds can be compared.
+ * <p>
+ * Usage: {@code java -jar benchmarks.jar [include regex] [result file]}. By default all benchmarks are run and the
+ * results are written to {@value #DEFAULT_RESULT_FILE}. The parameters of a benchmark can be narrowed with the usual
+ * JMH command line, e.g. {@code java -cp benchmarks.jar org.openjdk.jmh.Main CommandPath -p itemCount=1000}.
+ *
+ * @author agent - Initial contribution
+ */
+public final class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "benchmark-results.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT_FILE;
+        Options options = new OptionsBuilder().include(include).resultFormat(ResultFormatType.JSON)
+                .result(resultFile).build();
+        new Runner(options).run();
+    }
+
+}
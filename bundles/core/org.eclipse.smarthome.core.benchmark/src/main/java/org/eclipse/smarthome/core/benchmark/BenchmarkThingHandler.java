@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * The {@link BenchmarkThingHandler} counts the received commands and allows the benchmarks to report channel states
+ * like a binding does.
+ *
+ * @author agent - Initial contribution
+ */
+public class BenchmarkThingHandler extends BaseThingHandler {
+
+    private final AtomicLong handledCommands;
+
+    /**
+     * Creates a new handler.
+     *
+     * @param thing thing (must not be null)
+     * @param handledCommands counter of all handled commands, which might be shared between handlers (must not be
+     *            null)
+     */
+    public BenchmarkThingHandler(Thing thing, AtomicLong handledCommands) {
+        super(thing);
+        this.handledCommands = handledCommands;
+    }
+
+    @Override
+    public void handleCommand(ChannelUID channelUID, Command command) {
+        handledCommands.incrementAndGet();
+    }
+
+    /**
+     * Reports the state of a channel to the framework.
+     *
+     * @param channelUID channel UID (must not be null)
+     * @param state state (must not be null)
+     */
+    public void publishState(ChannelUID channelUID, State state) {
+        updateState(channelUID, state);
+    }
+
+}
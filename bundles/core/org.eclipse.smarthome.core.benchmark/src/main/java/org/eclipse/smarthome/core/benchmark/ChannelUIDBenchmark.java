@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations on {@link ChannelUID}s, which the routing does for every event: parsing the source of an
+ * event, comparing it, using it as map key and deriving the {@link ThingUID}.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelUIDBenchmark {
+
+    private static final int CHANNEL_COUNT = 1000;
+
+    private String[] channelUIDStrings;
+
+    private ChannelUID[] channelUIDs;
+
+    private Map<ChannelUID, String> channelMap;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        ThingTypeUID thingTypeUID = new ThingTypeUID("benchmark", "device");
+        channelUIDStrings = new String[CHANNEL_COUNT];
+        channelUIDs = new ChannelUID[CHANNEL_COUNT];
+        channelMap = new HashMap<>();
+        for (int i = 0; i < CHANNEL_COUNT; i++) {
+            ChannelUID channelUID = new ChannelUID(new ThingUID(thingTypeUID, "thing" + i / 10), "channel" + i % 10);
+            channelUIDs[i] = channelUID;
+            channelUIDStrings[i] = channelUID.toString();
+            channelMap.put(channelUID, channelUIDStrings[i]);
+        }
+    }
+
+    @Benchmark
+    public ChannelUID parse() {
+        return new ChannelUID(channelUIDStrings[nextIndex()]);
+    }
+
+    @Benchmark
+    public String toStringOfChannelUID() {
+        return channelUIDs[nextIndex()].toString();
+    }
+
+    @Benchmark
+    public boolean sourceEquals() {
+        int index = nextIndex();
+        return channelUIDs[index].toString().equals(channelUIDStrings[index]);
+    }
+
+    @Benchmark
+    public String mapLookupOfParsed() {
+        return channelMap.get(new ChannelUID(channelUIDStrings[nextIndex()]));
+    }
+
+    @Benchmark
+    public ThingUID getThingUID() {
+        return channelUIDs[nextIndex()].getThingUID();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % CHANNEL_COUNT;
+        return next;
+    }
+
+}
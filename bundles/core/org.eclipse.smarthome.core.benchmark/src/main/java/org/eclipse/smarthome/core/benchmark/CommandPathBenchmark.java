@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-to-end command path: a command is sent through the {@link EventPublisher}, routed by the
+ * {@code ThingManager} through the links of the item and handled by the thing handlers. Each invocation waits until
+ * all linked handlers have handled the command, so the sample time is the latency of the whole path.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandPathBenchmark {
+
+    private static final int CHANNELS_PER_THING = 10;
+
+    @Param({ "100", "1000", "10000" })
+    public int itemCount;
+
+    @Param({ "1", "4" })
+    public int linksPerItem;
+
+    private SmartHomeFixture fixture;
+
+    private EventPublisher eventPublisher;
+
+    private String[] itemNames;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        int channelCount = itemCount * linksPerItem;
+        List<Thing> things = new ArrayList<>();
+        for (int i = 0; i * CHANNELS_PER_THING < channelCount; i++) {
+            things.add(SmartHomeFixture.createThing("thing" + i, CHANNELS_PER_THING, "Switch"));
+        }
+        List<Item> items = new ArrayList<>(itemCount);
+        List<ItemChannelLink> links = new ArrayList<>(channelCount);
+        itemNames = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemNames[i] = "Switch_" + i;
+            items.add(new SwitchItem(itemNames[i]));
+            for (int j = 0; j < linksPerItem; j++) {
+                // spread the links of an item over several things
+                int channel = j * itemCount + i;
+                Thing thing = things.get(channel / CHANNELS_PER_THING);
+                links.add(new ItemChannelLink(itemNames[i], thing.getChannels().get(channel % CHANNELS_PER_THING)
+                        .getUID()));
+            }
+        }
+        fixture = new SmartHomeFixture(items, things, links);
+        eventPublisher = fixture.getEventPublisher();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public long sendCommand() {
+        next = (next + 1) % itemNames.length;
+        long expectedCommands = fixture.getHandledCommands() + linksPerItem;
+        eventPublisher.sendCommand(itemNames[next], next % 2 == 0 ? OnOffType.ON : OnOffType.OFF);
+        long handledCommands;
+        while ((handledCommands = fixture.getHandledCommands()) < expectedCommands) {
+            Thread.yield();
+        }
+        return handledCommands;
+    }
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.smarthome.core.common.registry.AbstractProvider;
+
+/**
+ * The {@link ElementProvider} provides a fixed collection of elements to a registry.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <E> type of the elements
+ */
+public class ElementProvider<E> extends AbstractProvider<E> {
+
+    private final List<E> elements;
+
+    /**
+     * Creates a new provider.
+     *
+     * @param elements elements (must not be null)
+     */
+    public ElementProvider(Collection<? extends E> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    @Override
+    public Collection<E> getAll() {
+        return elements;
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.ArithmeticGroupFunction;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the recomputation of the state of a {@link GroupItem}, when the state of one of its members is updated.
+ * The group and its members are registered in the item registry, so that the memberships are set up like at runtime.
+ *
+ * @author agent - Initial contribution
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupAggregationBenchmark {
+
+    private static final String GROUP_NAME = "Group";
+
+    @Param({ "10", "100", "1000" })
+    public int memberCount;
+
+    @Param({ "AVG", "SUM", "MAX", "OR" })
+    public String function;
+
+    private SmartHomeFixture fixture;
+
+    private GroupItem group;
+
+    private GenericItem[] members;
+
+    private State[] states;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        boolean switches = function.equals("OR");
+        List<Item> items = new ArrayList<>(memberCount + 1);
+        members = new GenericItem[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            GenericItem member = switches ? new SwitchItem("Switch_" + i) : new NumberItem("Number_" + i);
+            member.addGroupName(GROUP_NAME);
+            members[i] = member;
+            items.add(member);
+        }
+        group = new GroupItem(GROUP_NAME, switches ? new SwitchItem("Base") : new NumberItem("Base"),
+                createFunction());
+        items.add(group);
+        states = switches ? new State[] { OnOffType.ON, OnOffType.OFF } : new State[] { new DecimalType(10),
+                new DecimalType(20) };
+        for (int i = 0; i < memberCount; i++) {
+            members[i].setState(states[i % 2]);
+        }
+        fixture = new SmartHomeFixture(items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public State updateMember() {
+        next = (next + 1) % members.length;
+        GenericItem member = members[next];
+        member.setState(member.getState().equals(states[0]) ? states[1] : states[0]);
+        return group.getState();
+    }
+
+    private GroupFunction createFunction() {
+        switch (function) {
+            case "AVG":
+                return new ArithmeticGroupFunction.Avg();
+            case "SUM":
+                return new ArithmeticGroupFunction.Sum();
+            case "MAX":
+                return new ArithmeticGroupFunction.Max();
+            case "OR":
+                return new ArithmeticGroupFunction.Or(OnOffType.ON, OnOffType.OFF);
+            default:
+                throw new IllegalArgumentException("Unknown group function '" + function + "'.");
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookups of the {@link ItemRegistry} by name, type and tag, which are done on every event.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRegistryBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int itemCount;
+
+    private SmartHomeFixture fixture;
+
+    private ItemRegistry itemRegistry;
+
+    private String[] itemNames;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<Item> items = new ArrayList<>(itemCount);
+        itemNames = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            GenericItem item = i % 2 == 0 ? new NumberItem("Number_" + i) : new SwitchItem("Switch_" + i);
+            item.addTag("tag" + (i % 10));
+            items.add(item);
+            itemNames[i] = item.getName();
+        }
+        fixture = new SmartHomeFixture(items);
+        itemRegistry = fixture.getItemRegistry();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public Item getItem() throws ItemNotFoundException {
+        return itemRegistry.getItem(nextItemName());
+    }
+
+    @Benchmark
+    public Item get() {
+        return itemRegistry.get(nextItemName());
+    }
+
+    @Benchmark
+    public Collection<Item> getItemsOfType() {
+        return itemRegistry.getItemsOfType("Switch");
+    }
+
+    @Benchmark
+    public Collection<Item> getItemsByTag() {
+        return itemRegistry.getItemsByTag("tag3");
+    }
+
+    private String nextItemName() {
+        next = (next + 1) % itemNames.length;
+        return itemNames[next];
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link GenericItem#setState(State)} with a varying number of state change listeners.
+ *
+ * @author agent - Initial contribution
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemStateBenchmark {
+
+    private static final State[] STATES = { new DecimalType(1), new DecimalType(2) };
+
+    @Param({ "0", "1", "10", "100" })
+    public int listenerCount;
+
+    private NumberItem item;
+
+    private int next;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        item = new NumberItem("Number");
+        for (int i = 0; i < listenerCount; i++) {
+            item.addStateChangeListener(new StateChangeListener() {
+                @Override
+                public void stateChanged(Item item, State oldState, State newState) {
+                    blackhole.consume(newState);
+                }
+
+                @Override
+                public void stateUpdated(Item item, State state) {
+                    blackhole.consume(state);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void setState() {
+        next ^= 1;
+        item.setState(STATES[next]);
+    }
+
+}
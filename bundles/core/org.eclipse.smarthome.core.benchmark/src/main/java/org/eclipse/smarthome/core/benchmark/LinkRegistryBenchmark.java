@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookups of the {@link ItemChannelLinkRegistry}, which route every command, update and channel state.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkRegistryBenchmark {
+
+    private static final int CHANNELS_PER_THING = 10;
+
+    @Param({ "1000", "20000" })
+    public int linkCount;
+
+    private SmartHomeFixture fixture;
+
+    private ItemChannelLinkRegistry itemChannelLinkRegistry;
+
+    private ItemChannelLink[] links;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<Thing> things = new ArrayList<>();
+        List<ItemChannelLink> links = new ArrayList<>(linkCount);
+        for (int i = 0; i < linkCount / CHANNELS_PER_THING; i++) {
+            Thing thing = SmartHomeFixture.createThing("thing" + i, CHANNELS_PER_THING, "Switch");
+            things.add(thing);
+            for (int j = 0; j < CHANNELS_PER_THING; j++) {
+                links.add(new ItemChannelLink("Item_" + i + "_" + j, thing.getChannels().get(j).getUID()));
+            }
+        }
+        this.links = links.toArray(new ItemChannelLink[links.size()]);
+        fixture = new SmartHomeFixture(Collections.<Item> emptyList(), things, links);
+        itemChannelLinkRegistry = fixture.getItemChannelLinkRegistry();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public Set<ChannelUID> getBoundChannels() {
+        return itemChannelLinkRegistry.getBoundChannels(nextLink().getItemName());
+    }
+
+    @Benchmark
+    public Set<String> getLinkedItems() {
+        return itemChannelLinkRegistry.getLinkedItems(nextLink().getUID());
+    }
+
+    @Benchmark
+    public boolean isLinked() {
+        ItemChannelLink link = nextLink();
+        return itemChannelLinkRegistry.isLinked(link.getItemName(), link.getUID());
+    }
+
+    @Benchmark
+    public ItemChannelLink getById() {
+        return itemChannelLinkRegistry.get(nextLink().getID());
+    }
+
+    private ItemChannelLink nextLink() {
+        next = (next + 1) % links.length;
+        return links[next];
+    }
+
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.internal.events.EventPublisherImpl;
+import org.eclipse.smarthome.core.internal.items.ItemRegistryImpl;
+import org.eclipse.smarthome.core.internal.items.ItemUpdater;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.core.thing.internal.ThingManager;
+import org.eclipse.smarthome.core.thing.internal.ThingRegistryImpl;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
+import org.eclipse.smarthome.core.thing.link.ItemThingLink;
+import org.eclipse.smarthome.core.thing.link.ItemThingLinkRegistry;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+
+/**
+ * The {@link SmartHomeFixture} wires the core services of the item and thing event path like the declarative services
+ * do, but without an <i>OSGi</i> framework: the {@link ItemRegistryImpl}, the {@link EventPublisherImpl} with the
+ * {@link ItemUpdater} and the {@link ThingManager} as item event handlers, the {@link ThingRegistryImpl} and the link
+ * registries. The items, things and links are provided by fixed providers. Every thing gets a
+ * {@link BenchmarkThingHandler}. The <i>OSGi Event Admin</i> discards all events.
+ *
+ * @author agent - Initial contribution
+ */
+public class SmartHomeFixture {
+
+    public static final ThingTypeUID THING_TYPE_UID = new ThingTypeUID("benchmark", "device");
+
+    private final FixtureEventPublisher eventPublisher = new FixtureEventPublisher();
+
+    private final FixtureItemRegistry itemRegistry;
+
+    private final ItemUpdater itemUpdater = new ItemUpdater();
+
+    private final FixtureThingRegistry thingRegistry;
+
+    private final FixtureItemChannelLinkRegistry itemChannelLinkRegistry;
+
+    private final FixtureItemThingLinkRegistry itemThingLinkRegistry;
+
+    private final FixtureThingManager thingManager = new FixtureThingManager();
+
+    private final Map<ThingUID, BenchmarkThingHandler> handlers = new ConcurrentHashMap<>();
+
+    private final AtomicLong handledCommands = new AtomicLong();
+
+    /**
+     * Creates a fixture with items only.
+     *
+     * @param items items (must not be null)
+     */
+    public SmartHomeFixture(Collection<? extends Item> items) {
+        this(items, Collections.<Thing> emptyList(), Collections.<ItemChannelLink> emptyList());
+    }
+
+    /**
+     * Creates a fixture and activates all services.
+     *
+     * @param items items (must not be null)
+     * @param things things (must not be null)
+     * @param links links between the items and the channels of the things (must not be null)
+     */
+    public SmartHomeFixture(Collection<? extends Item> items, Collection<? extends Thing> things,
+            Collection<ItemChannelLink> links) {
+        eventPublisher.setEventAdmin(new DiscardingEventAdmin());
+        eventPublisher.activate();
+        itemRegistry = new FixtureItemRegistry(eventPublisher, items);
+        eventPublisher.setItemRegistry(itemRegistry);
+        itemUpdater.setItemRegistry(itemRegistry);
+        eventPublisher.addItemEventHandler(itemUpdater);
+
+        thingRegistry = new FixtureThingRegistry(things);
+        itemChannelLinkRegistry = new FixtureItemChannelLinkRegistry(thingRegistry, links);
+        itemThingLinkRegistry = new FixtureItemThingLinkRegistry();
+
+        thingManager.activate(eventPublisher, itemRegistry, thingRegistry, itemChannelLinkRegistry,
+                itemThingLinkRegistry);
+        for (Thing thing : things) {
+            BenchmarkThingHandler handler = new BenchmarkThingHandler(thing, handledCommands);
+            thingManager.handlerAdded(thing, handler);
+            handlers.put(thing.getUID(), handler);
+        }
+        eventPublisher.addItemEventHandler(thingManager);
+    }
+
+    /**
+     * Creates a thing of the type {@link #THING_TYPE_UID} with the channels {@code channel0} to
+     * {@code channel<n-1>}.
+     *
+     * @param thingId ID of the thing (must not be null)
+     * @param channelCount number of channels
+     * @param acceptedItemType item type of the channels (must not be null)
+     * @return thing (not null)
+     */
+    public static Thing createThing(String thingId, int channelCount, String acceptedItemType) {
+        ThingUID thingUID = new ThingUID(THING_TYPE_UID, thingId);
+        List<Channel> channels = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            channels.add(ChannelBuilder.create(new ChannelUID(thingUID, "channel" + i), acceptedItemType).build());
+        }
+        return ThingBuilder.create(thingUID).withChannels(channels).build();
+    }
+
+    public ItemRegistry getItemRegistry() {
+        return itemRegistry;
+    }
+
+    public EventPublisher getEventPublisher() {
+        return eventPublisher;
+    }
+
+    public ItemChannelLinkRegistry getItemChannelLinkRegistry() {
+        return itemChannelLinkRegistry;
+    }
+
+    /**
+     * Returns the handler of a thing.
+     *
+     * @param thingUID thing UID (must not be null)
+     * @return handler or null if the thing does not exist
+     */
+    public BenchmarkThingHandler getHandler(ThingUID thingUID) {
+        return handlers.get(thingUID);
+    }
+
+    /**
+     * Returns the number of commands, which have been handled by all handlers.
+     *
+     * @return number of handled commands
+     */
+    public long getHandledCommands() {
+        return handledCommands.get();
+    }
+
+    /**
+     * Deactivates all services and stops their threads.
+     */
+    public void shutdown() {
+        eventPublisher.removeItemEventHandler(thingManager);
+        thingManager.deactivate();
+        eventPublisher.removeItemEventHandler(itemUpdater);
+        eventPublisher.deactivate();
+    }
+
+    private static class DiscardingEventAdmin implements EventAdmin {
+
+        @Override
+        public void postEvent(Event event) {
+        }
+
+        @Override
+        public void sendEvent(Event event) {
+        }
+    }
+
+    private static class FixtureEventPublisher extends EventPublisherImpl {
+
+        @Override
+        protected void activate() {
+            super.activate();
+        }
+
+        @Override
+        protected void deactivate() {
+            super.deactivate();
+        }
+    }
+
+    private static class FixtureItemRegistry extends ItemRegistryImpl {
+
+        FixtureItemRegistry(EventPublisher eventPublisher, Collection<? extends Item> items) {
+            setEventPublisher(eventPublisher);
+            addProvider(new ElementProvider<Item>(items));
+        }
+    }
+
+    private static class FixtureThingRegistry extends ThingRegistryImpl {
+
+        FixtureThingRegistry(Collection<? extends Thing> things) {
+            addProvider(new ElementProvider<Thing>(things));
+        }
+    }
+
+    private static class FixtureItemChannelLinkRegistry extends ItemChannelLinkRegistry {
+
+        FixtureItemChannelLinkRegistry(ThingRegistryImpl thingRegistry, Collection<ItemChannelLink> links) {
+            setThingRegistry(thingRegistry);
+            addProvider(new ElementProvider<ItemChannelLink>(links));
+        }
+    }
+
+    private static class FixtureItemThingLinkRegistry extends ItemThingLinkRegistry {
+
+        FixtureItemThingLinkRegistry() {
+            addProvider(new ElementProvider<ItemThingLink>(Collections.<ItemThingLink> emptyList()));
+        }
+    }
+
+    private static class FixtureThingManager extends ThingManager {
+
+        void activate(EventPublisher eventPublisher, ItemRegistry itemRegistry, ThingRegistryImpl thingRegistry,
+                ItemChannelLinkRegistry itemChannelLinkRegistry, ItemThingLinkRegistry itemThingLinkRegistry) {
+            setEventPublisher(eventPublisher);
+            setItemRegistry(itemRegistry);
+            setThingRegistry(thingRegistry);
+            setItemChannelLinkRegistry(itemChannelLinkRegistry);
+            setItemThingLinkRegistry(itemThingLinkRegistry);
+            activate(StandaloneComponentContext.create());
+        }
+
+        void deactivate() {
+            deactivate(null);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Hashtable;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.service.component.ComponentContext;
+
+/**
+ * The {@link StandaloneComponentContext} creates a {@link ComponentContext} for components, which are activated
+ * without an <i>OSGi</i> framework. Its {@link BundleContext} knows no services, so that service trackers stay empty,
+ * and creates filters through {@link FrameworkUtil}. All other methods do nothing and return default values.
+ *
+ * @author agent - Initial contribution
+ */
+public final class StandaloneComponentContext {
+
+    private StandaloneComponentContext() {
+    }
+
+    /**
+     * Creates a new component context.
+     *
+     * @return component context (not null)
+     */
+    public static ComponentContext create() {
+        final BundleContext bundleContext = createProxy(BundleContext.class, new DefaultValueHandler() {
+            @Override
+            protected Object invoke(Method method, Object[] args) throws Exception {
+                if (method.getName().equals("createFilter")) {
+                    return FrameworkUtil.createFilter((String) args[0]);
+                }
+                return super.invoke(method, args);
+            }
+        });
+        return createProxy(ComponentContext.class, new DefaultValueHandler() {
+            @Override
+            protected Object invoke(Method method, Object[] args) throws Exception {
+                if (method.getName().equals("getBundleContext")) {
+                    return bundleContext;
+                } else if (method.getName().equals("getProperties")) {
+                    return new Hashtable<String, Object>();
+                }
+                return super.invoke(method, args);
+            }
+        });
+    }
+
+    private static <T> T createProxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StandaloneComponentContext.class.getClassLoader(),
+                new Class<?>[] { type }, handler));
+    }
+
+    private static class DefaultValueHandler implements InvocationHandler {
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return proxy.getClass().getName();
+                }
+            }
+            return invoke(method, args);
+        }
+
+        protected Object invoke(Method method, Object[] args) throws Exception {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            } else if (returnType == int.class) {
+                return 0;
+            } else if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+
+}
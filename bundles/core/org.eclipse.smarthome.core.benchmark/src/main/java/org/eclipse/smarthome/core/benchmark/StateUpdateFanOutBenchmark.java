@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.types.State;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the fan-out of a channel state: a thing handler reports the state of a channel, which is linked to many
+ * items. The state is posted as update for each linked item and set by the {@code ItemUpdater}. Each invocation waits
+ * until all linked items have been updated.
+ *
+ * @author agent - Initial contribution
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateUpdateFanOutBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int fanOut;
+
+    private final AtomicLong itemUpdates = new AtomicLong();
+
+    private SmartHomeFixture fixture;
+
+    private BenchmarkThingHandler handler;
+
+    private ChannelUID channelUID;
+
+    private long value;
+
+    @Setup
+    public void setup() {
+        Thing thing = SmartHomeFixture.createThing("thing", 1, "Number");
+        channelUID = thing.getChannels().get(0).getUID();
+        StateChangeListener updateCounter = new StateChangeListener() {
+            @Override
+            public void stateChanged(Item item, State oldState, State newState) {
+            }
+
+            @Override
+            public void stateUpdated(Item item, State state) {
+                itemUpdates.incrementAndGet();
+            }
+        };
+        List<Item> items = new ArrayList<>(fanOut);
+        List<ItemChannelLink> links = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            NumberItem item = new NumberItem("Number_" + i);
+            item.addStateChangeListener(updateCounter);
+            items.add(item);
+            links.add(new ItemChannelLink(item.getName(), channelUID));
+        }
+        fixture = new SmartHomeFixture(items, Collections.singletonList(thing), links);
+        handler = fixture.getHandler(thing.getUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.shutdown();
+    }
+
+    @Benchmark
+    public long publishState() {
+        long expectedUpdates = itemUpdates.get() + fanOut;
+        handler.publishState(channelUID, new DecimalType(++value));
+        long updates;
+        while ((updates = itemUpdates.get()) < expectedUpdates) {
+            Thread.yield();
+        }
+        return updates;
+    }
+
+}
@@ -15,6 +15,7 @@ import junit.framework.Assert;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
@@ -201,6 +202,52 @@ public class ArithmeticGroupFunctionTest {
         Assert.assertEquals(new DecimalType("234.95"), state);
     }
 
+    @Test
+    public void testAggregatesMatchCalculation() {
+        TestItem item1 = new TestItem("TestItem1", new DecimalType("23.54"));
+        TestItem item2 = new TestItem("TestItem2", UnDefType.NULL);
+        TestItem item3 = new TestItem("TestItem3", new DecimalType("89"));
+        items.add(item1);
+        items.add(item2);
+        items.add(item3);
+
+        State[][] updates = { { OpenClosedType.OPEN, null, null }, { null, new DecimalType("-7.125"), null },
+                { new DecimalType("5"), null, OpenClosedType.OPEN }, { UnDefType.UNDEF, OpenClosedType.OPEN, null },
+                { OpenClosedType.OPEN, OpenClosedType.OPEN, OpenClosedType.OPEN },
+                { new DecimalType("1.5"), new DecimalType("1.5"), new DecimalType("3") },
+                // equal values of different scale
+                { new DecimalType("5"), new DecimalType("5.0"), new DecimalType("5.00") },
+                { null, new DecimalType("7"), null }, { null, new DecimalType("5.000"), null },
+                { new DecimalType("6"), null, null }, { new DecimalType("5.0"), null, null } };
+
+        IncrementalGroupFunction[] functions = { new ArithmeticGroupFunction.And(OpenClosedType.OPEN,
+                OpenClosedType.CLOSED), new ArithmeticGroupFunction.Or(OpenClosedType.OPEN, OpenClosedType.CLOSED),
+                new ArithmeticGroupFunction.NAnd(OpenClosedType.OPEN, OpenClosedType.CLOSED),
+                new ArithmeticGroupFunction.NOr(OpenClosedType.OPEN, OpenClosedType.CLOSED),
+                new ArithmeticGroupFunction.Avg(), new ArithmeticGroupFunction.Sum(),
+                new ArithmeticGroupFunction.Min(), new ArithmeticGroupFunction.Max(),
+                new ArithmeticGroupFunction.Count(new StringType("OPEN")), new GroupFunction.Equality() };
+
+        for (IncrementalGroupFunction function : functions) {
+            item1.setState(new DecimalType("23.54"));
+            item2.setState(UnDefType.NULL);
+            item3.setState(new DecimalType("89"));
+            IncrementalGroupFunction.Aggregate aggregate = function.createAggregate(items);
+            Assert.assertEquals(function.calculate(items), aggregate.getState());
+
+            for (State[] update : updates) {
+                TestItem[] members = { item1, item2, item3 };
+                for (int i = 0; i < members.length; i++) {
+                    if (update[i] != null) {
+                        members[i].setState(update[i]);
+                        aggregate.memberUpdated(members[i]);
+                    }
+                }
+                Assert.assertEquals(function.calculate(items), aggregate.getState());
+            }
+        }
+    }
+
     class TestItem extends GenericItem {
 
         public TestItem(String name, State state) {
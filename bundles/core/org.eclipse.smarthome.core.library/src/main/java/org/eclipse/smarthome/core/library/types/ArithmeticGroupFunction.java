@@ -9,11 +9,14 @@ package org.eclipse.smarthome.core.library.types;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
 import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
@@ -21,12 +24,152 @@ import org.eclipse.smarthome.core.types.UnDefType;
 /**
  * This interface is only a container for functions that require the core type library
  * for its calculations.
+ * <p>
+ * All functions are {@link IncrementalGroupFunction}s, so that a group only has to apply the change of a single member
+ * instead of looking at all members again.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
  */
 public interface ArithmeticGroupFunction extends GroupFunction {
 
+    /**
+     * Counts the members, whose state is equal to the active state.
+     */
+    abstract static class ActiveStateAggregate extends IncrementalGroupFunction.AbstractAggregate<Boolean> {
+
+        private final State activeState;
+        private int activeCount = 0;
+
+        ActiveStateAggregate(State activeState) {
+            this.activeState = activeState;
+        }
+
+        protected int getActiveCount() {
+            return activeCount;
+        }
+
+        @Override
+        protected Boolean getContribution(Item member) {
+            return activeState.equals(member.getState());
+        }
+
+        @Override
+        protected void add(Boolean active) {
+            if (active) {
+                activeCount++;
+            }
+        }
+
+        @Override
+        protected void remove(Boolean active) {
+            if (active) {
+                activeCount--;
+            }
+        }
+    }
+
+    /**
+     * Base class for aggregates over the decimal states of the members. Members without a decimal state do not
+     * contribute.
+     */
+    abstract static class DecimalAggregate extends IncrementalGroupFunction.AbstractAggregate<BigDecimal> {
+
+        @Override
+        protected BigDecimal getContribution(Item member) {
+            DecimalType state = (DecimalType) member.getStateAs(DecimalType.class);
+            return state != null ? state.toBigDecimal() : null;
+        }
+    }
+
+    /**
+     * Keeps the running sum and the number of decimal states. The scales of the contributions are counted, so that the
+     * sum has exactly the scale it would have if all current states were added up again.
+     */
+    abstract static class SumAggregate extends DecimalAggregate {
+
+        private BigDecimal sum = BigDecimal.ZERO;
+        private int count = 0;
+        private final TreeMap<Integer, Integer> scaleCounts = new TreeMap<>();
+
+        protected BigDecimal getSum() {
+            int scale = scaleCounts.isEmpty() ? 0 : Math.max(0, scaleCounts.lastKey());
+            return sum.setScale(scale, RoundingMode.UNNECESSARY);
+        }
+
+        protected int getCount() {
+            return count;
+        }
+
+        @Override
+        protected void add(BigDecimal value) {
+            if (value != null) {
+                sum = sum.add(value);
+                count++;
+                Counts.increment(scaleCounts, value.scale());
+            }
+        }
+
+        @Override
+        protected void remove(BigDecimal value) {
+            if (value != null) {
+                sum = sum.subtract(value);
+                count--;
+                Counts.decrement(scaleCounts, value.scale());
+            }
+        }
+    }
+
+    /**
+     * Keeps the decimal states of the members sorted, so that the minimum and the maximum are available at any time.
+     */
+    abstract static class ValueCountAggregate extends DecimalAggregate {
+
+        private final TreeMap<BigDecimal, Integer> valueCounts = new TreeMap<>();
+
+        protected TreeMap<BigDecimal, Integer> getValueCounts() {
+            return valueCounts;
+        }
+
+        @Override
+        protected void add(BigDecimal value) {
+            if (value != null) {
+                Counts.increment(valueCounts, value);
+            }
+        }
+
+        @Override
+        protected void remove(BigDecimal value) {
+            if (value != null) {
+                Counts.decrement(valueCounts, value);
+            }
+        }
+    }
+
+    /**
+     * Helper for the counting maps of the aggregates.
+     */
+    static final class Counts {
+
+        private Counts() {
+        }
+
+        static <K> void increment(Map<K, Integer> counts, K key) {
+            Integer count = counts.get(key);
+            counts.put(key, count == null ? 1 : count + 1);
+        }
+
+        static <K> void decrement(Map<K, Integer> counts, K key) {
+            Integer count = counts.get(key);
+            if (count != null && count > 1) {
+                counts.put(key, count - 1);
+            } else {
+                counts.remove(key);
+            }
+        }
+    }
+
+
     /**
      * This does a logical 'and' operation. Only if all items are of 'activeState' this
      * is returned, otherwise the 'passiveState' is returned.
@@ -37,7 +180,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class And implements GroupFunction {
+    static class And implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -68,6 +211,26 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new ActiveStateAggregate(activeState) {
+                @Override
+                public State getState() {
+                    return calculate(getMemberCount(), getActiveCount());
+                }
+            }.addMembers(items);
+        }
+
+        /**
+         * Calculates the group state out of the number of members and the number of members in the active state.
+         */
+        protected State calculate(int memberCount, int activeCount) {
+            return memberCount > 0 && activeCount == memberCount ? activeState : passiveState;
+        }
+
         /**
          * @{inheritDoc
          */
@@ -113,7 +276,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Or implements GroupFunction {
+    static class Or implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -141,6 +304,26 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return passiveState;
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new ActiveStateAggregate(activeState) {
+                @Override
+                public State getState() {
+                    return calculate(getActiveCount());
+                }
+            }.addMembers(items);
+        }
+
+        /**
+         * Calculates the group state out of the number of members in the active state.
+         */
+        protected State calculate(int activeCount) {
+            return activeCount > 0 ? activeState : passiveState;
+        }
+
         /**
          * @{inheritDoc
          */
@@ -192,6 +375,12 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        protected State calculate(int memberCount, int activeCount) {
+            State result = super.calculate(memberCount, activeCount);
+            return result.equals(activeState) ? passiveState : activeState;
+        }
+
     }
 
     /**
@@ -215,6 +404,12 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        protected State calculate(int activeCount) {
+            State result = super.calculate(activeCount);
+            return result.equals(activeState) ? passiveState : activeState;
+        }
+
     }
 
     /**
@@ -223,7 +418,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Avg implements GroupFunction {
+    static class Avg implements IncrementalGroupFunction {
 
         public Avg() {
         }
@@ -251,6 +446,23 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new SumAggregate() {
+                @Override
+                public State getState() {
+                    if (getCount() > 0) {
+                        return new DecimalType(getSum().divide(new BigDecimal(getCount()), RoundingMode.HALF_UP));
+                    } else {
+                        return UnDefType.UNDEF;
+                    }
+                }
+            }.addMembers(items);
+        }
+
         /**
          * @{inheritDoc
          */
@@ -271,7 +483,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Thomas.Eichstaedt-Engelen
      *
      */
-    static class Sum implements GroupFunction {
+    static class Sum implements IncrementalGroupFunction {
 
         public Sum() {
         }
@@ -293,6 +505,19 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return new DecimalType(sum);
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new SumAggregate() {
+                @Override
+                public State getState() {
+                    return new DecimalType(getSum());
+                }
+            }.addMembers(items);
+        }
+
         /**
          * @{inheritDoc
          */
@@ -313,7 +538,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Min implements GroupFunction {
+    static class Min implements IncrementalGroupFunction {
 
         public Min() {
         }
@@ -340,6 +565,19 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return UnDefType.UNDEF;
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new ValueCountAggregate() {
+                @Override
+                public State getState() {
+                    return getValueCounts().isEmpty() ? UnDefType.UNDEF : new DecimalType(getValueCounts().firstKey());
+                }
+            }.addMembers(items);
+        }
+
         /**
          * @{inheritDoc
          */
@@ -360,7 +598,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Max implements GroupFunction {
+    static class Max implements IncrementalGroupFunction {
 
         public Max() {
         }
@@ -387,6 +625,19 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return UnDefType.UNDEF;
         }
 
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new ValueCountAggregate() {
+                @Override
+                public State getState() {
+                    return getValueCounts().isEmpty() ? UnDefType.UNDEF : new DecimalType(getValueCounts().lastKey());
+                }
+            }.addMembers(items);
+        }
+
         /**
          * @{inheritDoc
          */
@@ -411,7 +662,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
 	 * @author Gaël L'hopital
 	 *
 	 */
-	static class Count implements GroupFunction {
+	static class Count implements IncrementalGroupFunction {
 		
 		protected final Pattern pattern;
 		
@@ -438,6 +689,37 @@ public interface ArithmeticGroupFunction extends GroupFunction {
 			return new DecimalType(count);
 		}
 
+		/**
+		 * @{inheritDoc
+		 */
+		@Override
+		public Aggregate createAggregate(Set<Item> items) {
+			return new AbstractAggregate<Boolean>() {
+
+				private int count = 0;
+
+				@Override
+				protected Boolean getContribution(Item member) {
+					return pattern.matcher(member.getState().toString()).matches();
+				}
+
+				@Override
+				protected void add(Boolean matches) {
+					if (matches) count++;
+				}
+
+				@Override
+				protected void remove(Boolean matches) {
+					if (matches) count--;
+				}
+
+				@Override
+				public State getState() {
+					return new DecimalType(count);
+				}
+			}.addMembers(items);
+		}
+
 		/**
 		 * @{inheritDoc
 		 */
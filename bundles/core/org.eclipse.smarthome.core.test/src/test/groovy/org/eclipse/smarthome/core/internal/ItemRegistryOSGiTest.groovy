@@ -168,6 +168,27 @@ class ItemRegistryOSGiTest extends OSGiTest {
         assertThat itemRegistry.getItems().size(), is(0)
     }
 
+    @Test
+    void 'assert getItemsByTag reflects updated and removed items'() {
+
+        registerService itemProvider
+
+        def updatedItem = new SwitchItem(CAMERA_ITEM_NAME1)
+        updatedItem.addTag(SENSOR_TAG)
+        itemsChangeListener.updated(itemProvider, itemRegistry.getItem(CAMERA_ITEM_NAME1), updatedItem)
+
+        assertThat itemRegistry.getItemsByTag(CAMERA_TAG)*.name, is(equalTo([CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME3]))
+        assertThat itemRegistry.getItemsByTag(SENSOR_TAG)*.name, is(equalTo([CAMERA_ITEM_NAME2, CAMERA_ITEM_NAME1]))
+        assertThat itemRegistry.getItemsByTagAndType("Switch", SENSOR_TAG).size(), is(2)
+
+        itemsChangeListener.removed(itemProvider, updatedItem)
+
+        assertThat itemRegistry.getItemsByTag(SENSOR_TAG)*.name, is(equalTo([CAMERA_ITEM_NAME2]))
+        assertThat itemRegistry.getItemsOfType("Switch")*.name, is(equalTo([ITEM_NAME, CAMERA_ITEM_NAME2]))
+
+        unregisterService itemProvider
+    }
+
     @Test
     void 'assert itemRegistry sets and removes members of GroupItems'() {
 
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import org.eclipse.smarthome.core.events.ItemEvent
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.junit.After
+import org.junit.Test
+
+
+/**
+ * The EventDispatchStageTest checks the priorities and the overflow policies of the asynchronous event delivery.
+ *
+ * @author agent - Initial contribution
+ */
+class EventDispatchStageTest {
+
+    EventDispatchStage stage
+
+    List<ItemEvent> receivedEvents = Collections.synchronizedList([])
+
+    CountDownLatch blocked = new CountDownLatch(1)
+
+    CountDownLatch release = new CountDownLatch(1)
+
+    @After
+    void tearDown() {
+        release.countDown()
+        stage?.shutdown()
+    }
+
+    /**
+     * Creates a stage with a single worker, which blocks on the first event until {@link #release} is counted down.
+     */
+    def createBlockedStage(int capacity, EventOverflowPolicy overflowPolicy) {
+        stage = new EventDispatchStage({ ItemEvent event ->
+            if (event.itemName == "blocker") {
+                blocked.countDown()
+                release.await()
+            } else {
+                receivedEvents.add(event)
+            }
+        } as EventDispatchStage.EventConsumer, 1, capacity, overflowPolicy)
+        stage.post(ItemEvent.createUpdateEvent("blocker", OnOffType.ON, null))
+        assertTrue blocked.await(5, TimeUnit.SECONDS)
+    }
+
+    def releaseAndWait() {
+        release.countDown()
+        stage.shutdown()
+        assertTrue stage.awaitTermination(5, TimeUnit.SECONDS)
+    }
+
+    @Test
+    void 'assert commands are delivered before queued updates'() {
+        createBlockedStage(10, EventOverflowPolicy.BLOCK)
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(1), null))
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(2), null))
+        stage.post(ItemEvent.createCommandEvent("light", OnOffType.ON, null))
+
+        assertThat stage.statistics.pendingCommands, is(1)
+        assertThat stage.statistics.pendingUpdates, is(2)
+
+        releaseAndWait()
+
+        assertThat receivedEvents*.itemName, is(equalTo(["light", "sensor", "sensor"]))
+        assertThat receivedEvents[1].state, is(new DecimalType(1))
+        assertThat stage.statistics.dispatchedEvents, is(4L)
+    }
+
+    @Test
+    void 'assert oldest updates are dropped if the queue is full'() {
+        createBlockedStage(2, EventOverflowPolicy.DROP_OLDEST_UPDATE)
+        (1..4).each { stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(it), null)) }
+
+        releaseAndWait()
+
+        assertThat receivedEvents*.state, is(equalTo([new DecimalType(3), new DecimalType(4)]))
+        assertThat stage.statistics.droppedUpdates, is(2L)
+    }
+
+    @Test
+    void 'assert queued updates of an item are coalesced'() {
+        createBlockedStage(10, EventOverflowPolicy.COALESCE)
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(1), null))
+        stage.post(ItemEvent.createUpdateEvent("meter", new DecimalType(1), null))
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(2), null))
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(3), null))
+
+        releaseAndWait()
+
+        assertThat receivedEvents*.itemName, is(equalTo(["sensor", "meter"]))
+        assertThat receivedEvents[0].state, is(new DecimalType(3))
+        assertThat stage.statistics.coalescedUpdates, is(2L)
+    }
+
+    @Test
+    void 'assert tasks are executed by the worker of the item after its queued updates'() {
+        def taskThreads = Collections.synchronizedList([])
+        createBlockedStage(10, EventOverflowPolicy.BLOCK)
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(1), null))
+        stage.execute("sensor", {
+            receivedEvents.add(ItemEvent.createUpdateEvent("task", OnOffType.ON, null))
+            taskThreads.add(Thread.currentThread().name)
+        } as Runnable)
+        stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(2), null))
+
+        releaseAndWait()
+
+        assertThat receivedEvents*.itemName, is(equalTo(["sensor", "task", "sensor"]))
+        assertThat taskThreads.size(), is(1)
+        assertTrue taskThreads[0].startsWith("ESH-event-")
+    }
+
+    @Test
+    void 'assert queued tasks are not dropped if the queue is full'() {
+        createBlockedStage(2, EventOverflowPolicy.DROP_OLDEST_UPDATE)
+        stage.execute("sensor", {
+            receivedEvents.add(ItemEvent.createUpdateEvent("task", OnOffType.ON, null))
+        } as Runnable)
+        (1..3).each { stage.post(ItemEvent.createUpdateEvent("sensor", new DecimalType(it), null)) }
+
+        releaseAndWait()
+
+        assertThat receivedEvents*.itemName, is(equalTo(["task", "sensor"]))
+        assertThat receivedEvents[1].state, is(new DecimalType(3))
+    }
+}
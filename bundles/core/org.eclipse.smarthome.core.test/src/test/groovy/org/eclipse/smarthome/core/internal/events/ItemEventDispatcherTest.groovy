@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.events.ItemEvent
+import org.eclipse.smarthome.core.events.ItemEventFilter
+import org.eclipse.smarthome.core.events.ItemEventHandler
+import org.eclipse.smarthome.core.internal.items.ItemUpdater
+import org.eclipse.smarthome.core.items.GroupItem
+import org.eclipse.smarthome.core.items.ItemRegistry
+import org.eclipse.smarthome.core.items.StateChangeListener
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.types.EventType
+import org.junit.After
+import org.junit.Test
+
+
+/**
+ * The ItemEventDispatcherTest checks that typed item events are only delivered to handlers, whose filters accept them.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemEventDispatcherTest {
+
+    ItemEventDispatcher dispatcher = new ItemEventDispatcher()
+
+    @After
+    void tearDown() {
+        dispatcher.shutdown()
+    }
+
+    def createHandler(ItemEventFilter filter, List<ItemEvent> receivedEvents) {
+        [
+            getItemEventFilter: { filter },
+            handleItemEvent: { ItemEvent event -> receivedEvents.add(event) }
+        ] as ItemEventHandler
+    }
+
+    @Test
+    void 'assert events are delivered according to the filter of the handler'() {
+        def allEvents = []
+        def commands = []
+        def switchEvents = []
+        dispatcher.addHandler(createHandler(ItemEventFilter.ALL, allEvents))
+        dispatcher.addHandler(createHandler(ItemEventFilter.forEventTypes(EventType.COMMAND), commands))
+        dispatcher.addHandler(createHandler(ItemEventFilter.forItems("switch"), switchEvents))
+
+        dispatcher.dispatch(ItemEvent.createCommandEvent("switch", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("switch", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("other", OnOffType.OFF, null))
+
+        assertThat allEvents.size(), is(3)
+        assertThat commands.size(), is(1)
+        assertThat commands[0].command, is(OnOffType.ON)
+        assertThat switchEvents*.itemName, is(equalTo(["switch", "switch"]))
+    }
+
+    @Test
+    void 'assert removed handler and failing handler do not affect delivery'() {
+        def receivedEvents = []
+        def removedEvents = []
+        def removedHandler = createHandler(ItemEventFilter.ALL, removedEvents)
+        dispatcher.addHandler([
+            getItemEventFilter: { ItemEventFilter.ALL },
+            handleItemEvent: { ItemEvent event -> throw new RuntimeException("expected") }
+        ] as ItemEventHandler)
+        dispatcher.addHandler(removedHandler)
+        dispatcher.addHandler(createHandler(ItemEventFilter.ALL, receivedEvents))
+        dispatcher.removeHandler(removedHandler)
+
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("switch", OnOffType.ON, "source"))
+
+        assertThat removedEvents.size(), is(0)
+        assertThat receivedEvents.size(), is(1)
+        assertThat receivedEvents[0].source, is("source")
+        assertThat receivedEvents[0].topic, is("smarthome/update/switch")
+    }
+
+    @Test
+    void 'assert events are delivered to handlers filtering by item name pattern'() {
+        def lightEvents = []
+        dispatcher.addHandler(createHandler(ItemEventFilter.create(EventType.UPDATE).withItemNamePatterns("Light_*")
+                .withItemNames("Switch").build(), lightEvents))
+
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light_Kitchen", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light_Kitchen", OnOffType.OFF, null))
+        dispatcher.dispatch(ItemEvent.createCommandEvent("Light_Kitchen", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Switch", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Heating", OnOffType.ON, null))
+
+        assertThat lightEvents*.itemName, is(equalTo(["Light_Kitchen", "Light_Kitchen", "Switch"]))
+    }
+
+    @Test
+    void 'assert events are delivered once to handlers filtering by group'() {
+        def items = [
+            "Light": new SwitchItem("Light"),
+            "Kitchen": new GroupItem("Kitchen"),
+            "House": new GroupItem("House")
+        ]
+        items["Light"].addGroupName("Kitchen")
+        items["Light"].addGroupName("House")
+        items["Kitchen"].addGroupName("House")
+        dispatcher.setItemRegistry([
+            get: { String name -> items[name] },
+            addRegistryChangeListener: { listener -> }
+        ] as ItemRegistry)
+
+        def houseEvents = []
+        dispatcher.addHandler(createHandler(ItemEventFilter.create().withGroupNames("House").withItemNames("Light")
+                .build(), houseEvents))
+
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Kitchen", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Unknown", OnOffType.ON, null))
+
+        assertThat houseEvents*.itemName, is(equalTo(["Light", "Kitchen"]))
+    }
+
+    @Test
+    void 'assert group memberships are cached until the registry changes'() {
+        def items = [
+            "Light": new SwitchItem("Light"),
+            "Kitchen": new GroupItem("Kitchen"),
+            "House": new GroupItem("House")
+        ]
+        items["Light"].addGroupName("Kitchen")
+        items["Kitchen"].addGroupName("House")
+        def lookups = 0
+        def registryListener = null
+        dispatcher.setItemRegistry([
+            get: { String name ->
+                lookups++
+                items[name]
+            },
+            addRegistryChangeListener: { listener -> registryListener = listener }
+        ] as ItemRegistry)
+
+        def houseEvents = []
+        dispatcher.addHandler(createHandler(ItemEventFilter.create().withGroupNames("House").build(), houseEvents))
+
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light", OnOffType.ON, null))
+        def lookupsOfFirstEvent = lookups
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light", OnOffType.OFF, null))
+        assertThat lookups, is(lookupsOfFirstEvent)
+
+        items["Kitchen"].removeGroupName("House")
+        registryListener.updated(items["Kitchen"], items["Kitchen"])
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Light", OnOffType.ON, null))
+
+        assertThat houseEvents*.state, is(equalTo([OnOffType.ON, OnOffType.OFF]))
+    }
+
+    @Test
+    void 'assert statistics count delivered, dropped and failed events'() {
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("switch", OnOffType.ON, null))
+        dispatcher.addHandler(createHandler(ItemEventFilter.forItems("switch"), []))
+        dispatcher.addHandler([
+            getItemEventFilter: { ItemEventFilter.ALL },
+            handleItemEvent: { ItemEvent event -> throw new RuntimeException("expected") }
+        ] as ItemEventHandler)
+
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("switch", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("other", OnOffType.ON, null))
+        dispatcher.dispatch(ItemEvent.createCommandEvent("other", OnOffType.ON, null))
+
+        def statistics = dispatcher.statistics
+        assertThat statistics.size(), is(2)
+        assertThat statistics[0].deliveredEvents, is(1L)
+        assertThat statistics[0].droppedEvents, is(2L)
+        assertThat statistics[0].failedEvents, is(0L)
+        assertThat statistics[1].deliveredEvents, is(3L)
+        assertThat statistics[1].droppedEvents, is(0L)
+        assertThat statistics[1].failedEvents, is(3L)
+    }
+
+    @Test
+    void 'assert updates are coalesced only for handlers which allow it'() {
+        def coalescedEvents = Collections.synchronizedList([])
+        def allEvents = []
+        dispatcher.setCoalescingWindows(["Meter_*": 300L], [:])
+        dispatcher.addHandler(createHandler(ItemEventFilter.create(EventType.UPDATE).withCoalescing().build(),
+                coalescedEvents))
+        dispatcher.addHandler(createHandler(ItemEventFilter.forEventTypes(EventType.UPDATE), allEvents))
+
+        (1..3).each { dispatcher.dispatch(ItemEvent.createUpdateEvent("Meter_Power", new DecimalType(it), null)) }
+        dispatcher.dispatch(ItemEvent.createUpdateEvent("Switch", OnOffType.ON, null))
+
+        assertThat allEvents.size(), is(4)
+        assertThat coalescedEvents*.state, is(equalTo([new DecimalType(1), OnOffType.ON]))
+
+        def timeout = System.currentTimeMillis() + 5000
+        while (coalescedEvents.size() < 3 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50)
+        }
+        assertThat coalescedEvents*.state, is(equalTo([new DecimalType(1), OnOffType.ON, new DecimalType(3)]))
+    }
+
+    @Test
+    void 'assert the item state and its listeners see every update while a coalescing window is configured'() {
+        def item = new NumberItem("Meter_Power")
+        def changes = []
+        // the rule engine is triggered by the state changes of the items
+        item.addStateChangeListener([
+            stateChanged: { changedItem, oldState, newState -> changes.add(newState) },
+            stateUpdated: { updatedItem, state -> }
+        ] as StateChangeListener)
+        def itemRegistry = [
+            get: { String name -> item },
+            getItem: { String name -> item },
+            addRegistryChangeListener: { listener -> }
+        ] as ItemRegistry
+        def itemUpdater = new ItemUpdater()
+        itemUpdater.setItemRegistry(itemRegistry)
+        dispatcher.setItemRegistry(itemRegistry)
+        dispatcher.setCoalescingWindows(["Meter_*": 60000L], [:])
+
+        def statesSeenByCoalescingHandler = []
+        dispatcher.addHandler([
+            getItemEventFilter: { ItemEventFilter.create(EventType.UPDATE).withCoalescing().build() },
+            handleItemEvent: { ItemEvent event -> statesSeenByCoalescingHandler.add(item.state) }
+        ] as ItemEventHandler)
+        dispatcher.addHandler(itemUpdater)
+
+        (1..3).each { dispatcher.dispatch(ItemEvent.createUpdateEvent("Meter_Power", new DecimalType(it), null)) }
+
+        assertThat changes, is(equalTo([new DecimalType(1), new DecimalType(2), new DecimalType(3)]))
+        assertThat item.state, is(new DecimalType(3))
+        // the coalescing handler is called after the item has been updated
+        assertThat statesSeenByCoalescingHandler, is(equalTo([new DecimalType(1)]))
+    }
+
+}
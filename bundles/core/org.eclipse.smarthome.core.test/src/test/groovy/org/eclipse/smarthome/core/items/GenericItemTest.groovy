@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.items
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.junit.Test
+
+
+/**
+ * The GenericItemTest checks the listener notification and the snapshots of group names and tags of the GenericItem.
+ *
+ * @author agent - Initial contribution
+ */
+class GenericItemTest {
+
+    @Test
+    void 'assert listeners are notified once and not after removal'() {
+        def item = new SwitchItem("switch")
+        def updates = []
+        def changes = []
+        def listener = [
+            stateUpdated: { Item i, state -> updates.add(state) },
+            stateChanged: { Item i, oldState, newState -> changes.add(newState) }
+        ] as StateChangeListener
+        item.addStateChangeListener(listener)
+        item.addStateChangeListener(listener)
+
+        item.setState(OnOffType.ON)
+        item.setState(OnOffType.ON)
+        item.removeStateChangeListener(listener)
+        item.setState(OnOffType.OFF)
+
+        assertThat updates, is(equalTo([OnOffType.ON, OnOffType.ON]))
+        assertThat changes, is(equalTo([OnOffType.ON]))
+    }
+
+    @Test
+    void 'assert group names and tags are immutable snapshots'() {
+        def item = new SwitchItem("switch")
+        item.addGroupNames("group1", "group2")
+        item.addTags("tag1", "tag2")
+
+        def groupNames = item.groupNames
+        def tags = item.tags
+        item.removeGroupName("group1")
+        item.removeTag("tag1")
+
+        assertThat groupNames, is(equalTo(["group1", "group2"]))
+        assertThat tags, is(equalTo(["tag1", "tag2"] as Set))
+        assertThat item.groupNames, is(equalTo(["group2"]))
+        assertThat item.tags, is(equalTo(["tag2"] as Set))
+        assertTrue item.hasTag("tag2")
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    void 'assert tags cannot be changed through the getter'() {
+        new SwitchItem("switch").tags.add("tag")
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.junit.Test
+
+
+/**
+ * The MetricRegistryTest checks the default metric implementations, their registration and the replacement of the
+ * backend of the {@link MetricsManager}.
+ *
+ * @author agent - Initial contribution
+ */
+class MetricRegistryTest {
+
+    @Test
+    void 'assert counters and histograms are shared by name'() {
+        def registry = new DefaultMetricRegistry()
+
+        registry.counter("test.counter").increment()
+        registry.counter("test.counter").increment(41)
+
+        assertThat registry.counter("test.counter").count, is(42L)
+        assertThat registry.histogram("test.histogram"), is(sameInstance(registry.histogram("test.histogram")))
+        assertThat registry.metrics.keySet() as List, is(["test.counter", "test.histogram"])
+    }
+
+    @Test(expected=IllegalArgumentException)
+    void 'assert a name cannot be used for another kind of metric'() {
+        def registry = new DefaultMetricRegistry()
+        registry.counter("test.metric")
+
+        registry.histogram("test.metric")
+    }
+
+    @Test
+    void 'assert registered gauges replace metrics with the same name'() {
+        def registry = new DefaultMetricRegistry()
+        registry.register("test.gauge", { 1L } as Gauge)
+
+        registry.register("test.gauge", { 2L } as Gauge)
+
+        assertThat registry.metrics.get("test.gauge").value, is(2L)
+        assertTrue registry.remove("test.gauge")
+        assertTrue registry.metrics.isEmpty()
+    }
+
+    @Test
+    void 'assert counters and histograms kept by the callers follow a replaced backend'() {
+        def defaultBackend = new DefaultMetricRegistry()
+        def registry = new ReplaceableMetricRegistry(defaultBackend)
+        def counter = registry.counter("test.counter")
+        def histogram = registry.histogram("test.histogram")
+        counter.increment()
+
+        def backend = new DefaultMetricRegistry()
+        registry.setBackend(backend)
+        counter.increment(2)
+        histogram.record(5)
+
+        assertThat backend.counter("test.counter").count, is(2L)
+        assertThat backend.histogram("test.histogram").snapshot.count, is(1L)
+        assertThat registry.metrics.keySet() as List, is(["test.counter", "test.histogram"])
+
+        registry.setBackend(null)
+
+        assertThat counter.count, is(1L)
+        assertThat defaultBackend.histogram("test.histogram").snapshot.count, is(0L)
+    }
+
+    @Test
+    void 'assert registered metrics are registered again with a replaced backend'() {
+        def registry = new ReplaceableMetricRegistry(new DefaultMetricRegistry())
+        def gauge = { 1L } as Gauge
+        registry.register("test.gauge", gauge)
+        registry.register("test.removed", { 2L } as Gauge)
+        registry.remove("test.removed")
+
+        def backend = new DefaultMetricRegistry()
+        registry.setBackend(backend)
+
+        assertThat backend.metrics.keySet() as List, is(["test.gauge"])
+        assertThat backend.metrics.get("test.gauge"), is(sameInstance(gauge))
+    }
+
+    @Test
+    void 'assert a removed counter is created again by a caller, which has kept it'() {
+        def registry = new ReplaceableMetricRegistry(new DefaultMetricRegistry())
+        def counter = registry.counter("test.counter")
+        counter.increment()
+
+        assertTrue registry.remove("test.counter")
+        counter.increment()
+
+        assertThat registry.metrics.get("test.counter").count, is(1L)
+        assertThat registry.counter("test.counter").count, is(1L)
+    }
+
+    @Test(expected=IllegalArgumentException)
+    void 'assert a name of a replaceable registry cannot be used for another kind of metric'() {
+        def registry = new ReplaceableMetricRegistry(new DefaultMetricRegistry())
+        registry.register("test.metric", { 1L } as Gauge)
+
+        registry.counter("test.metric")
+    }
+
+    @Test
+    void 'assert histogram percentiles are within the precision'() {
+        def histogram = new LogLinearHistogram()
+        (1..10000).each { histogram.record(it) }
+
+        def snapshot = histogram.snapshot
+
+        assertThat snapshot.count, is(10000L)
+        assertThat snapshot.min, is(1L)
+        assertThat snapshot.max, is(10000L)
+        assertThat snapshot.mean, is(5000L)
+        assertTrue Math.abs(snapshot.median - 5000) <= 5000 / 64
+        assertTrue Math.abs(snapshot.get99thPercentile() - 9900) <= 9900 / 64
+        assertThat snapshot.get999thPercentile(), is(10000L)
+    }
+
+    @Test
+    void 'assert small values are recorded exactly'() {
+        def histogram = new LogLinearHistogram()
+        histogram.record(-1)
+        histogram.record(7)
+        histogram.record(127)
+
+        def snapshot = histogram.snapshot
+
+        assertThat snapshot.min, is(0L)
+        assertThat snapshot.median, is(7L)
+        assertThat snapshot.max, is(127L)
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+import org.junit.Test
+
+
+/**
+ * The ScopedSchedulerTest checks that the tasks of a scope can be cancelled without affecting other scopes of the
+ * same pool and that the pools can be shut down.
+ *
+ * @author agent - Initial contribution
+ */
+class ScopedSchedulerTest {
+
+    @Test
+    void 'assert cancelAll only cancels the tasks of the scope'() {
+        def scheduler1 = SchedulerPoolManager.getScopedScheduler("test", "scope1")
+        def scheduler2 = SchedulerPoolManager.getScopedScheduler("test", "scope2")
+        def task1 = scheduler1.scheduleWithFixedDelay({} as Runnable, 1, 1, TimeUnit.HOURS)
+        def task2 = scheduler2.schedule({} as Runnable, 1, TimeUnit.HOURS)
+
+        scheduler1.cancelAll()
+
+        assertTrue task1.cancelled
+        assertFalse task2.cancelled
+        assertThat scheduler1.pendingTasks, is(0)
+        assertThat scheduler2.pendingTasks, is(1)
+
+        def executed = new CountDownLatch(1)
+        scheduler1.execute({ executed.countDown() } as Runnable)
+        assertTrue executed.await(5, TimeUnit.SECONDS)
+
+        scheduler2.shutdownNow()
+        assertTrue task2.cancelled
+    }
+
+    @Test
+    void 'assert executed tasks stop being tracked without a purge'() {
+        def scheduler = SchedulerPoolManager.getScopedScheduler("test", "scope")
+        def executed = new CountDownLatch(50)
+        50.times { scheduler.execute({ executed.countDown() } as Runnable) }
+
+        assertTrue executed.await(5, TimeUnit.SECONDS)
+        Thread.sleep(100)
+        assertThat scheduler.@tasks.size(), is(0)
+    }
+
+    @Test
+    void 'assert tasks cancelled by their owners are purged while scheduling'() {
+        def scheduler = SchedulerPoolManager.getScopedScheduler("test", "scope")
+        1000.times { scheduler.schedule({} as Runnable, 1, TimeUnit.HOURS).cancel(false) }
+
+        assertTrue scheduler.@tasks.size() <= 2 * ScopedScheduler.MIN_PURGE_THRESHOLD
+        assertThat scheduler.pendingTasks, is(0)
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    void 'assert a shut down scheduler rejects new tasks'() {
+        def scheduler = SchedulerPoolManager.getScopedScheduler("test", "scope")
+        scheduler.shutdown()
+        scheduler.execute({} as Runnable)
+    }
+
+    @Test
+    void 'assert statistics are available for used pools'() {
+        def scheduler = SchedulerPoolManager.getScopedScheduler("test", "scope")
+        scheduler.schedule({} as Runnable, 1, TimeUnit.HOURS)
+
+        def statistics = SchedulerPoolManager.poolStatistics.find { it.poolName == "test" }
+        scheduler.cancelAll()
+        assertThat statistics, is(notNullValue())
+        assertThat statistics.maxThreads, is(SchedulerPoolManager.DEFAULT_POOL_SIZE)
+        assertTrue statistics.queuedTasks >= 1
+    }
+
+    @Test
+    void 'assert the pools run daemon threads and are created again after a shutdown'() {
+        def scheduler = SchedulerPoolManager.getScopedScheduler("shutdownTest", "scope")
+        def daemon = null
+        def executed = new CountDownLatch(1)
+        scheduler.execute({
+            daemon = Thread.currentThread().isDaemon()
+            executed.countDown()
+        } as Runnable)
+        assertTrue executed.await(5, TimeUnit.SECONDS)
+        assertThat daemon, is(true)
+
+        SchedulerPoolManager.shutdown()
+
+        assertThat SchedulerPoolManager.poolStatistics.find { it.poolName == "shutdownTest" }, is(nullValue())
+        def executedAfterShutdown = new CountDownLatch(1)
+        SchedulerPoolManager.getScopedScheduler("shutdownTest", "scope").execute({
+            executedAfterShutdown.countDown()
+        } as Runnable)
+        assertTrue executedAfterShutdown.await(5, TimeUnit.SECONDS)
+    }
+}
@@ -10,6 +10,7 @@ package org.eclipse.smarthome.core.items;
 import static org.junit.Assert.fail;
 
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
@@ -50,6 +51,44 @@ public class GroupItemTest {
 			}
 		}
 	}
+
+	@Test
+	public void testAllMembersAreUpdatedOnNestedMembershipChange() {
+		GroupItem subGroup = new GroupItem("subGroup2");
+		rootGroupItem.addMember(subGroup);
+		Assert.assertEquals(5, rootGroupItem.getAllMembers().size());
+
+		TestItem member = new TestItem("subGroup2 member 1");
+		subGroup.addMember(member);
+		Assert.assertEquals(6, rootGroupItem.getAllMembers().size());
+		Assert.assertTrue(rootGroupItem.getAllMembers().contains(member));
+
+		subGroup.removeMember(member);
+		Assert.assertEquals(5, rootGroupItem.getAllMembers().size());
+	}
+
+	@Test
+	public void testMembershipChangesOnlyInvalidateTheAncestors() {
+		GroupItem subGroup = new GroupItem("subGroup2");
+		GroupItem subSubGroup = new GroupItem("subSubGroup");
+		GroupItem otherGroup = new GroupItem("other");
+		rootGroupItem.addMember(subGroup);
+		subGroup.addMember(subSubGroup);
+		otherGroup.addMember(new TestItem("other member"));
+		Set<Item> otherMembers = otherGroup.getAllMembers();
+
+		TestItem member = new TestItem("subSubGroup member 1");
+		subSubGroup.addMember(member);
+		Assert.assertTrue(rootGroupItem.getAllMembers().contains(member));
+		Assert.assertTrue(subGroup.getAllMembers().contains(member));
+		Assert.assertSame(otherMembers, otherGroup.getAllMembers());
+
+		rootGroupItem.removeMember(subGroup);
+		Set<Item> rootMembers = rootGroupItem.getAllMembers();
+		subSubGroup.addMember(new TestItem("subSubGroup member 2"));
+		Assert.assertSame(rootMembers, rootGroupItem.getAllMembers());
+		Assert.assertEquals(2, subGroup.getAllMembers().size());
+	}
 	
 	
 	class TestItem extends GenericItem {
@@ -36,4 +36,24 @@ class UIDTest {
         assertThat channelUID.getId(), is("group#id")
         assertThat channelUID.getIdWithoutGroup(), is("id")
     }
+
+    @Test
+    void 'parsed channel UIDs are equal to constructed ones'() {
+        def parsedUID = new ChannelUID("binding:thing-type:thing:group#id")
+        def constructedUID = new ChannelUID("binding", "thing-type", "thing", "group", "id")
+        assertThat parsedUID, is(equalTo(constructedUID))
+        assertThat parsedUID.hashCode(), is(constructedUID.hashCode())
+        assertThat new ChannelUID("binding:thing-type:thing:group#id"), is(equalTo(parsedUID))
+        assertThat parsedUID.thingUID, is(equalTo(new ThingUID("binding:thing-type:thing")))
+    }
+
+    @Test(expected=IllegalArgumentException)
+    void 'invalid channel UIDs are not cached'() {
+        try {
+            new ChannelUID("binding:type:thing:id with spaces")
+        } catch (IllegalArgumentException ex) {
+            // fails again instead of being served from the cache
+        }
+        new ChannelUID("binding:type:thing:id with spaces")
+    }
 }
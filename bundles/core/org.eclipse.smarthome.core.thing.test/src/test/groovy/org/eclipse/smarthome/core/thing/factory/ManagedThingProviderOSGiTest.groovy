@@ -12,6 +12,7 @@ import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
 import org.eclipse.smarthome.config.core.Configuration
+import org.eclipse.smarthome.core.common.registry.BulkProviderChangeListener
 import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
 import org.eclipse.smarthome.core.thing.ManagedThingProvider
 import org.eclipse.smarthome.core.thing.Thing
@@ -123,6 +124,51 @@ class ManagedThingProviderOSGiTest extends OSGiTest {
 	}
 	
 	
+	@Test
+	void 'assert that things added at once are returned by getThings and removed at once'() {
+		def thing1 = ThingBuilder.create(THING_TYPE_UID, THING1_ID).build()
+		def thing2 = ThingBuilder.create(THING_TYPE_UID, THING2_ID).build()
+		managedThingProvider.addAll([thing1, thing2])
+		def things = managedThingProvider.getAll()
+		assertThat things.size(), is(2)
+		assertTrue things.contains(thing1)
+		assertTrue things.contains(thing2)
+
+		def removedThings = managedThingProvider.removeAll([thing1.getUID(), thing2.getUID()])
+		assertThat removedThings.size(), is(2)
+		assertThat managedThingProvider.getAll().size(), is(0)
+	}
+
+	@Test
+	void 'assert that addAll adds nothing if one thing already exists'() {
+		def thing1 = ThingBuilder.create(THING_TYPE_UID, THING1_ID).build()
+		def thing2 = ThingBuilder.create(THING_TYPE_UID, THING2_ID).build()
+		managedThingProvider.add(thing1)
+		try {
+			managedThingProvider.addAll([thing2, thing1])
+			fail "IllegalArgumentException expected"
+		} catch (IllegalArgumentException ex) {
+		}
+		assertThat managedThingProvider.getAll().size(), is(1)
+	}
+
+	@Test
+	void 'assert that BulkProviderChangeListener is notified once about added things'() {
+		def addedThings = []
+		def singleNotifications = 0
+		registerThingsChangeListener( [
+			addedAll : { ThingProvider provider, Collection<Thing> things -> addedThings.add(things) },
+			added : { ThingProvider provider, Thing thing -> singleNotifications++ }
+		] as BulkProviderChangeListener<Thing>)
+		def thing1 = ThingBuilder.create(THING_TYPE_UID, THING1_ID).build()
+		def thing2 = ThingBuilder.create(THING_TYPE_UID, THING2_ID).build()
+		managedThingProvider.addAll([thing1, thing2])
+
+		assertThat addedThings.size(), is(1)
+		assertThat addedThings.first().size(), is(2)
+		assertThat singleNotifications, is(0)
+	}
+
 	@Test
 	void 'assert that ThingsChangeListener is notified about added thing'() {
 		AsyncResultWrapper<ThingProvider> thingProviderWrapper = new AsyncResultWrapper<ThingProvider>()
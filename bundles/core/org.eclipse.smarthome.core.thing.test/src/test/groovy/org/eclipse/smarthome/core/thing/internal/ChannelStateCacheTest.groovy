@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.thing.ChannelUID
+import org.eclipse.smarthome.core.thing.internal.ChannelStateCache.StateUpdatePolicy
+import org.junit.Test
+
+/**
+ * The ChannelStateCacheTest checks which state updates are suppressed.
+ *
+ * @author agent - Initial contribution
+ */
+class ChannelStateCacheTest {
+
+    def channelUID = new ChannelUID("binding:type:thing:channel")
+
+    def cache = new ChannelStateCache()
+
+    @Test
+    void 'assert all updates are forwarded by default'() {
+        assertThat cache.stateUpdated(channelUID, OnOffType.ON), is(true)
+        assertThat cache.stateUpdated(channelUID, OnOffType.ON), is(true)
+        assertThat cache.forwardedCount, is(2L)
+        assertThat cache.suppressedCount, is(0L)
+    }
+
+    @Test
+    void 'assert unchanged states are suppressed until the channel is invalidated'() {
+        cache.setPolicies(StateUpdatePolicy.parse("change"), [:])
+
+        assertThat cache.stateUpdated(channelUID, OnOffType.ON), is(true)
+        assertThat cache.stateUpdated(channelUID, OnOffType.ON), is(false)
+        assertThat cache.stateUpdated(channelUID, OnOffType.OFF), is(true)
+        cache.invalidate(channelUID)
+        assertThat cache.stateUpdated(channelUID, OnOffType.OFF), is(true)
+        cache.invalidate(channelUID.thingUID)
+        assertThat cache.stateUpdated(channelUID, OnOffType.OFF), is(true)
+
+        assertThat cache.forwardedCount, is(4L)
+        assertThat cache.suppressedCount, is(1L)
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager
+import org.eclipse.smarthome.core.thing.ThingUID
+import org.junit.After
+import org.junit.Test
+
+/**
+ * The ThingCommandDispatcherTest checks the order, batching, expiry, timeout, removal and shutdown of the asynchronous
+ * handler calls.
+ *
+ * @author agent - Initial contribution
+ */
+class ThingCommandDispatcherTest {
+
+    def thingA = new ThingUID("binding:type:a")
+    def thingB = new ThingUID("binding:type:b")
+
+    def calls = Collections.synchronizedList([])
+
+    def dispatcher = new ThingCommandDispatcher()
+
+    @After
+    void tearDown() {
+        dispatcher.shutdown()
+        SchedulerPoolManager.setPoolSizes(SchedulerPoolManager.DEFAULT_POOL_SIZE, [:])
+    }
+
+    @Test
+    void 'assert the calls of a thing are executed in the order they have been dispatched'() {
+        def done = new CountDownLatch(100)
+        (1..100).each { i ->
+            dispatcher.dispatch(thingA, "call " + i, {
+                calls.add(i)
+                done.countDown()
+            } as Runnable)
+        }
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is((1..100).toList())
+    }
+
+    @Test
+    void 'assert other things get their turn after a batch of calls'() {
+        SchedulerPoolManager.setPoolSizes(SchedulerPoolManager.DEFAULT_POOL_SIZE,
+                [(ThingCommandDispatcher.POOL_NAME): 1])
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(17)
+        dispatcher.dispatch(thingA, "blocking call", {
+            blocker.await()
+            calls.add("a0")
+            done.countDown()
+        } as Runnable)
+        (1..15).each { i ->
+            dispatcher.dispatch(thingA, "call " + i, {
+                calls.add("a" + i)
+                done.countDown()
+            } as Runnable)
+        }
+        dispatcher.dispatch(thingB, "call", {
+            calls.add("b")
+            done.countDown()
+        } as Runnable)
+
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is((0..9).collect { "a" + it } + ["b"] + (10..15).collect { "a" + it })
+    }
+
+    @Test
+    void 'assert calls queued longer than the command timeout are discarded'() {
+        dispatcher.setCommandTimeout(50)
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(1)
+        dispatcher.dispatch(thingA, "blocking call", { blocker.await() } as Runnable)
+        dispatcher.dispatch(thingA, "stale call", { calls.add("stale") } as Runnable)
+        Thread.sleep(200)
+        blocker.countDown()
+        dispatcher.dispatch(thingA, "fresh call", {
+            calls.add("fresh")
+            done.countDown()
+        } as Runnable)
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is(["fresh"])
+        assertThat dispatcher.getStatistics()[0].expired, is(1L)
+    }
+
+    @Test
+    void 'assert a hung handler is interrupted and releases the pool and the queue of its thing'() {
+        SchedulerPoolManager.setPoolSizes(SchedulerPoolManager.DEFAULT_POOL_SIZE,
+                [(ThingCommandDispatcher.POOL_NAME): 1])
+        dispatcher.setHandlerTimeout(100)
+        def done = new CountDownLatch(3)
+        dispatcher.dispatch(thingA, "hung call", {
+            try {
+                Thread.sleep(10000)
+            } catch (InterruptedException ex) {
+                calls.add("interrupted")
+                done.countDown()
+            }
+        } as Runnable)
+        dispatcher.dispatch(thingA, "next call", {
+            calls.add("a")
+            done.countDown()
+        } as Runnable)
+        dispatcher.dispatch(thingB, "call", {
+            calls.add("b")
+            done.countDown()
+        } as Runnable)
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls as Set, is(["interrupted", "a", "b"] as Set)
+        def statistics = dispatcher.getStatistics()[0]
+        assertThat statistics.timedOut, is(1L)
+        assertThat statistics.dispatched, is(2L)
+    }
+
+    @Test
+    void 'assert a removed thing, which is added again, does not run two batches at once'() {
+        def started = new CountDownLatch(1)
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(1)
+        dispatcher.dispatch(thingA, "blocking call", {
+            started.countDown()
+            blocker.await()
+            calls.add("blocking")
+        } as Runnable)
+        dispatcher.dispatch(thingA, "queued call", { calls.add("queued") } as Runnable)
+        assertThat started.await(5, TimeUnit.SECONDS), is(true)
+
+        dispatcher.removeThing(thingA)
+        dispatcher.dispatch(thingA, "call after adding the thing again", {
+            calls.add("added again")
+            done.countDown()
+        } as Runnable)
+        Thread.sleep(100)
+        assertThat calls, is([])
+
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is(["blocking", "added again"])
+    }
+
+    @Test
+    void 'assert the queue of a removed thing is replaced, when the thing receives calls again'() {
+        def done = new CountDownLatch(2)
+        dispatcher.dispatch(thingA, "call", {
+            calls.add("first")
+            done.countDown()
+        } as Runnable)
+        Thread.sleep(100)
+
+        dispatcher.removeThing(thingA)
+        assertThat dispatcher.@queues.containsKey(thingA), is(false)
+        dispatcher.dispatch(thingA, "call after adding the thing again", {
+            calls.add("added again")
+            done.countDown()
+        } as Runnable)
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is(["first", "added again"])
+    }
+
+    @Test
+    void 'assert a thing keeps receiving calls after its handler has thrown an error'() {
+        def done = new CountDownLatch(2)
+        dispatcher.dispatch(thingA, "failing call", { throw new AbstractMethodError("test") } as Runnable)
+        dispatcher.dispatch(thingA, "queued call", {
+            calls.add("queued")
+            done.countDown()
+        } as Runnable)
+        Thread.sleep(100)
+        dispatcher.dispatch(thingA, "later call", {
+            calls.add("later")
+            done.countDown()
+        } as Runnable)
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is(["queued", "later"])
+        assertThat dispatcher.getStatistics()[0].failed, is(1L)
+    }
+
+    @Test
+    void 'assert queued calls are discarded on shutdown and new calls are rejected'() {
+        def started = new CountDownLatch(1)
+        dispatcher.dispatch(thingA, "blocking call", {
+            started.countDown()
+            try {
+                Thread.sleep(5000)
+            } catch (InterruptedException ex) {
+                calls.add("interrupted")
+            }
+        } as Runnable)
+        dispatcher.dispatch(thingA, "queued call", { calls.add("queued") } as Runnable)
+        assertThat started.await(5, TimeUnit.SECONDS), is(true)
+
+        dispatcher.shutdown()
+        dispatcher.dispatch(thingA, "call after shutdown", { calls.add("after shutdown") } as Runnable)
+        Thread.sleep(200)
+
+        assertThat calls, is(["interrupted"])
+    }
+}
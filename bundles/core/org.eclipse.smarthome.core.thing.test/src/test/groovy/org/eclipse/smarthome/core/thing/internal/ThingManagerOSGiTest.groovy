@@ -25,6 +25,7 @@ import org.eclipse.smarthome.core.thing.ThingStatus
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingTypeUID
 import org.eclipse.smarthome.core.thing.ThingUID
+import org.eclipse.smarthome.core.thing.binding.BridgeHandlerListener
 import org.eclipse.smarthome.core.thing.binding.ThingHandler
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory
@@ -351,6 +352,41 @@ class ThingManagerOSGiTest extends OSGiTest {
         }
     }
 
+    @Test
+    void 'ThingManager passes bridge status updates only to the children of the bridge'() {
+        Bridge bridge = BridgeBuilder.create(new ThingUID(THING_TYPE_UID, "bridge-id")).build()
+        Bridge otherBridge = BridgeBuilder.create(new ThingUID(THING_TYPE_UID, "other-bridge-id")).build()
+        Thing child = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "child-id")).withBridge(bridge.getUID()).build()
+        Thing otherChild = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "other-child-id"))
+                .withBridge(otherBridge.getUID()).build()
+
+        ThingHandlerCallback callback;
+
+        managedThingProvider.add(bridge)
+        managedThingProvider.add(otherBridge)
+        managedThingProvider.add(child)
+        managedThingProvider.add(otherChild)
+
+        def bridgeHandler = [
+            setCallback: {callbackArg ->
+                callback = callbackArg
+            },
+            getThing: { bridge }
+        ] as ThingHandler
+
+        registerService(bridgeHandler,[
+            (ThingHandler.SERVICE_PROPERTY_THING_ID): bridge.getUID(),
+            (ThingHandler.SERVICE_PROPERTY_THING_TYPE): bridge.getThingTypeUID()
+        ] as Hashtable)
+
+        def otherChildStatusInfo = otherChild.statusInfo
+        callback.statusUpdated(bridge, ThingStatusInfoBuilder.create(ThingStatus.OFFLINE).build())
+
+        assertThat child.statusInfo, is(ThingStatusInfoBuilder.create(ThingStatus.OFFLINE,
+                ThingStatusDetail.BRIDGE_OFFLINE).build())
+        assertThat otherChild.statusInfo, is(otherChildStatusInfo)
+    }
+
     @Test
     void 'ThingManager handles thing updates correctly'() {
 
@@ -384,4 +420,152 @@ class ThingManagerOSGiTest extends OSGiTest {
             thingRegistry.removeRegistryChangeListener(registryChangeListener)
         }
     }
+
+    @Test
+    void 'ThingManager informs the handlers of the children about the handler of their bridge'() {
+        Bridge bridge = BridgeBuilder.create(new ThingUID(THING_TYPE_UID, "bridge-id")).build()
+        Thing child = ThingBuilder.create(new ThingUID(THING_TYPE_UID, "child-id")).withBridge(bridge.getUID()).build()
+        managedThingProvider.add(bridge)
+        managedThingProvider.add(child)
+
+        def bridgeHandlerEvents = []
+        def faultyHandler = [
+            setCallback: {},
+            getThing: { throw new IllegalStateException("faulty handler") }
+        ] as ThingHandler
+        def bridgeHandler = [
+            setCallback: {},
+            getThing: { bridge }
+        ] as ThingHandler
+        def childHandler = [
+            setCallback: {},
+            getThing: { child },
+            bridgeHandlerAdded: { handler -> bridgeHandlerEvents.add(["added", handler]) },
+            bridgeHandlerRemoved: { handler -> bridgeHandlerEvents.add(["removed", handler]) }
+        ] as BridgeHandlerListeningThingHandler
+
+        def registrations = []
+        try {
+            // a handler of an unknown thing, which fails, does not break the tracking of the other handlers
+            registrations << registerThingHandler(faultyHandler, new ThingUID(THING_TYPE_UID, "unknown-id"))
+            def bridgeRegistration = registerThingHandler(bridgeHandler, bridge.getUID())
+            registrations << bridgeRegistration
+            registrations << registerThingHandler(childHandler, child.getUID())
+
+            assertThat bridgeHandlerEvents, is([["added", bridgeHandler]])
+
+            bridgeRegistration.unregister()
+            registrations.remove(bridgeRegistration)
+
+            assertThat bridgeHandlerEvents, is([["added", bridgeHandler], ["removed", bridgeHandler]])
+
+            registrations << registerThingHandler(bridgeHandler, bridge.getUID())
+
+            assertThat bridgeHandlerEvents, is([["added", bridgeHandler], ["removed", bridgeHandler],
+                ["added", bridgeHandler]])
+        } finally {
+            registrations.each { it.unregister() }
+        }
+    }
+
+    @Test
+    void 'ThingManager routes commands to the handler of the current thing of a UID'() {
+        def itemName = "name"
+        def commands = []
+        managedThingProvider.add(THING)
+        managedItemChannelLinkProvider.add(new ItemChannelLink(itemName, CHANNEL_UID))
+        def thingHandler = [
+            setCallback: {},
+            thingUpdated: {},
+            handleCommand: { ChannelUID channelUID, command -> commands.add(command.toString()) }
+        ] as ThingHandler
+        registerService(thingHandler, [
+            (ThingHandler.SERVICE_PROPERTY_THING_ID): THING.getUID(),
+            (ThingHandler.SERVICE_PROPERTY_THING_TYPE): THING.getThingTypeUID()
+        ] as Hashtable)
+
+        eventPublisher.sendCommand(itemName, new StringType("added"))
+        waitForAssert { assertThat commands, is(["added"]) }
+
+        def updatedThing = ThingBuilder.create(THING_UID).withChannels([new Channel(CHANNEL_UID, "Switch")]).build()
+        managedThingProvider.update(updatedThing)
+        eventPublisher.sendCommand(itemName, new StringType("updated"))
+        waitForAssert { assertThat commands, is(["added", "updated"]) }
+        assertThat updatedThing.getHandler(), is(thingHandler)
+
+        managedThingProvider.remove(THING_UID)
+        eventPublisher.sendCommand(itemName, new StringType("removed"))
+        Thread.sleep(200)
+        assertThat commands, is(["added", "updated"])
+    }
+
+    @Test
+    void 'ThingManager does not use a removed handler factory for the thing type it has been cached for'() {
+        def registrations = []
+        def calls = Collections.synchronizedList([])
+        def factory1 = createThingHandlerFactory("factory1", calls, { true })
+        def factory2 = createThingHandlerFactory("factory2", calls, { true })
+        try {
+            def factory1Registration = bundleContext.registerService(ThingHandlerFactory.class.name, factory1, null)
+            registrations << factory1Registration
+            managedThingProvider.add(THING)
+            waitForAssert { assertThat calls, is(["factory1"]) }
+
+            // adding a factory clears the cache, the things without a handler are initialized again
+            registrations << bundleContext.registerService(ThingHandlerFactory.class.name, factory2, null)
+            waitForAssert { assertThat calls, is(["factory1", "factory1"]) }
+
+            factory1Registration.unregister()
+            registrations.remove(factory1Registration)
+            managedThingProvider.update(ThingBuilder.create(THING_UID).build())
+
+            waitForAssert { assertThat calls, is(["factory1", "factory1", "factory2"]) }
+        } finally {
+            registrations.each { it.unregister() }
+        }
+    }
+
+    @Test
+    void 'ThingManager does not use a cached handler factory, which no longer supports the thing type'() {
+        def registrations = []
+        def calls = Collections.synchronizedList([])
+        def supported = true
+        def factory1 = createThingHandlerFactory("factory1", calls, { supported })
+        def factory2 = createThingHandlerFactory("factory2", calls, { true })
+        try {
+            registrations << bundleContext.registerService(ThingHandlerFactory.class.name, factory1, null)
+            registrations << bundleContext.registerService(ThingHandlerFactory.class.name, factory2, null)
+            managedThingProvider.add(THING)
+            waitForAssert { assertThat calls, is(["factory1"]) }
+
+            supported = false
+            managedThingProvider.update(ThingBuilder.create(THING_UID).build())
+
+            waitForAssert { assertThat calls, is(["factory1", "factory2"]) }
+        } finally {
+            registrations.each { it.unregister() }
+        }
+    }
+
+    private createThingHandlerFactory(String name, List calls, Closure supported) {
+        return [
+            supportsThingType: { ThingTypeUID thingTypeUID -> supported() },
+            registerHandler: { thing, callback -> calls.add(name) },
+            unregisterHandler: {},
+            removeThing: {}
+        ] as ThingHandlerFactory
+    }
+
+    private registerThingHandler(ThingHandler thingHandler, ThingUID thingUID) {
+        bundleContext.registerService(ThingHandler.class.name, thingHandler, [
+            (ThingHandler.SERVICE_PROPERTY_THING_ID): thingUID,
+            (ThingHandler.SERVICE_PROPERTY_THING_TYPE): thingUID.getThingTypeUID()
+        ] as Hashtable)
+    }
+}
+
+/**
+ * A thing handler, which is informed about the handler of its bridge.
+ */
+abstract class BridgeHandlerListeningThingHandler implements ThingHandler, BridgeHandlerListener {
 }
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.TimeUnit
+
+import org.eclipse.smarthome.core.thing.Thing
+import org.eclipse.smarthome.core.thing.ThingUID
+import org.eclipse.smarthome.core.thing.binding.builder.BridgeBuilder
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder
+import org.junit.After
+import org.junit.Test
+
+/**
+ * The ThingStartupOrchestratorTest checks the order of the initializations and the startup signal.
+ *
+ * @author agent - Initial contribution
+ */
+class ThingStartupOrchestratorTest {
+
+    def initialized = Collections.synchronizedList([])
+
+    def orchestrator = new ThingStartupOrchestrator({ Thing thing ->
+        Thread.sleep(50)
+        initialized.add(thing.getUID())
+    } as ThingStartupOrchestrator.Initializer)
+
+    @After
+    void tearDown() {
+        orchestrator.shutdown()
+    }
+
+    @Test
+    void 'assert bridges are initialized before their children and the startup completes'() {
+        def bridge = BridgeBuilder.create(new ThingUID("binding:type:bridge")).build()
+        def children = (1..3).collect {
+            ThingBuilder.create(new ThingUID("binding:type:child" + it)).withBridge(bridge.getUID()).build()
+        }
+        orchestrator.setStartupQuietPeriod(100)
+        orchestrator.start()
+
+        orchestrator.initialize(children + [bridge])
+
+        assertThat orchestrator.awaitStartupComplete(5, TimeUnit.SECONDS), is(true)
+        assertThat initialized.size(), is(4)
+        assertThat initialized[0], is(bridge.getUID())
+        assertThat orchestrator.initializationTimes.keySet(), is(initialized as Set)
+        assertThat orchestrator.startupDuration >= 0, is(true)
+    }
+
+    @Test
+    void 'assert a single thing is initialized by the calling thread'() {
+        def thing = ThingBuilder.create(new ThingUID("binding:type:thing")).build()
+
+        orchestrator.initialize([thing])
+
+        assertThat initialized, is([thing.getUID()])
+    }
+}
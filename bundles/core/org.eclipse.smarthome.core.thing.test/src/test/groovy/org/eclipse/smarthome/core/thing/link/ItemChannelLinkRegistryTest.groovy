@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.link
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.smarthome.core.thing.ChannelUID
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * The {@link ItemChannelLinkRegistryTest} tests the lookup of links by ID, item name and UID of the
+ * {@link AbstractLinkRegistry}, also for links, which are supplied by several providers.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemChannelLinkRegistryTest {
+
+    def CHANNEL_UID_1 = new ChannelUID("binding:typeId:thingId:channel1")
+    def CHANNEL_UID_2 = new ChannelUID("binding:typeId:thingId:channel2")
+
+    ItemChannelLinkRegistry registry
+    ItemChannelLinkProvider provider1
+    ItemChannelLinkProvider provider2
+
+    @Before
+    void setUp() {
+        registry = new ItemChannelLinkRegistry()
+        provider1 = createProvider()
+        provider2 = createProvider()
+        registry.addProvider(provider1)
+        registry.addProvider(provider2)
+    }
+
+    @Test
+    void 'assert links can be looked up by ID, item name and UID after they have been added and removed'() {
+        def link = new ItemChannelLink("item", CHANNEL_UID_1)
+
+        registry.added(provider1, link)
+
+        assertThat registry.get(link.getID()), is(link)
+        assertThat registry.getBoundChannels("item"), is([CHANNEL_UID_1] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_1), is(["item"] as Set)
+        assertThat registry.isLinked("item", CHANNEL_UID_1), is(true)
+
+        registry.removed(provider1, link)
+
+        assertThat registry.get(link.getID()), is(nullValue())
+        assertThat registry.getBoundChannels("item"), is([] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_1), is([] as Set)
+        assertThat registry.isLinked("item", CHANNEL_UID_1), is(false)
+    }
+
+    @Test
+    void 'assert the indexes follow an updated link'() {
+        def link = new ItemChannelLink("item", CHANNEL_UID_1)
+        def updatedLink = new ItemChannelLink("otherItem", CHANNEL_UID_2)
+        registry.added(provider1, link)
+
+        registry.updated(provider1, link, updatedLink)
+
+        assertThat registry.get(link.getID()), is(nullValue())
+        assertThat registry.get(updatedLink.getID()), is(updatedLink)
+        assertThat registry.getBoundChannels("item"), is([] as Set)
+        assertThat registry.getBoundChannels("otherItem"), is([CHANNEL_UID_2] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_1), is([] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_2), is(["otherItem"] as Set)
+    }
+
+    @Test
+    void 'assert a link supplied by two providers remains until both have removed it'() {
+        def link1 = new ItemChannelLink("item", CHANNEL_UID_1)
+        def link2 = new ItemChannelLink("item", CHANNEL_UID_1)
+        registry.added(provider1, link1)
+        registry.added(provider2, link2)
+
+        registry.removed(provider1, link1)
+
+        assertThat registry.get(link1.getID()), is(sameInstance(link2))
+        assertThat registry.getBoundChannels("item"), is([CHANNEL_UID_1] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_1), is(["item"] as Set)
+        assertThat registry.isLinked("item", CHANNEL_UID_1), is(true)
+
+        registry.removed(provider2, link2)
+
+        assertThat registry.get(link1.getID()), is(nullValue())
+        assertThat registry.getBoundChannels("item"), is([] as Set)
+        assertThat registry.isLinked("item", CHANNEL_UID_1), is(false)
+    }
+
+    @Test
+    void 'assert a link supplied by two providers remains when one of them updates it'() {
+        def link1 = new ItemChannelLink("item", CHANNEL_UID_1)
+        def link2 = new ItemChannelLink("item", CHANNEL_UID_1)
+        def updatedLink = new ItemChannelLink("item", CHANNEL_UID_2)
+        registry.added(provider1, link1)
+        registry.added(provider2, link2)
+
+        registry.updated(provider1, link1, updatedLink)
+
+        assertThat registry.get(link1.getID()), is(sameInstance(link2))
+        assertThat registry.get(updatedLink.getID()), is(updatedLink)
+        assertThat registry.getBoundChannels("item"), is([CHANNEL_UID_1, CHANNEL_UID_2] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_1), is(["item"] as Set)
+    }
+
+    @Test
+    void 'assert the links of a removed provider are removed from the indexes'() {
+        def link1 = new ItemChannelLink("item", CHANNEL_UID_1)
+        def link2 = new ItemChannelLink("item", CHANNEL_UID_1)
+        def link3 = new ItemChannelLink("item", CHANNEL_UID_2)
+        registry.added(provider1, link1)
+        registry.added(provider1, link3)
+        registry.added(provider2, link2)
+
+        registry.removeProvider(provider1)
+
+        assertThat registry.get(link1.getID()), is(sameInstance(link2))
+        assertThat registry.get(link3.getID()), is(nullValue())
+        assertThat registry.getBoundChannels("item"), is([CHANNEL_UID_1] as Set)
+        assertThat registry.getLinkedItems(CHANNEL_UID_2), is([] as Set)
+    }
+
+    def createProvider() {
+        return [
+            getAll: { [] },
+            addProviderChangeListener: { listener -> },
+            removeProviderChangeListener: { listener -> }
+        ] as ItemChannelLinkProvider
+    }
+}
@@ -10,9 +10,15 @@ package org.eclipse.smarthome.core.thing;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 /**
  * {@link ChannelUID} represents a unique identifier for channels.
+ * <p>
+ * Parsed channel UIDs are cached, so that parsing a known channel UID does neither split nor validate the string again
+ * and all channel UIDs parsed from the same string share their segments.
  *
  * @author Oliver Libutzki - Initital contribution
  * @author Jochen Hiller - Bugfix 455434: added default constructor
@@ -22,6 +28,15 @@ public class ChannelUID extends UID {
 
     private static final String CHANNEL_GROUP_SEPERATOR = "#";
 
+    private static final Pattern LAST_SEGMENT = Pattern.compile("[A-Za-z0-9_#-]*");
+
+    /** the cache is simply cleared when it is full, the number of channels is usually far below this limit */
+    private static final int MAX_PARSE_CACHE_SIZE = 10000;
+
+    private static final ConcurrentMap<String, ChannelUID> parseCache = new ConcurrentHashMap<>();
+
+    private transient ThingUID thingUID;
+
     /**
      * Default constructor in package scope only. Will allow to instantiate this
      * class by reflection. Not intended to be used for normal instantiation.
@@ -31,7 +46,26 @@ public class ChannelUID extends UID {
     }
 
     public ChannelUID(String channelUid) {
-        super(channelUid);
+        super(parse(channelUid));
+    }
+
+    private ChannelUID(String[] segments) {
+        super(segments);
+    }
+
+    private static ChannelUID parse(String channelUid) {
+        if (channelUid == null) {
+            throw new IllegalArgumentException("Given uid must not be null.");
+        }
+        ChannelUID parsedUID = parseCache.get(channelUid);
+        if (parsedUID == null) {
+            parsedUID = new ChannelUID(channelUid.split(SEPARATOR));
+            if (parseCache.size() >= MAX_PARSE_CACHE_SIZE) {
+                parseCache.clear();
+            }
+            parseCache.putIfAbsent(channelUid, parsedUID);
+        }
+        return parsedUID;
     }
 
     /**
@@ -192,7 +226,7 @@ public class ChannelUID extends UID {
         if (index < length - 1) {
             super.validateSegment(segment, index, length);
         } else {
-            if (!segment.matches("[A-Za-z0-9_#-]*")) {
+            if (!LAST_SEGMENT.matcher(segment).matches()) {
                 throw new IllegalArgumentException(
                         "UID segment '"
                                 + segment
@@ -207,7 +241,12 @@ public class ChannelUID extends UID {
      * @return the thing UID
      */
     public ThingUID getThingUID() {
-        return new ThingUID(Arrays.copyOfRange(getSegments(), 0, getSegments().length - 1));
+        ThingUID thingUID = this.thingUID;
+        if (thingUID == null) {
+            thingUID = new ThingUID(Arrays.copyOfRange(getSegments(), 0, getSegments().length - 1));
+            this.thingUID = thingUID;
+        }
+        return thingUID;
     }
 
     /**
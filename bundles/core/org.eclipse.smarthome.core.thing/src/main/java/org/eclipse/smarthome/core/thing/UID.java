@@ -8,12 +8,16 @@
 package org.eclipse.smarthome.core.thing;
 
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 import com.google.common.base.Joiner;
 
 /**
  * {@link UID} is the base class for unique identifiers within the SmartHome
  * framework. A UID must always start with a binding ID.
+ * <p>
+ * The string form and the hash code are computed only once, because UIDs are used as map keys and compared with
+ * strings on every routed event.
  *
  * @author Dennis Nobel - Initial contribution
  * @author Oliver Libutzki - Added possibility to define UIDs with variable amount of segments
@@ -23,8 +27,13 @@ public abstract class UID {
 
     public static final String SEGMENT_PATTERN = "[A-Za-z0-9_-]*";
     public static final String SEPARATOR = ":";
+    private static final Pattern SEGMENT = Pattern.compile(SEGMENT_PATTERN);
     private String[] segments;
 
+    // not part of the serialized form, they are computed on first use for instances created by reflection
+    private transient String asString;
+    private transient int hash;
+
     /**
      * Default constructor in package scope only. Will allow to instantiate this
      * class by reflection. Not intended to be used for normal instantiation.
@@ -70,6 +79,20 @@ public abstract class UID {
             validateSegment(segment, i, segments.length);
         }
         this.segments = segments;
+        this.asString = Joiner.on(SEPARATOR).join(segments);
+        this.hash = computeHashCode(segments);
+    }
+
+    /**
+     * Creates a copy of an already validated UID, which shares its segments.
+     *
+     * @param uid
+     *            uid to copy (must not be null)
+     */
+    UID(UID uid) {
+        this.segments = uid.segments;
+        this.asString = uid.asString;
+        this.hash = uid.hash;
     }
 
     /**
@@ -88,7 +111,7 @@ public abstract class UID {
     }
 
     protected void validateSegment(String segment, int index, int length) {
-        if (!segment.matches(SEGMENT_PATTERN)) {
+        if (!SEGMENT.matcher(segment).matches()) {
             throw new IllegalArgumentException("UID segment '" + segment
                     + "' contains invalid characters. Each segment of the UID must match the pattern [A-Za-z0-9_-]*.");
         }
@@ -109,11 +132,25 @@ public abstract class UID {
     }
 
     public String getAsString() {
-        return Joiner.on(SEPARATOR).join(segments);
+        String asString = this.asString;
+        if (asString == null) {
+            asString = Joiner.on(SEPARATOR).join(segments);
+            this.asString = asString;
+        }
+        return asString;
     }
 
     @Override
     public int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = computeHashCode(segments);
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    private static int computeHashCode(String[] segments) {
         final int prime = 31;
         int result = 1;
         result = prime * result + Arrays.hashCode(segments);
@@ -129,7 +166,9 @@ public abstract class UID {
         if (getClass() != obj.getClass())
             return false;
         UID other = (UID) obj;
-        if (!Arrays.equals(segments, other.segments))
+        if (hashCode() != other.hashCode())
+            return false;
+        if (segments != other.segments && !Arrays.equals(segments, other.segments))
             return false;
         return true;
     }
@@ -10,10 +10,11 @@ package org.eclipse.smarthome.core.thing.binding;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager;
+import org.eclipse.smarthome.core.scheduler.ScopedScheduler;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -37,15 +38,27 @@ import org.osgi.util.tracker.ServiceTracker;
  * The default behavior for {@link Thing} updates is to {@link #dispose()} this handler first, exchange the
  * {@link Thing} and {@link #initialize()} it again. Override the method {@link #thingUpdated(Thing)} to change the
  * default behavior.
+ * <p>
+ * The {@link #scheduler} executes its tasks in a pool, which is shared by all handlers of the same binding. The tasks,
+ * which have been scheduled by a handler, are cancelled automatically when the handler is disposed.
+ * <p>
+ * The framework informs the handler about the handler of its bridge through the {@link BridgeHandlerListener}
+ * interface, which calls {@link #bridgeHandlerInitialized(ThingHandler, Bridge)} and
+ * {@link #bridgeHandlerDisposed(ThingHandler, Bridge)}.
  *
  * @author Dennis Nobel - Initial contribution
  * @author Michael Grammling - Added dynamic configuration update
  * @author Thomas Höfer - Added thing properties
  * @author Stefan Bußweiler - Added new thing status handling
  */
-public abstract class BaseThingHandler implements ThingHandler {
+public abstract class BaseThingHandler implements ThingHandler, BridgeHandlerListener {
+
+    /** the fallback pool for handlers, which have been created without a thing */
+    private static final String DEFAULT_POOL_NAME = "thingHandler";
+
+    protected final ScheduledExecutorService scheduler;
 
-    protected final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(3);
+    private final ScopedScheduler scopedScheduler;
 
     protected ThingRegistry thingRegistry;
     protected BundleContext bundleContext;
@@ -54,8 +67,6 @@ public abstract class BaseThingHandler implements ThingHandler {
 
     @SuppressWarnings("rawtypes")
     private ServiceTracker thingRegistryServiceTracker;
-    @SuppressWarnings("rawtypes")
-    private ServiceTracker thingHandlerServiceTracker;
 
     private ThingHandlerCallback callback;
 
@@ -67,6 +78,16 @@ public abstract class BaseThingHandler implements ThingHandler {
      */
     public BaseThingHandler(Thing thing) {
         this.thing = thing;
+        this.scopedScheduler = SchedulerPoolManager.getScopedScheduler(getPoolName(thing),
+                String.valueOf(thing != null ? thing.getUID() : null));
+        this.scheduler = scopedScheduler;
+    }
+
+    private static String getPoolName(Thing thing) {
+        if (thing != null && thing.getThingTypeUID() != null) {
+            return thing.getThingTypeUID().getBindingId();
+        }
+        return DEFAULT_POOL_NAME;
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -94,36 +115,13 @@ public abstract class BaseThingHandler implements ThingHandler {
      * the super method must be
      * called.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public void postInitialize() {
-        thingHandlerServiceTracker = new ServiceTracker(this.bundleContext, ThingHandler.class.getName(), null) {
-            @Override
-            public Object addingService(final ServiceReference reference) {
-                Object thingId = reference.getProperty(SERVICE_PROPERTY_THING_ID);
-                if (thingId instanceof ThingUID && BaseThingHandler.this.thing != null) {
-                    ThingUID thingUID = (ThingUID) thingId;
-                    if (thingUID.equals(BaseThingHandler.this.thing.getBridgeUID())) {
-                        ThingHandler thingHandler = (ThingHandler) bundleContext.getService(reference);
-                        Thing thing = thingHandler.getThing();
-                        if (thing instanceof Bridge) {
-                            bridgeHandlerInitialized(thingHandler, (Bridge) thing);
-                            return thingHandler;
-                        }
-                    }
-                }
-                return null;
-            }
-
-            @Override
-            public void removedService(final ServiceReference reference, final Object service) {
-                ThingHandler thingHandler = (ThingHandler) service;
-                bridgeHandlerDisposed(thingHandler, (Bridge) thingHandler.getThing());
-            }
-        };
-        thingHandlerServiceTracker.open();
+        // the bridge handler is passed by the framework through the BridgeHandlerListener interface
     }
 
     public void unsetBundleContext(final BundleContext bundleContext) {
+        // the tasks must also be cancelled if dispose() has been overridden without calling the super method
+        scopedScheduler.cancelAll();
         thingRegistryServiceTracker.close();
         this.bundleContext = null;
     }
@@ -133,7 +131,7 @@ public abstract class BaseThingHandler implements ThingHandler {
      * super method must be called.
      */
     public void preDispose() {
-        thingHandlerServiceTracker.close();
+        // can be overridden by subclasses
     }
 
     @Override
@@ -145,6 +143,7 @@ public abstract class BaseThingHandler implements ThingHandler {
     @Override
     public void dispose() {
         // can be overridden by subclasses
+        scopedScheduler.cancelAll();
     }
 
     @Override
@@ -168,6 +167,7 @@ public abstract class BaseThingHandler implements ThingHandler {
     @Override
     public void thingUpdated(Thing thing) {
         dispose();
+        scopedScheduler.cancelAll();
         this.thing = thing;
         initialize();
     }
@@ -529,4 +529,20 @@ public abstract class BaseThingHandler implements ThingHandler {
         // can be overridden by subclasses
     }
 
+    @Override
+    public void bridgeHandlerAdded(ThingHandler bridgeHandler) {
+        Thing bridge = bridgeHandler.getThing();
+        if (bridge instanceof Bridge) {
+            bridgeHandlerInitialized(bridgeHandler, (Bridge) bridge);
+        }
+    }
+
+    @Override
+    public void bridgeHandlerRemoved(ThingHandler bridgeHandler) {
+        Thing bridge = bridgeHandler.getThing();
+        if (bridge instanceof Bridge) {
+            bridgeHandlerDisposed(bridgeHandler, (Bridge) bridge);
+        }
+    }
+
 }
\ No newline at end of file
@@ -8,10 +8,10 @@
 package org.eclipse.smarthome.core.thing.binding;
 
 import java.util.Dictionary;
-import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.config.core.ConfigDescriptionRegistry;
 import org.eclipse.smarthome.config.core.Configuration;
@@ -39,7 +39,7 @@ public abstract class BaseThingHandlerFactory implements ThingHandlerFactory {
 
     protected BundleContext bundleContext;
 
-    private Map<String, ServiceRegistration<ThingHandler>> thingHandlers = new HashMap<>();
+    private Map<String, ServiceRegistration<ThingHandler>> thingHandlers = new ConcurrentHashMap<>();
     private ServiceTracker<ThingTypeRegistry, ThingTypeRegistry> thingTypeRegistryServiceTracker;
     private ServiceTracker<ConfigDescriptionRegistry, ConfigDescriptionRegistry> configDescritpionRegistryServiceTracker;
 
@@ -100,7 +100,12 @@ public abstract class BaseThingHandlerFactory implements ThingHandlerFactory {
 
     @Override
     public void registerHandler(Thing thing, ThingHandlerCallback thingHandlerListener) {
-        ThingHandler thingHandler = createHandler(thing);
+        ThingHandler thingHandler;
+        // the handlers of different things are initialized in parallel, createHandler() is serialized so that
+        // subclasses do not need to be thread-safe
+        synchronized (this) {
+            thingHandler = createHandler(thing);
+        }
         if (thingHandler == null) {
             throw new IllegalStateException(this.getClass().getSimpleName()
                     + " could not create a handler for the thing '" + thing.getUID() + "'.");
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.binding;
+
+import org.eclipse.smarthome.core.thing.Thing;
+
+/**
+ * A {@link ThingHandler}, which implements the {@link BridgeHandlerListener} interface, is informed by the framework
+ * when the handler of the bridge of its {@link Thing} is added or removed. Handlers of things without a bridge are never
+ * informed.
+ *
+ * @author agent - Initial contribution
+ */
+public interface BridgeHandlerListener {
+
+    /**
+     * Is called when the handler of the bridge has been initialized or when this handler has been registered while the
+     * handler of the bridge already exists.
+     *
+     * @param bridgeHandler handler of the bridge (not null)
+     */
+    void bridgeHandlerAdded(ThingHandler bridgeHandler);
+
+    /**
+     * Is called before the handler of the bridge is disposed or before this handler is disposed while the handler of
+     * the bridge still exists.
+     *
+     * @param bridgeHandler handler of the bridge (not null)
+     */
+    void bridgeHandlerRemoved(ThingHandler bridgeHandler);
+
+}
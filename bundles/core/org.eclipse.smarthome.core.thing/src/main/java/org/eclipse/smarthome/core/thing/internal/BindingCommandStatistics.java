@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import org.eclipse.smarthome.core.metrics.HistogramSnapshot;
+
+/**
+ * The {@link BindingCommandStatistics} is a snapshot of the commands and updates, which have been dispatched to the
+ * thing handlers of a binding.
+ *
+ * @author agent - Initial contribution
+ */
+public class BindingCommandStatistics {
+
+    private final String bindingId;
+    private final long dispatched;
+    private final long failed;
+    private final long expired;
+    private final long timedOut;
+    private final long slow;
+    private final int queued;
+    private final HistogramSnapshot latencies;
+
+    public BindingCommandStatistics(String bindingId, long dispatched, long failed, long expired, long timedOut,
+            long slow, int queued, HistogramSnapshot latencies) {
+        this.bindingId = bindingId;
+        this.dispatched = dispatched;
+        this.failed = failed;
+        this.expired = expired;
+        this.timedOut = timedOut;
+        this.slow = slow;
+        this.queued = queued;
+        this.latencies = latencies;
+    }
+
+    public String getBindingId() {
+        return bindingId;
+    }
+
+    /**
+     * Returns the number of commands and updates, which have been passed to a handler.
+     */
+    public long getDispatched() {
+        return dispatched;
+    }
+
+    /**
+     * Returns the number of commands and updates, for which the handler has thrown an exception.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of commands and updates, which have been discarded, because they have been queued longer than
+     * the command timeout.
+     */
+    public long getExpired() {
+        return expired;
+    }
+
+    /**
+     * Returns the number of commands and updates, for which the handler has been interrupted, because it took longer
+     * than the handler timeout.
+     */
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Returns the number of commands and updates, for which the handler took longer than the slow handler threshold.
+     */
+    public long getSlow() {
+        return slow;
+    }
+
+    /**
+     * Returns the number of commands and updates, which are currently waiting for a handler.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Returns the distribution of the latencies from the reception of a command or update until the handler has
+     * processed it.
+     *
+     * @return latencies in milliseconds (not null)
+     */
+    public HistogramSnapshot getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return bindingId + " [dispatched=" + dispatched + ", failed=" + failed + ", expired=" + expired + ", timedOut="
+                + timedOut + ", slow=" + slow + ", queued=" + queued + ", latencies[ms]=("
+                + latencies + ")]";
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The {@link BridgeChildrenIndex} maps the UID of a bridge to the UIDs of the things, which are connected through this
+ * bridge. It allows the {@link ThingManager} to notify only the children of a bridge without looking at all things.
+ *
+ * @author agent - Initial contribution
+ */
+class BridgeChildrenIndex {
+
+    private final Map<ThingUID, Set<ThingUID>> children = new HashMap<>();
+
+    /**
+     * Adds the thing to the children of its bridge. Things without a bridge are ignored.
+     *
+     * @param thing thing (must not be null)
+     */
+    synchronized void add(Thing thing) {
+        ThingUID bridgeUID = thing.getBridgeUID();
+        if (bridgeUID != null) {
+            Set<ThingUID> bridgeChildren = children.get(bridgeUID);
+            if (bridgeChildren == null) {
+                bridgeChildren = new LinkedHashSet<>();
+                children.put(bridgeUID, bridgeChildren);
+            }
+            bridgeChildren.add(thing.getUID());
+        }
+    }
+
+    /**
+     * Removes the thing from the children of its bridge.
+     *
+     * @param thing thing (must not be null)
+     */
+    synchronized void remove(Thing thing) {
+        ThingUID bridgeUID = thing.getBridgeUID();
+        if (bridgeUID != null) {
+            Set<ThingUID> bridgeChildren = children.get(bridgeUID);
+            if (bridgeChildren != null) {
+                bridgeChildren.remove(thing.getUID());
+                if (bridgeChildren.isEmpty()) {
+                    children.remove(bridgeUID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the thing to the children of its new bridge, if the bridge has changed with the update.
+     *
+     * @param oldThing thing before the update (must not be null)
+     * @param newThing thing after the update (must not be null)
+     */
+    synchronized void update(Thing oldThing, Thing newThing) {
+        remove(oldThing);
+        add(newThing);
+    }
+
+    /**
+     * Returns the UIDs of the things, which are connected through the given bridge.
+     *
+     * @param bridgeUID UID of the bridge (must not be null)
+     * @return snapshot of the UIDs of the children (not null)
+     */
+    synchronized Set<ThingUID> getChildren(ThingUID bridgeUID) {
+        Set<ThingUID> bridgeChildren = children.get(bridgeUID);
+        if (bridgeChildren == null) {
+            return Collections.emptySet();
+        }
+        return ImmutableSet.copyOf(bridgeChildren);
+    }
+
+}
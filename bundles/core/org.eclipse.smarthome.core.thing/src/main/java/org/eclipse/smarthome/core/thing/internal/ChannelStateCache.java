@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.type.ChannelType;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * The {@link ChannelStateCache} remembers the last state, which a handler has reported for a channel, and suppresses
+ * state updates, which do not change the state, for channels with the {@link StateUpdatePolicy#CHANGE} policy.
+ * <p>
+ * The policy is configured per channel type, channels of other types get the default policy. The last state of a
+ * channel is forgotten as soon as the linked items might have got another state, i.e. when a command or update is
+ * sent to the channel or its links change. So the next state reported by the handler is forwarded again.
+ *
+ * @author agent - Initial contribution
+ */
+public class ChannelStateCache {
+
+    /**
+     * The {@link StateUpdatePolicy} defines which state updates of a channel are forwarded to the linked items.
+     */
+    public enum StateUpdatePolicy {
+
+        /** all state updates are forwarded */
+        ALWAYS,
+
+        /** only state updates, which differ from the last state of the channel, are forwarded */
+        CHANGE;
+
+        /**
+         * Returns the policy for the given configuration value.
+         *
+         * @param value configuration value, e.g. "change" (must not be null)
+         * @return policy (not null)
+         * @throws IllegalArgumentException if the value is not a policy
+         */
+        public static StateUpdatePolicy parse(String value) {
+            return valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    private final ConcurrentMap<ChannelUID, State> lastStates = new ConcurrentHashMap<>();
+
+    /** the resolved policies, which are cleared whenever the configuration or a thing changes */
+    private final ConcurrentMap<ChannelUID, StateUpdatePolicy> channelPolicies = new ConcurrentHashMap<>();
+
+    private final AtomicLong forwarded = new AtomicLong();
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    private volatile StateUpdatePolicy defaultPolicy = StateUpdatePolicy.ALWAYS;
+
+    private volatile Map<String, StateUpdatePolicy> channelTypePolicies = new HashMap<>();
+
+    private volatile ThingTypeRegistry thingTypeRegistry;
+
+    /**
+     * Sets the policies.
+     *
+     * @param defaultPolicy policy for all channels, whose channel type has no policy (must not be null)
+     * @param channelTypePolicies policies by channel type UID (must not be null)
+     */
+    public void setPolicies(StateUpdatePolicy defaultPolicy, Map<String, StateUpdatePolicy> channelTypePolicies) {
+        this.defaultPolicy = defaultPolicy;
+        this.channelTypePolicies = new HashMap<>(channelTypePolicies);
+        clear();
+    }
+
+    /**
+     * Sets the registry, which resolves the channel type of a channel. Without registry all channels get the default
+     * policy.
+     *
+     * @param thingTypeRegistry registry (can be null)
+     */
+    public void setThingTypeRegistry(ThingTypeRegistry thingTypeRegistry) {
+        this.thingTypeRegistry = thingTypeRegistry;
+        clear();
+    }
+
+    /**
+     * Records the state reported for a channel and returns whether it should be forwarded to the linked items.
+     *
+     * @param channelUID channel UID (must not be null)
+     * @param state reported state (must not be null)
+     * @return true if the state update should be forwarded, false if it should be suppressed
+     */
+    public boolean stateUpdated(ChannelUID channelUID, State state) {
+        if (getPolicy(channelUID) == StateUpdatePolicy.CHANGE && state.equals(lastStates.put(channelUID, state))) {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        forwarded.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Forgets the last state of a channel, so that the next reported state is forwarded.
+     *
+     * @param channelUID channel UID (must not be null)
+     */
+    public void invalidate(ChannelUID channelUID) {
+        lastStates.remove(channelUID);
+    }
+
+    /**
+     * Forgets the last states and resolved policies of all channels of a thing.
+     *
+     * @param thingUID thing UID (must not be null)
+     */
+    public void invalidate(ThingUID thingUID) {
+        for (ChannelUID channelUID : lastStates.keySet()) {
+            if (channelUID.getThingUID().equals(thingUID)) {
+                lastStates.remove(channelUID);
+            }
+        }
+        for (ChannelUID channelUID : channelPolicies.keySet()) {
+            if (channelUID.getThingUID().equals(thingUID)) {
+                channelPolicies.remove(channelUID);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of state updates, which have been forwarded to the linked items.
+     *
+     * @return number of forwarded updates
+     */
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+
+    /**
+     * Returns the number of state updates, which have been suppressed because the state did not change.
+     *
+     * @return number of suppressed updates
+     */
+    public long getSuppressedCount() {
+        return suppressed.get();
+    }
+
+    private void clear() {
+        channelPolicies.clear();
+        lastStates.clear();
+    }
+
+    private StateUpdatePolicy getPolicy(ChannelUID channelUID) {
+        StateUpdatePolicy policy = channelPolicies.get(channelUID);
+        if (policy == null) {
+            policy = resolvePolicy(channelUID);
+            channelPolicies.put(channelUID, policy);
+        }
+        return policy;
+    }
+
+    private StateUpdatePolicy resolvePolicy(ChannelUID channelUID) {
+        Map<String, StateUpdatePolicy> channelTypePolicies = this.channelTypePolicies;
+        ThingTypeRegistry thingTypeRegistry = this.thingTypeRegistry;
+        if (!channelTypePolicies.isEmpty() && thingTypeRegistry != null) {
+            ChannelType channelType = thingTypeRegistry.getChannelType(channelUID);
+            if (channelType != null) {
+                StateUpdatePolicy policy = channelTypePolicies.get(channelType.getUID().toString());
+                if (policy != null) {
+                    return policy;
+                }
+            }
+        }
+        return defaultPolicy;
+    }
+
+}
@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.LogLinearHistogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager;
+import org.eclipse.smarthome.core.scheduler.ScopedScheduler;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ThingCommandDispatcher} passes commands and updates asynchronously to the thing handlers, so that a
+ * blocking handler does not delay the handlers of other things.
+ * <p>
+ * Every thing has its own queue, which is processed by at most one thread at a time. So the handler of a thing receives
+ * its commands and updates in the order they have been dispatched, while different things are served in parallel by
+ * the shared scheduler pool {@value #POOL_NAME}, whose size can be configured like all scheduler pools.
+ * <p>
+ * Commands and updates, which have been queued longer than the command timeout, are discarded. Handlers, which take
+ * longer than the slow handler threshold, are logged. Handlers, which take longer than the handler timeout, are
+ * interrupted and the queue of their thing is released, so that a hung handler occupies a thread of the pool for at
+ * most the handler timeout. Therefore the handlers run in threads of their own, while the threads of the pool wait for
+ * them. The durations of all handler calls are recorded in the histogram {@code things.handler.time} of the
+ * {@link MetricsManager}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ThingCommandDispatcher {
+
+    /** name of the scheduler pool, which executes the handlers */
+    public static final String POOL_NAME = "thingCommands";
+
+    public static final long DEFAULT_COMMAND_TIMEOUT = 30000;
+
+    public static final long DEFAULT_SLOW_HANDLER_THRESHOLD = 1000;
+
+    public static final long DEFAULT_HANDLER_TIMEOUT = 30000;
+
+    /** number of events processed for one thing before other things get their turn */
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(ThingCommandDispatcher.class);
+
+    private final ScopedScheduler executor = SchedulerPoolManager.getScopedScheduler(POOL_NAME,
+            ThingCommandDispatcher.class.getSimpleName());
+
+    private final ExecutorService handlerExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ESH-thing-handler-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final ConcurrentMap<ThingUID, ThingQueue> queues = new ConcurrentHashMap<>();
+
+    private final Histogram handlerTime = MetricsManager.histogram("things.handler.time");
+
+    private final Counter handlerFailures = MetricsManager.counter("things.handler.failures");
+
+    private final ConcurrentMap<String, BindingRecorder> recorders = new ConcurrentHashMap<>();
+
+    private volatile long commandTimeout = DEFAULT_COMMAND_TIMEOUT;
+
+    private volatile long slowHandlerThreshold = DEFAULT_SLOW_HANDLER_THRESHOLD;
+
+    private volatile long handlerTimeout = DEFAULT_HANDLER_TIMEOUT;
+
+    /**
+     * Sets the time after which queued commands and updates are discarded.
+     *
+     * @param commandTimeout timeout in milliseconds
+     */
+    public void setCommandTimeout(long commandTimeout) {
+        this.commandTimeout = commandTimeout;
+    }
+
+    /**
+     * Sets the time after which a handler is considered to be slow.
+     *
+     * @param slowHandlerThreshold threshold in milliseconds
+     */
+    public void setSlowHandlerThreshold(long slowHandlerThreshold) {
+        this.slowHandlerThreshold = slowHandlerThreshold;
+    }
+
+    /**
+     * Sets the time after which a handler is interrupted and the next commands and updates of its thing are passed on.
+     *
+     * @param handlerTimeout timeout in milliseconds
+     */
+    public void setHandlerTimeout(long handlerTimeout) {
+        this.handlerTimeout = handlerTimeout;
+    }
+
+    /**
+     * Queues the call of a handler.
+     *
+     * @param thingUID UID of the thing (must not be null)
+     * @param description description of the command or update for log messages (must not be null)
+     * @param handlerCall the call of the handler (must not be null)
+     */
+    public void dispatch(ThingUID thingUID, String description, Runnable handlerCall) {
+        HandlerCall call = new HandlerCall(description, handlerCall);
+        while (true) {
+            ThingQueue queue = queues.get(thingUID);
+            if (queue == null) {
+                queue = new ThingQueue(thingUID);
+                ThingQueue existingQueue = queues.putIfAbsent(thingUID, queue);
+                if (existingQueue != null) {
+                    queue = existingQueue;
+                }
+            }
+            if (queue.add(call)) {
+                return;
+            }
+            // the queue has just been discarded, so it is replaced by a new one
+            queues.remove(thingUID, queue);
+        }
+    }
+
+    /**
+     * Discards the queued commands and updates of a thing, e.g. because the thing has been removed. If a batch of the
+     * thing is running, its queue is kept until the batch has finished, so that a thing, which is added again with the
+     * same UID, does not receive two batches at once.
+     *
+     * @param thingUID UID of the thing (must not be null)
+     */
+    public void removeThing(ThingUID thingUID) {
+        ThingQueue queue = queues.get(thingUID);
+        if (queue != null) {
+            queue.discard();
+        }
+    }
+
+    /**
+     * Returns the statistics of all bindings sorted by the binding id.
+     *
+     * @return statistics per binding (not null)
+     */
+    public List<BindingCommandStatistics> getStatistics() {
+        List<BindingCommandStatistics> statistics = new ArrayList<>();
+        for (BindingRecorder recorder : recorders.values()) {
+            statistics.add(recorder.getStatistics());
+        }
+        Collections.sort(statistics, new Comparator<BindingCommandStatistics>() {
+            @Override
+            public int compare(BindingCommandStatistics statistics1, BindingCommandStatistics statistics2) {
+                return statistics1.getBindingId().compareTo(statistics2.getBindingId());
+            }
+        });
+        return statistics;
+    }
+
+    /**
+     * Stops the dispatching. Queued commands and updates are discarded and running handlers are interrupted.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        handlerExecutor.shutdownNow();
+        for (ThingQueue queue : queues.values()) {
+            queue.clear();
+        }
+        queues.clear();
+    }
+
+    private BindingRecorder getRecorder(String bindingId) {
+        BindingRecorder recorder = recorders.get(bindingId);
+        if (recorder == null) {
+            recorder = new BindingRecorder(bindingId);
+            BindingRecorder existingRecorder = recorders.putIfAbsent(bindingId, recorder);
+            if (existingRecorder != null) {
+                recorder = existingRecorder;
+            }
+        }
+        return recorder;
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private static final class HandlerCall {
+
+        private final String description;
+        private final Runnable call;
+        private final long queuedAt = now();
+
+        HandlerCall(String description, Runnable call) {
+            this.description = description;
+            this.call = call;
+        }
+    }
+
+    /**
+     * The queue of a single thing. It is scheduled in the pool as long as it is not empty. A discarded queue is removed
+     * as soon as it is no longer scheduled and accepts no further calls.
+     */
+    private final class ThingQueue implements Runnable {
+
+        private final ThingUID thingUID;
+        private final BindingRecorder recorder;
+        private final Queue<HandlerCall> calls = new ArrayDeque<>();
+        private boolean scheduled = false;
+        private boolean discardWhenIdle = false;
+        private boolean discarded = false;
+
+        /** start of the running handler call or 0 if no call is running */
+        private volatile long runningSince = 0;
+        private volatile boolean blockedReported = false;
+
+        ThingQueue(ThingUID thingUID) {
+            this.thingUID = thingUID;
+            this.recorder = getRecorder(thingUID.getBindingId());
+        }
+
+        /**
+         * Adds a call to the queue.
+         *
+         * @return false if the queue has been discarded and does not accept the call
+         */
+        boolean add(HandlerCall call) {
+            boolean schedule;
+            synchronized (this) {
+                if (discarded) {
+                    return false;
+                }
+                // the thing has been added again while its last batch has been running
+                discardWhenIdle = false;
+                calls.add(call);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            recorder.queued.incrementAndGet();
+            if (schedule) {
+                schedule();
+            } else {
+                checkBlocked();
+            }
+            return true;
+        }
+
+        void discard() {
+            synchronized (this) {
+                clear();
+                if (scheduled) {
+                    discardWhenIdle = true;
+                    return;
+                }
+                discarded = true;
+            }
+            queues.remove(thingUID, this);
+        }
+
+        void clear() {
+            synchronized (this) {
+                recorder.queued.addAndGet(-calls.size());
+                calls.clear();
+            }
+        }
+
+        @Override
+        public void run() {
+            // the thread is interrupted, when the dispatcher is shut down
+            for (int i = 0; i < MAX_BATCH_SIZE && !Thread.currentThread().isInterrupted(); i++) {
+                HandlerCall call;
+                synchronized (this) {
+                    call = calls.poll();
+                }
+                if (call == null) {
+                    break;
+                }
+                recorder.queued.decrementAndGet();
+                execute(call);
+            }
+            boolean reschedule;
+            boolean remove = false;
+            synchronized (this) {
+                reschedule = !calls.isEmpty();
+                if (!reschedule) {
+                    scheduled = false;
+                    discarded = discardWhenIdle;
+                    remove = discarded;
+                }
+            }
+            if (reschedule) {
+                // give the other things a chance before continuing with this one
+                schedule();
+            } else if (remove) {
+                queues.remove(thingUID, this);
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                logger.debug("Discarding the commands for thing '{}', because the dispatcher has been shut down.",
+                        thingUID);
+                clear();
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        private void execute(HandlerCall call) {
+            long start = now();
+            if (start - call.queuedAt > commandTimeout) {
+                recorder.expired.incrementAndGet();
+                logger.warn("Discarding {} for thing '{}', because it has been queued for {} ms.", call.description,
+                        thingUID, start - call.queuedAt);
+                return;
+            }
+            runningSince = start;
+            blockedReported = false;
+            long startNanos = System.nanoTime();
+            Future<?> future = null;
+            try {
+                future = handlerExecutor.submit(call.call);
+                future.get(handlerTimeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException ex) {
+                recorder.failed.incrementAndGet();
+                handlerFailures.increment();
+                logger.error("Exception occured while calling handler: " + ex.getCause().getMessage(), ex.getCause());
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                recorder.timedOut.incrementAndGet();
+                handlerFailures.increment();
+                logger.warn("The handler of thing '{}' has not processed {} within {} ms. It has been interrupted and "
+                        + "the next commands and updates are passed on.", thingUID, call.description, handlerTimeout);
+                return;
+            } catch (InterruptedException ex) {
+                // the dispatcher is shut down
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RejectedExecutionException ex) {
+                logger.debug("Discarding {} for thing '{}', because the dispatcher has been shut down.",
+                        call.description, thingUID);
+                return;
+            } finally {
+                runningSince = 0;
+                handlerTime.record(MetricsManager.elapsedMicros(startNanos));
+            }
+            long end = now();
+            recorder.dispatched.incrementAndGet();
+            recorder.latencies.record(end - call.queuedAt);
+            if (end - start > slowHandlerThreshold) {
+                recorder.slow.incrementAndGet();
+                logger.warn("The handler of thing '{}' took {} ms to process {}.", thingUID, end - start,
+                        call.description);
+            }
+        }
+
+        /**
+         * Reports a handler, which is still busy with a single call while new calls arrive.
+         */
+        private void checkBlocked() {
+            long runningSince = this.runningSince;
+            if (runningSince != 0 && !blockedReported) {
+                long duration = now() - runningSince;
+                if (duration > slowHandlerThreshold) {
+                    blockedReported = true;
+                    int queued;
+                    synchronized (this) {
+                        queued = calls.size();
+                    }
+                    logger.warn("The handler of thing '{}' has been blocked for {} ms, {} commands or updates are "
+                            + "waiting.", thingUID, duration, queued);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the statistics of a binding.
+     */
+    private static final class BindingRecorder {
+
+        private final String bindingId;
+        private final AtomicLong dispatched = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong expired = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong slow = new AtomicLong();
+        private final AtomicInteger queued = new AtomicInteger();
+        /** latencies in milliseconds */
+        private final LogLinearHistogram latencies = new LogLinearHistogram();
+
+        BindingRecorder(String bindingId) {
+            this.bindingId = bindingId;
+        }
+
+        BindingCommandStatistics getStatistics() {
+            return new BindingCommandStatistics(bindingId, dispatched.get(), failed.get(), expired.get(),
+                    timedOut.get(), slow.get(), queued.get(), latencies.getSnapshot());
+        }
+    }
+
+}
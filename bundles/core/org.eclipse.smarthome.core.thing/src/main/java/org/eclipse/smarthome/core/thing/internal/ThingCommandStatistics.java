@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.List;
+
+/**
+ * The {@link ThingCommandStatistics} is provided by the {@link ThingManager} to monitor the asynchronous dispatching
+ * of commands and updates to the thing handlers and the state updates reported by the handlers.
+ *
+ * @author agent - Initial contribution
+ */
+public interface ThingCommandStatistics {
+
+    /**
+     * Returns the statistics of all bindings, which have received commands or updates, sorted by the binding id.
+     *
+     * @return statistics per binding (not null)
+     */
+    List<BindingCommandStatistics> getBindingCommandStatistics();
+
+    /**
+     * Returns the number of state updates of the handlers, which have been forwarded to the linked items.
+     *
+     * @return number of forwarded state updates
+     */
+    long getForwardedStateUpdates();
+
+    /**
+     * Returns the number of state updates of the handlers, which have been suppressed because they did not change the
+     * state of the channel.
+     *
+     * @return number of suppressed state updates
+     */
+    long getSuppressedStateUpdates();
+
+}
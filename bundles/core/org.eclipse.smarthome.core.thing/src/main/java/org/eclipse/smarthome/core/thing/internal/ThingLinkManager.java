@@ -8,10 +8,15 @@
 package org.eclipse.smarthome.core.thing.internal;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
+import org.eclipse.smarthome.core.common.registry.BulkRegistryChangeListener;
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -89,41 +94,51 @@ public class ThingLinkManager {
         public void allItemsChanged(final Collection<String> oldItemNames) {
             /*
              * Find all item channel links for old items (by name) and remove the link to the item from the channel.
+             * The links are grouped by item name in a single pass, so that the channels of each old item are only
+             * looked at once.
              */
-            final Collection<ItemChannelLink> itemChannelLinks = itemChannelLinkRegistry.getAll();
-            for (final ItemChannelLink itemChannelLink : itemChannelLinks) {
+            final Set<String> oldItemNameSet = new HashSet<>(oldItemNames);
+            final Map<String, Set<ChannelUID>> boundChannelsByItemName = new LinkedHashMap<>();
+            for (final ItemChannelLink itemChannelLink : itemChannelLinkRegistry.getAll()) {
                 final String itemName = itemChannelLink.getItemName();
-                if (oldItemNames.contains(itemName)) {
-                    /*
-                     * The current 'itemChannelLink' contains the old item with name 'itemName'. Find the channel object
-                     * that contain the link to the item.
-                     */
-                    final Set<ChannelUID> boundChannels = itemChannelLinkRegistry.getBoundChannels(itemName);
-                    for (final ChannelUID channelUID : boundChannels) {
-                        final Thing thing = thingRegistry.get(channelUID.getThingUID());
-                        if (thing != null) {
-                            final Channel channel = thing.getChannel(channelUID.getId());
-                            if (channel != null) {
-                                /*
-                                 * The current 'channel' contains the link to the old item with name 'itemName'. To
-                                 * remove the link we need the item object. Collect all items that link needs to be
-                                 * removed from 'channel'.
-                                 */
-                                final Set<Item> oldLinkedItems = new LinkedHashSet<>();
-                                final Set<Item> linkedItems = channel.getLinkedItems();
-                                for (final Item linkedItem : linkedItems) {
-                                    if (linkedItem.getName().equals(itemName)) {
-                                        oldLinkedItems.add(linkedItem);
-                                    }
-                                }
-                                /*
-                                 * Remove all the old linked items.
-                                 */
-                                for (final Item oldLinkedItem : oldLinkedItems) {
-                                    channel.removeLinkedItem(oldLinkedItem);
-                                    informHandlerAboutUnlinkedChannel(thing, channel);
+                if (oldItemNameSet.contains(itemName)) {
+                    Set<ChannelUID> boundChannels = boundChannelsByItemName.get(itemName);
+                    if (boundChannels == null) {
+                        boundChannels = new LinkedHashSet<>();
+                        boundChannelsByItemName.put(itemName, boundChannels);
+                    }
+                    boundChannels.add(itemChannelLink.getUID());
+                }
+            }
+            for (final Entry<String, Set<ChannelUID>> entry : boundChannelsByItemName.entrySet()) {
+                /*
+                 * Find the channel objects that contain the link to the old item with name 'itemName'.
+                 */
+                final String itemName = entry.getKey();
+                for (final ChannelUID channelUID : entry.getValue()) {
+                    final Thing thing = thingRegistry.get(channelUID.getThingUID());
+                    if (thing != null) {
+                        final Channel channel = thing.getChannel(channelUID.getId());
+                        if (channel != null) {
+                            /*
+                             * The current 'channel' contains the link to the old item with name 'itemName'. To
+                             * remove the link we need the item object. Collect all items that link needs to be
+                             * removed from 'channel'.
+                             */
+                            final Set<Item> oldLinkedItems = new LinkedHashSet<>();
+                            final Set<Item> linkedItems = channel.getLinkedItems();
+                            for (final Item linkedItem : linkedItems) {
+                                if (linkedItem.getName().equals(itemName)) {
+                                    oldLinkedItems.add(linkedItem);
                                 }
                             }
+                            /*
+                             * Remove all the old linked items.
+                             */
+                            for (final Item oldLinkedItem : oldLinkedItems) {
+                                channel.removeLinkedItem(oldLinkedItem);
+                                informHandlerAboutUnlinkedChannel(thing, channel);
+                            }
                         }
                     }
                 }
@@ -139,7 +154,21 @@ public class ThingLinkManager {
         }
     };
 
-    private final RegistryChangeListener<ItemChannelLink> itemChannelLinkRegistryChangeListener = new RegistryChangeListener<ItemChannelLink>() {
+    private final BulkRegistryChangeListener<ItemChannelLink> itemChannelLinkRegistryChangeListener = new BulkRegistryChangeListener<ItemChannelLink>() {
+
+        @Override
+        public void addedAll(Collection<ItemChannelLink> itemChannelLinks) {
+            for (ItemChannelLink itemChannelLink : itemChannelLinks) {
+                added(itemChannelLink);
+            }
+        }
+
+        @Override
+        public void removedAll(Collection<ItemChannelLink> itemChannelLinks) {
+            for (ItemChannelLink itemChannelLink : itemChannelLinks) {
+                removed(itemChannelLink);
+            }
+        }
 
         @Override
         public void added(ItemChannelLink itemChannelLink) {
@@ -7,17 +7,25 @@
  */
 package org.eclipse.smarthome.core.thing.internal;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
 import org.eclipse.smarthome.core.events.AbstractEventSubscriber;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.metrics.Gauge;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ManagedThingProvider;
@@ -26,17 +34,24 @@ import org.eclipse.smarthome.core.thing.ThingRegistry;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.BridgeHandlerListener;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.builder.ThingStatusInfoBuilder;
+import org.eclipse.smarthome.core.thing.internal.ChannelStateCache.StateUpdatePolicy;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.link.ItemThingLinkRegistry;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.ConfigurationException;
+import org.osgi.service.cm.ManagedService;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.EventHandler;
 import org.osgi.util.tracker.ServiceTracker;
@@ -51,12 +66,32 @@ import org.slf4j.LoggerFactory;
  * added to the {@link ThingRegistry}. In addition the {@link ThingManager} acts
  * as an {@link EventHandler} and subscribes to smarthome update and command
  * events.
+ * <p>
+ * Commands and updates are passed asynchronously to the handlers by the {@link ThingCommandDispatcher}. The handler of
+ * a thing receives them in order, while a slow handler does not delay the handlers of other things. The dispatcher is
+ * configured with the pid {@code org.eclipse.smarthome.thingmanager}: {@code commandTimeout},
+ * {@code slowHandlerThreshold} and {@code handlerTimeout} in milliseconds.
+ * <p>
+ * The handlers of the things, which exist when the {@link ThingManager} is activated or when a handler factory is
+ * added, are initialized in parallel by the {@link ThingStartupOrchestrator}, bridges before their children. The
+ * startup is complete when no initialization has been pending for {@code startupQuietPeriod} milliseconds.
+ * <p>
+ * State updates of the handlers can be deduplicated by the {@link ChannelStateCache}. The {@code stateUpdatePolicy}
+ * ({@code always} or {@code change}) applies to all channels, {@code stateUpdatePolicy.<channelTypeUID>} overrides it
+ * for the channels of a channel type.
+ * <p>
+ * The children of each bridge are indexed, so that status changes of a bridge and the addition and removal of its
+ * handler are passed only to the things connected through this bridge.
+ * <p>
+ * The numbers of thing handlers and of forwarded and suppressed state updates are provided as {@code things.*} metrics
+ * through the {@link MetricsManager}.
  *
  * @author Dennis Nobel - Initial contribution
  * @author Michael Grammling - Added dynamic configuration update
  * @author Stefan Bußweiler - Added new thing status handling 
  */
-public class ThingManager extends AbstractEventSubscriber implements ThingTracker {
+public class ThingManager extends AbstractEventSubscriber implements ThingTracker, ThingCommandStatistics,
+        ThingStartupStatistics, ManagedService {
 
     private final class ThingHandlerTracker extends ServiceTracker<ThingHandler, ThingHandler> {
 
@@ -80,6 +115,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
             }
 
             thingHandlers.put(thingId, thingHandler);
+            notifyBridgeHandlerAdded(thingId, thingHandler);
             return thingHandler;
         }
 
@@ -87,6 +123,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         public void removedService(ServiceReference<ThingHandler> reference, ThingHandler service) {
             ThingUID thingId = getThingId(reference);
             logger.debug("Thing handler for thing '{}' removed.", thingId);
+            notifyBridgeHandlerRemoved(thingId, service);
             Thing thing = getThing(thingId);
             if (thing != null) {
                 handlerRemoved(thing, service);
@@ -100,6 +137,8 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     }
 
+    private static final String STATE_UPDATE_POLICY = "stateUpdatePolicy";
+
     private Logger logger = LoggerFactory.getLogger(ThingManager.class);
 
     private BundleContext bundleContext;
@@ -112,14 +151,65 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     private List<ThingHandlerFactory> thingHandlerFactories = new CopyOnWriteArrayList<>();
 
+    /**
+     * factories by the thing types they support, invalidated whenever a factory is added or removed and checked on every
+     * lookup, because a factory might stop supporting a thing type
+     */
+    private ConcurrentMap<ThingTypeUID, ThingHandlerFactory> thingHandlerFactoriesByThingType =
+            new ConcurrentHashMap<>();
+
     private Map<ThingUID, ThingHandler> thingHandlers = new ConcurrentHashMap<>();
 
     private ThingHandlerTracker thingHandlerTracker;
 
+    private final ThingCommandDispatcher commandDispatcher = new ThingCommandDispatcher();
+
+    private final ChannelStateCache channelStateCache = new ChannelStateCache();
+
+    /** invalidates the last state of a channel, whose links change */
+    private final RegistryChangeListener<ItemChannelLink> linkChangeListener =
+            new RegistryChangeListener<ItemChannelLink>() {
+
+        @Override
+        public void added(ItemChannelLink element) {
+            channelStateCache.invalidate(element.getUID());
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            channelStateCache.invalidate(element.getUID());
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            channelStateCache.invalidate(oldElement.getUID());
+            channelStateCache.invalidate(element.getUID());
+        }
+    };
+
+    private final ThingStartupOrchestrator startupOrchestrator = new ThingStartupOrchestrator(
+            new ThingStartupOrchestrator.Initializer() {
+                @Override
+                public void initialize(Thing thing) {
+                    // the thing might have been updated or removed in the meantime
+                    Thing currentThing = getThing(thing.getUID());
+                    if (currentThing != null && !thingHandlers.containsKey(currentThing.getUID())) {
+                        registerHandler(currentThing);
+                    }
+                }
+            });
+
+    /** things, which are added while the ThingManager is activated, or null after the activation */
+    private volatile List<Thing> activationThings;
+
     private ThingHandlerCallback thingHandlerCallback = new ThingHandlerCallback() {
 
         @Override
         public void stateUpdated(ChannelUID channelUID, State state) {
+            if (!channelStateCache.stateUpdated(channelUID, state)) {
+                logger.trace("Suppressing unchanged state '{}' of channel '{}'.", state, channelUID);
+                return;
+            }
             Set<String> items = itemChannelLinkRegistry.getLinkedItems(channelUID);
             for (String item : items) {
                 eventPublisher.postUpdate(item, state, channelUID.toString());
@@ -141,8 +231,11 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
             // TODO: send event
 
             if (thing instanceof Bridge) {
-                Bridge bridge = (Bridge) thing;
-                for (Thing bridgeThing : bridge.getThings()) {
+                for (ThingUID childUID : bridgeChildren.getChildren(thing.getUID())) {
+                    Thing bridgeThing = getThing(childUID);
+                    if (bridgeThing == null) {
+                        continue;
+                    }
                     if (thingStatus.getStatus() == ThingStatus.ONLINE) {
                         ThingStatusInfo statusInfo = ThingStatusInfoBuilder.create(ThingStatus.ONLINE).build();
                         bridgeThing.setStatusInfo(statusInfo);
@@ -172,12 +265,15 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     
     private ManagedThingProvider managedThingProvider;
 
-    private Set<Thing> things = new CopyOnWriteArraySet<>();
+    private Map<ThingUID, Thing> things = new ConcurrentHashMap<>();
+
+    private final BridgeChildrenIndex bridgeChildren = new BridgeChildrenIndex();
 
     private ThingLinkManager thingLinkManager;
 
-    private Set<ThingUID> registerHandlerLock = new HashSet<>();
-    private Set<ThingUID> thingUpdatedLock = new HashSet<>();
+    private Set<ThingUID> registerHandlerLock = Collections
+            .newSetFromMap(new ConcurrentHashMap<ThingUID, Boolean>());
+    private Set<ThingUID> thingUpdatedLock = Collections.newSetFromMap(new ConcurrentHashMap<ThingUID, Boolean>());
 
     /**
      * Method is called when a {@link ThingHandler} is added.
@@ -210,22 +306,26 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     }
 
     @Override
-    public void receiveCommand(String itemName, Command command, String source) {
+    public void receiveCommand(String itemName, final Command command, String source) {
         Set<ChannelUID> boundChannels = this.itemChannelLinkRegistry.getBoundChannels(itemName);
-        for (ChannelUID channelUID : boundChannels) {
+        for (final ChannelUID channelUID : boundChannels) {
             // make sure a command event is not sent back to its source
             if (!channelUID.toString().equals(source)) {
+                // the linked items might get another state than the last one of the channel
+                channelStateCache.invalidate(channelUID);
                 Thing thing = getThing(channelUID.getThingUID());
                 if (thing != null) {
-                    ThingHandler handler = thing.getHandler();
+                    final ThingHandler handler = thing.getHandler();
                     if (handler != null) {
                         logger.debug("Delegating command '{}' for item '{}' to handler for channel '{}'", command,
                                 itemName, channelUID);
-                        try {
-                            handler.handleCommand(channelUID, command);
-                        } catch (Exception ex) {
-                            logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
-                        }
+                        commandDispatcher.dispatch(thing.getUID(), "command '" + command + "' for channel '"
+                                + channelUID + "'", new Runnable() {
+                            @Override
+                            public void run() {
+                                handler.handleCommand(channelUID, command);
+                            }
+                        });
                     } else {
                         logger.warn("Cannot delegate command '{}' for item '{}' to handler for channel '{}', "
                                 + "because no handler is assigned. Maybe the binding is not installed or not "
@@ -241,22 +341,25 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     }
 
     @Override
-    public void receiveUpdate(String itemName, State newState, String source) {
+    public void receiveUpdate(String itemName, final State newState, String source) {
         Set<ChannelUID> boundChannels = this.itemChannelLinkRegistry.getBoundChannels(itemName);
-        for (ChannelUID channelUID : boundChannels) {
+        for (final ChannelUID channelUID : boundChannels) {
             // make sure an update event is not sent back to its source
             if (!channelUID.toString().equals(source)) {
+                channelStateCache.invalidate(channelUID);
                 Thing thing = getThing(channelUID.getThingUID());
                 if (thing != null) {
-                    ThingHandler handler = thing.getHandler();
+                    final ThingHandler handler = thing.getHandler();
                     if (handler != null) {
                         logger.debug("Delegating update '{}' for item '{}' to handler for channel '{}'", newState,
                                 itemName, channelUID);
-                        try {
-                            handler.handleUpdate(channelUID, newState);
-                        } catch (Exception ex) {
-                            logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
-                        }
+                        commandDispatcher.dispatch(thing.getUID(), "update '" + newState + "' for channel '"
+                                + channelUID + "'", new Runnable() {
+                            @Override
+                            public void run() {
+                                handler.handleUpdate(channelUID, newState);
+                            }
+                        });
                     } else {
                         logger.warn("Cannot delegate update '{}' for item '{}' to handler for channel '{}', "
                                 + "because no handler is assigned. Maybe the binding is not installed or not "
@@ -274,11 +377,17 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
 
     @Override
     public void thingAdded(Thing thing, ThingTrackerEvent thingTrackerEvent) {
-        this.things.add(thing);
+        this.things.put(thing.getUID(), thing);
+        this.bridgeChildren.add(thing);
         logger.debug("Thing '{}' is tracked by ThingManager.", thing.getUID());
         ThingHandler thingHandler = thingHandlers.get(thing.getUID());
         if (thingHandler == null) {
-            registerHandler(thing);
+            List<Thing> activationThings = this.activationThings;
+            if (activationThings != null) {
+                activationThings.add(thing);
+            } else {
+                startupOrchestrator.initialize(Collections.singletonList(thing));
+            }
         } else {
             logger.debug("Handler for thing '{}' already exists.", thing.getUID());
             handlerAdded(thing, thingHandler);
@@ -303,7 +412,12 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
             }
         }
         logger.debug("Thing '{}' is no longer tracked by ThingManager.", thing.getUID());
-        this.things.remove(thing);
+        this.things.remove(thing.getUID());
+        this.bridgeChildren.remove(thing);
+        this.channelStateCache.invalidate(thing.getUID());
+        if (thingTrackerEvent == ThingTrackerEvent.THING_REMOVED) {
+            commandDispatcher.removeThing(thing.getUID());
+        }
     }
 
     @Override
@@ -313,11 +427,16 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         Thing oldThing = getThing(thingUID);
 
         if (oldThing != thing) {
-            this.things.remove(oldThing);
-            this.things.add(thing);
+            this.things.put(thingUID, thing);
+            if (oldThing != null) {
+                this.bridgeChildren.update(oldThing, thing);
+            } else {
+                this.bridgeChildren.add(thing);
+            }
         }
 
         thingLinkManager.thingUpdated(thing);
+        channelStateCache.invalidate(thingUID);
 
         ThingHandler thingHandler = thingHandlers.get(thingUID);
         if (thingHandler != null) {
@@ -345,8 +464,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         ThingUID thingUID = thing.getUID();
 
         // this check is needed to prevent infinite loops while a handler is initialized
-        if (!registerHandlerLock.contains(thingUID)) {
-            registerHandlerLock.add(thingUID);
+        if (registerHandlerLock.add(thingUID)) {
             ThingHandlerFactory thingHandlerFactory = findThingHandlerFactory(thing);
             if (thingHandlerFactory != null) {
                 registerHandler(thing, thingHandlerFactory);
@@ -358,9 +476,91 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         }
     }
 
+    /**
+     * Informs the handler about the handler of its bridge and the handlers of the children of its thing about the
+     * handler, if they already exist.
+     */
+    private void notifyBridgeHandlerAdded(ThingUID thingUID, ThingHandler thingHandler) {
+        ThingHandler bridgeHandler = getBridgeHandler(thingUID, thingHandler);
+        if (bridgeHandler != null && thingHandler instanceof BridgeHandlerListener) {
+            try {
+                ((BridgeHandlerListener) thingHandler).bridgeHandlerAdded(bridgeHandler);
+            } catch (Exception ex) {
+                logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
+            }
+        }
+        for (ThingUID childUID : bridgeChildren.getChildren(thingUID)) {
+            ThingHandler childHandler = thingHandlers.get(childUID);
+            if (childHandler instanceof BridgeHandlerListener) {
+                try {
+                    ((BridgeHandlerListener) childHandler).bridgeHandlerAdded(thingHandler);
+                } catch (Exception ex) {
+                    logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Informs the handler, which is about to be disposed, about the loss of the handler of its bridge and the handlers
+     * of the children of its thing about the loss of the handler.
+     */
+    private void notifyBridgeHandlerRemoved(ThingUID thingUID, ThingHandler thingHandler) {
+        ThingHandler bridgeHandler = getBridgeHandler(thingUID, thingHandler);
+        if (bridgeHandler != null && thingHandler instanceof BridgeHandlerListener) {
+            try {
+                ((BridgeHandlerListener) thingHandler).bridgeHandlerRemoved(bridgeHandler);
+            } catch (Exception ex) {
+                logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
+            }
+        }
+        for (ThingUID childUID : bridgeChildren.getChildren(thingUID)) {
+            ThingHandler childHandler = thingHandlers.get(childUID);
+            if (childHandler instanceof BridgeHandlerListener) {
+                try {
+                    ((BridgeHandlerListener) childHandler).bridgeHandlerRemoved(thingHandler);
+                } catch (Exception ex) {
+                    logger.error("Exception occured while calling handler: " + ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the handler of the bridge of the given thing. The thing is only requested from its handler, if it is not
+     * known, e.g. because it has already been removed. As this is called while tracking the handlers, a failing
+     * handler is logged instead of breaking the tracking of the following handlers.
+     */
+    private ThingHandler getBridgeHandler(ThingUID thingUID, ThingHandler thingHandler) {
+        Thing thing = getThing(thingUID);
+        if (thing == null) {
+            try {
+                thing = thingHandler.getThing();
+            } catch (Exception ex) {
+                logger.error("Exception occured while getting the thing of the handler for thing '" + thingUID
+                        + "': " + ex.getMessage(), ex);
+            }
+        }
+        ThingUID bridgeUID = thing != null ? thing.getBridgeUID() : null;
+        return bridgeUID != null ? thingHandlers.get(bridgeUID) : null;
+    }
+
     private ThingHandlerFactory findThingHandlerFactory(Thing thing) {
+        ThingTypeUID thingTypeUID = thing.getThingTypeUID();
+        ThingHandlerFactory cachedFactory = thingHandlerFactoriesByThingType.get(thingTypeUID);
+        if (cachedFactory != null) {
+            if (cachedFactory.supportsThingType(thingTypeUID)) {
+                return cachedFactory;
+            }
+            thingHandlerFactoriesByThingType.remove(thingTypeUID, cachedFactory);
+        }
         for (ThingHandlerFactory factory : thingHandlerFactories) {
-            if (factory.supportsThingType(thing.getThingTypeUID())) {
+            if (factory.supportsThingType(thingTypeUID)) {
+                thingHandlerFactoriesByThingType.put(thingTypeUID, factory);
+                // the factory might have been removed concurrently
+                if (!thingHandlerFactories.contains(factory)) {
+                    thingHandlerFactoriesByThingType.remove(thingTypeUID, factory);
+                }
                 return factory;
             }
         }
@@ -368,13 +568,7 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
     }
 
     private Thing getThing(ThingUID id) {
-        for (Thing thing : this.things) {
-            if (thing.getUID().equals(id)) {
-                return thing;
-            }
-        }
-
-        return null;
+        return id != null ? this.things.get(id) : null;
     }
 
     private void registerHandler(Thing thing, ThingHandlerFactory thingHandlerFactory) {
@@ -404,41 +598,184 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         this.thingLinkManager = new ThingLinkManager(itemRegistry, thingRegistry, itemChannelLinkRegistry,
                 itemThingLinkRegistry);
         this.thingLinkManager.startListening();
+        this.itemChannelLinkRegistry.addRegistryChangeListener(linkChangeListener);
+        List<Thing> activationThings = Collections.synchronizedList(new ArrayList<Thing>());
+        this.activationThings = activationThings;
         this.thingRegistry.addThingTracker(this);
+        this.activationThings = null;
         this.bundleContext = componentContext.getBundleContext();
         this.thingHandlerTracker = new ThingHandlerTracker(this.bundleContext);
         this.thingHandlerTracker.open();
+        synchronized (activationThings) {
+            this.startupOrchestrator.initialize(new ArrayList<>(activationThings));
+        }
+        this.startupOrchestrator.start();
+        registerMetrics();
     }
 
     protected void addThingHandlerFactory(ThingHandlerFactory thingHandlerFactory) {
         logger.debug("Thing handler factory '{}' added", thingHandlerFactory.getClass().getSimpleName());
 
         thingHandlerFactories.add(thingHandlerFactory);
+        thingHandlerFactoriesByThingType.clear();
 
-        for (Thing thing : this.things) {
+        List<Thing> supportedThings = new ArrayList<>();
+        for (Thing thing : this.things.values()) {
             if (thingHandlerFactory.supportsThingType(thing.getThingTypeUID())) {
                 ThingUID thingId = thing.getUID();
 
                 ThingHandler thingHandler = thingHandlers.get(thingId);
                 if (thingHandler == null) {
-                    registerHandler(thing, thingHandlerFactory);
+                    supportedThings.add(thing);
                 } else {
                     logger.warn("Thing handler for thing '{}' already exists.", thingId);
                 }
             }
         }
+        startupOrchestrator.initialize(supportedThings);
     }
 
     protected void deactivate(ComponentContext componentContext) {
+        unregisterMetrics();
         this.thingHandlerTracker.close();
         this.thingRegistry.removeThingTracker(this);
         this.thingLinkManager.stopListening();
+        this.itemChannelLinkRegistry.removeRegistryChangeListener(linkChangeListener);
+        this.commandDispatcher.shutdown();
+        this.startupOrchestrator.shutdown();
+    }
+
+    private void registerMetrics() {
+        MetricsManager.gauge("things.handlers", new Gauge() {
+            @Override
+            public long getValue() {
+                return thingHandlers.size();
+            }
+        });
+        MetricsManager.gauge("things.states.forwarded", new Gauge() {
+            @Override
+            public long getValue() {
+                return channelStateCache.getForwardedCount();
+            }
+        });
+        MetricsManager.gauge("things.states.suppressed", new Gauge() {
+            @Override
+            public long getValue() {
+                return channelStateCache.getSuppressedCount();
+            }
+        });
+    }
+
+    private void unregisterMetrics() {
+        MetricsManager.getRegistry().remove("things.handlers");
+        MetricsManager.getRegistry().remove("things.states.forwarded");
+        MetricsManager.getRegistry().remove("things.states.suppressed");
+    }
+
+    @Override
+    public void updated(Dictionary<String, ?> properties) throws ConfigurationException {
+        long commandTimeout = ThingCommandDispatcher.DEFAULT_COMMAND_TIMEOUT;
+        long slowHandlerThreshold = ThingCommandDispatcher.DEFAULT_SLOW_HANDLER_THRESHOLD;
+        long handlerTimeout = ThingCommandDispatcher.DEFAULT_HANDLER_TIMEOUT;
+        long startupQuietPeriod = ThingStartupOrchestrator.DEFAULT_STARTUP_QUIET_PERIOD;
+        if (properties != null) {
+            commandTimeout = getPositiveLong(properties, "commandTimeout", commandTimeout);
+            slowHandlerThreshold = getPositiveLong(properties, "slowHandlerThreshold", slowHandlerThreshold);
+            handlerTimeout = getPositiveLong(properties, "handlerTimeout", handlerTimeout);
+            startupQuietPeriod = getPositiveLong(properties, "startupQuietPeriod", startupQuietPeriod);
+        }
+        commandDispatcher.setCommandTimeout(commandTimeout);
+        commandDispatcher.setSlowHandlerThreshold(slowHandlerThreshold);
+        commandDispatcher.setHandlerTimeout(handlerTimeout);
+        startupOrchestrator.setStartupQuietPeriod(startupQuietPeriod);
+        updateStateUpdatePolicies(properties);
+    }
+
+    private void updateStateUpdatePolicies(Dictionary<String, ?> properties) throws ConfigurationException {
+        StateUpdatePolicy defaultPolicy = StateUpdatePolicy.ALWAYS;
+        Map<String, StateUpdatePolicy> channelTypePolicies = new HashMap<>();
+        if (properties != null) {
+            Enumeration<String> keys = properties.keys();
+            while (keys.hasMoreElements()) {
+                String key = keys.nextElement();
+                if (key.equals(STATE_UPDATE_POLICY)) {
+                    defaultPolicy = getStateUpdatePolicy(properties, key);
+                } else if (key.startsWith(STATE_UPDATE_POLICY + ".")) {
+                    channelTypePolicies.put(key.substring(STATE_UPDATE_POLICY.length() + 1),
+                            getStateUpdatePolicy(properties, key));
+                }
+            }
+        }
+        channelStateCache.setPolicies(defaultPolicy, channelTypePolicies);
+    }
+
+    private StateUpdatePolicy getStateUpdatePolicy(Dictionary<String, ?> properties, String key)
+            throws ConfigurationException {
+        Object value = properties.get(key);
+        try {
+            return StateUpdatePolicy.parse(value.toString());
+        } catch (IllegalArgumentException ex) {
+            throw new ConfigurationException(key, "The value must be 'always' or 'change', but is '" + value + "'!");
+        }
+    }
+
+    private long getPositiveLong(Dictionary<String, ?> properties, String key, long defaultValue)
+            throws ConfigurationException {
+        Object value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long longValue = Long.parseLong(value.toString().trim());
+            if (longValue > 0) {
+                return longValue;
+            }
+        } catch (NumberFormatException ex) {
+            // handled below
+        }
+        throw new ConfigurationException(key, "The value must be a positive number, but is '" + value + "'!");
+    }
+
+    @Override
+    public List<BindingCommandStatistics> getBindingCommandStatistics() {
+        return commandDispatcher.getStatistics();
+    }
+
+    @Override
+    public long getForwardedStateUpdates() {
+        return channelStateCache.getForwardedCount();
+    }
+
+    @Override
+    public long getSuppressedStateUpdates() {
+        return channelStateCache.getSuppressedCount();
+    }
+
+    @Override
+    public boolean isStartupComplete() {
+        return startupOrchestrator.isStartupComplete();
+    }
+
+    @Override
+    public boolean awaitStartupComplete(long timeout, TimeUnit unit) throws InterruptedException {
+        return startupOrchestrator.awaitStartupComplete(timeout, unit);
+    }
+
+    @Override
+    public long getStartupDuration() {
+        return startupOrchestrator.getStartupDuration();
+    }
+
+    @Override
+    public Map<ThingUID, Long> getInitializationTimes() {
+        return startupOrchestrator.getInitializationTimes();
     }
 
     protected void removeThingHandlerFactory(ThingHandlerFactory thingHandlerFactory) {
         logger.debug("Thing handler factory '{}' removed", thingHandlerFactory.getClass().getSimpleName());
 
         thingHandlerFactories.remove(thingHandlerFactory);
+        thingHandlerFactoriesByThingType.values().removeAll(Collections.singleton(thingHandlerFactory));
     }
 
     protected void setEventPublisher(EventPublisher eventPublisher) {
@@ -481,6 +818,14 @@ public class ThingManager extends AbstractEventSubscriber implements ThingTracke
         this.itemThingLinkRegistry = null;
     }
     
+    protected void setThingTypeRegistry(ThingTypeRegistry thingTypeRegistry) {
+        this.channelStateCache.setThingTypeRegistry(thingTypeRegistry);
+    }
+
+    protected void unsetThingTypeRegistry(ThingTypeRegistry thingTypeRegistry) {
+        this.channelStateCache.setThingTypeRegistry(null);
+    }
+
     protected void setManagedThingProvider(ManagedThingProvider managedThingProvider) {
         this.managedThingProvider = managedThingProvider;
     }
@@ -0,0 +1,320 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager;
+import org.eclipse.smarthome.core.scheduler.ScopedScheduler;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ThingStartupOrchestrator} initializes the handlers of many things in parallel, e.g. at startup or when a
+ * handler factory for many existing things appears.
+ * <p>
+ * The things are initialized on the shared scheduler pool {@value #POOL_NAME}, whose size can be configured like all
+ * scheduler pools. A thing, whose bridge is still waiting for its initialization, is only initialized after the bridge.
+ * Things without such a dependency are initialized independently of each other. A batch with a single thing, which
+ * does not need to wait for its bridge, is initialized by the calling thread.
+ * <p>
+ * The startup is complete when no initialization has been pending for the startup quiet period. The duration of the
+ * initialization of each thing is recorded.
+ *
+ * @author agent - Initial contribution
+ */
+public class ThingStartupOrchestrator {
+
+    /** name of the scheduler pool, which initializes the things */
+    public static final String POOL_NAME = "thingInitialization";
+
+    public static final long DEFAULT_STARTUP_QUIET_PERIOD = 5000;
+
+    /**
+     * The {@link Initializer} creates and initializes the handler of a thing.
+     */
+    public interface Initializer {
+
+        /**
+         * Initializes the handler of the thing. The thing might have been removed or updated in the meantime.
+         *
+         * @param thing thing (not null)
+         */
+        void initialize(Thing thing);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ThingStartupOrchestrator.class);
+
+    private final Initializer initializer;
+
+    private final ScopedScheduler executor = SchedulerPoolManager.getScopedScheduler(POOL_NAME,
+            ThingStartupOrchestrator.class.getSimpleName());
+
+    /** tasks, which are waiting or running, guarded by this */
+    private final Map<ThingUID, Task> pending = new HashMap<>();
+
+    private final Map<ThingUID, Long> initializationTimes = new ConcurrentHashMap<>();
+
+    private final CountDownLatch startupComplete = new CountDownLatch(1);
+
+    private final long startedAt = now();
+
+    private volatile long startupDuration = -1;
+
+    private volatile long startupQuietPeriod = DEFAULT_STARTUP_QUIET_PERIOD;
+
+    /** time of the last submitted or finished initialization, guarded by this */
+    private long lastActivity = startedAt;
+
+    /**
+     * Creates a new orchestrator. The startup quiet period starts with the creation.
+     *
+     * @param initializer initializer of the things (must not be null)
+     */
+    public ThingStartupOrchestrator(Initializer initializer) {
+        this.initializer = initializer;
+    }
+
+    /**
+     * Sets the time without pending initializations, after which the startup is complete.
+     *
+     * @param startupQuietPeriod quiet period in milliseconds
+     */
+    public void setStartupQuietPeriod(long startupQuietPeriod) {
+        this.startupQuietPeriod = startupQuietPeriod;
+    }
+
+    /**
+     * Starts to wait for the end of the startup.
+     */
+    public void start() {
+        scheduleCompletionCheck();
+    }
+
+    /**
+     * Initializes the given things. Things, which are already waiting for their initialization, are ignored.
+     *
+     * @param things things (must not be null)
+     */
+    public void initialize(Collection<Thing> things) {
+        if (things.isEmpty()) {
+            return;
+        }
+        List<Task> readyTasks = new ArrayList<>();
+        synchronized (this) {
+            lastActivity = now();
+            List<Task> newTasks = new ArrayList<>(things.size());
+            for (Thing thing : things) {
+                if (!pending.containsKey(thing.getUID())) {
+                    Task task = new Task(thing);
+                    pending.put(thing.getUID(), task);
+                    newTasks.add(task);
+                }
+            }
+            for (Task task : newTasks) {
+                Task bridgeTask = getBridgeTask(task);
+                if (bridgeTask != null) {
+                    bridgeTask.dependents.add(task);
+                } else {
+                    readyTasks.add(task);
+                }
+            }
+        }
+        if (readyTasks.size() == 1 && things.size() == 1) {
+            readyTasks.get(0).run();
+        } else {
+            submit(readyTasks);
+        }
+    }
+
+    /**
+     * Returns whether the startup is complete.
+     *
+     * @return true if the startup is complete, false otherwise
+     */
+    public boolean isStartupComplete() {
+        return startupComplete.getCount() == 0;
+    }
+
+    /**
+     * Waits for the end of the startup.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout (must not be null)
+     * @return true if the startup is complete, false if the timeout has elapsed before
+     * @throws InterruptedException if the current thread has been interrupted while waiting
+     */
+    public boolean awaitStartupComplete(long timeout, TimeUnit unit) throws InterruptedException {
+        return startupComplete.await(timeout, unit);
+    }
+
+    /**
+     * Returns the duration of the startup until the last pending initialization has finished.
+     *
+     * @return duration in milliseconds or -1 if the startup is not yet complete
+     */
+    public long getStartupDuration() {
+        return startupDuration;
+    }
+
+    /**
+     * Returns the duration of the last initialization of each thing, the slowest thing first.
+     *
+     * @return durations in milliseconds by thing UID (not null)
+     */
+    public Map<ThingUID, Long> getInitializationTimes() {
+        List<Entry<ThingUID, Long>> entries = new ArrayList<>(initializationTimes.entrySet());
+        Collections.sort(entries, new Comparator<Entry<ThingUID, Long>>() {
+            @Override
+            public int compare(Entry<ThingUID, Long> entry1, Entry<ThingUID, Long> entry2) {
+                return entry2.getValue().compareTo(entry1.getValue());
+            }
+        });
+        Map<ThingUID, Long> sortedTimes = new LinkedHashMap<>();
+        for (Entry<ThingUID, Long> entry : entries) {
+            sortedTimes.put(entry.getKey(), entry.getValue());
+        }
+        return sortedTimes;
+    }
+
+    /**
+     * Stops the orchestration. Waiting initializations are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (this) {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Returns the task of the bridge of the given task, if the bridge is still waiting for its initialization. A
+     * bridge, which depends on the given task itself, is ignored, so that a misconfigured cycle cannot block the
+     * initialization forever.
+     */
+    private Task getBridgeTask(Task task) {
+        ThingUID bridgeUID = task.thing.getBridgeUID();
+        Task bridgeTask = bridgeUID != null ? pending.get(bridgeUID) : null;
+        Task ancestor = bridgeTask;
+        for (int i = 0; ancestor != null && i <= pending.size(); i++) {
+            if (ancestor == task) {
+                logger.warn("Thing '{}' is part of a cycle of bridges.", task.thing.getUID());
+                return null;
+            }
+            ThingUID ancestorBridgeUID = ancestor.thing.getBridgeUID();
+            ancestor = ancestorBridgeUID != null ? pending.get(ancestorBridgeUID) : null;
+        }
+        return bridgeTask;
+    }
+
+    private void submit(List<Task> tasks) {
+        for (Task task : tasks) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                logger.debug("Discarding the initialization of thing '{}', because the orchestrator has been "
+                        + "shut down.", task.thing.getUID());
+            }
+        }
+    }
+
+    private void finished(Task task, long duration) {
+        initializationTimes.put(task.thing.getUID(), duration);
+        List<Task> dependents;
+        boolean idle;
+        synchronized (this) {
+            pending.remove(task.thing.getUID());
+            lastActivity = now();
+            dependents = task.dependents;
+            idle = pending.isEmpty() && dependents.isEmpty();
+        }
+        submit(dependents);
+        if (idle && !isStartupComplete()) {
+            scheduleCompletionCheck();
+        }
+    }
+
+    private void scheduleCompletionCheck() {
+        try {
+            executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    checkStartupComplete();
+                }
+            }, startupQuietPeriod, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // the orchestrator has been shut down
+        }
+    }
+
+    private void checkStartupComplete() {
+        if (isStartupComplete()) {
+            return;
+        }
+        long lastActivity;
+        synchronized (this) {
+            if (!pending.isEmpty()) {
+                // the last initialization schedules the next check
+                return;
+            }
+            lastActivity = this.lastActivity;
+        }
+        long quietFor = now() - lastActivity;
+        if (quietFor >= startupQuietPeriod) {
+            startupDuration = lastActivity - startedAt;
+            startupComplete.countDown();
+            logger.info("Startup of {} things completed in {} ms.", initializationTimes.size(), startupDuration);
+        } else {
+            scheduleCompletionCheck();
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private final class Task implements Runnable {
+
+        private final Thing thing;
+        private final List<Task> dependents = new ArrayList<>();
+
+        Task(Thing thing) {
+            this.thing = thing;
+        }
+
+        @Override
+        public void run() {
+            long start = now();
+            try {
+                initializer.initialize(thing);
+            } catch (Exception ex) {
+                logger.error("Exception occured while initializing thing '" + thing.getUID() + "': "
+                        + ex.getMessage(), ex);
+            } finally {
+                long duration = now() - start;
+                logger.debug("Initialization of thing '{}' took {} ms.", thing.getUID(), duration);
+                finished(this, duration);
+            }
+        }
+    }
+
+}
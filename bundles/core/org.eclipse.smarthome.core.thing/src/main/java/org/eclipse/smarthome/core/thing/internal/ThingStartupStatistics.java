@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.thing.internal;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+
+/**
+ * The {@link ThingStartupStatistics} is provided by the {@link ThingManager} to signal the end of the startup and to
+ * monitor how long the initialization of the thing handlers takes.
+ *
+ * @author agent - Initial contribution
+ */
+public interface ThingStartupStatistics {
+
+    /**
+     * Returns whether the handlers of all things, which have been known during the startup, have been initialized.
+     *
+     * @return true if the startup is complete, false otherwise
+     */
+    boolean isStartupComplete();
+
+    /**
+     * Waits for the end of the startup.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout (must not be null)
+     * @return true if the startup is complete, false if the timeout has elapsed before
+     * @throws InterruptedException if the current thread has been interrupted while waiting
+     */
+    boolean awaitStartupComplete(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the duration of the startup.
+     *
+     * @return duration in milliseconds or -1 if the startup is not yet complete
+     */
+    long getStartupDuration();
+
+    /**
+     * Returns the duration of the last initialization of each thing handler, the slowest first.
+     *
+     * @return durations in milliseconds by thing UID (not null)
+     */
+    Map<ThingUID, Long> getInitializationTimes();
+
+}
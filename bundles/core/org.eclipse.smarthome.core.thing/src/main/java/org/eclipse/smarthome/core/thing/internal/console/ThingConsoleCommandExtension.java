@@ -10,6 +10,7 @@ package org.eclipse.smarthome.core.thing.internal.console;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map.Entry;
 
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ManagedThingProvider;
@@ -17,6 +18,9 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingRegistry;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.internal.BindingCommandStatistics;
+import org.eclipse.smarthome.core.thing.internal.ThingCommandStatistics;
+import org.eclipse.smarthome.core.thing.internal.ThingStartupStatistics;
 import org.eclipse.smarthome.io.console.Console;
 import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
 
@@ -30,9 +34,13 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
     private static final String SUBCMD_LIST = "list";
     private static final String SUBCMD_CLEAR = "clear";
     private static final String SUBCMD_REMOVE = "remove";
+    private static final String SUBCMD_HANDLERS = "handlers";
+    private static final String SUBCMD_STARTUP = "startup";
 
     private ManagedThingProvider managedThingProvider;
     private ThingRegistry thingRegistry;
+    private ThingCommandStatistics thingCommandStatistics;
+    private ThingStartupStatistics thingStartupStatistics;
 
     public ThingConsoleCommandExtension() {
         super("things", "Access your thing registry.");
@@ -58,6 +66,12 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
                         console.println("Specify thing id to remove: things remove <thingUID> (e.g. \"hue:light:1\")");
                     }
                     return;
+                case SUBCMD_HANDLERS:
+                    printHandlerStatistics(console);
+                    return;
+                case SUBCMD_STARTUP:
+                    printStartupStatistics(console);
+                    return;
                 default:
                     break;
             }
@@ -87,7 +101,44 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
     public List<String> getUsages() {
         return Arrays.asList(new String[] { buildCommandUsage(SUBCMD_LIST, "lists all things"),
                 buildCommandUsage(SUBCMD_CLEAR, "removes all managed things"),
-                buildCommandUsage(SUBCMD_REMOVE + " <thingUID>", "removes a thing") });
+                buildCommandUsage(SUBCMD_REMOVE + " <thingUID>", "removes a thing"),
+                buildCommandUsage(SUBCMD_HANDLERS,
+                        "shows the dispatched commands and the latencies of the thing handlers per binding"),
+                buildCommandUsage(SUBCMD_STARTUP, "shows the startup state and the initialization times per thing") });
+    }
+
+    private void printHandlerStatistics(Console console) {
+        ThingCommandStatistics thingCommandStatistics = this.thingCommandStatistics;
+        if (thingCommandStatistics == null) {
+            console.println("The thing manager is not available.");
+            return;
+        }
+        List<BindingCommandStatistics> statistics = thingCommandStatistics.getBindingCommandStatistics();
+        if (statistics.isEmpty()) {
+            console.println("No commands have been sent to thing handlers yet.");
+        }
+        for (BindingCommandStatistics bindingStatistics : statistics) {
+            console.println(bindingStatistics.toString());
+        }
+        console.println("State updates: forwarded=" + thingCommandStatistics.getForwardedStateUpdates()
+                + ", suppressed=" + thingCommandStatistics.getSuppressedStateUpdates());
+    }
+
+    private void printStartupStatistics(Console console) {
+        ThingStartupStatistics thingStartupStatistics = this.thingStartupStatistics;
+        if (thingStartupStatistics == null) {
+            console.println("The thing manager is not available.");
+            return;
+        }
+        if (thingStartupStatistics.isStartupComplete()) {
+            console.println("Startup completed in " + thingStartupStatistics.getStartupDuration() + " ms.");
+        } else {
+            console.println("Startup is in progress.");
+        }
+        for (Entry<ThingUID, Long> initializationTime : thingStartupStatistics.getInitializationTimes().entrySet()) {
+            console.println(String.format("%s (Initialization=%d ms)", initializationTime.getKey(),
+                    initializationTime.getValue()));
+        }
     }
 
     private void printThings(Console console, Collection<Thing> things) {
@@ -121,4 +172,20 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
         this.thingRegistry = null;
     }
 
+    protected void setThingCommandStatistics(ThingCommandStatistics thingCommandStatistics) {
+        this.thingCommandStatistics = thingCommandStatistics;
+    }
+
+    protected void unsetThingCommandStatistics(ThingCommandStatistics thingCommandStatistics) {
+        this.thingCommandStatistics = null;
+    }
+
+    protected void setThingStartupStatistics(ThingStartupStatistics thingStartupStatistics) {
+        this.thingStartupStatistics = thingStartupStatistics;
+    }
+
+    protected void unsetThingStartupStatistics(ThingStartupStatistics thingStartupStatistics) {
+        this.thingStartupStatistics = null;
+    }
+
 }
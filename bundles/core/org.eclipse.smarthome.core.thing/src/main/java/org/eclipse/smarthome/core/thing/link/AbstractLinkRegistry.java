@@ -7,9 +7,14 @@
  */
 package org.eclipse.smarthome.core.thing.link;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.thing.UID;
@@ -17,6 +22,11 @@ import org.eclipse.smarthome.core.thing.UID;
 /**
  * {@link AbstractLinkRegistry} is an abstract class for link based registries,
  * which handle {@link AbstractLink}s.
+ * <p>
+ * The registry indexes all links by their ID, by their item name and by their UID, so that lookups only depend on the
+ * number of links of the given item or UID and not on the total number of links. Several providers can supply links
+ * with the same ID, so the ID index keeps all of them and a link remains in the indexes until the last provider has
+ * removed it.
  *
  * @author Dennis Nobel - Initial contribution
  *
@@ -25,6 +35,13 @@ import org.eclipse.smarthome.core.thing.UID;
  */
 public abstract class AbstractLinkRegistry<L extends AbstractLink> extends AbstractRegistry<L, String> {
 
+    private final Object indexLock = new Object();
+
+    /** all links by their ID, the lists are immutable and replaced under the index lock */
+    private final Map<String, List<L>> linksById = new ConcurrentHashMap<>();
+    private final Map<String, Set<L>> linksByItemName = new ConcurrentHashMap<>();
+    private final Map<UID, Set<L>> linksByUID = new ConcurrentHashMap<>();
+
     /**
      * Returns if an item for a given item name is linked to a channel or thing for a
      * given UID.
@@ -37,8 +54,8 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink> extends Abstr
      */
     public boolean isLinked(String itemName, UID uid) {
 
-        for (AbstractLink link : getAll()) {
-            if (link.getUID().equals(uid) && link.getItemName().equals(itemName)) {
+        for (AbstractLink link : getLinks(linksByUID, uid)) {
+            if (link.getItemName().equals(itemName)) {
                 return true;
             }
         }
@@ -55,22 +72,117 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink> extends Abstr
      */
     public Set<String> getLinkedItems(UID uid) {
         Set<String> linkedItems = new LinkedHashSet<>();
-        for (AbstractLink link : getAll()) {
-            if (link.getUID().equals(uid)) {
-                linkedItems.add(link.getItemName());
-            }
+        for (AbstractLink link : getLinks(linksByUID, uid)) {
+            linkedItems.add(link.getItemName());
         }
         return linkedItems;
     }
 
     @Override
     public L get(String key) {
-        Collection<L> links = getAll();
-        for (L link : links) {
-            if (link.getID().equals(key)) {
-                return link;
+        List<L> links = key != null ? linksById.get(key) : null;
+        return links != null ? links.get(0) : null;
+    }
+
+    /**
+     * Returns all links of the item with the given name.
+     *
+     * @param itemName
+     *            item name
+     * @return links of the item (not null)
+     */
+    protected Set<L> getLinks(String itemName) {
+        return getLinks(linksByItemName, itemName);
+    }
+
+    @Override
+    protected void onAddElement(L element) throws IllegalArgumentException {
+        addToIndexes(element);
+    }
+
+    @Override
+    protected void onRemoveElement(L element) {
+        removeFromIndexes(element);
+    }
+
+    @Override
+    protected void onUpdateElement(L oldElement, L element) throws IllegalArgumentException {
+        synchronized (indexLock) {
+            removeFromIndexes(oldElement);
+            addToIndexes(element);
+        }
+    }
+
+    private void addToIndexes(L link) {
+        synchronized (indexLock) {
+            List<L> links = linksById.get(link.getID());
+            if (links == null) {
+                linksById.put(link.getID(), Collections.singletonList(link));
+                addToIndex(linksByItemName, link.getItemName(), link);
+                addToIndex(linksByUID, link.getUID(), link);
+            } else {
+                List<L> newLinks = new ArrayList<>(links);
+                newLinks.add(link);
+                linksById.put(link.getID(), Collections.unmodifiableList(newLinks));
             }
         }
-        return null;
+    }
+
+    private void removeFromIndexes(L link) {
+        synchronized (indexLock) {
+            List<L> links = linksById.get(link.getID());
+            if (links == null) {
+                return;
+            }
+            List<L> remainingLinks = new ArrayList<>(links);
+            if (!removeInstance(remainingLinks, link)) {
+                remainingLinks.remove(link);
+            }
+            removeFromIndex(linksByItemName, link.getItemName(), link);
+            removeFromIndex(linksByUID, link.getUID(), link);
+            if (remainingLinks.isEmpty()) {
+                linksById.remove(link.getID());
+            } else {
+                // another provider still supplies a link with this ID
+                L remainingLink = remainingLinks.get(0);
+                linksById.put(link.getID(), Collections.unmodifiableList(remainingLinks));
+                addToIndex(linksByItemName, remainingLink.getItemName(), remainingLink);
+                addToIndex(linksByUID, remainingLink.getUID(), remainingLink);
+            }
+        }
+    }
+
+    private boolean removeInstance(List<L> links, L link) {
+        for (int i = 0; i < links.size(); i++) {
+            if (links.get(i) == link) {
+                links.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <K> void addToIndex(Map<K, Set<L>> index, K key, L link) {
+        Set<L> links = index.get(key);
+        if (links == null) {
+            links = new CopyOnWriteArraySet<>();
+            index.put(key, links);
+        }
+        links.add(link);
+    }
+
+    private <K> void removeFromIndex(Map<K, Set<L>> index, K key, L link) {
+        Set<L> links = index.get(key);
+        if (links != null) {
+            links.remove(link);
+            if (links.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private <K> Set<L> getLinks(Map<K, Set<L>> index, K key) {
+        Set<L> links = key != null ? index.get(key) : null;
+        return links != null ? Collections.unmodifiableSet(links) : Collections.<L> emptySet();
     }
 }
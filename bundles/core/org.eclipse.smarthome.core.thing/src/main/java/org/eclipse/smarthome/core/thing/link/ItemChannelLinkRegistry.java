@@ -38,10 +38,8 @@ public class ItemChannelLinkRegistry extends AbstractLinkRegistry<ItemChannelLin
 
         Set<ChannelUID> channelUIDs = new HashSet<>();
 
-        for (ItemChannelLink itemChannelLink : getAll()) {
-            if (itemChannelLink.getItemName().equals(itemName)) {
-                channelUIDs.add(itemChannelLink.getUID());
-            }
+        for (ItemChannelLink itemChannelLink : getLinks(itemName)) {
+            channelUIDs.add(itemChannelLink.getUID());
         }
 
         return channelUIDs;
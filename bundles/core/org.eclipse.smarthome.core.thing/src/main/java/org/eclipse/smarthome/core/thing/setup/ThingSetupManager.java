@@ -234,26 +234,10 @@ public class ThingSetupManager {
     public void enableChannel(ChannelUID channelUID) {
         ChannelType channelType = thingTypeRegistry.getChannelType(channelUID);
         if (channelType != null) {
-            String itemType = channelType.getItemType();
-            ItemFactory itemFactory = getItemFactoryForItemType(itemType);
-            if (itemFactory != null) {
-                String itemName = toItemName(channelUID);
-                GenericItem item = itemFactory.createItem(itemType, itemName);
-                if (item != null) {
-                    String thingGroupItemName = getThingGroupItemName(channelUID);
-                    if (thingGroupItemName != null) {
-                        if (!channelUID.isInGroup()) {
-                            item.addGroupName(thingGroupItemName);
-                        } else {
-                            item.addGroupName(getChannelGroupItemName(thingGroupItemName, channelUID.getGroupId()));
-                        }
-                    }
-                    item.addTags(channelType.getTags());
-                    item.setCategory(channelType.getCategory());
-                    item.setLabel(channelType.getLabel());
-                    addItemSafely(item);
-                    addItemChannelLinkSafely(new ItemChannelLink(itemName, channelUID));
-                }
+            GenericItem item = createChannelItem(channelUID, channelType, getThingGroupItemName(channelUID));
+            if (item != null) {
+                addItemSafely(item);
+                addItemChannelLinkSafely(new ItemChannelLink(item.getName(), channelUID));
             }
         } else {
             logger.warn("Could not enable channel '{}', because no channel type was found.", channelUID);
@@ -510,18 +494,65 @@ public class ThingSetupManager {
         }
 
         if (enableChannels) {
-            List<Channel> channels = thing.getChannels();
-            for (Channel channel : channels) {
-                ChannelType channelType = this.thingTypeRegistry.getChannelType(channel.getUID());
-                if (channelType != null && !channelType.isAdvanced()) {
-                    enableChannel(channel.getUID());
-                } else if(channelType == null) {
-                    logger.warn("Could not enable channel '{}', because no channel type was found.", channel.getUID());
+            enableChannels(thing, itemName);
+        }
+
+        return thing;
+    }
+
+    /**
+     * Enables all not 'advanced' channels of the given thing at once, i.e. the items and links of all channels are
+     * added to the registries with a single operation each.
+     */
+    private void enableChannels(Thing thing, String thingGroupItemName) {
+        List<Item> items = new ArrayList<>();
+        List<String> itemNames = new ArrayList<>();
+        List<ItemChannelLink> itemChannelLinks = new ArrayList<>();
+        for (Channel channel : thing.getChannels()) {
+            ChannelType channelType = this.thingTypeRegistry.getChannelType(channel.getUID());
+            if (channelType != null && !channelType.isAdvanced()) {
+                GenericItem item = createChannelItem(channel.getUID(), channelType, thingGroupItemName);
+                if (item != null) {
+                    items.add(item);
+                    itemNames.add(item.getName());
+                    ItemChannelLink itemChannelLink = new ItemChannelLink(item.getName(), channel.getUID());
+                    if (this.itemChannelLinkRegistry.get(itemChannelLink.getID()) == null) {
+                        itemChannelLinks.add(itemChannelLink);
+                    }
                 }
+            } else if (channelType == null) {
+                logger.warn("Could not enable channel '{}', because no channel type was found.", channel.getUID());
             }
         }
+        if (!items.isEmpty()) {
+            itemRegistry.removeAll(itemNames);
+            itemRegistry.addAll(items);
+        }
+        if (!itemChannelLinks.isEmpty()) {
+            itemChannelLinkRegistry.addAll(itemChannelLinks);
+        }
+    }
 
-        return thing;
+    private GenericItem createChannelItem(ChannelUID channelUID, ChannelType channelType, String thingGroupItemName) {
+        String itemType = channelType.getItemType();
+        ItemFactory itemFactory = getItemFactoryForItemType(itemType);
+        if (itemFactory == null) {
+            return null;
+        }
+        GenericItem item = itemFactory.createItem(itemType, toItemName(channelUID));
+        if (item != null) {
+            if (thingGroupItemName != null) {
+                if (!channelUID.isInGroup()) {
+                    item.addGroupName(thingGroupItemName);
+                } else {
+                    item.addGroupName(getChannelGroupItemName(thingGroupItemName, channelUID.getGroupId()));
+                }
+            }
+            item.addTags(channelType.getTags());
+            item.setCategory(channelType.getCategory());
+            item.setLabel(channelType.getLabel());
+        }
+        return item;
     }
 
     private void addThingSafely(Thing thing) {
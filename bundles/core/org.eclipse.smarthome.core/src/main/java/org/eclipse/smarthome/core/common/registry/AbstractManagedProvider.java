@@ -7,8 +7,14 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
+import org.eclipse.smarthome.core.storage.BulkStorage;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.storage.StorageService;
 import org.slf4j.Logger;
@@ -29,6 +35,10 @@ import com.google.common.collect.ImmutableList;
  * if the original element class is not directly persistable. If the element type can be persisted directly the
  * {@link DefaultAbstractManagedProvider} can be used as base class.
  * </p>
+ * <p>
+ * {@link #addAll(Collection)} and {@link #removeAll(Collection)} apply all changes to a {@link BulkStorage} at once and
+ * notify {@link BulkProviderChangeListener}s once about all elements.
+ * </p>
  *
  * @author Dennis Nobel - Initial contribution
  *
@@ -62,6 +72,38 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         logger.debug("Added new element to {}.", this.getClass().getSimpleName());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void addAll(Collection<E> elements) {
+
+        if (elements == null) {
+            throw new IllegalArgumentException("Cannot add null elements");
+        }
+
+        Map<String, PE> persistableElements = new LinkedHashMap<>();
+        for (E element : elements) {
+            if (element == null) {
+                throw new IllegalArgumentException("Cannot add null element");
+            }
+            String keyAsString = getKeyAsString(element);
+            if (persistableElements.containsKey(keyAsString) || storage.get(keyAsString) != null) {
+                throw new IllegalArgumentException("Cannot add element, because an element with same UID ("
+                        + keyAsString + ") already exists.");
+            }
+            persistableElements.put(keyAsString, toPersistableElement(element));
+        }
+
+        if (storage instanceof BulkStorage) {
+            ((BulkStorage<PE>) storage).putAll(persistableElements);
+        } else {
+            for (Entry<String, PE> persistableElement : persistableElements.entrySet()) {
+                storage.put(persistableElement.getKey(), persistableElement.getValue());
+            }
+        }
+        notifyListenersAboutAddedElements(elements);
+        logger.debug("Added {} new elements to {}.", elements.size(), this.getClass().getSimpleName());
+    }
+
     @Override
     public Collection<E> getAll() {
         final Function<String, E> toElementList = new Function<String, E>() {
@@ -120,6 +162,47 @@ public abstract class AbstractManagedProvider<E, K, PE> extends AbstractProvider
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<E> removeAll(Collection<K> keys) {
+
+        if (keys == null) {
+            throw new IllegalArgumentException("Cannot remove null elements");
+        }
+
+        List<String> keysAsString = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("Cannot remove null element");
+            }
+            keysAsString.add(keyToString(key));
+        }
+
+        Map<String, PE> persistableElements;
+        if (storage instanceof BulkStorage) {
+            persistableElements = ((BulkStorage<PE>) storage).removeAll(keysAsString);
+        } else {
+            persistableElements = new LinkedHashMap<>();
+            for (String keyAsString : keysAsString) {
+                PE persistableElement = storage.remove(keyAsString);
+                if (persistableElement != null) {
+                    persistableElements.put(keyAsString, persistableElement);
+                }
+            }
+        }
+
+        List<E> removedElements = new ArrayList<>(persistableElements.size());
+        for (Entry<String, PE> persistableElement : persistableElements.entrySet()) {
+            E element = toElement(persistableElement.getKey(), persistableElement.getValue());
+            if (element != null) {
+                removedElements.add(element);
+            }
+        }
+        notifyListenersAboutRemovedElements(removedElements);
+        logger.debug("Removed {} elements from {}.", removedElements.size(), this.getClass().getSimpleName());
+        return removedElements;
+    }
+
     @Override
     public E update(E element) {
 
@@ -7,6 +7,7 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -80,4 +81,61 @@ public abstract class AbstractProvider<E> implements Provider<E> {
         notifyListeners(oldElement, element, EventType.UPDATED);
     }
 
+    /**
+     * Notifies a {@link BulkProviderChangeListener} once about all added elements and all other listeners about each
+     * element.
+     *
+     * @param elements
+     *            the added elements
+     */
+    protected void notifyListenersAboutAddedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.ADDED);
+    }
+
+    /**
+     * Notifies a {@link BulkProviderChangeListener} once about all removed elements and all other listeners about each
+     * element.
+     *
+     * @param elements
+     *            the removed elements
+     */
+    protected void notifyListenersAboutRemovedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.REMOVED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyListeners(Collection<E> elements, EventType eventType) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        for (ProviderChangeListener<E> listener : this.listeners) {
+            if (listener instanceof BulkProviderChangeListener) {
+                BulkProviderChangeListener<E> bulkListener = (BulkProviderChangeListener<E>) listener;
+                try {
+                    if (eventType == EventType.ADDED) {
+                        bulkListener.addedAll(this, elements);
+                    } else {
+                        bulkListener.removedAll(this, elements);
+                    }
+                } catch (Exception ex) {
+                    logger.error("Could not inform the listener '" + listener + "' about the '" + eventType.name()
+                            + "' event!: " + ex.getMessage(), ex);
+                }
+            } else {
+                for (E element : elements) {
+                    try {
+                        if (eventType == EventType.ADDED) {
+                            listener.added(this, element);
+                        } else {
+                            listener.removed(this, element);
+                        }
+                    } catch (Exception ex) {
+                        logger.error("Could not inform the listener '" + listener + "' about the '"
+                                + eventType.name() + "' event!: " + ex.getMessage(), ex);
+                    }
+                }
+            }
+        }
+    }
+
 }
\ No newline at end of file
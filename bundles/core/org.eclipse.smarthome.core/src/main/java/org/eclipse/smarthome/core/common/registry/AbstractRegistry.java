@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -27,7 +29,7 @@ import com.google.common.collect.Iterables;
  * @param <E>
  *            type of the element
  */
-public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E>, Registry<E, K> {
+public abstract class AbstractRegistry<E, K> implements BulkProviderChangeListener<E>, Registry<E, K> {
 
     private enum EventType {
         ADDED, REMOVED, UPDATED;
@@ -40,6 +42,14 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
 
     protected ManagedProvider<E, K> managedProvider;
 
+    private final Object snapshotLock = new Object();
+
+    /**
+     * Immutable copy of all elements, which is returned by {@link #getAll()}. It is rebuilt lazily after it has been
+     * invalidated by a change of the element map.
+     */
+    private volatile Collection<E> snapshot;
+
     @Override
     public void added(Provider<E> provider, E element) {
         Collection<E> elements = elementMap.get(provider);
@@ -47,6 +57,7 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
             try {
                 onAddElement(element);
                 elements.add(element);
+                invalidateSnapshot();
                 notifyListenersAboutAddedElement(element);
             } catch (Exception ex) {
                 logger.warn("Could not add element: " + ex.getMessage(), ex);
@@ -54,6 +65,25 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         }
     }
 
+    @Override
+    public void addedAll(Provider<E> provider, Collection<E> elements) {
+        Collection<E> elementsOfProvider = elementMap.get(provider);
+        if (elementsOfProvider != null) {
+            List<E> addedElements = new ArrayList<>(elements.size());
+            for (E element : elements) {
+                try {
+                    onAddElement(element);
+                    addedElements.add(element);
+                } catch (Exception ex) {
+                    logger.warn("Could not add element: " + ex.getMessage(), ex);
+                }
+            }
+            elementsOfProvider.addAll(addedElements);
+            invalidateSnapshot();
+            notifyListenersAboutAddedElements(addedElements);
+        }
+    }
+
     @Override
     public void addRegistryChangeListener(RegistryChangeListener<E> listener) {
         listeners.add(listener);
@@ -61,7 +91,27 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
 
     @Override
     public Collection<E> getAll() {
-        return ImmutableList.copyOf(Iterables.concat(elementMap.values()));
+        Collection<E> all = snapshot;
+        if (all == null) {
+            synchronized (snapshotLock) {
+                all = snapshot;
+                if (all == null) {
+                    all = ImmutableList.copyOf(Iterables.concat(elementMap.values()));
+                    snapshot = all;
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Discards the cached result of {@link #getAll()}. Must be called by sub classes after they have modified the
+     * {@link #elementMap} directly.
+     */
+    protected void invalidateSnapshot() {
+        synchronized (snapshotLock) {
+            snapshot = null;
+        }
     }
 
     @Override
@@ -71,6 +121,7 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
             try {
                 onRemoveElement(element);
                 elements.remove(element);
+                invalidateSnapshot();
                 notifyListenersAboutRemovedElement(element);
             } catch (Exception ex) {
                 logger.warn("Could not remove element: " + ex.getMessage(), ex);
@@ -78,6 +129,25 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         }
     }
 
+    @Override
+    public void removedAll(Provider<E> provider, Collection<E> elements) {
+        Collection<E> elementsOfProvider = elementMap.get(provider);
+        if (elementsOfProvider != null) {
+            List<E> removedElements = new ArrayList<>(elements.size());
+            for (E element : elements) {
+                try {
+                    onRemoveElement(element);
+                    removedElements.add(element);
+                } catch (Exception ex) {
+                    logger.warn("Could not remove element: " + ex.getMessage(), ex);
+                }
+            }
+            elementsOfProvider.removeAll(removedElements);
+            invalidateSnapshot();
+            notifyListenersAboutRemovedElements(removedElements);
+        }
+    }
+
     @Override
     public void removeRegistryChangeListener(RegistryChangeListener<E> listener) {
         listeners.remove(listener);
@@ -91,6 +161,7 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
                 onUpdateElement(oldElement, element);
                 elements.remove(oldElement);
                 elements.add(element);
+                invalidateSnapshot();
                 notifyListenersAboutUpdatedElement(oldElement, element);
             } catch (Exception ex) {
                 logger.warn("Could not update element: " + ex.getMessage(), ex);
@@ -125,6 +196,24 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         }
     }
 
+    @Override
+    public void addAll(Collection<E> elements) {
+        if (this.managedProvider != null) {
+            this.managedProvider.addAll(elements);
+        } else {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+    }
+
+    @Override
+    public Collection<E> removeAll(Collection<K> keys) {
+        if (this.managedProvider != null) {
+            return this.managedProvider.removeAll(keys);
+        } else {
+            throw new IllegalStateException("ManagedProvider is not available");
+        }
+    }
+
     protected void notifyListeners(E oldElement, E element, EventType eventType) {
         for (RegistryChangeListener<E> listener : this.listeners) {
             try {
@@ -164,6 +253,63 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
         notifyListeners(oldElement, element, EventType.UPDATED);
     }
 
+    /**
+     * Notifies a {@link BulkRegistryChangeListener} once about all added elements and all other listeners about each
+     * element.
+     *
+     * @param elements
+     *            the added elements
+     */
+    protected void notifyListenersAboutAddedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.ADDED);
+    }
+
+    /**
+     * Notifies a {@link BulkRegistryChangeListener} once about all removed elements and all other listeners about each
+     * element.
+     *
+     * @param elements
+     *            the removed elements
+     */
+    protected void notifyListenersAboutRemovedElements(Collection<E> elements) {
+        notifyListeners(elements, EventType.REMOVED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyListeners(Collection<E> elements, EventType eventType) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        for (RegistryChangeListener<E> listener : this.listeners) {
+            if (listener instanceof BulkRegistryChangeListener) {
+                BulkRegistryChangeListener<E> bulkListener = (BulkRegistryChangeListener<E>) listener;
+                try {
+                    if (eventType == EventType.ADDED) {
+                        bulkListener.addedAll(elements);
+                    } else {
+                        bulkListener.removedAll(elements);
+                    }
+                } catch (Throwable throwable) {
+                    logger.error("Could not inform the listener '" + listener + "' about the '" + eventType.name()
+                            + "' event!: " + throwable.getMessage(), throwable);
+                }
+            } else {
+                for (E element : elements) {
+                    try {
+                        if (eventType == EventType.ADDED) {
+                            listener.added(element);
+                        } else {
+                            listener.removed(element);
+                        }
+                    } catch (Throwable throwable) {
+                        logger.error("Could not inform the listener '" + listener + "' about the '"
+                                + eventType.name() + "' event!: " + throwable.getMessage(), throwable);
+                    }
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected void addProvider(Provider<E> provider) {
         // only add this provider if it does not already exist
@@ -176,6 +322,7 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
                 try {
                     onAddElement(element);
                     elements.add(element);
+                    invalidateSnapshot();
                     notifyListenersAboutAddedElement(element);
                 } catch (Exception ex) {
                     logger.warn("Could not add element: " + ex.getMessage(), ex);
@@ -251,6 +398,7 @@ public abstract class AbstractRegistry<E, K> implements ProviderChangeListener<E
             }
 
             elementMap.remove(provider);
+            invalidateSnapshot();
 
             provider.removeProviderChangeListener(this);
 
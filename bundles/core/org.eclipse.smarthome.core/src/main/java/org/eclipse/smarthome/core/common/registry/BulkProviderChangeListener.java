@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import java.util.Collection;
+
+/**
+ * A {@link BulkProviderChangeListener} is notified once about all elements, which have been added or removed together
+ * by {@link ManagedProvider#addAll(Collection)} or {@link ManagedProvider#removeAll(Collection)}. Other listeners are
+ * notified about each element.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <E>
+ *            type of the element from the provider
+ */
+public interface BulkProviderChangeListener<E> extends ProviderChangeListener<E> {
+
+    /**
+     * Notifies the listener that several elements have been added.
+     *
+     * @param provider
+     *            element provider
+     * @param elements
+     *            the elements that have been added
+     */
+    void addedAll(Provider<E> provider, Collection<E> elements);
+
+    /**
+     * Notifies the listener that several elements have been removed.
+     *
+     * @param provider
+     *            element provider
+     * @param elements
+     *            the elements that have been removed
+     */
+    void removedAll(Provider<E> provider, Collection<E> elements);
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import java.util.Collection;
+
+/**
+ * A {@link BulkRegistryChangeListener} is notified once about all elements, which have been added or removed together
+ * by {@link Registry#addAll(Collection)} or {@link Registry#removeAll(Collection)}. Other listeners are notified about
+ * each element.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <E>
+ *            type of the element in the registry
+ */
+public interface BulkRegistryChangeListener<E> extends RegistryChangeListener<E> {
+
+    /**
+     * Notifies the listener that several elements have been added.
+     *
+     * @param elements
+     *            the elements that have been added
+     */
+    void addedAll(Collection<E> elements);
+
+    /**
+     * Notifies the listener that several elements have been removed.
+     *
+     * @param elements
+     *            the elements that have been removed
+     */
+    void removedAll(Collection<E> elements);
+
+}
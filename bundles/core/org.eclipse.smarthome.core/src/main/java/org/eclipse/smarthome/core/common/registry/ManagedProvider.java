@@ -7,6 +7,8 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.Collection;
+
 /**
  * The {@link ManagedProvider} is a specific {@link Provider} that enables to
  * add, remove and update elements at runtime.
@@ -58,4 +60,23 @@ public interface ManagedProvider<E, K> extends Provider<E> {
      */
     E get(K key);
 
+    /**
+     * Adds all elements at once.
+     *
+     * @param elements
+     *            elements to be added
+     * @throws IllegalArgumentException
+     *             if an element is null or an element with the same key already exists, no element is added then
+     */
+    void addAll(Collection<E> elements);
+
+    /**
+     * Removes the elements with the given keys at once and returns the removed elements.
+     *
+     * @param keys
+     *            keys of the elements that should be removed
+     * @return elements that were removed, keys without element are ignored
+     */
+    Collection<E> removeAll(Collection<K> keys);
+
 }
\ No newline at end of file
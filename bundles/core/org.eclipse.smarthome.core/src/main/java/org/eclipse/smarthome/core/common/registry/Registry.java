@@ -85,4 +85,29 @@ public interface Registry<E, K> {
      *             if no ManagedProvider is available
      */
     public E remove(K key);
+
+    /**
+     * Adds all given elements to the according {@link ManagedProvider} at once. The elements are stored together and
+     * {@link BulkRegistryChangeListener}s are notified once about all elements.
+     *
+     * @param elements
+     *            elements to be added (must not be null)
+     * @throws IllegalArgumentException
+     *             if an element is null or an element with the same key already exists, no element is added then
+     * @throws IllegalStateException
+     *             if no ManagedProvider is available
+     */
+    public void addAll(Collection<E> elements);
+
+    /**
+     * Removes the elements with the given keys from the according {@link ManagedProvider} at once. The elements are
+     * removed from the storage together and {@link BulkRegistryChangeListener}s are notified once about all elements.
+     *
+     * @param keys
+     *            keys of the elements (must not be null)
+     * @return elements that were removed, keys without element are ignored
+     * @throws IllegalStateException
+     *             if no ManagedProvider is available
+     */
+    public Collection<E> removeAll(Collection<K> keys);
 }
\ No newline at end of file
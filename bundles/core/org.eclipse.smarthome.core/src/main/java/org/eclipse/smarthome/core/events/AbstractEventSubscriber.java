@@ -30,7 +30,10 @@ import org.slf4j.LoggerFactory;
  * methods of the {@link EventSubscriber} interface.
  * <p>
  * To get notified about events, the concrete implementation of this class must be registered as event listener with an
- * according filter at the <i>Eclipse SmartHome</i> event bus. Furthermore the method
+ * according filter at the <i>Eclipse SmartHome</i> event bus. It can either be registered as <i>OSGi Event Admin</i>
+ * {@link EventHandler} with an according topic or as {@link ItemEventHandler}, which receives typed events without any
+ * topic parsing. In the latter case {@link #getItemEventFilter()} can be overridden to restrict the received events.
+ * Furthermore the method
  * {@link #receiveUpdate(String, State)} and/or {@link #receiveCommand(String, Command)} must be overridden.
  *
  * @see EventPublisher
@@ -39,7 +42,7 @@ import org.slf4j.LoggerFactory;
  * @author Kai Kreuzer - Initial contribution and API
  * @author Michael Grammling - Javadoc extended, stability improved, Checkstyle compliance
  */
-public abstract class AbstractEventSubscriber implements EventSubscriber, EventHandler {
+public abstract class AbstractEventSubscriber implements EventSubscriber, EventHandler, ItemEventHandler {
 
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -60,7 +63,7 @@ public abstract class AbstractEventSubscriber implements EventSubscriber, EventH
      */
     @Override
     public void handleEvent(Event event) {
-        Object itemNameObj = event.getProperty("item");
+        Object itemNameObj = event.getProperty(EventConstants.PROPERTY_ITEM);
         if (!(itemNameObj instanceof String)) {
             return; // we have received an invalid item name
         }
@@ -69,13 +72,9 @@ public abstract class AbstractEventSubscriber implements EventSubscriber, EventH
             return; // we have received an empty item name
         }
         String source = null;
-        Object sourceObj = event.getProperty("source");
+        Object sourceObj = event.getProperty(EventConstants.PROPERTY_SOURCE);
         if (sourceObj instanceof String) {
             source = (String) sourceObj;
-            if (sourceFilterList.contains(source)) {
-                // we are not supposed to process this event
-                return;
-            }
         }
 
         String topic = event.getTopic();
@@ -86,27 +85,53 @@ public abstract class AbstractEventSubscriber implements EventSubscriber, EventH
         String operation = topicParts[1];
 
         if (EventType.UPDATE.toString().equals(operation)) {
-            Object newStateObj = event.getProperty("state");
+            Object newStateObj = event.getProperty(EventConstants.PROPERTY_STATE);
             if (newStateObj instanceof State) {
-                State newState = (State) newStateObj;
-                try {
-                    receiveUpdate(itemName, newState, source);
-                } catch (Exception ex) {
-                    this.logger.error("An error occured within the 'receiveUpdate' method"
-                            + " of the event subscriber!", ex);
-                }
+                handleItemEvent(ItemEvent.createUpdateEvent(itemName, (State) newStateObj, source));
             }
         } else if (EventType.COMMAND.toString().equals(operation)) {
-            Object commandObj = event.getProperty("command");
+            Object commandObj = event.getProperty(EventConstants.PROPERTY_COMMAND);
             if (commandObj instanceof Command) {
-                Command command = (Command) commandObj;
-
-                try {
-                    receiveCommand(itemName, command, source);
-                } catch (Exception ex) {
-                    this.logger.error("An error occured within the 'receiveCommand' method"
-                            + " of the event subscriber!", ex);
-                }
+                handleItemEvent(ItemEvent.createCommandEvent(itemName, (Command) commandObj, source));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * By default all commands and state updates of all items are accepted. Sub classes can override this method to
+     * restrict the events they are interested in.
+     */
+    @Override
+    public ItemEventFilter getItemEventFilter() {
+        return ItemEventFilter.ALL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleItemEvent(ItemEvent event) {
+        String source = event.getSource();
+        if (source != null && sourceFilterList.contains(source)) {
+            // we are not supposed to process this event
+            return;
+        }
+
+        if (event.getType() == EventType.UPDATE) {
+            try {
+                receiveUpdate(event.getItemName(), event.getState(), source);
+            } catch (Exception ex) {
+                this.logger.error("An error occured within the 'receiveUpdate' method" + " of the event subscriber!",
+                        ex);
+            }
+        } else {
+            try {
+                receiveCommand(event.getItemName(), event.getCommand(), source);
+            } catch (Exception ex) {
+                this.logger.error("An error occured within the 'receiveCommand' method" + " of the event subscriber!",
+                        ex);
             }
         }
     }
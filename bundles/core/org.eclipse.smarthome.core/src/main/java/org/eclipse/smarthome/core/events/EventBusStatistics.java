@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+import java.util.List;
+
+/**
+ * The {@link EventBusStatistics} service gives insight into the delivery of events through the <i>Eclipse
+ * SmartHome</i> event bus. It is provided by the {@link EventPublisher} implementation.
+ *
+ * @author agent - Initial contribution
+ */
+public interface EventBusStatistics {
+
+    /**
+     * Returns the delivery counters of all registered {@link ItemEventHandler}s.
+     *
+     * @return list of statistics snapshots, one per handler (not null)
+     */
+    List<ItemEventHandlerStatistics> getItemEventHandlerStatistics();
+
+    /**
+     * Returns the depths and latencies of the queues, in which posted events wait for their delivery.
+     *
+     * @return statistics snapshot of the event queues (not null)
+     */
+    EventQueueStatistics getEventQueueStatistics();
+
+}
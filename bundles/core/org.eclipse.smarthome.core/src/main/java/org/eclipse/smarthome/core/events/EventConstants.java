@@ -41,4 +41,38 @@ public interface EventConstants {
      */
     String TOPIC_SEPERATOR = "/";
 
+    /**
+     * The pre-built prefix of all topics under which commands are sent, followed by the item name.
+     * <p>
+     * Example: {@code smarthome/command/<item-name>}
+     */
+    String TOPIC_COMMAND_PREFIX = TOPIC_PREFIX + TOPIC_SEPERATOR + "command" + TOPIC_SEPERATOR;
+
+    /**
+     * The pre-built prefix of all topics under which state updates are sent, followed by the item name.
+     * <p>
+     * Example: {@code smarthome/update/<item-name>}
+     */
+    String TOPIC_UPDATE_PREFIX = TOPIC_PREFIX + TOPIC_SEPERATOR + "update" + TOPIC_SEPERATOR;
+
+    /**
+     * The event property containing the item name.
+     */
+    String PROPERTY_ITEM = "item";
+
+    /**
+     * The event property containing the command of a command event.
+     */
+    String PROPERTY_COMMAND = "command";
+
+    /**
+     * The event property containing the state of an update event.
+     */
+    String PROPERTY_STATE = "state";
+
+    /**
+     * The event property containing the source of an event.
+     */
+    String PROPERTY_SOURCE = "source";
+
 }
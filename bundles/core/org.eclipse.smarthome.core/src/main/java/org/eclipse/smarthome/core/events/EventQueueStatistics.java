@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+/**
+ * The {@link EventQueueStatistics} is a snapshot of the queues, in which posted commands and state updates wait for
+ * their asynchronous delivery. Latencies are measured from posting an event until its delivery starts.
+ *
+ * @see EventBusStatistics
+ *
+ * @author agent - Initial contribution
+ */
+public class EventQueueStatistics {
+
+    private final int workers;
+
+    private final int capacity;
+
+    private final String overflowPolicy;
+
+    private final int pendingCommands;
+
+    private final int pendingUpdates;
+
+    private final long dispatchedEvents;
+
+    private final long droppedUpdates;
+
+    private final long coalescedUpdates;
+
+    private final long blockedPublications;
+
+    private final long averageCommandLatency;
+
+    private final long maxCommandLatency;
+
+    private final long averageUpdateLatency;
+
+    private final long maxUpdateLatency;
+
+    public EventQueueStatistics(int workers, int capacity, String overflowPolicy, int pendingCommands,
+            int pendingUpdates, long dispatchedEvents, long droppedUpdates, long coalescedUpdates,
+            long blockedPublications, long averageCommandLatency, long maxCommandLatency, long averageUpdateLatency,
+            long maxUpdateLatency) {
+        this.workers = workers;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.pendingCommands = pendingCommands;
+        this.pendingUpdates = pendingUpdates;
+        this.dispatchedEvents = dispatchedEvents;
+        this.droppedUpdates = droppedUpdates;
+        this.coalescedUpdates = coalescedUpdates;
+        this.blockedPublications = blockedPublications;
+        this.averageCommandLatency = averageCommandLatency;
+        this.maxCommandLatency = maxCommandLatency;
+        this.averageUpdateLatency = averageUpdateLatency;
+        this.maxUpdateLatency = maxUpdateLatency;
+    }
+
+    /**
+     * Returns the number of worker threads, which deliver the queued events.
+     *
+     * @return number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns the capacity of each command and update queue. There is one queue of each kind per worker.
+     *
+     * @return capacity of a single queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the name of the policy, which is applied if an update is posted while the update queue is full.
+     *
+     * @return name of the overflow policy (not null)
+     */
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the number of commands currently waiting for delivery.
+     *
+     * @return number of queued commands
+     */
+    public int getPendingCommands() {
+        return pendingCommands;
+    }
+
+    /**
+     * Returns the number of updates currently waiting for delivery.
+     *
+     * @return number of queued updates
+     */
+    public int getPendingUpdates() {
+        return pendingUpdates;
+    }
+
+    /**
+     * Returns the number of events, which have been delivered from the queues.
+     *
+     * @return number of dispatched events
+     */
+    public long getDispatchedEvents() {
+        return dispatchedEvents;
+    }
+
+    /**
+     * Returns the number of updates, which have been dropped because the update queue was full.
+     *
+     * @return number of dropped updates
+     */
+    public long getDroppedUpdates() {
+        return droppedUpdates;
+    }
+
+    /**
+     * Returns the number of updates, which have been replaced by a newer update for the same item before their
+     * delivery.
+     *
+     * @return number of coalesced updates
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates;
+    }
+
+    /**
+     * Returns how often a publisher had to wait because a queue was full.
+     *
+     * @return number of blocked publications
+     */
+    public long getBlockedPublications() {
+        return blockedPublications;
+    }
+
+    /**
+     * Returns the average time commands have waited in the queue.
+     *
+     * @return average latency in microseconds
+     */
+    public long getAverageCommandLatency() {
+        return averageCommandLatency;
+    }
+
+    /**
+     * Returns the longest time a command has waited in the queue.
+     *
+     * @return maximum latency in microseconds
+     */
+    public long getMaxCommandLatency() {
+        return maxCommandLatency;
+    }
+
+    /**
+     * Returns the average time updates have waited in the queue.
+     *
+     * @return average latency in microseconds
+     */
+    public long getAverageUpdateLatency() {
+        return averageUpdateLatency;
+    }
+
+    /**
+     * Returns the longest time an update has waited in the queue.
+     *
+     * @return maximum latency in microseconds
+     */
+    public long getMaxUpdateLatency() {
+        return maxUpdateLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "workers=" + workers + ", capacity=" + capacity + ", overflowPolicy=" + overflowPolicy
+                + ", pendingCommands=" + pendingCommands + ", pendingUpdates=" + pendingUpdates + ", dispatched="
+                + dispatchedEvents + ", droppedUpdates=" + droppedUpdates + ", coalescedUpdates=" + coalescedUpdates
+                + ", blocked=" + blockedPublications + ", commandLatency=" + averageCommandLatency + "/"
+                + maxCommandLatency + "us, updateLatency=" + averageUpdateLatency + "/" + maxUpdateLatency + "us";
+    }
+
+}
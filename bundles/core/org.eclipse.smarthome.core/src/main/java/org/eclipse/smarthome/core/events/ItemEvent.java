@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.EventType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+
+/**
+ * The {@link ItemEvent} is the typed and immutable representation of a command or a state update, which is sent
+ * through the <i>Eclipse SmartHome</i> event bus.
+ * <p>
+ * A single instance is created per event by the {@link EventPublisher} and handed to all {@link ItemEventHandler}s, so
+ * that subscribers do not have to extract the item name, the command or the state out of an untyped event again.
+ *
+ * @see ItemEventHandler
+ *
+ * @author agent - Initial contribution
+ */
+public final class ItemEvent {
+
+    private final EventType type;
+
+    private final String itemName;
+
+    private final Type payload;
+
+    private final String source;
+
+    private final String topic;
+
+    private ItemEvent(EventType type, String itemName, Type payload, String source) {
+        this.type = type;
+        this.itemName = itemName;
+        this.payload = payload;
+        this.source = source;
+        this.topic = (type == EventType.COMMAND ? EventConstants.TOPIC_COMMAND_PREFIX
+                : EventConstants.TOPIC_UPDATE_PREFIX) + itemName;
+    }
+
+    /**
+     * Creates a new command event.
+     *
+     * @param itemName name of the item the command is sent to (must not be null)
+     * @param command the command (must not be null)
+     * @param source a string identifying the sender (can be null)
+     * @return the command event
+     */
+    public static ItemEvent createCommandEvent(String itemName, Command command, String source) {
+        return new ItemEvent(EventType.COMMAND, itemName, command, source);
+    }
+
+    /**
+     * Creates a new state update event.
+     *
+     * @param itemName name of the item the update is sent for (must not be null)
+     * @param state the new state (must not be null)
+     * @param source a string identifying the sender (can be null)
+     * @return the update event
+     */
+    public static ItemEvent createUpdateEvent(String itemName, State state, String source) {
+        return new ItemEvent(EventType.UPDATE, itemName, state, source);
+    }
+
+    /**
+     * Returns the type of the event.
+     *
+     * @return {@link EventType#COMMAND} or {@link EventType#UPDATE} (not null)
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the item this event belongs to.
+     *
+     * @return item name (not null)
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     * Returns the command of a command event.
+     *
+     * @return the command or null, if this is not a command event
+     */
+    public Command getCommand() {
+        return type == EventType.COMMAND ? (Command) payload : null;
+    }
+
+    /**
+     * Returns the state of an update event.
+     *
+     * @return the state or null, if this is not an update event
+     */
+    public State getState() {
+        return type == EventType.UPDATE ? (State) payload : null;
+    }
+
+    /**
+     * Returns the source of the event.
+     *
+     * @return a string identifying the sender or null, if no source was given
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the topic under which this event is sent, e.g. {@code smarthome/command/<item-name>}.
+     *
+     * @return topic of the event (not null)
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public String toString() {
+        return getTopic() + " (" + payload + ")";
+    }
+
+}
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.smarthome.core.types.EventType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The {@link ItemEventFilter} declares which {@link ItemEvent}s an {@link ItemEventHandler} is interested in. The
+ * event bus evaluates the filter once when the handler is registered and only delivers matching events to the handler.
+ * <p>
+ * A filter always restricts the {@link EventType}s. Optionally it restricts the events to items with given names, to
+ * items whose names match given patterns or to items, which are (direct or indirect) members of given groups. An event
+ * is accepted if its item satisfies at least one of these restrictions. If no restriction is given, events of all
+ * items are accepted.
+ * <p>
+ * Item name patterns support the same wildcards as {@code ItemRegistry.getItems(String)}: {@code ?} matches a single
+ * character and {@code *} matches any sequence of characters.
+ * <p>
+ * By default a handler receives every state update immediately. Slow consumers, which are only interested in the
+ * current state, can opt in to coalescing by a filter, which is built with {@link Builder#withCoalescing()}. If a
+ * coalescing window is configured for an item, such a handler only receives the latest of the state updates, which
+ * have been sent within the window.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemEventFilter {
+
+    /**
+     * Filter which accepts all commands and state updates of all items.
+     */
+    public static final ItemEventFilter ALL = new ItemEventFilter(EnumSet.allOf(EventType.class), null);
+
+    private final Set<EventType> eventTypes;
+
+    private final Set<String> itemNames;
+
+    private final Set<String> itemNamePatterns;
+
+    private final Set<String> groupNames;
+
+    private final List<Pattern> compiledPatterns;
+
+    private final boolean coalescingAllowed;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param eventTypes the accepted event types (must neither be null nor empty)
+     * @param itemNames the accepted item names or null or an empty collection to accept all items
+     * @throws IllegalArgumentException if no event type is given
+     */
+    public ItemEventFilter(Collection<EventType> eventTypes, Collection<String> itemNames)
+            throws IllegalArgumentException {
+        this(eventTypes, itemNames, null, null, false);
+    }
+
+    private ItemEventFilter(Collection<EventType> eventTypes, Collection<String> itemNames,
+            Collection<String> itemNamePatterns, Collection<String> groupNames, boolean coalescingAllowed)
+            throws IllegalArgumentException {
+        if (eventTypes == null || eventTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one event type must be accepted by the filter!");
+        }
+        this.eventTypes = ImmutableSet.copyOf(EnumSet.copyOf(eventTypes));
+        this.itemNames = itemNames != null ? ImmutableSet.copyOf(itemNames) : ImmutableSet.<String> of();
+        this.itemNamePatterns = itemNamePatterns != null ? ImmutableSet.copyOf(itemNamePatterns) : ImmutableSet
+                .<String> of();
+        this.groupNames = groupNames != null ? ImmutableSet.copyOf(groupNames) : ImmutableSet.<String> of();
+
+        List<Pattern> compiledPatterns = new ArrayList<>(this.itemNamePatterns.size());
+        for (String itemNamePattern : this.itemNamePatterns) {
+            compiledPatterns.add(Pattern.compile(itemNamePattern.replace("?", ".?").replace("*", ".*?")));
+        }
+        this.compiledPatterns = ImmutableList.copyOf(compiledPatterns);
+        this.coalescingAllowed = coalescingAllowed;
+    }
+
+    /**
+     * Creates a filter, which accepts the given event types of all items.
+     *
+     * @param eventTypes the accepted event types (must not be empty)
+     * @return the filter
+     */
+    public static ItemEventFilter forEventTypes(EventType... eventTypes) {
+        return new ItemEventFilter(Arrays.asList(eventTypes), null);
+    }
+
+    /**
+     * Creates a filter, which accepts all commands and state updates of the given items.
+     *
+     * @param itemNames the accepted item names
+     * @return the filter
+     */
+    public static ItemEventFilter forItems(String... itemNames) {
+        return new ItemEventFilter(EnumSet.allOf(EventType.class), Arrays.asList(itemNames));
+    }
+
+    /**
+     * Starts to build a filter for the given event types. If no event type is given, all event types are accepted.
+     *
+     * @param eventTypes the accepted event types
+     * @return a builder for the filter
+     */
+    public static Builder create(EventType... eventTypes) {
+        return new Builder(eventTypes.length > 0 ? Arrays.asList(eventTypes) : EnumSet.allOf(EventType.class));
+    }
+
+    /**
+     * Returns the accepted event types.
+     *
+     * @return immutable set of event types (not null, not empty)
+     */
+    public Set<EventType> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * Returns the accepted item names.
+     *
+     * @return immutable set of item names (not null)
+     */
+    public Set<String> getItemNames() {
+        return itemNames;
+    }
+
+    /**
+     * Returns the accepted item name patterns.
+     *
+     * @return immutable set of item name patterns (not null)
+     */
+    public Set<String> getItemNamePatterns() {
+        return itemNamePatterns;
+    }
+
+    /**
+     * Returns the names of the groups whose members are accepted.
+     *
+     * @return immutable set of group names (not null)
+     */
+    public Set<String> getGroupNames() {
+        return groupNames;
+    }
+
+    /**
+     * Returns whether this filter accepts the events of all items.
+     *
+     * @return true if neither item names, nor patterns, nor groups are given
+     */
+    public boolean isForAllItems() {
+        return itemNames.isEmpty() && itemNamePatterns.isEmpty() && groupNames.isEmpty();
+    }
+
+    /**
+     * Returns whether the state updates of items with a coalescing window may be coalesced for the handler.
+     *
+     * @return true if the handler may only receive the latest update within a window, false if it receives all
+     *         updates immediately
+     */
+    public boolean isCoalescingAllowed() {
+        return coalescingAllowed;
+    }
+
+    /**
+     * Returns whether the given item name is one of the item names or matches one of the item name patterns of this
+     * filter. Group memberships are not considered.
+     *
+     * @param itemName the item name (must not be null)
+     * @return true if the item name is accepted by name or pattern
+     */
+    public boolean acceptsItemName(String itemName) {
+        if (itemNames.contains(itemName)) {
+            return true;
+        }
+        for (Pattern pattern : compiledPatterns) {
+            if (pattern.matcher(itemName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ItemEventFilter [eventTypes=" + eventTypes + ", itemNames=" + itemNames + ", itemNamePatterns="
+                + itemNamePatterns + ", groupNames=" + groupNames + ", coalescingAllowed=" + coalescingAllowed + "]";
+    }
+
+    /**
+     * The {@link Builder} creates {@link ItemEventFilter}s with any combination of item names, item name patterns and
+     * group names.
+     */
+    public static class Builder {
+
+        private final Collection<EventType> eventTypes;
+        private final Set<String> itemNames = new LinkedHashSet<>();
+        private final Set<String> itemNamePatterns = new LinkedHashSet<>();
+        private final Set<String> groupNames = new LinkedHashSet<>();
+        private boolean coalescingAllowed = false;
+
+        private Builder(Collection<EventType> eventTypes) {
+            this.eventTypes = eventTypes;
+        }
+
+        public Builder withItemNames(String... itemNames) {
+            this.itemNames.addAll(Arrays.asList(itemNames));
+            return this;
+        }
+
+        public Builder withItemNamePatterns(String... itemNamePatterns) {
+            this.itemNamePatterns.addAll(Arrays.asList(itemNamePatterns));
+            return this;
+        }
+
+        public Builder withGroupNames(String... groupNames) {
+            this.groupNames.addAll(Arrays.asList(groupNames));
+            return this;
+        }
+
+        /**
+         * Lets the handler only receive the latest of the state updates within the coalescing window of an item.
+         */
+        public Builder withCoalescing() {
+            this.coalescingAllowed = true;
+            return this;
+        }
+
+        public ItemEventFilter build() {
+            return new ItemEventFilter(eventTypes, itemNames, itemNamePatterns, groupNames, coalescingAllowed);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+/**
+ * An {@link ItemEventHandler} receives typed {@link ItemEvent}s directly from the {@link EventPublisher} without going
+ * through the <i>OSGi Event Admin</i>. Implementations must be registered as OSGi service.
+ * <p>
+ * The publisher only delivers events, which are accepted by the {@link ItemEventFilter} of the handler. The filter is
+ * read once when the handler is registered, so it must not change afterwards.
+ * <p>
+ * The {@link AbstractEventSubscriber} implements this interface, so that its sub classes can be registered as
+ * {@link ItemEventHandler} instead of as <i>OSGi Event Admin</i> event handler.
+ *
+ * @see ItemEvent
+ * @see ItemEventFilter
+ *
+ * @author agent - Initial contribution
+ */
+public interface ItemEventHandler {
+
+    /**
+     * Returns the filter, which declares the events this handler is interested in.
+     *
+     * @return the filter (not null)
+     */
+    ItemEventFilter getItemEventFilter();
+
+    /**
+     * Callback method for all events, which are accepted by the filter of this handler.
+     * <p>
+     * Any exceptions, which may occur in this callback method, are caught and logged.
+     * <p>
+     * Hint: Do not block the reception of this event for long-term tasks. For long-term tasks create an own thread.
+     *
+     * @param event the event (not null)
+     */
+    void handleItemEvent(ItemEvent event);
+
+}
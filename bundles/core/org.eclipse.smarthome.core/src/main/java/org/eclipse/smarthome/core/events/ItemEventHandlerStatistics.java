@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.events;
+
+/**
+ * The {@link ItemEventHandlerStatistics} is a snapshot of the delivery counters of a single {@link ItemEventHandler}.
+ *
+ * @see EventBusStatistics
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemEventHandlerStatistics {
+
+    private final String handlerName;
+
+    private final ItemEventFilter filter;
+
+    private final long deliveredEvents;
+
+    private final long droppedEvents;
+
+    private final long failedEvents;
+
+    public ItemEventHandlerStatistics(String handlerName, ItemEventFilter filter, long deliveredEvents,
+            long droppedEvents, long failedEvents) {
+        this.handlerName = handlerName;
+        this.filter = filter;
+        this.deliveredEvents = deliveredEvents;
+        this.droppedEvents = droppedEvents;
+        this.failedEvents = failedEvents;
+    }
+
+    /**
+     * Returns the name of the handler.
+     *
+     * @return handler name (not null)
+     */
+    public String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * Returns the filter of the handler.
+     *
+     * @return filter (not null)
+     */
+    public ItemEventFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Returns the number of events, which have been delivered to the handler since it was registered.
+     *
+     * @return number of delivered events
+     */
+    public long getDeliveredEvents() {
+        return deliveredEvents;
+    }
+
+    /**
+     * Returns the number of events, which have been published since the handler was registered, but which have not
+     * been delivered to it, because they were not accepted by its filter.
+     *
+     * @return number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Returns the number of delivered events, for which the handler has thrown an exception.
+     *
+     * @return number of failed events
+     */
+    public long getFailedEvents() {
+        return failedEvents;
+    }
+
+    @Override
+    public String toString() {
+        return handlerName + ": delivered=" + deliveredEvents + ", dropped=" + droppedEvents + ", failed="
+                + failedEvents;
+    }
+
+}
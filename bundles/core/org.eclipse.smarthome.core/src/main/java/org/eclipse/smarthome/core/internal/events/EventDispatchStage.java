@@ -0,0 +1,440 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.smarthome.core.events.EventQueueStatistics;
+import org.eclipse.smarthome.core.events.ItemEvent;
+import org.eclipse.smarthome.core.types.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link EventDispatchStage} delivers posted {@link ItemEvent}s asynchronously through a fixed pool of workers.
+ * <p>
+ * Each worker owns a bounded command queue and a bounded update queue. Events are assigned to a worker by their item
+ * name, so that the commands of one item are delivered in the order they were posted and so are its updates. A worker
+ * always delivers the queued commands first, so user commands are not delayed behind bursts of state updates. This
+ * means that a command may overtake an update of the same item, which has been posted before it. The
+ * {@link EventOverflowPolicy} decides what happens if the update queue of a worker is full. Tasks can be queued behind
+ * the updates of an item, e.g. to deliver held back updates in the order of the other events of the item.
+ * <p>
+ * Events, which are posted by a worker itself while it delivers another event, are always queued without waiting, even
+ * if the queue is full. Otherwise a worker could wait for its own queue forever.
+ *
+ * @author agent - Initial contribution
+ */
+public class EventDispatchStage {
+
+    /**
+     * The {@link EventConsumer} receives the events, which are taken from the queues by the workers.
+     */
+    public interface EventConsumer {
+
+        /**
+         * Delivers the given event. Any exception is caught and logged by the worker.
+         *
+         * @param event the event (not null)
+         */
+        void consume(ItemEvent event);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(EventDispatchStage.class);
+
+    private final EventConsumer consumer;
+
+    private final int capacity;
+
+    private final EventOverflowPolicy overflowPolicy;
+
+    private final EventQueue[] queues;
+
+    private final ExecutorService executor;
+
+    private final Set<Thread> workerThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
+    private final AtomicLong dispatchedEvents = new AtomicLong();
+    private final AtomicLong droppedUpdates = new AtomicLong();
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private final AtomicLong blockedPublications = new AtomicLong();
+
+    private final Latency commandLatency = new Latency();
+    private final Latency updateLatency = new Latency();
+
+    /**
+     * Creates and starts a new dispatch stage.
+     *
+     * @param consumer the consumer of the events (must not be null)
+     * @param workers the number of worker threads (must be positive)
+     * @param capacity the capacity of each command and update queue (must be positive)
+     * @param overflowPolicy the policy for full update queues (must not be null)
+     * @throws IllegalArgumentException if the number of workers or the capacity is not positive
+     */
+    public EventDispatchStage(EventConsumer consumer, int workers, int capacity, EventOverflowPolicy overflowPolicy)
+            throws IllegalArgumentException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed!");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the queues must be positive!");
+        }
+        this.consumer = consumer;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.queues = new EventQueue[workers];
+        this.executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ESH-event-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (int i = 0; i < workers; i++) {
+            queues[i] = new EventQueue();
+            executor.execute(new Worker(queues[i]));
+        }
+    }
+
+    /**
+     * Queues the given event for its asynchronous delivery. Depending on the overflow policy, this method waits if the
+     * queue of the event is full.
+     *
+     * @param event the event (must not be null)
+     * @throws RejectedExecutionException if the stage has been shut down
+     * @throws InterruptedException if the publisher has been interrupted while waiting for free space
+     */
+    public void post(ItemEvent event) throws RejectedExecutionException, InterruptedException {
+        getQueue(event.getItemName()).put(event, !workerThreads.contains(Thread.currentThread()));
+    }
+
+    /**
+     * Queues a task behind the queued updates of the given item, so that it is executed by the worker, which delivers
+     * the events of the item. The task is queued without waiting, even if the update queue is full.
+     *
+     * @param itemName the name of the item (must not be null)
+     * @param task the task (must not be null)
+     * @throws RejectedExecutionException if the stage has been shut down
+     */
+    public void execute(String itemName, Runnable task) throws RejectedExecutionException {
+        getQueue(itemName).putTask(task);
+    }
+
+    /**
+     * Stops accepting new events. The events, which are already queued, are still delivered.
+     */
+    public void shutdown() {
+        for (EventQueue queue : queues) {
+            queue.close();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Waits until all queued events have been delivered after a {@link #shutdown()}.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if all events have been delivered, false if the timeout elapsed before
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Returns a snapshot of the queue depths and the delivery metrics.
+     *
+     * @return the statistics (not null)
+     */
+    public EventQueueStatistics getStatistics() {
+        int pendingCommands = 0;
+        int pendingUpdates = 0;
+        for (EventQueue queue : queues) {
+            int[] sizes = queue.getSizes();
+            pendingCommands += sizes[0];
+            pendingUpdates += sizes[1];
+        }
+        return new EventQueueStatistics(queues.length, capacity, overflowPolicy.getName(), pendingCommands,
+                pendingUpdates, dispatchedEvents.get(), droppedUpdates.get(), coalescedUpdates.get(),
+                blockedPublications.get(), commandLatency.getAverage(), commandLatency.getMax(),
+                updateLatency.getAverage(), updateLatency.getMax());
+    }
+
+    private EventQueue getQueue(String itemName) {
+        return queues[(itemName.hashCode() & Integer.MAX_VALUE) % queues.length];
+    }
+
+    private final class Worker implements Runnable {
+
+        private final EventQueue queue;
+
+        Worker(EventQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            workerThreads.add(Thread.currentThread());
+            try {
+                QueuedEvent queuedEvent;
+                while ((queuedEvent = queue.take()) != null) {
+                    if (queuedEvent.task != null) {
+                        try {
+                            queuedEvent.task.run();
+                        } catch (Exception ex) {
+                            logger.error("An error occured while executing a queued task!", ex);
+                        }
+                        continue;
+                    }
+                    long latency = System.nanoTime() - queuedEvent.enqueueTime;
+                    (queuedEvent.event.getType() == EventType.COMMAND ? commandLatency : updateLatency)
+                            .record(latency);
+                    try {
+                        consumer.consume(queuedEvent.event);
+                    } catch (Exception ex) {
+                        logger.error("An error occured while dispatching '" + queuedEvent.event + "'!", ex);
+                    }
+                    dispatchedEvents.incrementAndGet();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                workerThreads.remove(Thread.currentThread());
+            }
+        }
+    }
+
+    /**
+     * An event or a task in a queue. The event of a queued update is replaced if updates are coalesced.
+     */
+    private static final class QueuedEvent {
+
+        ItemEvent event;
+        final Runnable task;
+        final long enqueueTime;
+
+        QueuedEvent(ItemEvent event) {
+            this.event = event;
+            this.task = null;
+            this.enqueueTime = System.nanoTime();
+        }
+
+        QueuedEvent(Runnable task) {
+            this.event = null;
+            this.task = task;
+            this.enqueueTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * The command and update queue of a single worker.
+     */
+    private final class EventQueue {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition commandsNotFull = lock.newCondition();
+        private final Condition updatesNotFull = lock.newCondition();
+
+        private final Deque<QueuedEvent> commands = new ArrayDeque<>();
+        private final Deque<QueuedEvent> updates = new ArrayDeque<>();
+
+        /** queued updates by item name, only used if updates are coalesced */
+        private final Map<String, QueuedEvent> queuedUpdates = new HashMap<>();
+
+        private boolean closed;
+
+        void put(ItemEvent event, boolean mayBlock) throws RejectedExecutionException, InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                assertOpen();
+                if (event.getType() == EventType.COMMAND) {
+                    while (mayBlock && commands.size() >= capacity) {
+                        blockedPublications.incrementAndGet();
+                        commandsNotFull.await();
+                        assertOpen();
+                    }
+                    commands.add(new QueuedEvent(event));
+                } else if (!putUpdate(event, mayBlock)) {
+                    return;
+                }
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putTask(Runnable task) throws RejectedExecutionException {
+            lock.lock();
+            try {
+                assertOpen();
+                updates.add(new QueuedEvent(task));
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return true if a new element has been queued, false if the update has been coalesced
+         */
+        private boolean putUpdate(ItemEvent event, boolean mayBlock) throws InterruptedException {
+            while (true) {
+                if (overflowPolicy == EventOverflowPolicy.COALESCE) {
+                    QueuedEvent queuedUpdate = queuedUpdates.get(event.getItemName());
+                    if (queuedUpdate != null) {
+                        queuedUpdate.event = event;
+                        coalescedUpdates.incrementAndGet();
+                        return false;
+                    }
+                }
+                if (!mayBlock || updates.size() < capacity) {
+                    break;
+                }
+                if (overflowPolicy == EventOverflowPolicy.DROP_OLDEST_UPDATE) {
+                    QueuedEvent droppedUpdate = removeOldestUpdate();
+                    if (droppedUpdate != null) {
+                        droppedUpdates.incrementAndGet();
+                        logger.debug("Dropped '{}' because the update queue is full.", droppedUpdate.event);
+                    }
+                    break;
+                }
+                blockedPublications.incrementAndGet();
+                updatesNotFull.await();
+                assertOpen();
+            }
+            QueuedEvent queuedUpdate = new QueuedEvent(event);
+            updates.add(queuedUpdate);
+            if (overflowPolicy == EventOverflowPolicy.COALESCE) {
+                queuedUpdates.put(event.getItemName(), queuedUpdate);
+            }
+            return true;
+        }
+
+        /**
+         * Removes the oldest queued update. Queued tasks are never dropped.
+         *
+         * @return the removed update or null, if only tasks are queued
+         */
+        private QueuedEvent removeOldestUpdate() {
+            for (Iterator<QueuedEvent> iterator = updates.iterator(); iterator.hasNext();) {
+                QueuedEvent queuedEvent = iterator.next();
+                if (queuedEvent.event != null) {
+                    iterator.remove();
+                    return queuedEvent;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return the next event or null, if the queue has been closed and all events have been taken
+         */
+        QueuedEvent take() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (commands.isEmpty() && updates.isEmpty()) {
+                    if (closed) {
+                        return null;
+                    }
+                    notEmpty.await();
+                }
+                QueuedEvent queuedEvent = commands.poll();
+                if (queuedEvent != null) {
+                    commandsNotFull.signal();
+                } else {
+                    queuedEvent = updates.poll();
+                    if (queuedEvent.event != null
+                            && queuedUpdates.get(queuedEvent.event.getItemName()) == queuedEvent) {
+                        queuedUpdates.remove(queuedEvent.event.getItemName());
+                    }
+                    updatesNotFull.signal();
+                }
+                return queuedEvent;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                commandsNotFull.signalAll();
+                updatesNotFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int[] getSizes() {
+            lock.lock();
+            try {
+                return new int[] { commands.size(), updates.size() };
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void assertOpen() throws RejectedExecutionException {
+            if (closed) {
+                throw new RejectedExecutionException("The event dispatcher has been shut down!");
+            }
+        }
+    }
+
+    /**
+     * Accumulates the latencies of delivered events.
+     */
+    private static final class Latency {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            total.addAndGet(nanos);
+            long currentMax;
+            while (nanos > (currentMax = max.get()) && !max.compareAndSet(currentMax, nanos)) {
+                // retry
+            }
+        }
+
+        long getAverage() {
+            long count = this.count.get();
+            return count > 0 ? TimeUnit.NANOSECONDS.toMicros(total.get() / count) : 0;
+        }
+
+        long getMax() {
+            return TimeUnit.NANOSECONDS.toMicros(max.get());
+        }
+    }
+
+}
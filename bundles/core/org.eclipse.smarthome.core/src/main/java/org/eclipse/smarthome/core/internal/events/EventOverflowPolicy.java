@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+/**
+ * The {@link EventOverflowPolicy} defines how the {@link EventDispatchStage} reacts if a state update is posted while
+ * the update queue is full. Commands are never dropped or coalesced, a publisher always waits for free space in the
+ * command queue.
+ *
+ * @author agent - Initial contribution
+ */
+public enum EventOverflowPolicy {
+
+    /**
+     * The publisher waits until the queue has free space again.
+     */
+    BLOCK("block"),
+
+    /**
+     * The oldest queued update is dropped to make room for the new one.
+     */
+    DROP_OLDEST_UPDATE("drop-oldest-update"),
+
+    /**
+     * A queued update, which has not been delivered yet, is replaced by a newer update for the same item, so that at
+     * most one update per item is queued. If the queue is full of updates for other items, the publisher waits like
+     * for {@link #BLOCK}.
+     */
+    COALESCE("coalesce");
+
+    private final String name;
+
+    private EventOverflowPolicy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the policy, which is used in the configuration.
+     *
+     * @return the name (not null)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the policy with the given configuration name.
+     *
+     * @param name the name of the policy
+     * @return the policy or null, if no policy with the given name exists
+     */
+    public static EventOverflowPolicy fromName(String name) {
+        for (EventOverflowPolicy policy : values()) {
+            if (policy.name.equals(name)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
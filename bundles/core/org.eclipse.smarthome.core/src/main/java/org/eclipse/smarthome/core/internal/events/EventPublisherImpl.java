@@ -7,28 +7,62 @@
  */
 package org.eclipse.smarthome.core.internal.events;
 
-import static org.eclipse.smarthome.core.events.EventConstants.TOPIC_PREFIX;
-import static org.eclipse.smarthome.core.events.EventConstants.TOPIC_SEPERATOR;
-
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.eclipse.smarthome.core.events.EventBusStatistics;
+import org.eclipse.smarthome.core.events.EventConstants;
 import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.events.EventQueueStatistics;
+import org.eclipse.smarthome.core.events.ItemEvent;
+import org.eclipse.smarthome.core.events.ItemEventHandler;
+import org.eclipse.smarthome.core.events.ItemEventHandlerStatistics;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemUtil;
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Gauge;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.types.Command;
-import org.eclipse.smarthome.core.types.EventType;
 import org.eclipse.smarthome.core.types.State;
+import org.osgi.service.cm.ConfigurationException;
+import org.osgi.service.cm.ManagedService;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link EventPublisherImpl} class is the main implementation of the {@link EventPublisher} service interface.
  * <p>
- * This implementation uses the <i>OSGi Event Admin</i> service as event bus implementation to broadcast <i>Eclipse
- * SmartHome</i> events.
+ * Each event is created once as typed {@link ItemEvent}. It is delivered directly to all registered
+ * {@link ItemEventHandler}s, whose filters accept it, and it is broadcasted through the <i>OSGi Event Admin</i>
+ * service, which is still available as compatibility sink for all <i>OSGi</i> event handlers.
+ * <p>
+ * Sent commands are delivered synchronously. Posted commands and updates are queued in an {@link EventDispatchStage},
+ * whose workers deliver them to the handlers and to the <i>OSGi Event Admin</i>. The stage can be configured through
+ * the configuration admin (service pid {@code org.eclipse.smarthome.events}) with the number of {@code workers}, the
+ * {@code queueCapacity} of the command and update queues of each worker and the {@code overflowPolicy} for full update
+ * queues ({@code block}, {@code drop-oldest-update} or {@code coalesce}).
+ * <p>
+ * Independent of the queues, state updates of single items can be coalesced within a time window for the handlers,
+ * which opt in to coalescing, e.g. the SSE listener (see {@link UpdateCoalescer}). The items are configured by the comma separated lists
+ * {@code coalesceItems} (item names, wildcards allowed) and {@code coalesceTags}. Each entry may specify its own window
+ * in milliseconds like {@code PowerMeter_*:500}, otherwise the {@code coalesceWindow} (default 1000) is used.
+ * <p>
+ * The {@link ItemRegistry} is only needed to resolve the group memberships for handlers, which filter by group, and
+ * the tags of items for the coalescing.
+ * <p>
+ * The numbers of sent and posted events, the time to deliver an event and the number of queued events are provided as
+ * {@code events.*} metrics through the {@link MetricsManager}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Michael Grammling - Javadoc and exception handling extended, Checkstyle compliance,
@@ -37,9 +71,80 @@ import org.osgi.service.event.EventAdmin;
  *         event bus are no longer needed (permissions should be added at some other place
  *         in the future)
  */
-public class EventPublisherImpl implements EventPublisher {
+public class EventPublisherImpl implements EventPublisher, EventBusStatistics, ManagedService {
+
+    private static final int DEFAULT_WORKERS = 2;
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final EventOverflowPolicy DEFAULT_OVERFLOW_POLICY = EventOverflowPolicy.BLOCK;
+
+    private static final long DEFAULT_COALESCE_WINDOW = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(EventPublisherImpl.class);
+
+    private volatile EventAdmin eventAdmin;
+
+    private final ItemEventDispatcher dispatcher = new ItemEventDispatcher();
+
+    private final Counter sentCommands = MetricsManager.counter("events.commands.sent");
+
+    private final Counter postedCommands = MetricsManager.counter("events.commands.posted");
 
-    private EventAdmin eventAdmin;
+    private final Counter postedUpdates = MetricsManager.counter("events.updates.posted");
+
+    private final Histogram deliveryTime = MetricsManager.histogram("events.delivery.time");
+
+    private final EventDispatchStage.EventConsumer eventConsumer = new EventDispatchStage.EventConsumer() {
+        @Override
+        public void consume(ItemEvent event) {
+            long start = System.nanoTime();
+            dispatcher.dispatch(event);
+            EventAdmin eventAdmin = EventPublisherImpl.this.eventAdmin;
+            if (eventAdmin != null) {
+                deliverToEventAdmin(eventAdmin, event, true, "Cannot deliver the event!");
+            } else {
+                logger.debug("The event bus module is not available anymore, '{}' is not delivered to it.", event);
+            }
+            deliveryTime.record(MetricsManager.elapsedMicros(start));
+        }
+    };
+
+    /** configuration of the dispatch stage, guarded by this */
+    private int workers = DEFAULT_WORKERS;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private EventOverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+
+    /** the dispatch stage or null, if the component is not active */
+    private volatile EventDispatchStage dispatchStage;
+
+    private final ItemEventDispatcher.ItemExecutor itemExecutor = new ItemEventDispatcher.ItemExecutor() {
+        @Override
+        public void execute(String itemName, Runnable task) {
+            while (true) {
+                EventDispatchStage dispatchStage = EventPublisherImpl.this.dispatchStage;
+                if (dispatchStage == null) {
+                    // the publisher is being deactivated, the held back updates are delivered directly
+                    task.run();
+                    return;
+                }
+                try {
+                    dispatchStage.execute(itemName, task);
+                    return;
+                } catch (RejectedExecutionException ex) {
+                    // the stage may have been replaced by a reconfiguration in the meantime
+                    if (dispatchStage == EventPublisherImpl.this.dispatchStage) {
+                        task.run();
+                        return;
+                    }
+                }
+            }
+        }
+    };
+
+    public EventPublisherImpl() {
+        dispatcher.setItemExecutor(itemExecutor);
+    }
 
     public void setEventAdmin(EventAdmin eventAdmin) {
         this.eventAdmin = eventAdmin;
@@ -49,6 +154,151 @@ public class EventPublisherImpl implements EventPublisher {
         this.eventAdmin = null;
     }
 
+    public void setItemRegistry(ItemRegistry itemRegistry) {
+        dispatcher.setItemRegistry(itemRegistry);
+    }
+
+    public void unsetItemRegistry(ItemRegistry itemRegistry) {
+        dispatcher.setItemRegistry(null);
+    }
+
+    public void addItemEventHandler(ItemEventHandler itemEventHandler) {
+        dispatcher.addHandler(itemEventHandler);
+    }
+
+    public void removeItemEventHandler(ItemEventHandler itemEventHandler) {
+        dispatcher.removeHandler(itemEventHandler);
+    }
+
+    protected void activate() {
+        synchronized (this) {
+            dispatchStage = new EventDispatchStage(eventConsumer, workers, queueCapacity, overflowPolicy);
+        }
+        MetricsManager.gauge("events.queue.pending", new Gauge() {
+            @Override
+            public long getValue() {
+                EventQueueStatistics statistics = getEventQueueStatistics();
+                return statistics.getPendingCommands() + statistics.getPendingUpdates();
+            }
+        });
+    }
+
+    protected void deactivate() {
+        MetricsManager.getRegistry().remove("events.queue.pending");
+        synchronized (this) {
+            if (dispatchStage != null) {
+                dispatchStage.shutdown();
+                dispatchStage = null;
+            }
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void updated(Dictionary<String, ?> properties) throws ConfigurationException {
+        int workers = DEFAULT_WORKERS;
+        int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        EventOverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+        Map<String, Long> itemWindows = Collections.emptyMap();
+        Map<String, Long> tagWindows = Collections.emptyMap();
+        if (properties != null) {
+            workers = getPositiveInt(properties, "workers", workers);
+            queueCapacity = getPositiveInt(properties, "queueCapacity", queueCapacity);
+            Object overflowPolicyName = properties.get("overflowPolicy");
+            if (overflowPolicyName != null) {
+                overflowPolicy = EventOverflowPolicy.fromName(overflowPolicyName.toString().trim());
+                if (overflowPolicy == null) {
+                    throw new ConfigurationException("overflowPolicy", "Unknown overflow policy '"
+                            + overflowPolicyName + "'!");
+                }
+            }
+            long coalesceWindow = getPositiveInt(properties, "coalesceWindow", (int) DEFAULT_COALESCE_WINDOW);
+            itemWindows = getWindows(properties, "coalesceItems", coalesceWindow);
+            tagWindows = getWindows(properties, "coalesceTags", coalesceWindow);
+        }
+        dispatcher.setCoalescingWindows(itemWindows, tagWindows);
+
+        if (workers != this.workers || queueCapacity != this.queueCapacity || overflowPolicy != this.overflowPolicy) {
+            this.workers = workers;
+            this.queueCapacity = queueCapacity;
+            this.overflowPolicy = overflowPolicy;
+            EventDispatchStage previousStage = dispatchStage;
+            if (previousStage != null) {
+                dispatchStage = new EventDispatchStage(eventConsumer, workers, queueCapacity, overflowPolicy);
+                previousStage.shutdown();
+            }
+            logger.debug("Event dispatcher reconfigured: {} workers, queue capacity {}, overflow policy '{}'.",
+                    workers, queueCapacity, overflowPolicy);
+        }
+    }
+
+    private int getPositiveInt(Dictionary<String, ?> properties, String key, int defaultValue)
+            throws ConfigurationException {
+        Object value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.toString().trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException ex) {
+            // handled below
+        }
+        throw new ConfigurationException(key, "The value must be a positive number, but is '" + value + "'!");
+    }
+
+    private Map<String, Long> getWindows(Dictionary<String, ?> properties, String key, long defaultWindow)
+            throws ConfigurationException {
+        Map<String, Long> windows = new HashMap<>();
+        Object value = properties.get(key);
+        if (value == null) {
+            return windows;
+        }
+        for (String entry : value.toString().split(",")) {
+            String[] nameAndWindow = entry.trim().split(":");
+            if (nameAndWindow[0].isEmpty()) {
+                continue;
+            }
+            long window = defaultWindow;
+            if (nameAndWindow.length > 1) {
+                try {
+                    window = Long.parseLong(nameAndWindow[1].trim());
+                } catch (NumberFormatException ex) {
+                    throw new ConfigurationException(key, "Invalid coalescing window in '" + entry + "'!");
+                }
+            }
+            windows.put(nameAndWindow[0].trim(), window);
+        }
+        return windows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ItemEventHandlerStatistics> getItemEventHandlerStatistics() {
+        return dispatcher.getStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EventQueueStatistics getEventQueueStatistics() {
+        EventDispatchStage dispatchStage = this.dispatchStage;
+        if (dispatchStage != null) {
+            return dispatchStage.getStatistics();
+        }
+        synchronized (this) {
+            return new EventQueueStatistics(0, queueCapacity, overflowPolicy.getName(), 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -61,23 +311,13 @@ public class EventPublisherImpl implements EventPublisher {
             throw new IllegalArgumentException("The command must not be null!");
         }
 
-        final EventAdmin eventAdmin = this.eventAdmin;
-        if (eventAdmin != null) {
-            try {
-                AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
-                    @Override
-                    public Void run() throws Exception {
-                        eventAdmin.sendEvent(createCommandEvent(itemName, command, source));
-                        return null;
-                    }
-                });
-            } catch (PrivilegedActionException pae) {
-                Exception ex = pae.getException();
-                throw new IllegalStateException("Cannot send the command!", ex);
-            }
-        } else {
-            throw new IllegalStateException("The event bus module is not available!");
-        }
+        ItemEvent event = ItemEvent.createCommandEvent(itemName, command, source);
+        EventAdmin eventAdmin = getEventAdmin();
+        long start = System.nanoTime();
+        dispatcher.dispatch(event);
+        deliverToEventAdmin(eventAdmin, event, true, "Cannot send the command!");
+        deliveryTime.record(MetricsManager.elapsedMicros(start));
+        sentCommands.increment();
     }
 
     /**
@@ -92,23 +332,9 @@ public class EventPublisherImpl implements EventPublisher {
             throw new IllegalArgumentException("The command must not be null!");
         }
 
-        final EventAdmin eventAdmin = this.eventAdmin;
-        if (eventAdmin != null) {
-            try {
-                AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
-                    @Override
-                    public Void run() throws Exception {
-                        eventAdmin.postEvent(createCommandEvent(itemName, command, source));
-                        return null;
-                    }
-                });
-            } catch (PrivilegedActionException pae) {
-                Exception ex = pae.getException();
-                throw new IllegalStateException("Cannot post the command!", ex);
-            }
-        } else {
-            throw new IllegalStateException("The event bus module is not available!");
-        }
+        getEventAdmin();
+        dispatchAsync(ItemEvent.createCommandEvent(itemName, command, source), "Cannot post the command!");
+        postedCommands.increment();
     }
 
     /**
@@ -123,45 +349,73 @@ public class EventPublisherImpl implements EventPublisher {
             throw new IllegalArgumentException("The state must not be null!");
         }
 
-        final EventAdmin eventAdmin = this.eventAdmin;
-        if (eventAdmin != null) {
-            try {
-                AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
-                    @Override
-                    public Void run() throws Exception {
-                        eventAdmin.postEvent(createUpdateEvent(itemName, newState, source));
-                        return null;
-                    }
-                });
-            } catch (PrivilegedActionException pae) {
-                Exception ex = pae.getException();
-                throw new IllegalStateException("Cannot post the update!", ex);
-            }
-        } else {
+        getEventAdmin();
+        dispatchAsync(ItemEvent.createUpdateEvent(itemName, newState, source), "Cannot post the update!");
+        postedUpdates.increment();
+    }
+
+    private EventAdmin getEventAdmin() throws IllegalStateException {
+        EventAdmin eventAdmin = this.eventAdmin;
+        if (eventAdmin == null) {
             throw new IllegalStateException("The event bus module is not available!");
         }
+        return eventAdmin;
     }
 
-    private String createTopic(EventType type, String itemName) {
-        return TOPIC_PREFIX + TOPIC_SEPERATOR + type + TOPIC_SEPERATOR + itemName;
+    private void dispatchAsync(ItemEvent event, String errorMessage) throws IllegalStateException {
+        while (true) {
+            EventDispatchStage dispatchStage = this.dispatchStage;
+            if (dispatchStage == null) {
+                throw new IllegalStateException(errorMessage + " The event publisher is not active.");
+            }
+            try {
+                dispatchStage.post(event);
+                return;
+            } catch (RejectedExecutionException ex) {
+                // the stage may have been replaced by a reconfiguration in the meantime
+                if (dispatchStage == this.dispatchStage) {
+                    throw new IllegalStateException(errorMessage, ex);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(errorMessage, ex);
+            }
+        }
     }
 
-    private Event createCommandEvent(String itemName, Command command, String source) {
-        Dictionary<String, Object> properties = new Hashtable<String, Object>(2);
-        properties.put("item", itemName);
-        properties.put("command", command);
-        if (source != null)
-            properties.put("source", source);
-        return new Event(createTopic(EventType.COMMAND, itemName), properties);
+    private void deliverToEventAdmin(final EventAdmin eventAdmin, ItemEvent event, final boolean synchronous,
+            String errorMessage) throws IllegalStateException {
+        final Event osgiEvent = createOSGiEvent(event);
+        try {
+            AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
+                @Override
+                public Void run() throws Exception {
+                    if (synchronous) {
+                        eventAdmin.sendEvent(osgiEvent);
+                    } else {
+                        eventAdmin.postEvent(osgiEvent);
+                    }
+                    return null;
+                }
+            });
+        } catch (PrivilegedActionException pae) {
+            Exception ex = pae.getException();
+            throw new IllegalStateException(errorMessage, ex);
+        }
     }
 
-    private Event createUpdateEvent(String itemName, State newState, String source) {
-        Dictionary<String, Object> properties = new Hashtable<String, Object>(2);
-        properties.put("item", itemName);
-        properties.put("state", newState);
-        if (source != null)
-            properties.put("source", source);
-        return new Event(createTopic(EventType.UPDATE, itemName), properties);
+    private Event createOSGiEvent(ItemEvent event) {
+        Dictionary<String, Object> properties = new Hashtable<String, Object>(4);
+        properties.put(EventConstants.PROPERTY_ITEM, event.getItemName());
+        if (event.getCommand() != null) {
+            properties.put(EventConstants.PROPERTY_COMMAND, event.getCommand());
+        } else {
+            properties.put(EventConstants.PROPERTY_STATE, event.getState());
+        }
+        if (event.getSource() != null) {
+            properties.put(EventConstants.PROPERTY_SOURCE, event.getSource());
+        }
+        return new Event(event.getTopic(), properties);
     }
 
     @Override
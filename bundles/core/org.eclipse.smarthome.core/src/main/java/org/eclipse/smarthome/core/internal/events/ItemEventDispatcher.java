@@ -0,0 +1,461 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.common.registry.BulkRegistryChangeListener;
+import org.eclipse.smarthome.core.events.ItemEvent;
+import org.eclipse.smarthome.core.events.ItemEventFilter;
+import org.eclipse.smarthome.core.events.ItemEventHandler;
+import org.eclipse.smarthome.core.events.ItemEventHandlerStatistics;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.types.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ItemEventDispatcher} delivers {@link ItemEvent}s to all registered {@link ItemEventHandler}s, whose
+ * filters accept the event.
+ * <p>
+ * The filters are evaluated once when a handler is added or removed. The result is an immutable index by event type,
+ * item name and group name, which is swapped atomically, so that dispatching an event neither needs a lock nor has to
+ * look at handlers that are not interested in the event. Matches of item name patterns are cached per item name.
+ * Group filters are resolved through the {@link ItemRegistry}, but only if any handler filters by group. The direct and
+ * indirect groups of each item are cached until the next change of the registry.
+ * <p>
+ * State updates are delivered to the handlers, which receive all updates immediately (e.g. the item updater), before
+ * they are delivered to the handlers, which opt in to coalescing, so that the latter always see the updated item
+ * state. Updates of items with a coalescing window are passed through an {@link UpdateCoalescer}. Updates, which are
+ * held back by it, are delivered immediately only to the handlers, which do not allow coalescing. The other handlers
+ * receive the latest update at the end of the window. That delivery is passed to the {@link ItemExecutor}, so that it
+ * runs in the same thread and order as the other events of the item.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemEventDispatcher {
+
+    private static final HandlerEntry[] NO_HANDLERS = new HandlerEntry[0];
+
+    private static final ItemExecutor DIRECT_EXECUTOR = new ItemExecutor() {
+        @Override
+        public void execute(String itemName, Runnable task) {
+            task.run();
+        }
+    };
+
+    private final Logger logger = LoggerFactory.getLogger(ItemEventDispatcher.class);
+
+    private final Map<ItemEventHandler, HandlerEntry> handlers = new LinkedHashMap<>();
+
+    private final AtomicLong dispatchedEvents = new AtomicLong();
+
+    private volatile DispatchIndex index = new DispatchIndex(handlers.values());
+
+    private volatile ItemRegistry itemRegistry;
+
+    /** direct and indirect group names by item name, replaced by an empty map whenever the registry changes */
+    private volatile ConcurrentMap<String, Set<String>> groupNamesCache = new ConcurrentHashMap<>();
+
+    private final RegistryListener registryListener = new RegistryListener();
+
+    private volatile ItemExecutor itemExecutor = DIRECT_EXECUTOR;
+
+    private final UpdateCoalescer coalescer = new UpdateCoalescer(new UpdateCoalescer.Delivery() {
+        @Override
+        public void deliver(final ItemEvent event) {
+            itemExecutor.execute(event.getItemName(), new Runnable() {
+                @Override
+                public void run() {
+                    dispatch(event, Recipients.COALESCING);
+                }
+            });
+        }
+    });
+
+    /**
+     * The {@link ItemExecutor} executes tasks in the order of the events of an item.
+     */
+    public interface ItemExecutor {
+
+        /**
+         * Executes the given task after the events of the item, which have been queued before.
+         *
+         * @param itemName the name of the item (not null)
+         * @param task the task (not null)
+         */
+        void execute(String itemName, Runnable task);
+    }
+
+    /**
+     * Selects the handlers an event is delivered to with respect to their coalescing preference.
+     */
+    private enum Recipients {
+        ALL,
+        COALESCING,
+        NOT_COALESCING
+    }
+
+    public void addHandler(ItemEventHandler handler) {
+        synchronized (handlers) {
+            ItemEventFilter filter = handler.getItemEventFilter();
+            handlers.put(handler, new HandlerEntry(handler, filter != null ? filter : ItemEventFilter.ALL,
+                    dispatchedEvents.get()));
+            index = new DispatchIndex(handlers.values());
+        }
+    }
+
+    public void removeHandler(ItemEventHandler handler) {
+        synchronized (handlers) {
+            handlers.remove(handler);
+            index = new DispatchIndex(handlers.values());
+        }
+    }
+
+    public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
+        if (this.itemRegistry != null) {
+            this.itemRegistry.removeRegistryChangeListener(registryListener);
+        }
+        this.itemRegistry = itemRegistry;
+        if (itemRegistry != null) {
+            itemRegistry.addRegistryChangeListener(registryListener);
+        }
+        invalidateGroupNames();
+    }
+
+    /**
+     * Sets the executor for the delivery of held back updates. By default, they are delivered directly by the thread
+     * of the {@link UpdateCoalescer}.
+     *
+     * @param itemExecutor the executor or null to deliver held back updates directly
+     */
+    public void setItemExecutor(ItemExecutor itemExecutor) {
+        this.itemExecutor = itemExecutor != null ? itemExecutor : DIRECT_EXECUTOR;
+    }
+
+    /**
+     * Sets the coalescing windows for state updates.
+     *
+     * @see UpdateCoalescer#setWindows(Map, Map)
+     */
+    public void setCoalescingWindows(Map<String, Long> itemWindows, Map<String, Long> tagWindows) {
+        coalescer.setWindows(itemWindows, tagWindows);
+    }
+
+    /**
+     * Delivers all updates, which are held back for coalescing, and stops the coalescing.
+     */
+    public void shutdown() {
+        coalescer.shutdown();
+    }
+
+    /**
+     * Delivers the given event to all handlers, which are interested in it. Exceptions thrown by a handler are logged
+     * and do not affect the delivery to the other handlers.
+     *
+     * @param event the event to deliver (must not be null)
+     */
+    public void dispatch(ItemEvent event) {
+        dispatchedEvents.incrementAndGet();
+        if (event.getType() == EventType.UPDATE) {
+            dispatch(event, Recipients.NOT_COALESCING);
+            long window = coalescer.getWindow(event.getItemName(), itemRegistry);
+            if (window <= 0 || coalescer.offer(event, window)) {
+                dispatch(event, Recipients.COALESCING);
+            }
+            return;
+        }
+        dispatch(event, Recipients.ALL);
+    }
+
+    private void dispatch(ItemEvent event, Recipients recipients) {
+        DispatchIndex index = this.index;
+        EventType eventType = event.getType();
+
+        deliver(index.getHandlersForAllItems(eventType), event, recipients);
+        HandlerEntry[] itemHandlers = index.getHandlersForItem(eventType, event.getItemName());
+        deliver(itemHandlers, event, recipients);
+
+        if (index.hasGroupHandlers(eventType)) {
+            List<HandlerEntry> groupHandlers = new ArrayList<>();
+            for (String groupName : getGroupNames(event.getItemName())) {
+                for (HandlerEntry entry : index.getHandlersForGroup(eventType, groupName)) {
+                    if (!contains(itemHandlers, entry) && !groupHandlers.contains(entry)) {
+                        groupHandlers.add(entry);
+                    }
+                }
+            }
+            deliver(groupHandlers.toArray(NO_HANDLERS), event, recipients);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the delivery counters of all registered handlers.
+     *
+     * @return list of statistics (not null)
+     */
+    public List<ItemEventHandlerStatistics> getStatistics() {
+        List<ItemEventHandlerStatistics> statistics = new ArrayList<>();
+        long dispatched = dispatchedEvents.get();
+        synchronized (handlers) {
+            for (HandlerEntry entry : handlers.values()) {
+                long delivered = entry.deliveredEvents.get();
+                long dropped = Math.max(0, dispatched - entry.dispatchedEventsAtRegistration - delivered);
+                statistics.add(new ItemEventHandlerStatistics(entry.handler.toString(), entry.filter, delivered,
+                        dropped, entry.failedEvents.get()));
+            }
+        }
+        return statistics;
+    }
+
+    private void deliver(HandlerEntry[] entries, ItemEvent event, Recipients recipients) {
+        for (HandlerEntry entry : entries) {
+            if (recipients != Recipients.ALL
+                    && entry.filter.isCoalescingAllowed() != (recipients == Recipients.COALESCING)) {
+                continue;
+            }
+            entry.deliveredEvents.incrementAndGet();
+            try {
+                entry.handler.handleItemEvent(event);
+            } catch (Exception ex) {
+                entry.failedEvents.incrementAndGet();
+                logger.error("An error occured within the item event handler '" + entry.handler
+                        + "' while handling '" + event + "'!", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of all groups the given item is a direct or indirect member of.
+     */
+    private Set<String> getGroupNames(String itemName) {
+        ConcurrentMap<String, Set<String>> cache = groupNamesCache;
+        Set<String> groupNames = cache.get(itemName);
+        if (groupNames == null) {
+            groupNames = collectGroupNames(itemName);
+            // a cache, which has been replaced in the meantime, is simply dropped together with this entry
+            cache.putIfAbsent(itemName, groupNames);
+        }
+        return groupNames;
+    }
+
+    private Set<String> collectGroupNames(String itemName) {
+        ItemRegistry itemRegistry = this.itemRegistry;
+        if (itemRegistry == null) {
+            return Collections.emptySet();
+        }
+        Set<String> groupNames = new HashSet<>();
+        Deque<String> itemNames = new ArrayDeque<>();
+        itemNames.add(itemName);
+        while (!itemNames.isEmpty()) {
+            Item item = itemRegistry.get(itemNames.poll());
+            if (item != null) {
+                for (String groupName : item.getGroupNames()) {
+                    if (groupNames.add(groupName)) {
+                        itemNames.add(groupName);
+                    }
+                }
+            }
+        }
+        return groupNames.isEmpty() ? Collections.<String> emptySet() : Collections.unmodifiableSet(groupNames);
+    }
+
+    private void invalidateGroupNames() {
+        groupNamesCache = new ConcurrentHashMap<>();
+    }
+
+    private static boolean contains(HandlerEntry[] entries, HandlerEntry entry) {
+        for (HandlerEntry e : entries) {
+            if (e == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invalidates the cached group names on every change of the item registry.
+     */
+    private final class RegistryListener implements ItemRegistryChangeListener, BulkRegistryChangeListener<Item> {
+
+        @Override
+        public void added(Item element) {
+            invalidateGroupNames();
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidateGroupNames();
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidateGroupNames();
+        }
+
+        @Override
+        public void allItemsChanged(Collection<String> oldItemNames) {
+            invalidateGroupNames();
+        }
+
+        @Override
+        public void addedAll(Collection<Item> elements) {
+            invalidateGroupNames();
+        }
+
+        @Override
+        public void removedAll(Collection<Item> elements) {
+            invalidateGroupNames();
+        }
+    }
+
+    /**
+     * A registered handler together with its filter and its delivery counters.
+     */
+    private static final class HandlerEntry {
+
+        final ItemEventHandler handler;
+        final ItemEventFilter filter;
+        final long dispatchedEventsAtRegistration;
+        final AtomicLong deliveredEvents = new AtomicLong();
+        final AtomicLong failedEvents = new AtomicLong();
+
+        HandlerEntry(ItemEventHandler handler, ItemEventFilter filter, long dispatchedEventsAtRegistration) {
+            this.handler = handler;
+            this.filter = filter;
+            this.dispatchedEventsAtRegistration = dispatchedEventsAtRegistration;
+        }
+    }
+
+    /**
+     * Immutable lookup structure, which maps an event type and an item or group name to the handlers interested in it.
+     * Only the results of the item name pattern matching are added lazily.
+     */
+    private static final class DispatchIndex {
+
+        private final Map<EventType, HandlerEntry[]> handlersForAllItems = new EnumMap<>(EventType.class);
+
+        private final Map<EventType, Map<String, HandlerEntry[]>> handlersByItem = new EnumMap<>(EventType.class);
+
+        private final Map<EventType, Map<String, HandlerEntry[]>> handlersByGroup = new EnumMap<>(EventType.class);
+
+        private final Map<EventType, HandlerEntry[]> patternHandlers = new EnumMap<>(EventType.class);
+
+        private final Map<EventType, ConcurrentMap<String, HandlerEntry[]>> itemCache = new EnumMap<>(
+                EventType.class);
+
+        DispatchIndex(Collection<HandlerEntry> entries) {
+            for (EventType eventType : EventType.values()) {
+                List<HandlerEntry> allItems = new ArrayList<>();
+                List<HandlerEntry> patterns = new ArrayList<>();
+                Map<String, List<HandlerEntry>> byItem = new HashMap<>();
+                Map<String, List<HandlerEntry>> byGroup = new HashMap<>();
+                for (HandlerEntry entry : entries) {
+                    ItemEventFilter filter = entry.filter;
+                    if (!filter.getEventTypes().contains(eventType)) {
+                        continue;
+                    }
+                    if (filter.isForAllItems()) {
+                        allItems.add(entry);
+                        continue;
+                    }
+                    for (String itemName : filter.getItemNames()) {
+                        addEntry(byItem, itemName, entry);
+                    }
+                    for (String groupName : filter.getGroupNames()) {
+                        addEntry(byGroup, groupName, entry);
+                    }
+                    if (!filter.getItemNamePatterns().isEmpty()) {
+                        patterns.add(entry);
+                    }
+                }
+                handlersForAllItems.put(eventType, allItems.toArray(NO_HANDLERS));
+                handlersByItem.put(eventType, toArrays(byItem));
+                handlersByGroup.put(eventType, toArrays(byGroup));
+                patternHandlers.put(eventType, patterns.toArray(NO_HANDLERS));
+                itemCache.put(eventType, new ConcurrentHashMap<String, HandlerEntry[]>());
+            }
+        }
+
+        HandlerEntry[] getHandlersForAllItems(EventType eventType) {
+            return handlersForAllItems.get(eventType);
+        }
+
+        HandlerEntry[] getHandlersForItem(EventType eventType, String itemName) {
+            HandlerEntry[] patterns = patternHandlers.get(eventType);
+            if (patterns.length == 0) {
+                HandlerEntry[] entries = handlersByItem.get(eventType).get(itemName);
+                return entries != null ? entries : NO_HANDLERS;
+            }
+
+            ConcurrentMap<String, HandlerEntry[]> cache = itemCache.get(eventType);
+            HandlerEntry[] entries = cache.get(itemName);
+            if (entries == null) {
+                List<HandlerEntry> matchingEntries = new ArrayList<>();
+                HandlerEntry[] byName = handlersByItem.get(eventType).get(itemName);
+                if (byName != null) {
+                    for (HandlerEntry entry : byName) {
+                        matchingEntries.add(entry);
+                    }
+                }
+                for (HandlerEntry entry : patterns) {
+                    if (!matchingEntries.contains(entry) && entry.filter.acceptsItemName(itemName)) {
+                        matchingEntries.add(entry);
+                    }
+                }
+                entries = matchingEntries.toArray(NO_HANDLERS);
+                cache.putIfAbsent(itemName, entries);
+            }
+            return entries;
+        }
+
+        boolean hasGroupHandlers(EventType eventType) {
+            return !handlersByGroup.get(eventType).isEmpty();
+        }
+
+        HandlerEntry[] getHandlersForGroup(EventType eventType, String groupName) {
+            HandlerEntry[] entries = handlersByGroup.get(eventType).get(groupName);
+            return entries != null ? entries : NO_HANDLERS;
+        }
+
+        private static void addEntry(Map<String, List<HandlerEntry>> index, String key, HandlerEntry entry) {
+            List<HandlerEntry> entries = index.get(key);
+            if (entries == null) {
+                entries = new ArrayList<>();
+                index.put(key, entries);
+            }
+            entries.add(entry);
+        }
+
+        private static Map<String, HandlerEntry[]> toArrays(Map<String, List<HandlerEntry>> index) {
+            Map<String, HandlerEntry[]> result = new HashMap<>(index.size() * 2);
+            for (Entry<String, List<HandlerEntry>> entry : index.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().toArray(NO_HANDLERS));
+            }
+            return result;
+        }
+    }
+
+}
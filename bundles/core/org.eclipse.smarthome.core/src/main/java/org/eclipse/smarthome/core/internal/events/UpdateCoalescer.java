@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.smarthome.core.events.ItemEvent;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link UpdateCoalescer} limits the rate of state updates of single items.
+ * <p>
+ * A coalescing window can be configured per item name, item name pattern or tag. The first update of an item opens a
+ * window and is delivered immediately. All updates received while the window is open are held back and only the latest
+ * of them is delivered when the window closes, which opens the next window. If no update has been held back, the
+ * window is closed and the next update is again delivered immediately.
+ * <p>
+ * Items without a configured window are not affected and no thread is started as long as no window is configured.
+ *
+ * @author agent - Initial contribution
+ */
+public class UpdateCoalescer {
+
+    /**
+     * The {@link Delivery} receives the updates, which have been held back until the end of a window.
+     */
+    public interface Delivery {
+
+        /**
+         * Delivers the latest update of an item at the end of a coalescing window.
+         *
+         * @param event the update event (not null)
+         */
+        void deliver(ItemEvent event);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(UpdateCoalescer.class);
+
+    private final Delivery delivery;
+
+    private final ConcurrentMap<String, CoalescingWindow> openWindows = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+
+    private volatile Map<String, Long> itemWindows = Collections.emptyMap();
+
+    private volatile Map<Pattern, Long> itemPatternWindows = Collections.emptyMap();
+
+    private volatile Map<String, Long> tagWindows = Collections.emptyMap();
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public UpdateCoalescer(Delivery delivery) {
+        this.delivery = delivery;
+    }
+
+    /**
+     * Sets the coalescing windows. Item names may contain the wildcards {@code ?} and {@code *}. An exact item name
+     * takes precedence over a pattern, which takes precedence over a tag. If an item has several matching tags, the
+     * longest window is used.
+     *
+     * @param itemWindows windows in milliseconds by item name or pattern (must not be null)
+     * @param tagWindows windows in milliseconds by tag (must not be null)
+     */
+    public synchronized void setWindows(Map<String, Long> itemWindows, Map<String, Long> tagWindows) {
+        Map<String, Long> names = new HashMap<>();
+        Map<Pattern, Long> patterns = new HashMap<>();
+        for (Entry<String, Long> entry : itemWindows.entrySet()) {
+            if (entry.getKey().contains("*") || entry.getKey().contains("?")) {
+                patterns.put(Pattern.compile(entry.getKey().replace("?", ".?").replace("*", ".*?")), entry.getValue());
+            } else {
+                names.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.itemWindows = names;
+        this.itemPatternWindows = patterns;
+        this.tagWindows = new HashMap<>(tagWindows);
+        if (scheduler == null && !(itemWindows.isEmpty() && tagWindows.isEmpty())) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ESH-event-coalescer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the coalescing window of the given item.
+     *
+     * @param itemName the name of the item (must not be null)
+     * @param itemRegistry the registry to look up the tags of the item (can be null)
+     * @return the window in milliseconds or 0, if updates of the item are not coalesced
+     */
+    public long getWindow(String itemName, ItemRegistry itemRegistry) {
+        Long window = itemWindows.get(itemName);
+        if (window != null) {
+            return window;
+        }
+        for (Entry<Pattern, Long> entry : itemPatternWindows.entrySet()) {
+            if (entry.getKey().matcher(itemName).matches()) {
+                return entry.getValue();
+            }
+        }
+        Map<String, Long> tagWindows = this.tagWindows;
+        long tagWindow = 0;
+        if (!tagWindows.isEmpty() && itemRegistry != null) {
+            Item item = itemRegistry.get(itemName);
+            if (item != null) {
+                for (String tag : item.getTags()) {
+                    Long windowOfTag = tagWindows.get(tag);
+                    if (windowOfTag != null && windowOfTag > tagWindow) {
+                        tagWindow = windowOfTag;
+                    }
+                }
+            }
+        }
+        return tagWindow;
+    }
+
+    /**
+     * Offers an update to the coalescer.
+     *
+     * @param event the update event (must not be null)
+     * @param window the coalescing window of the item in milliseconds (must be positive)
+     * @return true if the update must be delivered immediately, false if it is held back and will be delivered through
+     *         the {@link Delivery} unless it is replaced by a newer update
+     */
+    public boolean offer(ItemEvent event, long window) {
+        String itemName = event.getItemName();
+        while (true) {
+            CoalescingWindow openWindow = openWindows.get(itemName);
+            if (openWindow == null) {
+                openWindow = new CoalescingWindow(itemName, window);
+                if (openWindows.putIfAbsent(itemName, openWindow) == null) {
+                    if (!schedule(openWindow)) {
+                        openWindows.remove(itemName, openWindow);
+                    }
+                    return true;
+                }
+            } else {
+                synchronized (openWindow) {
+                    if (openWindows.get(itemName) == openWindow) {
+                        if (openWindow.pendingEvent != null) {
+                            coalescedUpdates.incrementAndGet();
+                        }
+                        openWindow.pendingEvent = event;
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of updates, which have been replaced by a newer update and have never been delivered.
+     *
+     * @return number of coalesced updates
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+
+    /**
+     * Stops the scheduler. Held back updates are delivered immediately.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        List<CoalescingWindow> windows = new ArrayList<>(openWindows.values());
+        for (CoalescingWindow window : windows) {
+            window.run();
+        }
+    }
+
+    private boolean schedule(CoalescingWindow window) {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler == null) {
+            return false;
+        }
+        try {
+            scheduler.schedule(window, window.window, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * An open window of a single item. When it closes, it delivers the held back update and reopens itself or it
+     * removes itself if no update has been held back.
+     */
+    private final class CoalescingWindow implements Runnable {
+
+        private final String itemName;
+        private final long window;
+        private ItemEvent pendingEvent;
+
+        CoalescingWindow(String itemName, long window) {
+            this.itemName = itemName;
+            this.window = window;
+        }
+
+        @Override
+        public void run() {
+            ItemEvent event;
+            synchronized (this) {
+                event = pendingEvent;
+                pendingEvent = null;
+                if (event == null || !schedule(this)) {
+                    openWindows.remove(itemName, this);
+                }
+            }
+            if (event != null) {
+                try {
+                    delivery.deliver(event);
+                } catch (Exception ex) {
+                    logger.error("An error occured while delivering the coalesced update '" + event + "'!", ex);
+                }
+            }
+        }
+    }
+
+}
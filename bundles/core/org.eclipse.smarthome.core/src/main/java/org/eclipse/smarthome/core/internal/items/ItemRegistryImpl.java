@@ -8,12 +8,19 @@
 package org.eclipse.smarthome.core.internal.items;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
@@ -52,6 +59,18 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
 
     protected List<StateDescriptionProvider> stateDescriptionProviders = new CopyOnWriteArrayList<>();
 
+    /**
+     * index of all registered items by their name, which is kept in sync with the element map of the registry
+     */
+    private final Map<String, Item> itemsByName = new ConcurrentHashMap<>();
+
+    /**
+     * secondary indexes, which map an item type, a tag or a group name to the names of the according items
+     */
+    private final ConcurrentMap<String, Set<String>> itemNamesByType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> itemNamesByTag = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> memberNamesByGroup = new ConcurrentHashMap<>();
+
     @Override
     public void allItemsChanged(ItemProvider provider, Collection<String> oldItemNames) {
 
@@ -85,6 +104,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
                 try {
                     onAddElement(item);
                     items.add(item);
+                    invalidateSnapshot();
                     for (RegistryChangeListener<Item> listener : listeners) {
                         listener.added(item);
                     }
@@ -94,8 +114,10 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
             } else if (!oldItem.equals(item)) {
                 // it is a modified item
                 try {
+                    removeFromIndexes(oldItem);
                     onAddElement(item);
                     items.add(item);
+                    invalidateSnapshot();
                     for (RegistryChangeListener<Item> listener : listeners) {
                         listener.updated(oldItem, item);
                     }
@@ -108,9 +130,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
             }
             oldItemsMap.remove(item.getName());
         }
+        invalidateSnapshot();
 
         // send a remove notification for all remaining old items
         for (Item removedItem : oldItemsMap.values()) {
+            removeFromIndexes(removedItem);
             for (RegistryChangeListener<Item> listener : listeners) {
                 listener.removed(removedItem);
             }
@@ -127,14 +151,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
      */
     @Override
     public Item getItem(String name) throws ItemNotFoundException {
-
-        for (Item item : getItems()) {
-            if (item.getName().equals(name)) {
-                return item;
-            }
+        Item item = name != null ? itemsByName.get(name) : null;
+        if (item == null) {
+            throw new ItemNotFoundException(name);
         }
-
-        throw new ItemNotFoundException(name);
+        return item;
     }
 
     @Override
@@ -183,7 +204,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
     public Collection<Item> getItemsOfType(String type) {
         Collection<Item> matchedItems = new ArrayList<Item>();
 
-        for (Item item : getItems()) {
+        for (Item item : resolveItems(intersect(itemNamesByType.get(type)))) {
             if (item.getType().equals(type)) {
                 matchedItems.add(item);
             }
@@ -201,11 +222,20 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
      */
     @Override
     public Collection<Item> getItems(String pattern) {
-        String regex = pattern.replace("?", ".?").replace("*", ".*?");
         Collection<Item> matchedItems = new ArrayList<Item>();
 
+        if (isValidItemName(pattern)) {
+            // no wildcards, so the pattern can only match the item with exactly this name
+            Item item = itemsByName.get(pattern);
+            if (item != null) {
+                matchedItems.add(item);
+            }
+            return matchedItems;
+        }
+
+        Pattern regex = Pattern.compile(pattern.replace("?", ".?").replace("*", ".*?"));
         for (Item item : getItems()) {
-            if (item.getName().matches(regex)) {
+            if (regex.matcher(item.getName()).matches()) {
                 matchedItems.add(item);
             }
         }
@@ -263,7 +293,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
     }
 
     private void addMembersToGroupItem(GroupItem groupItem) {
-        for (Item i : getItems()) {
+        for (Item i : resolveItems(intersect(memberNamesByGroup.get(groupItem.getName())))) {
             if (i.getGroupNames().contains(groupItem.getName())) {
                 groupItem.addMember(i);
             }
@@ -286,15 +316,20 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
     @Override
     protected void onAddElement(Item element) throws IllegalArgumentException {
         initializeItem(element);
+        addToIndexes(element);
     }
 
     @Override
     protected void onRemoveElement(Item element) {
         removeFromGroupItems(element, element.getGroupNames());
+        removeFromIndexes(element);
     }
 
     @Override
     protected void onUpdateElement(Item oldItem, Item item) {
+        Item indexedItem = itemsByName.get(oldItem.getName());
+        removeFromIndexes(indexedItem != null ? indexedItem : oldItem);
+        addToIndexes(item);
         removeFromGroupItems(oldItem, oldItem.getGroupNames());
         addToGroupItems(item, item.getGroupNames());
         if (item instanceof GroupItem) {
@@ -332,8 +367,11 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
 
     @Override
     public Collection<Item> getItemsByTag(String... tags) {
+        if (tags.length == 0) {
+            return new ArrayList<Item>(getItems());
+        }
         List<Item> filteredItems = new ArrayList<Item>();
-        for (Item item : getItems()) {
+        for (Item item : resolveItems(intersect(getTagIndexEntries(tags)))) {
             if (itemHasTags(item, tags)) {
                 filteredItems.add(item);
             }
@@ -358,7 +396,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
         Collection<Item> items = getItemsByTag(tags);
         for (Item item : items) {
             if (typeFilter.isInstance(item)) {
-                filteredItems.add((T) filteredItems);
+                filteredItems.add((T) item);
             }
         }
         return filteredItems;
@@ -367,14 +405,121 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String> implements
     @Override
     public Collection<Item> getItemsByTagAndType(String type, String... tags) {
         List<Item> filteredItems = new ArrayList<Item>();
-        for (Item item : getItemsOfType(type)) {
-            if (itemHasTags(item, tags)) {
+        Set<String>[] indexEntries = Arrays.copyOf(getTagIndexEntries(tags), tags.length + 1);
+        indexEntries[tags.length] = itemNamesByType.get(type);
+        for (Item item : resolveItems(intersect(indexEntries))) {
+            if (item.getType().equals(type) && itemHasTags(item, tags)) {
                 filteredItems.add(item);
             }
         }
         return filteredItems;
     }
 
+    private void addToIndexes(Item item) {
+        String itemName = item.getName();
+        itemsByName.put(itemName, item);
+        addToIndex(itemNamesByType, item.getType(), itemName);
+        for (String tag : item.getTags()) {
+            addToIndex(itemNamesByTag, tag, itemName);
+        }
+        for (String groupName : item.getGroupNames()) {
+            addToIndex(memberNamesByGroup, groupName, itemName);
+        }
+    }
+
+    private void removeFromIndexes(Item item) {
+        String itemName = item.getName();
+        if (itemsByName.remove(itemName, item)) {
+            removeFromIndex(itemNamesByType, item.getType(), itemName);
+            for (String tag : item.getTags()) {
+                removeFromIndex(itemNamesByTag, tag, itemName);
+            }
+            for (String groupName : item.getGroupNames()) {
+                removeFromIndex(memberNamesByGroup, groupName, itemName);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String>[] getTagIndexEntries(String... tags) {
+        Set<String>[] indexEntries = new Set[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            indexEntries[i] = itemNamesByTag.get(tags[i]);
+        }
+        return indexEntries;
+    }
+
+    /**
+     * Intersects the given index entries. The iteration starts at the smallest entry and keeps its order, which is the
+     * order in which the items have been added to the registry.
+     *
+     * @param indexEntries entries of the secondary indexes, which might be null if there was no entry for a key
+     * @return names of the items that are contained in all given index entries
+     */
+    @SafeVarargs
+    private static List<String> intersect(Set<String>... indexEntries) {
+        Set<String> smallestEntry = null;
+        for (Set<String> indexEntry : indexEntries) {
+            if (indexEntry == null || indexEntry.isEmpty()) {
+                return Collections.emptyList();
+            }
+            if (smallestEntry == null || indexEntry.size() < smallestEntry.size()) {
+                smallestEntry = indexEntry;
+            }
+        }
+        if (smallestEntry == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> itemNames;
+        synchronized (smallestEntry) {
+            itemNames = new ArrayList<>(smallestEntry);
+        }
+        for (Set<String> indexEntry : indexEntries) {
+            if (indexEntry != smallestEntry) {
+                itemNames.retainAll(indexEntry);
+            }
+        }
+        return itemNames;
+    }
+
+    private static void addToIndex(ConcurrentMap<String, Set<String>> index, String key, String itemName) {
+        Set<String> itemNames = index.get(key);
+        if (itemNames == null) {
+            Set<String> newItemNames = Collections.synchronizedSet(new LinkedHashSet<String>());
+            itemNames = index.putIfAbsent(key, newItemNames);
+            if (itemNames == null) {
+                itemNames = newItemNames;
+            }
+        }
+        itemNames.add(itemName);
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String itemName) {
+        Set<String> itemNames = index.get(key);
+        if (itemNames != null) {
+            itemNames.remove(itemName);
+        }
+    }
+
+    /**
+     * Resolves the given item names against the name index. Names of items, which have been removed in the meantime,
+     * are skipped.
+     */
+    private List<Item> resolveItems(Collection<String> itemNames) {
+        if (itemNames == null) {
+            return Collections.emptyList();
+        }
+        List<Item> items = new ArrayList<>(itemNames.size());
+        for (String itemName : itemNames) {
+            Item item = itemsByName.get(itemName);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
     @Override
     public void remove(String itemName, boolean recursive) {
         if (this.managedProvider != null) {
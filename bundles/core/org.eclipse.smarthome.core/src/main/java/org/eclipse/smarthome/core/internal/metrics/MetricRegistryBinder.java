@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.metrics;
+
+import org.eclipse.smarthome.core.metrics.MetricRegistry;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+
+/**
+ * The {@link MetricRegistryBinder} passes a {@link MetricRegistry} service to the {@link MetricsManager}, which uses it
+ * as its backend until the service is unregistered.
+ *
+ * @author agent - Initial contribution
+ */
+public class MetricRegistryBinder {
+
+    private MetricRegistry metricRegistry;
+
+    protected synchronized void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+        MetricsManager.setBackend(metricRegistry);
+    }
+
+    protected synchronized void unsetMetricRegistry(MetricRegistry metricRegistry) {
+        // a replacing registry is bound before the previous one is unbound
+        if (this.metricRegistry == metricRegistry) {
+            this.metricRegistry = null;
+            MetricsManager.setBackend(null);
+        }
+    }
+
+    protected synchronized void deactivate() {
+        if (metricRegistry != null) {
+            metricRegistry = null;
+            MetricsManager.setBackend(null);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.internal.scheduler;
+
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager;
+import org.osgi.service.cm.ConfigurationException;
+import org.osgi.service.cm.ManagedService;
+
+/**
+ * The {@link SchedulerPoolConfiguration} passes the configured pool sizes to the {@link SchedulerPoolManager} and shuts
+ * down its pools, when it is deactivated together with the core bundle.
+ * <p>
+ * The property {@code defaultPoolSize} sets the size of all pools without an own size. Every other property without a
+ * dot in its key sets the size of the pool with this name, e.g. {@code hue=2}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SchedulerPoolConfiguration implements ManagedService {
+
+    private static final String DEFAULT_POOL_SIZE = "defaultPoolSize";
+
+    protected void deactivate() {
+        SchedulerPoolManager.shutdown();
+    }
+
+    @Override
+    public void updated(Dictionary<String, ?> properties) throws ConfigurationException {
+        if (properties == null) {
+            SchedulerPoolManager.setPoolSizes(SchedulerPoolManager.DEFAULT_POOL_SIZE,
+                    Collections.<String, Integer> emptyMap());
+            return;
+        }
+        int defaultPoolSize = SchedulerPoolManager.DEFAULT_POOL_SIZE;
+        Map<String, Integer> poolSizes = new HashMap<>();
+        Enumeration<String> keys = properties.keys();
+        while (keys.hasMoreElements()) {
+            String key = keys.nextElement();
+            if (key.equals(DEFAULT_POOL_SIZE)) {
+                defaultPoolSize = getPoolSize(key, properties.get(key));
+            } else if (!key.contains(".")) {
+                // keys with a dot are framework properties like service.pid
+                poolSizes.put(key, getPoolSize(key, properties.get(key)));
+            }
+        }
+        SchedulerPoolManager.setPoolSizes(defaultPoolSize, poolSizes);
+    }
+
+    private int getPoolSize(String key, Object value) throws ConfigurationException {
+        try {
+            int poolSize = Integer.parseInt(value.toString().trim());
+            if (poolSize > 0) {
+                return poolSize;
+            }
+        } catch (NumberFormatException ex) {
+            // handled below
+        }
+        throw new ConfigurationException(key, "The pool size must be a positive number, but is '" + value + "'!");
+    }
+
+}
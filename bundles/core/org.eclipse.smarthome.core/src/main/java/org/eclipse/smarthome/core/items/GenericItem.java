@@ -7,16 +7,11 @@
  */
 package org.eclipse.smarthome.core.items;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.WeakHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.types.Command;
@@ -29,11 +24,16 @@ import org.eclipse.smarthome.core.types.UnDefType;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 /**
  * The abstract base class for all items. It provides all relevant logic
  * for the infrastructure, such as publishing updates to the event bus
  * or notifying listeners.
+ * <p>
+ * The listeners, the group names and the tags are kept in immutable snapshots, which are only replaced when they are
+ * modified. This way {@link #setState(State)} and the getters do neither copy nor lock anything.
  * 
  * @author Kai Kreuzer - Initial contribution and API
  * @author Andre Fuechsel - Added tags
@@ -41,14 +41,19 @@ import com.google.common.collect.ImmutableSet;
  */
 abstract public class GenericItem implements ActiveItem {
 
+    private static final StateChangeListener[] NO_LISTENERS = new StateChangeListener[0];
+
     protected EventPublisher eventPublisher;
 
-    protected Set<StateChangeListener> listeners = new CopyOnWriteArraySet<StateChangeListener>(
-            Collections.newSetFromMap(new WeakHashMap<StateChangeListener, Boolean>()));
+    private volatile StateChangeListener[] listeners = NO_LISTENERS;
+
+    private final Object listenersLock = new Object();
 
-    protected List<String> groupNames = new ArrayList<String>();
+    /** immutable list, which is replaced on modification */
+    protected volatile List<String> groupNames = ImmutableList.of();
 
-    protected Set<String> tags = new HashSet<String>();
+    /** immutable set, which is replaced on modification */
+    protected volatile Set<String> tags = ImmutableSet.of();
 
     final protected String name;
 
@@ -115,7 +120,7 @@ abstract public class GenericItem implements ActiveItem {
      */
     @Override
     public List<String> getGroupNames() {
-        return ImmutableList.copyOf(groupNames);
+        return groupNames;
     }
 
     /**
@@ -125,9 +130,9 @@ abstract public class GenericItem implements ActiveItem {
      *            group item name to add
      */
     @Override
-    public void addGroupName(String groupItemName) {
+    public synchronized void addGroupName(String groupItemName) {
         if (!groupNames.contains(groupItemName)) {
-            groupNames.add(groupItemName);
+            groupNames = ImmutableList.<String> builder().addAll(groupNames).add(groupItemName).build();
         }
     }
 
@@ -152,8 +157,12 @@ abstract public class GenericItem implements ActiveItem {
      *            group item name to remove
      */
     @Override
-    public void removeGroupName(String groupItemName) {
-        groupNames.remove(groupItemName);
+    public synchronized void removeGroupName(String groupItemName) {
+        if (groupNames.contains(groupItemName)) {
+            List<String> newGroupNames = Lists.newArrayList(groupNames);
+            newGroupNames.remove(groupItemName);
+            groupNames = ImmutableList.copyOf(newGroupNames);
+        }
     }
 
     public void setEventPublisher(EventPublisher eventPublisher) {
@@ -189,13 +198,12 @@ abstract public class GenericItem implements ActiveItem {
 
     private void notifyListeners(State oldState, State newState) {
         // if nothing has changed, we send update notifications
-        Set<StateChangeListener> clonedListeners = null;
-        clonedListeners = new CopyOnWriteArraySet<StateChangeListener>(listeners);
-        for (StateChangeListener listener : clonedListeners) {
+        StateChangeListener[] listeners = this.listeners;
+        for (StateChangeListener listener : listeners) {
             listener.stateUpdated(this, newState);
         }
-        if (newState!=null && !newState.equals(oldState)) {
-            for (StateChangeListener listener : clonedListeners) {
+        if (newState != null && !newState.equals(oldState)) {
+            for (StateChangeListener listener : listeners) {
                 listener.stateChanged(this, oldState, newState);
             }
         }
@@ -231,17 +239,46 @@ abstract public class GenericItem implements ActiveItem {
     }
 
     public void addStateChangeListener(StateChangeListener listener) {
-        synchronized (listeners) {
-            listeners.add(listener);
+        synchronized (listenersLock) {
+            if (indexOf(listeners, listener) < 0) {
+                StateChangeListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+                newListeners[listeners.length] = listener;
+                listeners = newListeners;
+            }
         }
     }
 
     public void removeStateChangeListener(StateChangeListener listener) {
-        synchronized (listeners) {
-            listeners.remove(listener);
+        synchronized (listenersLock) {
+            int index = indexOf(listeners, listener);
+            if (index >= 0) {
+                StateChangeListener[] newListeners = new StateChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, index);
+                System.arraycopy(listeners, index + 1, newListeners, index, newListeners.length - index);
+                listeners = newListeners;
+            }
         }
     }
 
+    /**
+     * Returns the listeners of this item. Sub classes must use {@link #addStateChangeListener(StateChangeListener)} and
+     * {@link #removeStateChangeListener(StateChangeListener)} to modify them.
+     *
+     * @return immutable snapshot of the listeners
+     */
+    protected Set<StateChangeListener> getListeners() {
+        return ImmutableSet.copyOf(listeners);
+    }
+
+    private static int indexOf(StateChangeListener[] listeners, StateChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
 
     @Override
 	public int hashCode() {
@@ -295,7 +332,7 @@ abstract public class GenericItem implements ActiveItem {
 
 	@Override
     public Set<String> getTags() {
-        return ImmutableSet.copyOf(tags);
+        return tags;
     }
 
     @Override
@@ -305,27 +342,29 @@ abstract public class GenericItem implements ActiveItem {
 
     @Override
     public void addTag(String tag) {
-        tags.add(tag);
+        addTags(Arrays.asList(tag));
     }
 
     @Override
-    public void addTags(Collection<String> tags) {
-        this.tags.addAll(tags);
+    public synchronized void addTags(Collection<String> tags) {
+        this.tags = ImmutableSet.<String> builder().addAll(this.tags).addAll(tags).build();
     }
 
     @Override
     public void addTags(String... tags) {
-        this.tags.addAll(Arrays.asList(tags));
+        addTags(Arrays.asList(tags));
     }
 
     @Override
-    public void removeTag(String tag) {
-        tags.remove(tag);
+    public synchronized void removeTag(String tag) {
+        if (tags.contains(tag)) {
+            tags = ImmutableSet.copyOf(Sets.difference(tags, ImmutableSet.of(tag)));
+        }
     }
 
     @Override
-    public void removeAllTags() {
-        tags.clear();
+    public synchronized void removeAllTags() {
+        tags = ImmutableSet.of();
     }
 
     @Override
@@ -7,7 +7,9 @@
  */
 package org.eclipse.smarthome.core.items;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.smarthome.core.types.State;
@@ -46,7 +48,7 @@ abstract public interface GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Equality implements GroupFunction {
+    static class Equality implements IncrementalGroupFunction {
 
         /**
          * @{inheritDoc
@@ -79,6 +81,69 @@ abstract public interface GroupFunction {
                 return null;
             }
         }
+
+        /**
+         * @{inheritDoc
+         */
+        @Override
+        public Aggregate createAggregate(Set<Item> items) {
+            return new AbstractAggregate<State>() {
+
+                /**
+                 * distinct member states with their number of members; states are compared with equals() as
+                 * calculate() does, since numeric states are equal across scales but do not share a hash code
+                 */
+                private final List<StateCount> stateCounts = new ArrayList<>(2);
+
+                @Override
+                protected State getContribution(Item member) {
+                    return member.getState();
+                }
+
+                @Override
+                protected void add(State state) {
+                    for (StateCount stateCount : stateCounts) {
+                        if (stateCount.state.equals(state)) {
+                            stateCount.count++;
+                            return;
+                        }
+                    }
+                    stateCounts.add(new StateCount(state));
+                }
+
+                @Override
+                protected void remove(State state) {
+                    for (Iterator<StateCount> it = stateCounts.iterator(); it.hasNext();) {
+                        StateCount stateCount = it.next();
+                        if (stateCount.state.equals(state)) {
+                            if (--stateCount.count == 0) {
+                                it.remove();
+                            }
+                            return;
+                        }
+                    }
+                }
+
+                @Override
+                public State getState() {
+                    if (stateCounts.size() == 1) {
+                        return stateCounts.get(0).state;
+                    } else {
+                        return UnDefType.UNDEF;
+                    }
+                }
+            }.addMembers(items);
+        }
+
+        private static class StateCount {
+
+            private final State state;
+            private int count = 1;
+
+            private StateCount(State state) {
+                this.state = state;
+            }
+        }
     }
 
 }
@@ -10,9 +10,11 @@ package org.eclipse.smarthome.core.items;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
@@ -21,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
 
 public class GroupItem extends GenericItem implements StateChangeListener {
 
@@ -32,6 +35,23 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 
     protected GroupFunction function;
 
+    /** intermediate result of an {@link IncrementalGroupFunction}, which is dropped whenever the members change */
+    private IncrementalGroupFunction.Aggregate aggregate;
+
+    private final Object aggregateLock = new Object();
+
+    /**
+     * Counts the changes of the members of this group and of all nested groups. The cached members and accepted types
+     * are only valid as long as this counter has not changed.
+     */
+    private final AtomicLong membershipVersion = new AtomicLong();
+
+    /** the groups, which contain this group, weakly referenced and compared by identity */
+    private final Set<GroupItem> parentGroups = Collections.newSetFromMap(new MapMaker().weakKeys()
+            .<GroupItem, Boolean> makeMap());
+
+    private volatile MembershipCache membershipCache;
+
     public GroupItem(String name) {
         this(name, null);
     }
@@ -76,9 +96,7 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      * @return all members of this and all contained {@link GroupItem}s
      */
     public Set<Item> getAllMembers() {
-        Set<Item> allMembers = new HashSet<Item>();
-        collectMembers(allMembers, members);
-        return ImmutableSet.copyOf(allMembers);
+        return getMembershipCache().allMembers;
     }
 
     private void collectMembers(Set<Item> allMembers, Set<Item> members) {
@@ -93,6 +111,11 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 
     public void addMember(Item item) {
         members.add(item);
+        if (item instanceof GroupItem) {
+            ((GroupItem) item).parentGroups.add(this);
+        }
+        invalidateMembership();
+        resetAggregate();
         if (item instanceof GenericItem) {
             GenericItem genericItem = (GenericItem) item;
             genericItem.addStateChangeListener(this);
@@ -101,6 +124,11 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 
     public void removeMember(Item item) {
         members.remove(item);
+        if (item instanceof GroupItem) {
+            ((GroupItem) item).parentGroups.remove(this);
+        }
+        invalidateMembership();
+        resetAggregate();
         if (item instanceof GenericItem) {
             GenericItem genericItem = (GenericItem) item;
             genericItem.removeStateChangeListener(this);
@@ -115,22 +143,11 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      * @return the accepted data types of this group item
      */
     @Override
-    @SuppressWarnings("unchecked")
     public List<Class<? extends State>> getAcceptedDataTypes() {
         if (baseItem != null) {
             return baseItem.getAcceptedDataTypes();
         } else {
-            List<Class<? extends State>> acceptedDataTypes = null;
-
-            for (Item item : members) {
-                if (acceptedDataTypes == null) {
-                    acceptedDataTypes = new ArrayList<>(item.getAcceptedDataTypes());
-                } else {
-                    acceptedDataTypes.retainAll(item.getAcceptedDataTypes());
-                }
-            }
-            return acceptedDataTypes == null ? Collections.unmodifiableList(Collections.EMPTY_LIST) : Collections
-                    .unmodifiableList(acceptedDataTypes);
+            return getMembershipCache().getAcceptedDataTypes();
         }
     }
 
@@ -142,25 +159,46 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      * @return the accepted command types of this group item
      */
     @Override
-    @SuppressWarnings("unchecked")
     public List<Class<? extends Command>> getAcceptedCommandTypes() {
         if (baseItem != null) {
             return baseItem.getAcceptedCommandTypes();
         } else {
-            List<Class<? extends Command>> acceptedCommandTypes = null;
+            return getMembershipCache().getAcceptedCommandTypes();
+        }
+    }
 
-            for (Item item : members) {
-                if (acceptedCommandTypes == null) {
-                    acceptedCommandTypes = new ArrayList<>(item.getAcceptedCommandTypes());
-                } else {
-                    acceptedCommandTypes.retainAll(item.getAcceptedCommandTypes());
-                }
+    /**
+     * Invalidates the cached members and accepted types of this group and of all groups, which contain it directly or
+     * through nested groups. The caches of unrelated groups are kept.
+     */
+    private void invalidateMembership() {
+        Set<GroupItem> invalidatedGroups = Collections.newSetFromMap(new IdentityHashMap<GroupItem, Boolean>());
+        List<GroupItem> groups = new ArrayList<>();
+        groups.add(this);
+        while (!groups.isEmpty()) {
+            GroupItem group = groups.remove(groups.size() - 1);
+            // the groups might contain each other
+            if (invalidatedGroups.add(group)) {
+                group.membershipVersion.incrementAndGet();
+                groups.addAll(group.parentGroups);
             }
-            return acceptedCommandTypes == null ? Collections.unmodifiableList(Collections.EMPTY_LIST) : Collections
-                    .unmodifiableList(acceptedCommandTypes);
         }
     }
 
+    /**
+     * Returns the cached members and accepted types. They are computed again if the members of this group or of a
+     * nested group have changed since they have been cached.
+     */
+    private MembershipCache getMembershipCache() {
+        MembershipCache cache = membershipCache;
+        long version = membershipVersion.get();
+        if (cache == null || cache.version != version) {
+            cache = new MembershipCache(version);
+            membershipCache = cache;
+        }
+        return cache;
+    }
+
     public void send(Command command) {
         if (getAcceptedCommandTypes().contains(command.getClass())) {
             internalSend(command);
@@ -242,7 +280,7 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      */
     @Override
     public void stateChanged(Item item, State oldState, State newState) {
-        setState(function.calculate(members));
+        setState(calculateState(item));
     }
 
     /**
@@ -250,7 +288,87 @@ public class GroupItem extends GenericItem implements StateChangeListener {
      */
     @Override
     public void stateUpdated(Item item, State state) {
-        setState(function.calculate(members));
+        setState(calculateState(item));
+    }
+
+    /**
+     * Calculates the state of the group after the state of the given member has been updated. An
+     * {@link IncrementalGroupFunction} only applies the update of the member, all other functions look at all members.
+     */
+    private State calculateState(Item member) {
+        if (function instanceof IncrementalGroupFunction) {
+            synchronized (aggregateLock) {
+                if (aggregate == null) {
+                    aggregate = ((IncrementalGroupFunction) function).createAggregate(members);
+                } else {
+                    aggregate.memberUpdated(member);
+                }
+                return aggregate.getState();
+            }
+        } else {
+            return function.calculate(members);
+        }
+    }
+
+    private void resetAggregate() {
+        synchronized (aggregateLock) {
+            aggregate = null;
+        }
+    }
+
+    /**
+     * The transitive members and the intersections of the accepted types of the direct members at a given membership
+     * version. The accepted types are only computed when they are requested for the first time.
+     */
+    private final class MembershipCache {
+
+        private final long version;
+        private final Set<Item> allMembers;
+        private volatile List<Class<? extends State>> acceptedDataTypes;
+        private volatile List<Class<? extends Command>> acceptedCommandTypes;
+
+        MembershipCache(long version) {
+            this.version = version;
+            Set<Item> allMembers = new HashSet<Item>();
+            collectMembers(allMembers, members);
+            this.allMembers = ImmutableSet.copyOf(allMembers);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Class<? extends State>> getAcceptedDataTypes() {
+            if (acceptedDataTypes == null) {
+                List<Class<? extends State>> acceptedDataTypes = null;
+
+                for (Item item : members) {
+                    if (acceptedDataTypes == null) {
+                        acceptedDataTypes = new ArrayList<>(item.getAcceptedDataTypes());
+                    } else {
+                        acceptedDataTypes.retainAll(item.getAcceptedDataTypes());
+                    }
+                }
+                this.acceptedDataTypes = acceptedDataTypes == null ? Collections
+                        .unmodifiableList(Collections.EMPTY_LIST) : Collections.unmodifiableList(acceptedDataTypes);
+            }
+            return acceptedDataTypes;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Class<? extends Command>> getAcceptedCommandTypes() {
+            if (acceptedCommandTypes == null) {
+                List<Class<? extends Command>> acceptedCommandTypes = null;
+
+                for (Item item : members) {
+                    if (acceptedCommandTypes == null) {
+                        acceptedCommandTypes = new ArrayList<>(item.getAcceptedCommandTypes());
+                    } else {
+                        acceptedCommandTypes.retainAll(item.getAcceptedCommandTypes());
+                    }
+                }
+                this.acceptedCommandTypes = acceptedCommandTypes == null ? Collections
+                        .unmodifiableList(Collections.EMPTY_LIST) : Collections.unmodifiableList(acceptedCommandTypes);
+            }
+            return acceptedCommandTypes;
+        }
     }
 
 }
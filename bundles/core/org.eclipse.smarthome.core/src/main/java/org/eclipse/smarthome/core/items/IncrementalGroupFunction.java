@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.items;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * An {@link IncrementalGroupFunction} is a {@link GroupFunction}, which can keep its result up to date without looking
+ * at all members again, whenever the state of a single member changes.
+ * <p>
+ * The {@link GroupItem} creates an {@link Aggregate} over all its members once and informs it about every state update
+ * of a member. The aggregate is only created again if the members of the group change. The result of the aggregate
+ * must always be equal to the result of {@link #calculate(Set)} for the same members.
+ *
+ * @author agent - Initial contribution
+ */
+public interface IncrementalGroupFunction extends GroupFunction {
+
+    /**
+     * Creates an aggregate over the current states of the given items.
+     *
+     * @param items the members of the group (must not be null)
+     * @return the aggregate (not null)
+     */
+    public Aggregate createAggregate(Set<Item> items);
+
+    /**
+     * An {@link Aggregate} holds the intermediate result of an {@link IncrementalGroupFunction}. It does not need to be
+     * thread-safe, the {@link GroupItem} synchronizes the access.
+     */
+    public interface Aggregate {
+
+        /**
+         * Updates the aggregate after the state of the given member has been updated.
+         *
+         * @param member the member with the new state (must not be null)
+         */
+        void memberUpdated(Item member);
+
+        /**
+         * Returns the current result of the group function.
+         *
+         * @return the group state (not null)
+         */
+        State getState();
+    }
+
+    /**
+     * Base class for aggregates, which remember the contribution of each member to the result, so that the previous
+     * contribution can be removed when a member is updated.
+     *
+     * @param <V> type of the contribution of a member
+     */
+    public abstract static class AbstractAggregate<V> implements Aggregate {
+
+        /** members are compared by identity, because the hash code of an item changes with its label and tags */
+        private final Map<Item, V> contributions = new IdentityHashMap<>();
+
+        /**
+         * Adds the contributions of all given members.
+         *
+         * @param items the members (must not be null)
+         * @return this aggregate
+         */
+        public AbstractAggregate<V> addMembers(Set<Item> items) {
+            for (Item item : items) {
+                if (!contributions.containsKey(item)) {
+                    V contribution = getContribution(item);
+                    contributions.put(item, contribution);
+                    add(contribution);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Replaces the contribution of the given member. Updates of items, which have not been added as members, are
+         * ignored.
+         */
+        @Override
+        public void memberUpdated(Item member) {
+            if (contributions.containsKey(member)) {
+                V contribution = getContribution(member);
+                remove(contributions.put(member, contribution));
+                add(contribution);
+            }
+        }
+
+        /**
+         * Returns the number of members, which have been added to the aggregate.
+         *
+         * @return number of members
+         */
+        protected int getMemberCount() {
+            return contributions.size();
+        }
+
+        /**
+         * Returns the contribution of the member with its current state.
+         *
+         * @param member the member (not null)
+         * @return the contribution or null, if the member does not contribute to the result
+         */
+        protected abstract V getContribution(Item member);
+
+        /**
+         * Adds a contribution to the intermediate result.
+         *
+         * @param contribution the contribution (can be null)
+         */
+        protected abstract void add(V contribution);
+
+        /**
+         * Removes a contribution, which has been added before, from the intermediate result.
+         *
+         * @param contribution the contribution (can be null)
+         */
+        protected abstract void remove(V contribution);
+    }
+
+}
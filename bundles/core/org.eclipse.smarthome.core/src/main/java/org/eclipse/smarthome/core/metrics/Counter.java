@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+/**
+ * A {@link Counter} counts events, e.g. the number of posted commands. It must be cheap to increment from many
+ * threads at the same time.
+ *
+ * @author agent - Initial contribution
+ */
+public interface Counter extends Metric {
+
+    /**
+     * Increments the counter by one.
+     */
+    void increment();
+
+    /**
+     * Increments the counter by the given amount.
+     *
+     * @param amount amount to add
+     */
+    void increment(long amount);
+
+    /**
+     * Returns the current count.
+     *
+     * @return count
+     */
+    long getCount();
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link DefaultMetricRegistry} is the {@link MetricRegistry} of the runtime. It creates {@link StripedCounter}s
+ * and {@link LogLinearHistogram}s.
+ *
+ * @author agent - Initial contribution
+ */
+public class DefaultMetricRegistry implements MetricRegistry {
+
+    private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) throws IllegalArgumentException {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = putIfAbsent(name, new StripedCounter());
+        }
+        if (!(metric instanceof Counter)) {
+            throw new IllegalArgumentException("The metric '" + name + "' is not a counter!");
+        }
+        return (Counter) metric;
+    }
+
+    @Override
+    public Histogram histogram(String name) throws IllegalArgumentException {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = putIfAbsent(name, new LogLinearHistogram());
+        }
+        if (!(metric instanceof Histogram)) {
+            throw new IllegalArgumentException("The metric '" + name + "' is not a histogram!");
+        }
+        return (Histogram) metric;
+    }
+
+    @Override
+    public <T extends Metric> T register(String name, T metric) {
+        metrics.put(name, metric);
+        return metric;
+    }
+
+    @Override
+    public boolean remove(String name) {
+        return metrics.remove(name) != null;
+    }
+
+    @Override
+    public SortedMap<String, Metric> getMetrics() {
+        return new TreeMap<>(metrics);
+    }
+
+    private Metric putIfAbsent(String name, Metric metric) {
+        Metric existingMetric = metrics.putIfAbsent(name, metric);
+        return existingMetric != null ? existingMetric : metric;
+    }
+
+}
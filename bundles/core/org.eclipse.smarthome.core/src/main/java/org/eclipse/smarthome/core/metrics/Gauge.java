@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+/**
+ * A {@link Gauge} reports a value, which is maintained elsewhere, e.g. the size of a queue. The value is only read
+ * when the metrics are inspected.
+ *
+ * @author agent - Initial contribution
+ */
+public interface Gauge extends Metric {
+
+    /**
+     * Returns the current value.
+     *
+     * @return value
+     */
+    long getValue();
+
+}
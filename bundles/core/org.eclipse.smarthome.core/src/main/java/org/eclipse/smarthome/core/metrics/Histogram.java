@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+/**
+ * A {@link Histogram} records the distribution of values, e.g. the durations of the executions of a rule. Durations
+ * are recorded in microseconds by convention (see {@link MetricsManager#elapsedMicros(long)}).
+ *
+ * @author agent - Initial contribution
+ */
+public interface Histogram extends Metric {
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value value
+     */
+    void record(long value);
+
+    /**
+     * Returns a snapshot of the recorded distribution.
+     *
+     * @return snapshot (not null)
+     */
+    HistogramSnapshot getSnapshot();
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+/**
+ * The {@link HistogramSnapshot} describes the distribution of the values, which a {@link Histogram} has recorded up to
+ * the moment the snapshot has been taken. All values are 0 if nothing has been recorded.
+ *
+ * @author agent - Initial contribution
+ */
+public class HistogramSnapshot {
+
+    private final long count;
+
+    private final long min;
+
+    private final long max;
+
+    private final long mean;
+
+    private final long median;
+
+    private final long percentile90;
+
+    private final long percentile99;
+
+    private final long percentile999;
+
+    public HistogramSnapshot(long count, long min, long max, long mean, long median, long percentile90,
+            long percentile99, long percentile999) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.median = median;
+        this.percentile90 = percentile90;
+        this.percentile99 = percentile99;
+        this.percentile999 = percentile999;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest recorded value.
+     *
+     * @return minimum
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return maximum
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the average of the recorded values.
+     *
+     * @return mean
+     */
+    public long getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the value, which half of the recorded values do not exceed.
+     *
+     * @return median
+     */
+    public long getMedian() {
+        return median;
+    }
+
+    /**
+     * Returns the value, which 90% of the recorded values do not exceed.
+     *
+     * @return 90th percentile
+     */
+    public long get90thPercentile() {
+        return percentile90;
+    }
+
+    /**
+     * Returns the value, which 99% of the recorded values do not exceed.
+     *
+     * @return 99th percentile
+     */
+    public long get99thPercentile() {
+        return percentile99;
+    }
+
+    /**
+     * Returns the value, which 99.9% of the recorded values do not exceed.
+     *
+     * @return 99.9th percentile
+     */
+    public long get999thPercentile() {
+        return percentile999;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", min=" + min + ", max=" + max + ", mean=" + mean + ", p50=" + median + ", p90="
+                + percentile90 + ", p99=" + percentile99 + ", p99.9=" + percentile999;
+    }
+
+}
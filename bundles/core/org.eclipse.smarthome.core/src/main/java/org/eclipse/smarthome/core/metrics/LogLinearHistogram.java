@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@link LogLinearHistogram} is a {@link Histogram} with a fixed set of buckets in the style of an HDR histogram:
+ * each power of two is divided into 64 linear sub-buckets, so that every recorded value is kept with a relative error
+ * of less than 1.6%. Values below 128 are recorded exactly.
+ * <p>
+ * Recording a value neither allocates nor locks, it increments a bucket and adds the value to the sum. Values above
+ * {@value #MAX_VALUE} (about 19 hours in microseconds) are recorded as {@value #MAX_VALUE}, the exact minimum and
+ * maximum are kept separately.
+ *
+ * @author agent - Initial contribution
+ */
+public class LogLinearHistogram implements Histogram {
+
+    /** the largest value, which can be distinguished from larger values */
+    public static final long MAX_VALUE = (1L << 36) - 1;
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private static final int BUCKET_COUNT = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final StripedCounter sum = new StripedCounter();
+
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    @Override
+    public void record(long value) {
+        long recordedValue = Math.max(0, value);
+        buckets.incrementAndGet(index(Math.min(recordedValue, MAX_VALUE)));
+        sum.increment(recordedValue);
+        long currentMin = min.get();
+        while (recordedValue < currentMin && !min.compareAndSet(currentMin, recordedValue)) {
+            currentMin = min.get();
+        }
+        long currentMax = max.get();
+        while (recordedValue > currentMax && !max.compareAndSet(currentMax, recordedValue)) {
+            currentMax = max.get();
+        }
+    }
+
+    @Override
+    public HistogramSnapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long min = this.min.get();
+        long max = this.max.get();
+        return new HistogramSnapshot(count, min, max, sum.getCount() / count,
+                getValueAtPercentile(counts, count, 0.5, min, max), getValueAtPercentile(counts, count, 0.9, min, max),
+                getValueAtPercentile(counts, count, 0.99, min, max),
+                getValueAtPercentile(counts, count, 0.999, min, max));
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshot().toString();
+    }
+
+    private static long getValueAtPercentile(long[] counts, long count, double percentile, long min, long max) {
+        long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.max(min, Math.min(highestEquivalentValue(i), max));
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + subBucket - SUB_BUCKET_HALF_COUNT;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+/**
+ * A {@link Metric} is a named measurement, which is held by the {@link MetricRegistry}. It is either a
+ * {@link Counter}, a {@link Gauge} or a {@link Histogram}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface Metric {
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.SortedMap;
+
+/**
+ * The {@link MetricRegistry} holds the {@link Metric}s of the runtime by their names. Names are dot separated paths,
+ * which start with the area of the metric, e.g. {@code events.commands.posted} or {@code storage.commit.time}.
+ * <p>
+ * Counters and histograms are created on first use and shared by all callers of the same name, so that they can be
+ * looked up once and then updated on hot paths without further lookups. Own implementations of any {@link Metric},
+ * e.g. gauges or adapters to an external monitoring system, can be plugged in with {@link #register(String, Metric)}.
+ * A registry, which is registered as a service, replaces the {@link DefaultMetricRegistry} as the backend of the
+ * {@link MetricsManager}.
+ *
+ * @see MetricsManager
+ *
+ * @author agent - Initial contribution
+ */
+public interface MetricRegistry {
+
+    /**
+     * Returns the counter with the given name and creates it, if it does not exist yet.
+     *
+     * @param name name of the counter (must not be null)
+     * @return counter (not null)
+     * @throws IllegalArgumentException if another kind of metric is registered with the name
+     */
+    Counter counter(String name) throws IllegalArgumentException;
+
+    /**
+     * Returns the histogram with the given name and creates it, if it does not exist yet.
+     *
+     * @param name name of the histogram (must not be null)
+     * @return histogram (not null)
+     * @throws IllegalArgumentException if another kind of metric is registered with the name
+     */
+    Histogram histogram(String name) throws IllegalArgumentException;
+
+    /**
+     * Registers a metric with the given name. A metric, which has been registered with the same name before, is
+     * replaced.
+     *
+     * @param name name of the metric (must not be null)
+     * @param metric metric (must not be null)
+     * @return the registered metric
+     */
+    <T extends Metric> T register(String name, T metric);
+
+    /**
+     * Removes the metric with the given name.
+     *
+     * @param name name of the metric (must not be null)
+     * @return true if a metric has been removed, false otherwise
+     */
+    boolean remove(String name);
+
+    /**
+     * Returns all metrics sorted by their names.
+     *
+     * @return snapshot of all metrics (not null)
+     */
+    SortedMap<String, Metric> getMetrics();
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link MetricsManager} gives access to the {@link MetricRegistry} of the runtime. Like the scheduler pools, the
+ * registry is available without a service dependency, so that it can also be used by classes, which are not managed
+ * by the framework, e.g. storages or script executions.
+ * <p>
+ * The metrics are kept by a {@link DefaultMetricRegistry}, unless another backend is registered as a
+ * {@link MetricRegistry} service. The counters and histograms returned by this class follow a replacement of the
+ * backend, so they can be kept in fields.
+ * <p>
+ * A timed section typically looks like this:
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * ...
+ * executionTime.record(MetricsManager.elapsedMicros(start));
+ * </pre>
+ *
+ * @author agent - Initial contribution
+ */
+public final class MetricsManager {
+
+    private static final ReplaceableMetricRegistry registry = new ReplaceableMetricRegistry(
+            new DefaultMetricRegistry());
+
+    private MetricsManager() {
+    }
+
+    /**
+     * Returns the metric registry of the runtime.
+     *
+     * @return registry (not null)
+     */
+    public static MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Replaces the backend, which keeps the metrics.
+     *
+     * @param backend registry or null to return to the {@link DefaultMetricRegistry}
+     */
+    public static void setBackend(MetricRegistry backend) {
+        registry.setBackend(backend);
+    }
+
+    /**
+     * Returns the counter with the given name.
+     *
+     * @param name name of the counter (must not be null)
+     * @return counter (not null)
+     * @throws IllegalArgumentException if another kind of metric is registered with the name
+     * @see MetricRegistry#counter(String)
+     */
+    public static Counter counter(String name) throws IllegalArgumentException {
+        return registry.counter(name);
+    }
+
+    /**
+     * Returns the histogram with the given name.
+     *
+     * @param name name of the histogram (must not be null)
+     * @return histogram (not null)
+     * @throws IllegalArgumentException if another kind of metric is registered with the name
+     * @see MetricRegistry#histogram(String)
+     */
+    public static Histogram histogram(String name) throws IllegalArgumentException {
+        return registry.histogram(name);
+    }
+
+    /**
+     * Registers a gauge with the given name, which replaces a metric with the same name.
+     *
+     * @param name name of the gauge (must not be null)
+     * @param gauge gauge (must not be null)
+     */
+    public static void gauge(String name, Gauge gauge) {
+        registry.register(name, gauge);
+    }
+
+    /**
+     * Returns the microseconds, which have elapsed since the given start time.
+     *
+     * @param startNanos start time as returned by {@link System#nanoTime()}
+     * @return elapsed microseconds
+     */
+    public static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link ReplaceableMetricRegistry} is the {@link MetricRegistry} of the {@link MetricsManager}. It forwards to a
+ * backend registry, which can be replaced at runtime.
+ * <p>
+ * The counters and histograms it returns are handles, which resolve the metric of the current backend on first use
+ * and again after the backend has been replaced, so that callers can keep them in fields. Metrics, which have been
+ * registered explicitly, e.g. gauges, are registered again with a new backend.
+ *
+ * @author agent - Initial contribution
+ */
+final class ReplaceableMetricRegistry implements MetricRegistry {
+
+    private final MetricRegistry defaultBackend;
+
+    private volatile MetricRegistry backend;
+
+    private final ConcurrentMap<String, MetricHandle<?>> handles = new ConcurrentHashMap<>();
+
+    /** the explicitly registered metrics, guarded by this */
+    private final Map<String, Metric> registeredMetrics = new HashMap<>();
+
+    ReplaceableMetricRegistry(MetricRegistry defaultBackend) {
+        this.defaultBackend = defaultBackend;
+        this.backend = defaultBackend;
+    }
+
+    /**
+     * Replaces the backend. The values of the counters and histograms of the previous backend are not taken over.
+     *
+     * @param backend new backend or null to return to the default backend
+     */
+    synchronized void setBackend(MetricRegistry backend) {
+        MetricRegistry newBackend = backend != null ? backend : defaultBackend;
+        if (newBackend == this.backend) {
+            return;
+        }
+        for (Entry<String, Metric> entry : registeredMetrics.entrySet()) {
+            newBackend.register(entry.getKey(), entry.getValue());
+        }
+        this.backend = newBackend;
+    }
+
+    @Override
+    public Counter counter(String name) throws IllegalArgumentException {
+        MetricHandle<?> handle = handles.get(name);
+        if (handle == null) {
+            handle = putIfAbsent(name, new CounterHandle(name));
+        }
+        if (!(handle instanceof Counter)) {
+            throw new IllegalArgumentException("The metric '" + name + "' is not a counter!");
+        }
+        return (Counter) handle;
+    }
+
+    @Override
+    public Histogram histogram(String name) throws IllegalArgumentException {
+        MetricHandle<?> handle = handles.get(name);
+        if (handle == null) {
+            handle = putIfAbsent(name, new HistogramHandle(name));
+        }
+        if (!(handle instanceof Histogram)) {
+            throw new IllegalArgumentException("The metric '" + name + "' is not a histogram!");
+        }
+        return (Histogram) handle;
+    }
+
+    @Override
+    public synchronized <T extends Metric> T register(String name, T metric) {
+        registeredMetrics.put(name, metric);
+        resetHandle(name);
+        return backend.register(name, metric);
+    }
+
+    @Override
+    public synchronized boolean remove(String name) {
+        registeredMetrics.remove(name);
+        resetHandle(name);
+        return backend.remove(name);
+    }
+
+    @Override
+    public SortedMap<String, Metric> getMetrics() {
+        return backend.getMetrics();
+    }
+
+    private MetricHandle<?> putIfAbsent(String name, MetricHandle<?> handle) {
+        // resolves the metric at once, so that a name of another kind of metric is reported to the caller
+        handle.get();
+        MetricHandle<?> existingHandle = handles.putIfAbsent(name, handle);
+        return existingHandle != null ? existingHandle : handle;
+    }
+
+    private void resetHandle(String name) {
+        MetricHandle<?> handle = handles.remove(name);
+        if (handle != null) {
+            handle.reset();
+        }
+    }
+
+    /**
+     * The metric of a backend together with the backend, from which it has been resolved.
+     */
+    private static final class Resolved<T extends Metric> {
+
+        private final MetricRegistry backend;
+        private final T metric;
+
+        Resolved(MetricRegistry backend, T metric) {
+            this.backend = backend;
+            this.metric = metric;
+        }
+    }
+
+    private abstract class MetricHandle<T extends Metric> {
+
+        protected final String name;
+
+        private volatile Resolved<T> resolved;
+
+        MetricHandle(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the metric of the current backend.
+         */
+        T get() {
+            MetricRegistry currentBackend = backend;
+            Resolved<T> resolved = this.resolved;
+            if (resolved == null || resolved.backend != currentBackend) {
+                resolved = new Resolved<>(currentBackend, resolve(currentBackend));
+                this.resolved = resolved;
+            }
+            return resolved.metric;
+        }
+
+        /**
+         * Makes the handle resolve its metric again, e.g. because it has been removed from the backend.
+         */
+        void reset() {
+            resolved = null;
+        }
+
+        protected abstract T resolve(MetricRegistry backend);
+    }
+
+    private final class CounterHandle extends MetricHandle<Counter> implements Counter {
+
+        CounterHandle(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Counter resolve(MetricRegistry backend) {
+            return backend.counter(name);
+        }
+
+        @Override
+        public void increment() {
+            get().increment();
+        }
+
+        @Override
+        public void increment(long amount) {
+            get().increment(amount);
+        }
+
+        @Override
+        public long getCount() {
+            return get().getCount();
+        }
+
+        @Override
+        public String toString() {
+            return get().toString();
+        }
+    }
+
+    private final class HistogramHandle extends MetricHandle<Histogram> implements Histogram {
+
+        HistogramHandle(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Histogram resolve(MetricRegistry backend) {
+            return backend.histogram(name);
+        }
+
+        @Override
+        public void record(long value) {
+            get().record(value);
+        }
+
+        @Override
+        public HistogramSnapshot getSnapshot() {
+            return get().getSnapshot();
+        }
+
+        @Override
+        public String toString() {
+            return get().toString();
+        }
+    }
+
+}
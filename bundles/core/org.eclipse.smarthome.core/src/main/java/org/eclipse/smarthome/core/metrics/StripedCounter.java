@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@link StripedCounter} is a {@link Counter}, which spreads its increments over several cells, so that threads,
+ * which increment it at the same time, rarely contend for the same cell. The count is the sum of all cells.
+ *
+ * @author agent - Initial contribution
+ */
+public class StripedCounter implements Counter {
+
+    private static final int STRIPES = 8;
+
+    /** the cells are placed a cache line apart */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    @Override
+    public void increment() {
+        increment(1);
+    }
+
+    @Override
+    public void increment(long amount) {
+        cells.addAndGet(cellIndex(), amount);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            count += cells.get(i * PADDING);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getCount());
+    }
+
+    private static int cellIndex() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 3)) & (STRIPES - 1)) * PADDING;
+    }
+
+}
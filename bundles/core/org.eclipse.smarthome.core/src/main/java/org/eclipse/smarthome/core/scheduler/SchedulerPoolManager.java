@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link SchedulerPoolManager} holds named, size-bounded scheduler pools, which are shared by all users of the same
+ * name. The thing handlers of a binding share the pool named after the binding id.
+ * <p>
+ * A pool is created on first use. Its threads are only started when tasks are scheduled and they are stopped again
+ * after they have been idle for a minute. The sizes of the pools can be configured through the configuration admin
+ * with the pid {@code org.eclipse.smarthome.scheduler}. The pools belong to the core bundle: they are shut down when
+ * its scheduler pool component is deactivated. Their threads are daemon threads, so they never keep the VM alive.
+ *
+ * @author agent - Initial contribution
+ */
+public final class SchedulerPoolManager {
+
+    /** the number of threads of a pool without a configured size */
+    public static final int DEFAULT_POOL_SIZE = 5;
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final ConcurrentMap<String, ScheduledThreadPoolExecutor> pools = new ConcurrentHashMap<>();
+
+    private static volatile int defaultPoolSize = DEFAULT_POOL_SIZE;
+
+    private static volatile Map<String, Integer> poolSizes = Collections.emptyMap();
+
+    private SchedulerPoolManager() {
+    }
+
+    /**
+     * Returns a new scheduler for the given scope, which executes its tasks in the shared pool with the given name.
+     *
+     * @param poolName name of the pool (must not be null)
+     * @param scope scope of the scheduler, e.g. the UID of a thing (must not be null)
+     * @return the scheduler (not null)
+     */
+    public static ScopedScheduler getScopedScheduler(String poolName, String scope) {
+        return new ScopedScheduler(poolName, scope, getPool(poolName));
+    }
+
+    /**
+     * Returns the statistics of all pools sorted by their names.
+     *
+     * @return statistics of all pools (not null)
+     */
+    public static List<SchedulerPoolStatistics> getPoolStatistics() {
+        List<SchedulerPoolStatistics> statistics = new ArrayList<>();
+        for (Entry<String, ScheduledThreadPoolExecutor> entry : pools.entrySet()) {
+            ScheduledThreadPoolExecutor pool = entry.getValue();
+            statistics.add(new SchedulerPoolStatistics(entry.getKey(), pool.getCorePoolSize(), pool.getPoolSize(),
+                    pool.getActiveCount(), pool.getQueue().size(), pool.getCompletedTaskCount()));
+        }
+        Collections.sort(statistics, new Comparator<SchedulerPoolStatistics>() {
+            @Override
+            public int compare(SchedulerPoolStatistics statistics1, SchedulerPoolStatistics statistics2) {
+                return statistics1.getPoolName().compareTo(statistics2.getPoolName());
+            }
+        });
+        return statistics;
+    }
+
+    /**
+     * Sets the sizes of the pools. Existing pools are resized immediately.
+     *
+     * @param defaultPoolSize size of all pools without a configured size (must be positive)
+     * @param poolSizes sizes by pool name (must not be null)
+     */
+    public static synchronized void setPoolSizes(int defaultPoolSize, Map<String, Integer> poolSizes) {
+        SchedulerPoolManager.defaultPoolSize = defaultPoolSize;
+        SchedulerPoolManager.poolSizes = new HashMap<>(poolSizes);
+        for (Entry<String, ScheduledThreadPoolExecutor> entry : pools.entrySet()) {
+            entry.getValue().setCorePoolSize(getPoolSize(entry.getKey()));
+        }
+    }
+
+    /**
+     * Shuts down all pools. Running tasks are interrupted and scheduled tasks are discarded. A pool, which is used
+     * afterwards, is created again.
+     */
+    public static synchronized void shutdown() {
+        for (ScheduledThreadPoolExecutor pool : pools.values()) {
+            pool.shutdownNow();
+        }
+        pools.clear();
+    }
+
+    private static int getPoolSize(String poolName) {
+        Integer poolSize = poolSizes.get(poolName);
+        return poolSize != null ? poolSize : defaultPoolSize;
+    }
+
+    private static ScheduledThreadPoolExecutor getPool(String poolName) {
+        ScheduledThreadPoolExecutor pool = pools.get(poolName);
+        if (pool == null) {
+            // no thread is started before the first task is scheduled, so an unused pool can simply be dropped
+            ScheduledThreadPoolExecutor newPool = new ScheduledThreadPoolExecutor(getPoolSize(poolName),
+                    new NamedThreadFactory(poolName));
+            newPool.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            newPool.allowCoreThreadTimeOut(true);
+            newPool.setRemoveOnCancelPolicy(true);
+            pool = pools.putIfAbsent(poolName, newPool);
+            if (pool == null) {
+                pool = newPool;
+            } else {
+                newPool.shutdown();
+            }
+        }
+        return pool;
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String poolName;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        NamedThreadFactory(String poolName) {
+            this.poolName = poolName;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ESH-scheduler-" + poolName + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+/**
+ * The {@link SchedulerPoolStatistics} is a snapshot of the usage of a shared scheduler pool.
+ *
+ * @author agent - Initial contribution
+ */
+public class SchedulerPoolStatistics {
+
+    private final String poolName;
+    private final int maxThreads;
+    private final int threads;
+    private final int activeTasks;
+    private final int queuedTasks;
+    private final long completedTasks;
+
+    public SchedulerPoolStatistics(String poolName, int maxThreads, int threads, int activeTasks, int queuedTasks,
+            long completedTasks) {
+        this.poolName = poolName;
+        this.maxThreads = maxThreads;
+        this.threads = threads;
+        this.activeTasks = activeTasks;
+        this.queuedTasks = queuedTasks;
+        this.completedTasks = completedTasks;
+    }
+
+    /**
+     * Returns the name of the pool, which is the binding id for the pools of thing handlers.
+     *
+     * @return name of the pool
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Returns the maximum number of threads of the pool.
+     *
+     * @return maximum number of threads
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Returns the number of threads, which are currently alive. Idle threads are stopped after a while.
+     *
+     * @return current number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the number of tasks, which are currently executed.
+     *
+     * @return number of active tasks
+     */
+    public int getActiveTasks() {
+        return activeTasks;
+    }
+
+    /**
+     * Returns the number of tasks, which are waiting for their execution. This includes delayed and periodic tasks.
+     *
+     * @return number of queued tasks
+     */
+    public int getQueuedTasks() {
+        return queuedTasks;
+    }
+
+    /**
+     * Returns the number of executions, which have been completed.
+     *
+     * @return number of completed executions
+     */
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    @Override
+    public String toString() {
+        return poolName + " [threads=" + threads + "/" + maxThreads + ", active=" + activeTasks + ", queued="
+                + queuedTasks + ", completed=" + completedTasks + "]";
+    }
+
+}
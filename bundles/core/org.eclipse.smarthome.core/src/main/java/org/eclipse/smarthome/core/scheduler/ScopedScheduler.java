@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ScopedScheduler} schedules its tasks in a shared pool, but keeps track of them, so that all tasks of a
+ * scope (e.g. of a single thing handler) can be cancelled at once by {@link #cancelAll()}.
+ * <p>
+ * The scheduler stays usable after {@link #cancelAll()}. {@link #shutdown()} and {@link #shutdownNow()} cancel all
+ * tasks of the scope and reject new tasks afterwards, the shared pool is never shut down.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScopedScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final int MIN_PURGE_THRESHOLD = 64;
+
+    private final String poolName;
+
+    private final String scope;
+
+    private final ScheduledExecutorService pool;
+
+    /** tasks, which may still be scheduled or running; one-shot tasks remove themselves once executed */
+    private final Set<Future<?>> tasks = Collections.newSetFromMap(new ConcurrentHashMap<Future<?>, Boolean>());
+
+    private final AtomicInteger trackedSincePurge = new AtomicInteger();
+
+    private volatile int purgeThreshold = MIN_PURGE_THRESHOLD;
+
+    private volatile boolean shutdown = false;
+
+    ScopedScheduler(String poolName, String scope, ScheduledExecutorService pool) {
+        this.poolName = poolName;
+        this.scope = scope;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the name of the shared pool, which executes the tasks.
+     *
+     * @return name of the pool
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Returns the scope of this scheduler.
+     *
+     * @return scope
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Cancels all tasks of this scope, which are scheduled or running. Running tasks are interrupted.
+     */
+    public void cancelAll() {
+        cancelAll(true);
+    }
+
+    /**
+     * Returns the number of tasks of this scope, which have not been completed yet.
+     *
+     * @return number of pending tasks
+     */
+    public int getPendingTasks() {
+        removeDoneTasks();
+        return tasks.size();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        checkNotShutdown();
+        OneShotTask<V> task = new OneShotTask<>(callable);
+        ScheduledFuture<V> future = pool.schedule(task, delay, unit);
+        task.register(future);
+        return future;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        checkNotShutdown();
+        return track(pool.scheduleAtFixedRate(command, initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        checkNotShutdown();
+        return track(pool.scheduleWithFixedDelay(command, initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return schedule(Executors.callable(task, result), 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        cancelAll(false);
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        cancelAll(true);
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && getPendingTasks() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ScopedScheduler [pool=" + poolName + ", scope=" + scope + "]";
+    }
+
+    private void cancelAll(boolean mayInterruptIfRunning) {
+        for (Iterator<Future<?>> iterator = tasks.iterator(); iterator.hasNext();) {
+            Future<?> task = iterator.next();
+            iterator.remove();
+            task.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    private void checkNotShutdown() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The scheduler of '" + scope + "' has been shut down.");
+        }
+    }
+
+    private <T> ScheduledFuture<T> track(ScheduledFuture<T> task) {
+        tasks.add(task);
+        if (shutdown) {
+            // the scheduler has been shut down concurrently and may have missed the task
+            tasks.remove(task);
+            task.cancel(false);
+            checkNotShutdown();
+        }
+        if (trackedSincePurge.incrementAndGet() > purgeThreshold) {
+            purgeDoneTasks();
+        }
+        return task;
+    }
+
+    /**
+     * Removes cancelled tasks, which never ran and therefore never removed themselves, and periodic tasks, which
+     * have been cancelled by their owners. The purge only runs after the number of tracked tasks has grown by the
+     * number of tasks left by the last purge, so that its cost is spread over the scheduled tasks.
+     */
+    private void purgeDoneTasks() {
+        int tracked = trackedSincePurge.get();
+        if (tracked > purgeThreshold && trackedSincePurge.compareAndSet(tracked, 0)) {
+            removeDoneTasks();
+            purgeThreshold = Math.max(MIN_PURGE_THRESHOLD, tasks.size());
+        }
+    }
+
+    private void removeDoneTasks() {
+        for (Iterator<Future<?>> iterator = tasks.iterator(); iterator.hasNext();) {
+            if (iterator.next().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * A task, which is executed once. It stops being tracked as soon as it has been executed.
+     */
+    private final class OneShotTask<V> implements Callable<V> {
+
+        private final Callable<V> callable;
+        private Future<V> future;
+        private boolean completed = false;
+
+        OneShotTask(Callable<V> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        public V call() throws Exception {
+            try {
+                return callable.call();
+            } finally {
+                synchronized (this) {
+                    completed = true;
+                    if (future != null) {
+                        tasks.remove(future);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tracks the future of the task, unless the task has already been executed.
+         */
+        synchronized void register(ScheduledFuture<V> future) {
+            if (!completed) {
+                this.future = future;
+                track(future);
+            }
+        }
+    }
+
+}
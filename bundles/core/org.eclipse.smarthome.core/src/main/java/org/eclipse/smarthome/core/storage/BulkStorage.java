@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.core.storage;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link BulkStorage} is a {@link Storage}, which can apply many changes at once, e.g. in a single transaction.
+ * Callers should check whether a {@link Storage} is a {@link BulkStorage} and fall back to the single element
+ * operations otherwise.
+ *
+ * @author agent - Initial contribution
+ */
+public interface BulkStorage<T> extends Storage<T> {
+
+    /**
+     * Puts all key-value mappings into this Storage.
+     *
+     * @param values the key-value mappings to add (must not be null)
+     */
+    void putAll(Map<String, T> values);
+
+    /**
+     * Removes the mappings of all given keys.
+     *
+     * @param keys the keys of the mappings to remove (must not be null)
+     * @return the removed values by their keys, keys without mapping are not contained
+     */
+    Map<String, T> removeAll(Collection<String> keys);
+
+}
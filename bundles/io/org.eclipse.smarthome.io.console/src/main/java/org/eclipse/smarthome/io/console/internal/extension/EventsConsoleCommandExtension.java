@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.console.internal.extension;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.core.events.EventBusStatistics;
+import org.eclipse.smarthome.core.events.ItemEventHandlerStatistics;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+
+/**
+ * Console command extension to show the statistics of the event queues and the item event handlers
+ *
+ * @author agent - Initial contribution
+ */
+public class EventsConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private EventBusStatistics eventBusStatistics;
+
+    public EventsConsoleCommandExtension() {
+        super("events", "Show the statistics of the event queues and the item event handlers.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage("shows the depths and latencies of the event queues and "
+                + "lists all item event handlers with their number of delivered, dropped and failed events"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        console.println("Event queues: " + eventBusStatistics.getEventQueueStatistics());
+        List<ItemEventHandlerStatistics> statistics = eventBusStatistics.getItemEventHandlerStatistics();
+        if (statistics.isEmpty()) {
+            console.println("No item event handlers registered.");
+            return;
+        }
+        for (ItemEventHandlerStatistics handlerStatistics : statistics) {
+            console.println(handlerStatistics.toString());
+            console.println("  " + handlerStatistics.getFilter());
+        }
+    }
+
+    protected void setEventBusStatistics(EventBusStatistics eventBusStatistics) {
+        this.eventBusStatistics = eventBusStatistics;
+    }
+
+    protected void unsetEventBusStatistics(EventBusStatistics eventBusStatistics) {
+        this.eventBusStatistics = null;
+    }
+
+}
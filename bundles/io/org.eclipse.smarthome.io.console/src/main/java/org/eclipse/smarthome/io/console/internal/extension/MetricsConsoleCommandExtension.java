@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.console.internal.extension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Gauge;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.Metric;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+
+/**
+ * Console command extension to show the metrics of the runtime
+ *
+ * @author agent - Initial contribution
+ */
+public class MetricsConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    public MetricsConsoleCommandExtension() {
+        super("metrics", "Show the counters, gauges and histograms of the runtime.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage("[<prefix>]",
+                "lists all metrics or the metrics whose names start with the prefix, durations are given in "
+                        + "microseconds"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        String prefix = args.length > 0 ? args[0] : "";
+        boolean found = false;
+        for (Entry<String, Metric> entry : MetricsManager.getRegistry().getMetrics().entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                console.println(entry.getKey() + ": " + format(entry.getValue()));
+                found = true;
+            }
+        }
+        if (!found) {
+            console.println("No metrics found.");
+        }
+    }
+
+    private String format(Metric metric) {
+        if (metric instanceof Counter) {
+            return String.valueOf(((Counter) metric).getCount());
+        } else if (metric instanceof Gauge) {
+            return String.valueOf(((Gauge) metric).getValue());
+        } else if (metric instanceof Histogram) {
+            return ((Histogram) metric).getSnapshot().toString();
+        }
+        return metric.toString();
+    }
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.console.internal.extension;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolManager;
+import org.eclipse.smarthome.core.scheduler.SchedulerPoolStatistics;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+
+/**
+ * Console command extension to show the statistics of the shared scheduler pools
+ *
+ * @author agent - Initial contribution
+ */
+public class SchedulerConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    public SchedulerConsoleCommandExtension() {
+        super("scheduler", "Show the statistics of the shared scheduler pools.");
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage("lists all scheduler pools with their number of threads "
+                + "and their number of active, queued and completed tasks"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        List<SchedulerPoolStatistics> statistics = SchedulerPoolManager.getPoolStatistics();
+        if (statistics.isEmpty()) {
+            console.println("No scheduler pools in use.");
+            return;
+        }
+        for (SchedulerPoolStatistics poolStatistics : statistics) {
+            console.println(poolStatistics.toString());
+        }
+    }
+
+}
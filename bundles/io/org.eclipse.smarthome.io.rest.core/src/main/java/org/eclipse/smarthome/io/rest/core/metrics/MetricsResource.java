@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Gauge;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.HistogramSnapshot;
+import org.eclipse.smarthome.core.metrics.Metric;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+import org.eclipse.smarthome.io.rest.RESTResource;
+import org.eclipse.smarthome.io.rest.core.metrics.beans.MetricBean;
+
+/**
+ * This class acts as a REST resource for the metrics of the runtime, which are held by the {@link MetricsManager}.
+ * Durations are given in microseconds.
+ *
+ * @author agent - Initial contribution
+ */
+@Path("metrics")
+public class MetricsResource implements RESTResource {
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getAll(@QueryParam("prefix") String prefix) {
+        List<MetricBean> metricBeans = new ArrayList<>();
+        for (Entry<String, Metric> entry : MetricsManager.getRegistry().getMetrics().entrySet()) {
+            if (prefix == null || entry.getKey().startsWith(prefix)) {
+                MetricBean metricBean = convertToMetricBean(entry.getKey(), entry.getValue());
+                if (metricBean != null) {
+                    metricBeans.add(metricBean);
+                }
+            }
+        }
+        return Response.ok(metricBeans).build();
+    }
+
+    @GET
+    @Path("/{name}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getByName(@PathParam("name") String name) {
+        Metric metric = MetricsManager.getRegistry().getMetrics().get(name);
+        MetricBean metricBean = metric != null ? convertToMetricBean(name, metric) : null;
+        if (metricBean == null) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        return Response.ok(metricBean).build();
+    }
+
+    private MetricBean convertToMetricBean(String name, Metric metric) {
+        if (metric instanceof Counter) {
+            return new MetricBean(name, "counter", ((Counter) metric).getCount());
+        } else if (metric instanceof Gauge) {
+            return new MetricBean(name, "gauge", ((Gauge) metric).getValue());
+        } else if (metric instanceof Histogram) {
+            HistogramSnapshot snapshot = ((Histogram) metric).getSnapshot();
+            return new MetricBean(name, snapshot.getCount(), snapshot.getMin(), snapshot.getMax(),
+                    snapshot.getMean(), snapshot.getMedian(), snapshot.get90thPercentile(),
+                    snapshot.get99thPercentile(), snapshot.get999thPercentile());
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.io.rest.core.metrics.beans;
+
+/**
+ * This is a java bean that is used to serialize metrics to JSON. Counters and gauges have a value, histograms have
+ * the count and the distribution of their recorded values.
+ *
+ * @author agent - Initial contribution
+ */
+public class MetricBean {
+
+    public String name;
+    public String type;
+    public Long value;
+    public Long count;
+    public Long min;
+    public Long max;
+    public Long mean;
+    public Long p50;
+    public Long p90;
+    public Long p99;
+    public Long p999;
+
+    public MetricBean() {
+    }
+
+    public MetricBean(String name, String type, long value) {
+        this.name = name;
+        this.type = type;
+        this.value = value;
+    }
+
+    public MetricBean(String name, long count, long min, long max, long mean, long p50, long p90, long p99, long p999) {
+        this.name = name;
+        this.type = "histogram";
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+}
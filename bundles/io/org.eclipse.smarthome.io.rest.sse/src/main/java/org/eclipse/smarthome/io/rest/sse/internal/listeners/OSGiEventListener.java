@@ -8,6 +8,7 @@
 package org.eclipse.smarthome.io.rest.sse.internal.listeners;
 
 import org.eclipse.smarthome.core.events.AbstractEventSubscriber;
+import org.eclipse.smarthome.core.events.ItemEventFilter;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.sse.EventType;
@@ -15,13 +16,16 @@ import org.eclipse.smarthome.io.rest.sse.SseResource;
 
 /**
  * Listener responsible for broadcasting internal item update/command events to
- * all clients subscribed to them.
+ * all clients subscribed to them. State updates of items with a coalescing window
+ * are coalesced, as the clients are only interested in the current state.
  *
  * @author Ivan Iliev - Initial Contribution and API
  *
  */
 public class OSGiEventListener extends AbstractEventSubscriber {
 
+    private static final ItemEventFilter ITEM_EVENT_FILTER = ItemEventFilter.create().withCoalescing().build();
+
     private SseResource sseResource;
 
     protected void setSseResource(SseResource sseResource) {
@@ -36,6 +40,11 @@ public class OSGiEventListener extends AbstractEventSubscriber {
 		getSourceFilterList().clear();
 	}
 
+    @Override
+    public ItemEventFilter getItemEventFilter() {
+        return ITEM_EVENT_FILTER;
+    }
+
     @Override
     public void receiveCommand(String itemName, Command command) {
         sseResource.broadcastEvent(itemName, EventType.COMMAND, command.toString());
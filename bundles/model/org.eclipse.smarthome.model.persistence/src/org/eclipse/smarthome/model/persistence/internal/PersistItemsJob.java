@@ -51,7 +51,7 @@ public class PersistItemsJob implements Job {
                         if (hasStrategy(persistModel, config, strategyName)) {
                             for (Item item : persistenceManager.getAllItems(config)) {
                                 long startTime = System.currentTimeMillis();
-                                persistenceService.store(item, config.getAlias());
+                                persistenceManager.store(persistenceService, item, config.getAlias());
                                 logger.trace("Storing item '{}' with persistence service '{}' took {}ms", new Object[] {
                                         item.getName(), modelName, System.currentTimeMillis() - startTime });
                             }
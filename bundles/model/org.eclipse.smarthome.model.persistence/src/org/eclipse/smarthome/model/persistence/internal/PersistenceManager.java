@@ -31,6 +31,9 @@ import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
@@ -63,6 +66,8 @@ import org.slf4j.LoggerFactory;
 /**
  * This class is the central part of the persistence management and delegation. It reads the persistence
  * models, schedules timers and manages the invocation of {@link PersistenceService}s upon events.
+ * The number of stored states and the durations of the store calls are provided as {@code persistence.*} metrics
+ * through the {@link MetricsManager}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -83,6 +88,10 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 
     /* default */Map<String, PersistenceService> persistenceServices = new HashMap<String, PersistenceService>();
 
+    private final Counter stores = MetricsManager.counter("persistence.stores");
+
+    private final Histogram storeTime = MetricsManager.histogram("persistence.store.time");
+
     /** keeps a list of configurations for each persistence service */
     protected Map<String, List<PersistenceConfiguration>> persistenceConfigurations = new ConcurrentHashMap<String, List<PersistenceConfiguration>>();
 
@@ -225,7 +234,7 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
                         if (hasStrategy(serviceName, config, onlyChanges ? GlobalStrategies.CHANGE
                                 : GlobalStrategies.UPDATE)) {
                             if (appliesToItem(config, item)) {
-                                persistenceServices.get(serviceName).store(item, config.getAlias());
+                                store(persistenceServices.get(serviceName), item, config.getAlias());
                             }
                         }
                     }
@@ -234,6 +243,23 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
         }
     }
 
+    /**
+     * Stores the state of an item with the given persistence service and records the duration.
+     *
+     * @param persistenceService the service to store the state with
+     * @param item the item to persist
+     * @param alias the alias of the item, can be null
+     */
+    /* default */void store(PersistenceService persistenceService, Item item, String alias) {
+        long start = System.nanoTime();
+        try {
+            persistenceService.store(item, alias);
+        } finally {
+            storeTime.record(MetricsManager.elapsedMicros(start));
+            stores.increment();
+        }
+    }
+
     /**
      * Checks if a given persistence configuration entry has a certain strategy for the given service
      * 
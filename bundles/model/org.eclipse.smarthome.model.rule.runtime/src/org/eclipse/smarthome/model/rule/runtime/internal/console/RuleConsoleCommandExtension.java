@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.console;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionInfo;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleExecutionStatistics;
+
+/**
+ * Console command extension to show the running and queued rule executions
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private RuleExecutionStatistics ruleExecutionStatistics;
+
+    public RuleConsoleCommandExtension() {
+        super("rules", "Show the running and queued rule executions.");
+    }
+
+    protected void setRuleExecutionStatistics(RuleExecutionStatistics ruleExecutionStatistics) {
+        this.ruleExecutionStatistics = ruleExecutionStatistics;
+    }
+
+    protected void unsetRuleExecutionStatistics(RuleExecutionStatistics ruleExecutionStatistics) {
+        this.ruleExecutionStatistics = null;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage("lists the rules, which are running or waiting for their "
+                + "execution, and the configuration of the rule executor"));
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        RuleExecutionStatistics ruleExecutionStatistics = this.ruleExecutionStatistics;
+        if (ruleExecutionStatistics == null) {
+            console.println("The rule engine is not available.");
+            return;
+        }
+        console.println("Rule executor: workers=" + ruleExecutionStatistics.getWorkers() + ", queueCapacity="
+                + ruleExecutionStatistics.getQueueCapacity() + ", serializeRules="
+                + ruleExecutionStatistics.isSerializingRules() + ", rejected="
+                + ruleExecutionStatistics.getRejectedExecutions());
+        List<RuleExecutionInfo> executions = ruleExecutionStatistics.getExecutions();
+        if (executions.isEmpty()) {
+            console.println("No rules are running or queued.");
+            return;
+        }
+        for (RuleExecutionInfo execution : executions) {
+            console.println(execution.toString());
+        }
+    }
+
+}
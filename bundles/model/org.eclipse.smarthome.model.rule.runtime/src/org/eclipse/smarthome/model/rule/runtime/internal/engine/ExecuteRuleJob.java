@@ -8,6 +8,8 @@
 package org.eclipse.smarthome.model.rule.runtime.internal.engine;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.scriptengine.Script;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
@@ -37,6 +39,8 @@ public class ExecuteRuleJob implements Job {
     public static final String JOB_DATA_RULEMODEL = "model";
     public static final String JOB_DATA_RULENAME = "rule";
 
+    private static final Counter executions = MetricsManager.counter("rules.executions");
+
     @Inject
     private Injector injector;
 
@@ -54,12 +58,17 @@ public class ExecuteRuleJob implements Job {
                 RuleModel ruleModel = (RuleModel) model;
                 Rule rule = getRule(ruleModel, ruleName);
                 if (rule != null) {
-                    Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+                    Script script = RuleScriptHelper.getScript(rule, scriptEngine);
                     logger.debug("Executing scheduled rule '{}'", rule.getName());
+                    executions.increment();
+                    long start = System.nanoTime();
                     try {
                         script.execute(RuleContextHelper.getContext(rule, injector));
                     } catch (ScriptExecutionException e) {
                         logger.error("Error during the execution of rule {}", rule.getName(), e.getCause());
+                    } finally {
+                        RuleExecutor.recordExecutionTime(RuleExecutor.getRuleId(rule),
+                                MetricsManager.elapsedMicros(start));
                     }
                 } else {
                     logger.debug("Scheduled rule '{}' does not exist", ruleName);
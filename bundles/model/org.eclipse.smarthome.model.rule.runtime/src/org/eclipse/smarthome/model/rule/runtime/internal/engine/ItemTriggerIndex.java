@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.model.rule.rules.ChangedEventTrigger;
+import org.eclipse.smarthome.model.rule.rules.CommandEventTrigger;
+import org.eclipse.smarthome.model.rule.rules.EventTrigger;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.rules.UpdateEventTrigger;
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+
+/**
+ * The {@link ItemTriggerIndex} holds the update, change or command triggers of the rules by the names of their items.
+ * <p>
+ * The triggers are compiled once, when a rule is added. The states and commands of the triggers are parsed with the
+ * accepted types of their item on the first event of the item and kept until the accepted types change, so that an
+ * event is matched by a hash lookup of its value instead of parsing and comparing the values of all triggers of the
+ * item. Only values, which are not enum constants (e.g. decimal values or strings), are compared one by one.
+ * <p>
+ * The index is held in an immutable snapshot, which is read without locking and replaced as a whole by the
+ * modifications. The modifications must be serialized by the caller.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemTriggerIndex {
+
+    private final TriggerTypes type;
+
+    private volatile ImmutableMap<String, ItemTriggers> triggersByItem = ImmutableMap.of();
+
+    /**
+     * Creates an index for the triggers of the given type.
+     *
+     * @param type {@link TriggerTypes#UPDATE}, {@link TriggerTypes#CHANGE} or {@link TriggerTypes#COMMAND}
+     */
+    ItemTriggerIndex(TriggerTypes type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the rules, which have a trigger for any item.
+     *
+     * @return the rules (not null)
+     */
+    Iterable<Rule> getAll() {
+        List<Set<Rule>> rules = new ArrayList<>();
+        for (ItemTriggers triggers : triggersByItem.values()) {
+            rules.add(triggers.rules);
+        }
+        return Iterables.concat(rules);
+    }
+
+    /**
+     * Returns the rules, whose triggers match an event of an item. A rule is returned once for every matching trigger.
+     *
+     * @param item the item of the event
+     * @param oldState the previous state of the item for {@link TriggerTypes#CHANGE}, null otherwise
+     * @param value the new state or the command of the event
+     * @return the triggered rules (not null)
+     */
+    List<Rule> getRules(Item item, State oldState, Type value) {
+        ItemTriggers triggers = triggersByItem.get(item.getName());
+        if (triggers == null) {
+            return Collections.emptyList();
+        }
+        ResolvedTriggers resolved = triggers.resolve(item);
+        List<Rule> result = new ArrayList<>();
+        addMatching(result, resolved.anyValue, oldState);
+        if (isHashable(value)) {
+            addMatching(result, resolved.byValue.get(value), oldState);
+        } else {
+            for (ResolvedTrigger trigger : resolved.byEquality) {
+                if (value.equals(trigger.value) && trigger.matchesOldState(oldState)) {
+                    result.add(trigger.rule);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the triggers of the given type of a rule, unless the rule has already been added.
+     *
+     * @param rule the rule to add
+     */
+    void add(Rule rule) {
+        Map<String, List<CompiledTrigger>> ruleTriggers = new LinkedHashMap<>();
+        for (EventTrigger trigger : rule.getEventtrigger()) {
+            CompiledTrigger compiled = compile(rule, trigger);
+            if (compiled != null) {
+                List<CompiledTrigger> itemTriggers = ruleTriggers.get(compiled.itemName);
+                if (itemTriggers == null) {
+                    itemTriggers = new ArrayList<>();
+                    ruleTriggers.put(compiled.itemName, itemTriggers);
+                }
+                itemTriggers.add(compiled);
+            }
+        }
+        if (ruleTriggers.isEmpty()) {
+            return;
+        }
+        Map<String, ItemTriggers> newTriggersByItem = new LinkedHashMap<>(triggersByItem);
+        boolean changed = false;
+        for (Entry<String, List<CompiledTrigger>> entry : ruleTriggers.entrySet()) {
+            ItemTriggers triggers = newTriggersByItem.get(entry.getKey());
+            if (triggers == null) {
+                newTriggersByItem.put(entry.getKey(), new ItemTriggers(entry.getValue()));
+                changed = true;
+            } else if (!triggers.rules.contains(rule)) {
+                List<CompiledTrigger> newTriggers = new ArrayList<>(triggers.triggers);
+                newTriggers.addAll(entry.getValue());
+                newTriggersByItem.put(entry.getKey(), new ItemTriggers(newTriggers));
+                changed = true;
+            }
+        }
+        if (changed) {
+            triggersByItem = ImmutableMap.copyOf(newTriggersByItem);
+        }
+    }
+
+    /**
+     * Removes the triggers of the given rules and of all rules, which have become proxies because their model has been
+     * unloaded.
+     *
+     * @param rules the rules to remove
+     */
+    void remove(Collection<Rule> rules) {
+        Map<String, ItemTriggers> newTriggersByItem = new LinkedHashMap<>();
+        for (Entry<String, ItemTriggers> entry : triggersByItem.entrySet()) {
+            List<CompiledTrigger> retained = new ArrayList<>();
+            for (CompiledTrigger trigger : entry.getValue().triggers) {
+                if (!rules.contains(trigger.rule) && !trigger.rule.eIsProxy()) {
+                    retained.add(trigger);
+                }
+            }
+            if (retained.size() == entry.getValue().triggers.size()) {
+                newTriggersByItem.put(entry.getKey(), entry.getValue());
+            } else if (!retained.isEmpty()) {
+                newTriggersByItem.put(entry.getKey(), new ItemTriggers(retained));
+            }
+        }
+        triggersByItem = ImmutableMap.copyOf(newTriggersByItem);
+    }
+
+    /**
+     * Removes all triggers.
+     */
+    void clear() {
+        triggersByItem = ImmutableMap.of();
+    }
+
+    private CompiledTrigger compile(Rule rule, EventTrigger trigger) {
+        switch (type) {
+            case UPDATE:
+                if (trigger instanceof UpdateEventTrigger) {
+                    UpdateEventTrigger ut = (UpdateEventTrigger) trigger;
+                    return new CompiledTrigger(rule, ut.getItem(), null, ut.getState());
+                }
+                break;
+            case CHANGE:
+                if (trigger instanceof ChangedEventTrigger) {
+                    ChangedEventTrigger ct = (ChangedEventTrigger) trigger;
+                    return new CompiledTrigger(rule, ct.getItem(), ct.getOldState(), ct.getNewState());
+                }
+                break;
+            case COMMAND:
+                if (trigger instanceof CommandEventTrigger) {
+                    CommandEventTrigger ct = (CommandEventTrigger) trigger;
+                    return new CompiledTrigger(rule, ct.getItem(), null, ct.getCommand());
+                }
+                break;
+            default:
+                break;
+        }
+        return null;
+    }
+
+    private List<?> getAcceptedTypes(Item item) {
+        return type == TriggerTypes.COMMAND ? item.getAcceptedCommandTypes() : item.getAcceptedDataTypes();
+    }
+
+    private Type parse(Item item, String value) {
+        if (type == TriggerTypes.COMMAND) {
+            return TypeParser.parseCommand(item.getAcceptedCommandTypes(), value);
+        }
+        return TypeParser.parseState(item.getAcceptedDataTypes(), value);
+    }
+
+    private static void addMatching(List<Rule> result, List<ResolvedTrigger> triggers, State oldState) {
+        for (ResolvedTrigger trigger : triggers) {
+            if (trigger.matchesOldState(oldState)) {
+                result.add(trigger.rule);
+            }
+        }
+    }
+
+    /**
+     * Enum constants (e.g. ON, OPEN or UNDEF) are only equal to themselves, so they can be looked up in a hash map. All
+     * other values are compared one by one, as the hash codes of e.g. decimal values are not consistent with their
+     * equality.
+     */
+    private static boolean isHashable(Type value) {
+        return value instanceof Enum;
+    }
+
+    /**
+     * A trigger of a rule with the unparsed values of the rule model.
+     */
+    private static final class CompiledTrigger {
+
+        final Rule rule;
+        final String itemName;
+        final String oldValue;
+        final String value;
+
+        CompiledTrigger(Rule rule, String itemName, String oldValue, String value) {
+            this.rule = rule;
+            this.itemName = itemName;
+            this.oldValue = oldValue;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A trigger of a rule with the values parsed for the accepted types of its item.
+     */
+    private static final class ResolvedTrigger {
+
+        final Rule rule;
+        final State oldState;
+        final Type value;
+
+        ResolvedTrigger(Rule rule, State oldState, Type value) {
+            this.rule = rule;
+            this.oldState = oldState;
+            this.value = value;
+        }
+
+        boolean matchesOldState(State state) {
+            return oldState == null || state.equals(oldState);
+        }
+    }
+
+    /**
+     * The triggers of an item, which are parsed for the accepted types of the item when they are needed.
+     */
+    private final class ItemTriggers {
+
+        final ImmutableList<CompiledTrigger> triggers;
+        final ImmutableSet<Rule> rules;
+        private volatile ResolvedTriggers resolved;
+
+        ItemTriggers(List<CompiledTrigger> triggers) {
+            this.triggers = ImmutableList.copyOf(triggers);
+            Set<Rule> rules = new LinkedHashSet<>();
+            for (CompiledTrigger trigger : triggers) {
+                rules.add(trigger.rule);
+            }
+            this.rules = ImmutableSet.copyOf(rules);
+        }
+
+        ResolvedTriggers resolve(Item item) {
+            List<?> acceptedTypes = getAcceptedTypes(item);
+            ResolvedTriggers resolved = this.resolved;
+            if (resolved == null || !resolved.acceptedTypes.equals(acceptedTypes)) {
+                resolved = new ResolvedTriggers(item, acceptedTypes, triggers);
+                this.resolved = resolved;
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * The triggers of an item parsed for a list of accepted types. Triggers with values, which cannot be parsed, can
+     * never match and are left out.
+     */
+    private final class ResolvedTriggers {
+
+        final List<?> acceptedTypes;
+        final ImmutableList<ResolvedTrigger> anyValue;
+        final ImmutableListMultimap<Type, ResolvedTrigger> byValue;
+        final ImmutableList<ResolvedTrigger> byEquality;
+
+        ResolvedTriggers(Item item, List<?> acceptedTypes, List<CompiledTrigger> triggers) {
+            this.acceptedTypes = ImmutableList.copyOf(acceptedTypes);
+            ImmutableList.Builder<ResolvedTrigger> anyValue = ImmutableList.builder();
+            ImmutableListMultimap.Builder<Type, ResolvedTrigger> byValue = ImmutableListMultimap.builder();
+            ImmutableList.Builder<ResolvedTrigger> byEquality = ImmutableList.builder();
+            for (CompiledTrigger trigger : triggers) {
+                State oldState = null;
+                if (trigger.oldValue != null) {
+                    oldState = TypeParser.parseState(item.getAcceptedDataTypes(), trigger.oldValue);
+                    if (oldState == null) {
+                        continue;
+                    }
+                }
+                if (trigger.value == null) {
+                    anyValue.add(new ResolvedTrigger(trigger.rule, oldState, null));
+                    continue;
+                }
+                Type value = parse(item, trigger.value);
+                if (value == null) {
+                    continue;
+                }
+                if (isHashable(value)) {
+                    byValue.put(value, new ResolvedTrigger(trigger.rule, oldState, value));
+                } else {
+                    byEquality.add(new ResolvedTrigger(trigger.rule, oldState, value));
+                }
+            }
+            this.anyValue = anyValue.build();
+            this.byValue = byValue.build();
+            this.byEquality = byEquality.build();
+        }
+    }
+
+}
@@ -7,8 +7,8 @@
  */
 package org.eclipse.smarthome.model.rule.runtime.internal.engine;
 
-import org.eclipse.emf.common.notify.Adapter;
-import org.eclipse.emf.ecore.util.EContentAdapter;
+import java.util.concurrent.ConcurrentMap;
+
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
 import org.eclipse.smarthome.model.rule.rules.Rule;
@@ -20,11 +20,16 @@ import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.MapMaker;
 import com.google.inject.Injector;
 import com.google.inject.Provider;
 
 /**
  * Helper class to deal with rule evaluation contexts.
+ * <p>
+ * The contexts are kept by their rule models without a global lock: an existing context is returned without locking,
+ * only the creation of the context of a model is synchronized on the model. A context is dropped together with its
+ * model, e.g. when the rule file is reloaded.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -32,6 +37,8 @@ import com.google.inject.Provider;
 @SuppressWarnings("restriction")
 public class RuleContextHelper {
 
+    private static final ConcurrentMap<RuleModel, IEvaluationContext> contexts = new MapMaker().weakKeys().makeMap();
+
     /**
      * Retrieves the evaluation context (= set of variables) for a rule. The context is shared with all rules in the
      * same model (= rule file).
@@ -39,16 +46,25 @@ public class RuleContextHelper {
      * @param rule the rule to get the context for
      * @return the evaluation context
      */
-    public static synchronized IEvaluationContext getContext(Rule rule, Injector injector) {
-        Logger logger = LoggerFactory.getLogger(RuleContextHelper.class);
+    public static IEvaluationContext getContext(Rule rule, Injector injector) {
         RuleModel ruleModel = (RuleModel) rule.eContainer();
 
-        // check if a context already exists on the resource
-        for (Adapter adapter : ruleModel.eAdapters()) {
-            if (adapter instanceof RuleContextAdapter) {
-                return ((RuleContextAdapter) adapter).getContext();
+        // check if a context already exists for the model
+        IEvaluationContext context = contexts.get(ruleModel);
+        if (context != null) {
+            return context;
+        }
+        synchronized (ruleModel) {
+            context = contexts.get(ruleModel);
+            if (context == null) {
+                context = createContext(ruleModel, injector);
             }
+            return context;
         }
+    }
+
+    private static IEvaluationContext createContext(RuleModel ruleModel, Injector injector) {
+        Logger logger = LoggerFactory.getLogger(RuleContextHelper.class);
         Provider<IEvaluationContext> contextProvider = injector.getProvider(IEvaluationContext.class);
         // no evaluation context found, so create a new one
         ScriptEngine scriptEngine = RuleRuntimeActivator.scriptEngineTracker.getService();
@@ -65,7 +81,7 @@ public class RuleContextHelper {
                                     var.getRight().toString(), e.getMessage() });
                 }
             }
-            ruleModel.eAdapters().add(new RuleContextAdapter(evaluationContext));
+            contexts.put(ruleModel, evaluationContext);
             return evaluationContext;
         } else {
             logger.debug("Rule variables of rule {} cannot be evaluated as no scriptengine is available!", ruleModel
@@ -74,21 +90,4 @@ public class RuleContextHelper {
         }
     }
 
-    /**
-     * Inner class that wraps an evaluation context into an EMF adapters
-     */
-    private static class RuleContextAdapter extends EContentAdapter {
-
-        private IEvaluationContext context;
-
-        public RuleContextAdapter(IEvaluationContext context) {
-            this.context = context;
-        }
-
-        public IEvaluationContext getContext() {
-            return context;
-        }
-
-    }
-
 }
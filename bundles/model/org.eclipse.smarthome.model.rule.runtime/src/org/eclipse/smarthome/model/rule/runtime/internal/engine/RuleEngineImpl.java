@@ -17,7 +17,10 @@ import static org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTrigg
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Dictionary;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -30,10 +33,11 @@ import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.items.StateChangeListener;
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.scriptengine.Script;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
-import org.eclipse.smarthome.core.scriptengine.ScriptExecutionThread;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.EventType;
 import org.eclipse.smarthome.core.types.State;
@@ -45,6 +49,8 @@ import org.eclipse.smarthome.model.rule.rules.Rule;
 import org.eclipse.smarthome.model.rule.rules.RuleModel;
 import org.eclipse.smarthome.model.rule.runtime.RuleEngine;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.osgi.service.cm.ConfigurationException;
+import org.osgi.service.cm.ManagedService;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
@@ -57,6 +63,13 @@ import com.google.inject.Injector;
  * This class is the core of the openHAB rule engine.
  * It listens to changes to the rules folder, evaluates the trigger conditions of the rules and
  * schedules them for execution dependent on their triggering conditions.
+ * The number of rule executions and their durations are provided as {@code rules.*} metrics through the
+ * {@link MetricsManager}.
+ * <p>
+ * Triggered rules are executed by the {@link RuleExecutor}, which can be configured through the configuration admin
+ * (service pid {@code org.eclipse.smarthome.rules}) with the number of {@code workers} (default 4), the
+ * {@code queueCapacity} (default 1000) and {@code serializeRules} (default false), which prevents that a rule runs
+ * concurrently with itself.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Oliver Libutzki - Bugfixing
@@ -64,19 +77,24 @@ import com.google.inject.Injector;
  */
 @SuppressWarnings("restriction")
 public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener, StateChangeListener,
-        ModelRepositoryChangeListener, RuleEngine {
+        ModelRepositoryChangeListener, RuleEngine, RuleExecutionStatistics, ManagedService {
 
     private final Logger logger = LoggerFactory.getLogger(RuleEngineImpl.class);
 
     protected final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
-    private ItemRegistry itemRegistry;
-    private ModelRepository modelRepository;
-    private ScriptEngine scriptEngine;
+    private volatile ItemRegistry itemRegistry;
+    private volatile ModelRepository modelRepository;
+    private volatile ScriptEngine scriptEngine;
 
-    private RuleTriggerManager triggerManager;
+    private volatile RuleTriggerManager triggerManager;
 
     private Injector injector;
+
+    private final Counter executions = MetricsManager.counter("rules.executions");
+
+    private volatile RuleExecutor ruleExecutor = new RuleExecutor(RuleExecutor.DEFAULT_WORKERS,
+            RuleExecutor.DEFAULT_QUEUE_CAPACITY, false);
     
     private ScheduledFuture<?> startupJob;
 
@@ -121,6 +139,75 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         executeRules(triggerManager.getRules(SHUTDOWN));
         triggerManager.clearAll();
         triggerManager = null;
+        ruleExecutor.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void updated(Dictionary<String, ?> properties) throws ConfigurationException {
+        int workers = RuleExecutor.DEFAULT_WORKERS;
+        int queueCapacity = RuleExecutor.DEFAULT_QUEUE_CAPACITY;
+        boolean serializeRules = false;
+        if (properties != null) {
+            workers = getPositiveInt(properties, "workers", workers);
+            queueCapacity = getPositiveInt(properties, "queueCapacity", queueCapacity);
+            Object serializeRulesValue = properties.get("serializeRules");
+            if (serializeRulesValue != null) {
+                serializeRules = Boolean.parseBoolean(serializeRulesValue.toString().trim());
+            }
+        }
+        RuleExecutor previousExecutor = ruleExecutor;
+        if (previousExecutor.getWorkers() != workers || previousExecutor.getQueueCapacity() != queueCapacity
+                || previousExecutor.isSerializingRules() != serializeRules) {
+            ruleExecutor = new RuleExecutor(workers, queueCapacity, serializeRules);
+            previousExecutor.shutdown();
+            logger.debug("Rule executor reconfigured: {} workers, queue capacity {}, serialize rules {}.",
+                    new Object[] { workers, queueCapacity, serializeRules });
+        }
+    }
+
+    private int getPositiveInt(Dictionary<String, ?> properties, String key, int defaultValue)
+            throws ConfigurationException {
+        Object value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.toString().trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException ex) {
+            // handled below
+        }
+        throw new ConfigurationException(key, "The value must be a positive number, but is '" + value + "'!");
+    }
+
+    @Override
+    public int getWorkers() {
+        return ruleExecutor.getWorkers();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return ruleExecutor.getQueueCapacity();
+    }
+
+    @Override
+    public boolean isSerializingRules() {
+        return ruleExecutor.isSerializingRules();
+    }
+
+    @Override
+    public long getRejectedExecutions() {
+        return ruleExecutor.getRejectedExecutions();
+    }
+
+    @Override
+    public List<RuleExecutionInfo> getExecutions() {
+        return ruleExecutor.getExecutions();
     }
 
     public void setItemRegistry(ItemRegistry itemRegistry) {
@@ -145,10 +232,12 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
 
     public void setScriptEngine(ScriptEngine scriptEngine) {
         this.scriptEngine = scriptEngine;
+        RuleScriptHelper.clear();
     }
 
     public void unsetScriptEngine(ScriptEngine scriptEngine) {
         this.scriptEngine = null;
+        RuleScriptHelper.clear();
     }
 
     /**
@@ -189,6 +278,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
      */
     @Override
     public void stateChanged(Item item, State oldState, State newState) {
+        RuleTriggerManager triggerManager = this.triggerManager;
         if (triggerManager != null) {
             Iterable<Rule> rules = triggerManager.getRules(CHANGE, item, oldState, newState);
 
@@ -201,6 +291,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
      */
     @Override
     public void stateUpdated(Item item, State state) {
+        RuleTriggerManager triggerManager = this.triggerManager;
         if (triggerManager != null) {
             Iterable<Rule> rules = triggerManager.getRules(UPDATE, item, state);
             executeRules(rules);
@@ -208,6 +299,8 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
     }
 
     public void receiveCommand(String itemName, Command command) {
+        RuleTriggerManager triggerManager = this.triggerManager;
+        ItemRegistry itemRegistry = this.itemRegistry;
         if (triggerManager != null && itemRegistry != null) {
             try {
                 Item item = itemRegistry.getItem(itemName);
@@ -251,6 +344,12 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
 
     @Override
     public void modelChanged(String modelName, org.eclipse.smarthome.model.core.EventType type) {
+        // the scripts of the rules of the old model are never released otherwise
+        if (modelName.endsWith("rules")
+                && (type == org.eclipse.smarthome.model.core.EventType.REMOVED || type == org.eclipse.smarthome.model.core.EventType.MODIFIED)) {
+            RuleScriptHelper.clear();
+        }
+        RuleTriggerManager triggerManager = this.triggerManager;
         if (triggerManager != null) {
             if (isEnabled() && modelName.endsWith("rules")) {
                 RuleModel model = (RuleModel) modelRepository.getModel(modelName);
@@ -268,28 +367,66 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
                     // now execute all rules that are meant to trigger at startup
                     scheduleStartupRules();
                 }
+
+                // drop the execution times of rules, which have been removed, renamed or moved
+                if (type == org.eclipse.smarthome.model.core.EventType.REMOVED) {
+                    RuleExecutor.retainExecutionTimes(getRuleIds(modelName));
+                } else if (type == org.eclipse.smarthome.model.core.EventType.MODIFIED) {
+                    RuleExecutor.retainExecutionTimes(getRuleIds(null));
+                }
             }
         }
     }
 
-    private void scheduleStartupRules() {
+    /**
+     * Returns the ids of the rules of all rule models.
+     *
+     * @param removedModelName name of a model, which is being removed and whose rules are not returned, or null
+     * @return ids of the rules as returned by {@link RuleExecutor#getRuleId(Rule)} (not null)
+     */
+    private Set<String> getRuleIds(String removedModelName) {
+        Set<String> ruleIds = new HashSet<>();
+        for (String modelName : modelRepository.getAllModelNamesOfType("rules")) {
+            if (modelName.equals(removedModelName)) {
+                continue;
+            }
+            EObject model = modelRepository.getModel(modelName);
+            if (model instanceof RuleModel) {
+                List<Rule> rules = ((RuleModel) model).getRules();
+                for (int i = 0; i < rules.size(); i++) {
+                    ruleIds.add(RuleExecutor.getRuleId(modelName, i, rules.get(i).getName()));
+                }
+            }
+        }
+        return ruleIds;
+    }
+
+    private synchronized void scheduleStartupRules() {
         if (startupJob == null || startupJob.isCancelled() || startupJob.isDone()) {
             startupJob = scheduler.schedule(startupRunnable, 5, TimeUnit.SECONDS);
         }
     }
     
     private void runStartupRules() {
+        RuleTriggerManager triggerManager = this.triggerManager;
         if (triggerManager != null) {
             Iterable<Rule> startupRules = triggerManager.getRules(STARTUP);
             List<Rule> executedRules = Lists.newArrayList();
 
             for (Rule rule : startupRules) {
                 try {
-                    Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+                    Script script = RuleScriptHelper.getScript(rule, scriptEngine);
                     logger.debug("Executing startup rule '{}'", rule.getName());
                     RuleEvaluationContext context = new RuleEvaluationContext();
                     context.setGlobalContext(RuleContextHelper.getContext(rule, injector));
-                    script.execute(context);
+                    executions.increment();
+                    long start = System.nanoTime();
+                    try {
+                        script.execute(context);
+                    } finally {
+                        RuleExecutor.recordExecutionTime(RuleExecutor.getRuleId(rule),
+                                MetricsManager.elapsedMicros(start));
+                    }
                     executedRules.add(rule);
                 } catch (ScriptExecutionException e) {
                     if(!e.getMessage().contains("cannot be resolved to an item or type")) {
@@ -307,29 +444,28 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         }
     }
 
-    protected synchronized void executeRule(Rule rule) {
+    protected void executeRule(Rule rule) {
         executeRule(rule, new RuleEvaluationContext());
     }
 
-    protected synchronized void executeRule(Rule rule, RuleEvaluationContext context) {
-        Script script = scriptEngine.newScriptFromXExpression(rule.getScript());
+    protected void executeRule(Rule rule, RuleEvaluationContext context) {
+        Script script = RuleScriptHelper.getScript(rule, scriptEngine);
 
         logger.debug("Executing rule '{}'", rule.getName());
 
         context.setGlobalContext(RuleContextHelper.getContext(rule, injector));
 
-        ScriptExecutionThread thread = new ScriptExecutionThread(rule.getName(), script, context);
-        thread.start();
+        ruleExecutor.execute(RuleExecutor.getRuleId(rule), rule.getName(), script, context);
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules) {
+    protected void executeRules(Iterable<Rule> rules) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             executeRule(rule, context);
         }
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules, Command command) {
+    protected void executeRules(Iterable<Rule> rules, Command command) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_RECEIVED_COMMAND), command);
@@ -337,7 +473,7 @@ public class RuleEngineImpl implements EventHandler, ItemRegistryChangeListener,
         }
     }
 
-    protected synchronized void executeRules(Iterable<Rule> rules, State oldState) {
+    protected void executeRules(Iterable<Rule> rules, State oldState) {
         for (Rule rule : rules) {
             RuleEvaluationContext context = new RuleEvaluationContext();
             context.newValue(QualifiedName.create(RulesJvmModelInferrer.VAR_PREVIOUS_STATE), oldState);
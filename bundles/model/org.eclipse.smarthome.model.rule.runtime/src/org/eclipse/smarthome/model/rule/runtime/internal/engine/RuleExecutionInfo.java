@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+/**
+ * The {@link RuleExecutionInfo} is a snapshot of a rule execution, which is either running or queued in the
+ * {@link RuleExecutor}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RuleExecutionInfo {
+
+    private final String ruleName;
+
+    private final boolean running;
+
+    private final long duration;
+
+    private final String threadName;
+
+    public RuleExecutionInfo(String ruleName, boolean running, long duration, String threadName) {
+        this.ruleName = ruleName;
+        this.running = running;
+        this.duration = duration;
+        this.threadName = threadName;
+    }
+
+    /**
+     * Returns the name of the rule.
+     *
+     * @return rule name (not null)
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Returns whether the execution is running or still queued.
+     *
+     * @return true if the execution is running, false if it is queued
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns for how long the execution has been running or queued.
+     *
+     * @return duration in milliseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the name of the thread, which runs the execution.
+     *
+     * @return thread name or null if the execution is queued
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public String toString() {
+        if (running) {
+            return "Rule '" + ruleName + "' running for " + duration + " ms in thread '" + threadName + "'";
+        }
+        return "Rule '" + ruleName + "' queued for " + duration + " ms";
+    }
+
+}
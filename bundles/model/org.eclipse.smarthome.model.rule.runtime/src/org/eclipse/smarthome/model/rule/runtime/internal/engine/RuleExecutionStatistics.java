@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.List;
+
+/**
+ * The {@link RuleExecutionStatistics} is provided by the {@link RuleEngineImpl} to monitor the rule executions of its
+ * {@link RuleExecutor}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface RuleExecutionStatistics {
+
+    /**
+     * Returns the number of worker threads, which execute the rules.
+     *
+     * @return number of workers
+     */
+    int getWorkers();
+
+    /**
+     * Returns the maximum number of queued rule executions.
+     *
+     * @return queue capacity
+     */
+    int getQueueCapacity();
+
+    /**
+     * Returns whether the executions of a single rule are serialized.
+     *
+     * @return true if a rule never runs concurrently with itself, false otherwise
+     */
+    boolean isSerializingRules();
+
+    /**
+     * Returns the number of rule executions, which have been discarded because the queue was full.
+     *
+     * @return number of rejected executions
+     */
+    long getRejectedExecutions();
+
+    /**
+     * Returns the running executions, the longest running first, followed by the queued executions, the longest queued
+     * first.
+     *
+     * @return running and queued executions (not null)
+     */
+    List<RuleExecutionInfo> getExecutions();
+
+}
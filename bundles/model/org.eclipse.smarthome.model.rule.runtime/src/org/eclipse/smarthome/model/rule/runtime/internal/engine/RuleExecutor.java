@@ -0,0 +1,433 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+import org.eclipse.smarthome.core.scriptengine.Script;
+import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+import org.eclipse.smarthome.model.rule.rules.RuleModel;
+import org.eclipse.xtext.xbase.interpreter.IEvaluationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RuleExecutor} executes the scripts of triggered rules on a bounded pool of worker threads.
+ * <p>
+ * At most {@code queueCapacity} executions wait for a worker, further executions are discarded and logged. If the
+ * executions of a rule are serialized, a rule never runs concurrently with itself: its executions wait in their own
+ * queue, which holds at most {@code queueCapacity} executions as well and is processed in order by one worker at a
+ * time, while other rules are served in parallel.
+ * <p>
+ * Rules are identified by the ids returned by {@link #getRuleId(Rule)}, as rule names are not unique. The durations of
+ * the executions are recorded in the histogram {@code rules.execution.time} and per rule in
+ * {@code rules.execution.time.<rule id>} of the {@link MetricsManager}, the time waited for a worker in
+ * {@code rules.queue.time}. Rules, which are executed outside of the executor, record their durations by
+ * {@link #recordExecutionTime(String, long)}. The histograms of rules, which do not exist anymore, are removed by
+ * {@link #retainExecutionTimes(Set)}.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("restriction")
+public class RuleExecutor {
+
+    public static final int DEFAULT_WORKERS = 4;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final String EXECUTION_TIME = "rules.execution.time";
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    /** characters, which are not allowed in the parts of a rule id */
+    private static final Pattern INVALID_ID_CHARACTERS = Pattern.compile("[^A-Za-z0-9_-]");
+
+    private static final Histogram executionTime = MetricsManager.histogram(EXECUTION_TIME);
+
+    /** the histograms of the execution times by the ids of the rules */
+    private static final ConcurrentMap<String, Histogram> ruleExecutionTimes = new ConcurrentHashMap<>();
+
+    private final Logger logger = LoggerFactory.getLogger(RuleExecutor.class);
+
+    private final int workers;
+
+    private final int queueCapacity;
+
+    private final boolean serializeRules;
+
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final Set<Execution> executions = Collections
+            .newSetFromMap(new ConcurrentHashMap<Execution, Boolean>());
+
+    /** the waiting executions of the serialized rules, which are running, by rule id, guarded by itself */
+    private final Map<String, BlockingQueue<Execution>> ruleQueues = new HashMap<>();
+
+    private final Counter executionCount = MetricsManager.counter("rules.executions");
+
+    private final Counter rejectedCount = MetricsManager.counter("rules.rejected");
+
+    private final Histogram queueTime = MetricsManager.histogram("rules.queue.time");
+
+    /**
+     * Creates a new executor.
+     *
+     * @param workers maximum number of rules executed at the same time (must be positive)
+     * @param queueCapacity maximum number of queued executions (must be positive)
+     * @param serializeRules true if a rule should never run concurrently with itself
+     */
+    public RuleExecutor(int workers, int queueCapacity, boolean serializeRules) {
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.serializeRules = serializeRules;
+        this.pool = new ThreadPoolExecutor(workers, workers, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        return new Thread(runnable, "ESH-rule-" + threadNumber.getAndIncrement());
+                    }
+                });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues the execution of a rule.
+     *
+     * @param ruleId id of the rule as returned by {@link #getRuleId(Rule)} (must not be null)
+     * @param ruleName name of the rule for log messages (must not be null)
+     * @param script script of the rule (must not be null)
+     * @param context evaluation context of the script (must not be null)
+     * @return true if the execution has been queued, false if it has been discarded because the queue is full or the
+     *         executor has been shut down
+     */
+    public boolean execute(String ruleId, String ruleName, Script script, IEvaluationContext context) {
+        Execution execution = new Execution(ruleId, ruleName, script, context);
+        executions.add(execution);
+        if (serializeRules) {
+            synchronized (ruleQueues) {
+                BlockingQueue<Execution> ruleQueue = ruleQueues.get(ruleId);
+                if (ruleQueue != null) {
+                    // the rule is running, so the execution waits for its turn
+                    if (!ruleQueue.offer(execution)) {
+                        reject(execution);
+                        return false;
+                    }
+                    executionCount.increment();
+                    return true;
+                }
+                ruleQueues.put(ruleId, new LinkedBlockingQueue<Execution>(queueCapacity));
+            }
+        }
+        if (!submit(execution)) {
+            return false;
+        }
+        executionCount.increment();
+        return true;
+    }
+
+    /**
+     * Returns the id of a rule, which consists of the name of its model, its index within the model and its name. The
+     * characters of the parts, which are neither letters, digits, '_' nor '-', are replaced by '_'.
+     *
+     * @param rule the rule (must not be null)
+     * @return id of the rule (not null)
+     */
+    public static String getRuleId(Rule rule) {
+        Resource resource = rule.eResource();
+        String modelName = resource != null ? resource.getURI().path() : null;
+        EObject model = rule.eContainer();
+        int index = model instanceof RuleModel ? ((RuleModel) model).getRules().indexOf(rule) : -1;
+        return getRuleId(modelName, index, rule.getName());
+    }
+
+    /**
+     * Returns the id of a rule.
+     *
+     * @param modelName name of the model of the rule or null if it is unknown
+     * @param index index of the rule within its model
+     * @param ruleName name of the rule (must not be null)
+     * @return id of the rule (not null)
+     * @see #getRuleId(Rule)
+     */
+    public static String getRuleId(String modelName, int index, String ruleName) {
+        String modelPart = modelName != null ? INVALID_ID_CHARACTERS.matcher(modelName).replaceAll("_") : "unknown";
+        return modelPart + "." + index + "." + INVALID_ID_CHARACTERS.matcher(ruleName).replaceAll("_");
+    }
+
+    /**
+     * Records the duration of an execution of a rule.
+     *
+     * @param ruleId id of the rule as returned by {@link #getRuleId(Rule)} (must not be null)
+     * @param durationMicros duration of the execution in microseconds
+     */
+    public static void recordExecutionTime(String ruleId, long durationMicros) {
+        executionTime.record(durationMicros);
+        Histogram ruleExecutionTime = ruleExecutionTimes.get(ruleId);
+        if (ruleExecutionTime == null) {
+            ruleExecutionTime = MetricsManager.histogram(EXECUTION_TIME + "." + ruleId);
+            ruleExecutionTimes.putIfAbsent(ruleId, ruleExecutionTime);
+        }
+        ruleExecutionTime.record(durationMicros);
+    }
+
+    /**
+     * Removes the histograms of the execution times of all rules, which are not contained in the given ids.
+     *
+     * @param ruleIds ids of the existing rules (must not be null)
+     */
+    public static void retainExecutionTimes(Set<String> ruleIds) {
+        for (String ruleId : ruleExecutionTimes.keySet()) {
+            if (!ruleIds.contains(ruleId)) {
+                ruleExecutionTimes.remove(ruleId);
+                MetricsManager.getRegistry().remove(EXECUTION_TIME + "." + ruleId);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of rules executed at the same time.
+     *
+     * @return number of workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns the maximum number of queued executions.
+     *
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Returns whether a rule never runs concurrently with itself.
+     *
+     * @return true if the executions of a rule are serialized, false otherwise
+     */
+    public boolean isSerializingRules() {
+        return serializeRules;
+    }
+
+    /**
+     * Returns the number of discarded executions.
+     *
+     * @return number of rejected executions
+     */
+    public long getRejectedExecutions() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the running executions, the longest running first, followed by the queued executions, the longest queued
+     * first.
+     *
+     * @return running and queued executions (not null)
+     */
+    public List<RuleExecutionInfo> getExecutions() {
+        long now = now();
+        List<RuleExecutionInfo> infos = new ArrayList<>();
+        for (Execution execution : executions) {
+            infos.add(execution.getInfo(now));
+        }
+        Collections.sort(infos, new Comparator<RuleExecutionInfo>() {
+            @Override
+            public int compare(RuleExecutionInfo info1, RuleExecutionInfo info2) {
+                if (info1.isRunning() != info2.isRunning()) {
+                    return info1.isRunning() ? -1 : 1;
+                }
+                return Long.compare(info2.getDuration(), info1.getDuration());
+            }
+        });
+        return infos;
+    }
+
+    /**
+     * Stops the executor. Executions, which are running or waiting for a worker, are finished, but executions waiting
+     * for a serialized rule are discarded.
+     */
+    public void shutdown() {
+        pool.shutdown();
+        List<Execution> waitingExecutions = new ArrayList<>();
+        synchronized (ruleQueues) {
+            for (BlockingQueue<Execution> ruleQueue : ruleQueues.values()) {
+                waitingExecutions.addAll(ruleQueue);
+            }
+            ruleQueues.clear();
+        }
+        executions.removeAll(waitingExecutions);
+    }
+
+    /**
+     * Passes an execution to the pool.
+     *
+     * @return false if the execution has been discarded
+     */
+    private boolean submit(Execution execution) {
+        try {
+            pool.execute(execution);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            reject(execution);
+            if (serializeRules) {
+                // the executions, which have been queued for the rule in the meantime, would never be started
+                List<Execution> waitingExecutions = new ArrayList<>();
+                synchronized (ruleQueues) {
+                    BlockingQueue<Execution> ruleQueue = ruleQueues.remove(execution.ruleId);
+                    if (ruleQueue != null) {
+                        waitingExecutions.addAll(ruleQueue);
+                    }
+                }
+                for (Execution waitingExecution : waitingExecutions) {
+                    reject(waitingExecution);
+                }
+            }
+            return false;
+        }
+    }
+
+    private void reject(Execution execution) {
+        executions.remove(execution);
+        if (pool.isShutdown()) {
+            logger.debug("Discarding the execution of rule '{}', because the executor has been shut down.",
+                    execution.ruleName);
+            return;
+        }
+        rejected.incrementAndGet();
+        rejectedCount.increment();
+        logger.warn("Discarding the execution of rule '{}', because {} executions are already queued.",
+                execution.ruleName, queueCapacity);
+    }
+
+    /**
+     * Removes a finished execution and passes the next execution of a serialized rule to the pool.
+     *
+     * @return the next execution of the rule, if the queue of the pool is full and the worker of the finished
+     *         execution has to run it itself, or null
+     */
+    private Execution finished(Execution execution) {
+        executions.remove(execution);
+        if (!serializeRules) {
+            return null;
+        }
+        Execution next;
+        synchronized (ruleQueues) {
+            BlockingQueue<Execution> ruleQueue = ruleQueues.get(execution.ruleId);
+            next = ruleQueue != null ? ruleQueue.poll() : null;
+            if (next == null) {
+                ruleQueues.remove(execution.ruleId);
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+        try {
+            pool.execute(next);
+            return null;
+        } catch (RejectedExecutionException ex) {
+            if (!pool.isShutdown()) {
+                // the execution has already been accepted, so it is not discarded because of the full pool
+                return next;
+            }
+            submit(next);
+            return null;
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private final class Execution implements Runnable {
+
+        private final String ruleId;
+        private final String ruleName;
+        private final Script script;
+        private final IEvaluationContext context;
+        private final long queuedAt = System.nanoTime();
+        private volatile long startedAt;
+        private volatile Thread thread;
+
+        Execution(String ruleId, String ruleName, Script script, IEvaluationContext context) {
+            this.ruleId = ruleId;
+            this.ruleName = ruleName;
+            this.script = script;
+            this.context = context;
+        }
+
+        @Override
+        public void run() {
+            Execution execution = this;
+            while (execution != null) {
+                execution.executeScript();
+                execution = finished(execution);
+            }
+        }
+
+        private void executeScript() {
+            startedAt = System.nanoTime();
+            thread = Thread.currentThread();
+            queueTime.record(MetricsManager.elapsedMicros(queuedAt));
+            try {
+                script.execute(context);
+            } catch (ScriptExecutionException e) {
+                String msg = e.getCause().getMessage();
+                if (msg == null) {
+                    logger.error("Error during the execution of rule '{}'", ruleName, e.getCause());
+                } else {
+                    logger.error("Error during the execution of rule '{}': {}", new Object[] { ruleName, msg });
+                }
+            } catch (Exception e) {
+                logger.error("Error during the execution of rule '" + ruleName + "': " + e.getMessage(), e);
+            } finally {
+                recordExecutionTime(ruleId, MetricsManager.elapsedMicros(startedAt));
+                thread = null;
+            }
+        }
+
+        RuleExecutionInfo getInfo(long now) {
+            Thread thread = this.thread;
+            if (thread != null) {
+                return new RuleExecutionInfo(ruleName, true, now - TimeUnit.NANOSECONDS.toMillis(startedAt),
+                        thread.getName());
+            }
+            return new RuleExecutionInfo(ruleName, false, now - TimeUnit.NANOSECONDS.toMillis(queuedAt), null);
+        }
+    }
+
+}
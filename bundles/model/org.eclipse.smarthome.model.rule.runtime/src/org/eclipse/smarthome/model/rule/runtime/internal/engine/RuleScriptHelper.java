@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.smarthome.core.scriptengine.Script;
+import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
+import org.eclipse.smarthome.model.rule.rules.Rule;
+
+/**
+ * Helper class to deal with the scripts of rules.
+ * <p>
+ * The script of a rule is created once and reused for all executions of the rule, as scripts do not keep any state
+ * of their executions: a script only holds the expression of its rule and obtains a new interpreter and evaluation
+ * context for every execution, so it may be executed by several workers of the {@link RuleExecutor} at once. As a
+ * script references the model of its rule, the scripts are not released by the garbage
+ * collector, but have to be dropped explicitly by {@link #clear()} whenever a rule file is modified or removed or the
+ * script engine changes.
+ *
+ * @author agent - Initial contribution
+ */
+@SuppressWarnings("restriction")
+public class RuleScriptHelper {
+
+    private static final ConcurrentMap<Rule, Script> scripts = new ConcurrentHashMap<Rule, Script>();
+
+    /**
+     * Retrieves the script of a rule.
+     *
+     * @param rule the rule to get the script for
+     * @param scriptEngine the script engine, which creates the script, if it does not exist yet
+     * @return the script of the rule
+     */
+    public static Script getScript(Rule rule, ScriptEngine scriptEngine) {
+        Script script = scripts.get(rule);
+        if (script == null) {
+            script = scriptEngine.newScriptFromXExpression(rule.getScript());
+            Script existingScript = scripts.putIfAbsent(rule, script);
+            if (existingScript != null) {
+                script = existingScript;
+            }
+        }
+        return script;
+    }
+
+    /**
+     * Drops the scripts of all rules.
+     */
+    public static void clear() {
+        scripts.clear();
+    }
+
+}
@@ -19,8 +19,6 @@ import static org.quartz.TriggerBuilder.newTrigger;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -29,16 +27,12 @@ import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.Type;
-import org.eclipse.smarthome.core.types.TypeParser;
-import org.eclipse.smarthome.model.rule.rules.ChangedEventTrigger;
-import org.eclipse.smarthome.model.rule.rules.CommandEventTrigger;
 import org.eclipse.smarthome.model.rule.rules.EventTrigger;
 import org.eclipse.smarthome.model.rule.rules.Rule;
 import org.eclipse.smarthome.model.rule.rules.RuleModel;
 import org.eclipse.smarthome.model.rule.rules.SystemOnShutdownTrigger;
 import org.eclipse.smarthome.model.rule.rules.SystemOnStartupTrigger;
 import org.eclipse.smarthome.model.rule.rules.TimerTrigger;
-import org.eclipse.smarthome.model.rule.rules.UpdateEventTrigger;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.Job;
 import org.quartz.JobDetail;
@@ -51,9 +45,6 @@ import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -62,6 +53,10 @@ import com.google.inject.Injector;
  * This is a helper class which deals with everything about rule triggers.
  * It keeps lists of which rule must be executed for which trigger and takes
  * over the evaluation of states and trigger conditions for the rule engine.
+ * <p>
+ * The lookups do not lock: the item triggers are compiled into an {@link ItemTriggerIndex} per trigger type, which is
+ * held in immutable snapshots and replaced as a whole when rules are added or removed. So events are matched by a
+ * lookup of their item and value in parallel, while changes of the rule models are serialized.
  *
  * @author Kai Kreuzer - Initial contribution and API
  *
@@ -80,9 +75,9 @@ public class RuleTriggerManager {
     }
 
     // lookup maps for different triggering conditions
-    private Map<String, Set<Rule>> updateEventTriggeredRules = Maps.newHashMap();
-    private Map<String, Set<Rule>> changedEventTriggeredRules = Maps.newHashMap();
-    private Map<String, Set<Rule>> commandEventTriggeredRules = Maps.newHashMap();
+    private final ItemTriggerIndex updateEventTriggers = new ItemTriggerIndex(UPDATE);
+    private final ItemTriggerIndex changedEventTriggers = new ItemTriggerIndex(CHANGE);
+    private final ItemTriggerIndex commandEventTriggers = new ItemTriggerIndex(COMMAND);
     private Set<Rule> systemStartupTriggeredRules = new CopyOnWriteArraySet<>();
     private Set<Rule> systemShutdownTriggeredRules = new CopyOnWriteArraySet<>();
     private Set<Rule> timerEventTriggeredRules = new CopyOnWriteArraySet<>();
@@ -119,13 +114,13 @@ public class RuleTriggerManager {
                 result = timerEventTriggeredRules;
                 break;
             case UPDATE:
-                result = Iterables.concat(updateEventTriggeredRules.values());
+                result = updateEventTriggers.getAll();
                 break;
             case CHANGE:
-                result = Iterables.concat(changedEventTriggeredRules.values());
+                result = changedEventTriggers.getAll();
                 break;
             case COMMAND:
-                result = Iterables.concat(commandEventTriggeredRules.values());
+                result = commandEventTriggers.getAll();
                 break;
             default:
                 result = Sets.newHashSet();
@@ -170,29 +165,7 @@ public class RuleTriggerManager {
         return internalGetRules(triggerType, item, null, command);
     }
 
-    private Iterable<Rule> getAllRules(TriggerTypes type, String itemName) {
-        switch (type) {
-            case STARTUP:
-                return systemStartupTriggeredRules;
-            case SHUTDOWN:
-                return systemShutdownTriggeredRules;
-            case UPDATE:
-                return updateEventTriggeredRules.get(itemName);
-            case CHANGE:
-                return changedEventTriggeredRules.get(itemName);
-            case COMMAND:
-                return commandEventTriggeredRules.get(itemName);
-            default:
-                return Sets.newHashSet();
-        }
-    }
-
     private Iterable<Rule> internalGetRules(TriggerTypes triggerType, Item item, Type oldType, Type newType) {
-        List<Rule> result = Lists.newArrayList();
-        Iterable<Rule> rules = getAllRules(triggerType, item.getName());
-        if (rules == null) {
-            rules = Lists.newArrayList();
-        }
         switch (triggerType) {
             case STARTUP:
                 return systemStartupTriggeredRules;
@@ -202,80 +175,21 @@ public class RuleTriggerManager {
                 return timerEventTriggeredRules;
             case UPDATE:
                 if (newType instanceof State) {
-                    State state = (State) newType;
-                    for (Rule rule : rules) {
-                        for (EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof UpdateEventTrigger) {
-                                UpdateEventTrigger ut = (UpdateEventTrigger) t;
-                                if (ut.getItem().equals(item.getName())) {
-                                    if (ut.getState() != null) {
-                                        State triggerState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ut.getState());
-                                        if (!state.equals(triggerState)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                    return updateEventTriggers.getRules(item, null, newType);
                 }
                 break;
             case CHANGE:
                 if (newType instanceof State && oldType instanceof State) {
-                    State newState = (State) newType;
-                    State oldState = (State) oldType;
-                    for (Rule rule : rules) {
-                        for (EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof ChangedEventTrigger) {
-                                ChangedEventTrigger ct = (ChangedEventTrigger) t;
-                                if (ct.getItem().equals(item.getName())) {
-                                    if (ct.getOldState() != null) {
-                                        State triggerOldState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ct.getOldState());
-                                        if (!oldState.equals(triggerOldState)) {
-                                            continue;
-                                        }
-                                    }
-                                    if (ct.getNewState() != null) {
-                                        State triggerNewState = TypeParser.parseState(item.getAcceptedDataTypes(),
-                                                ct.getNewState());
-                                        if (!newState.equals(triggerNewState)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                    return changedEventTriggers.getRules(item, (State) oldType, newType);
                 }
                 break;
             case COMMAND:
                 if (newType instanceof Command) {
-                    final Command command = (Command) newType;
-                    for (Rule rule : rules) {
-                        for (final EventTrigger t : rule.getEventtrigger()) {
-                            if (t instanceof CommandEventTrigger) {
-                                final CommandEventTrigger ct = (CommandEventTrigger) t;
-                                if (ct.getItem().equals(item.getName())) {
-                                    if (ct.getCommand() != null) {
-                                        final Command triggerCommand = TypeParser.parseCommand(
-                                                item.getAcceptedCommandTypes(), ct.getCommand());
-                                        if (!command.equals(triggerCommand)) {
-                                            continue;
-                                        }
-                                    }
-                                    result.add(rule);
-                                }
-                            }
-                        }
-                    }
+                    return commandEventTriggers.getRules(item, null, newType);
                 }
                 break;
         }
-        return result;
+        return Collections.emptyList();
     }
 
     /**
@@ -283,7 +197,7 @@ public class RuleTriggerManager {
      * 
      * @param type the trigger type
      */
-    public void clear(TriggerTypes type) {
+    public synchronized void clear(TriggerTypes type) {
         switch (type) {
             case STARTUP:
                 systemStartupTriggeredRules.clear();
@@ -292,13 +206,13 @@ public class RuleTriggerManager {
                 systemShutdownTriggeredRules.clear();
                 break;
             case UPDATE:
-                updateEventTriggeredRules.clear();
+                updateEventTriggers.clear();
                 break;
             case CHANGE:
-                changedEventTriggeredRules.clear();
+                changedEventTriggers.clear();
                 break;
             case COMMAND:
-                commandEventTriggeredRules.clear();
+                commandEventTriggers.clear();
                 break;
             case TIMER:
                 for (Rule rule : timerEventTriggeredRules) {
@@ -327,36 +241,15 @@ public class RuleTriggerManager {
      * @param rule the rule to add
      */
     public synchronized void addRule(Rule rule) {
+        updateEventTriggers.add(rule);
+        changedEventTriggers.add(rule);
+        commandEventTriggers.add(rule);
         for (EventTrigger t : rule.getEventtrigger()) {
             // add the rule to the lookup map for the trigger kind
             if (t instanceof SystemOnStartupTrigger) {
                 systemStartupTriggeredRules.add(rule);
             } else if (t instanceof SystemOnShutdownTrigger) {
                 systemShutdownTriggeredRules.add(rule);
-            } else if (t instanceof CommandEventTrigger) {
-                CommandEventTrigger ceTrigger = (CommandEventTrigger) t;
-                Set<Rule> rules = commandEventTriggeredRules.get(ceTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    commandEventTriggeredRules.put(ceTrigger.getItem(), rules);
-                }
-                rules.add(rule);
-            } else if (t instanceof UpdateEventTrigger) {
-                UpdateEventTrigger ueTrigger = (UpdateEventTrigger) t;
-                Set<Rule> rules = updateEventTriggeredRules.get(ueTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    updateEventTriggeredRules.put(ueTrigger.getItem(), rules);
-                }
-                rules.add(rule);
-            } else if (t instanceof ChangedEventTrigger) {
-                ChangedEventTrigger ceTrigger = (ChangedEventTrigger) t;
-                Set<Rule> rules = changedEventTriggeredRules.get(ceTrigger.getItem());
-                if (rules == null) {
-                    rules = new HashSet<Rule>();
-                    changedEventTriggeredRules.put(ceTrigger.getItem(), rules);
-                }
-                rules.add(rule);
             } else if (t instanceof TimerTrigger) {
                 if (timerEventTriggeredRules.add(rule)) {
                     try {
@@ -375,7 +268,7 @@ public class RuleTriggerManager {
      * @param type the trigger type for which the rule should be removed
      * @param rule the rule to add
      */
-    public void removeRule(TriggerTypes type, Rule rule) {
+    public synchronized void removeRule(TriggerTypes type, Rule rule) {
         switch (type) {
             case STARTUP:
                 systemStartupTriggeredRules.remove(rule);
@@ -384,13 +277,13 @@ public class RuleTriggerManager {
                 systemShutdownTriggeredRules.remove(rule);
                 break;
             case UPDATE:
-                updateEventTriggeredRules.remove(rule);
+                updateEventTriggers.remove(Collections.singleton(rule));
                 break;
             case CHANGE:
-                changedEventTriggeredRules.remove(rule);
+                changedEventTriggers.remove(Collections.singleton(rule));
                 break;
             case COMMAND:
-                commandEventTriggeredRules.remove(rule);
+                commandEventTriggers.remove(Collections.singleton(rule));
                 break;
             case TIMER:
                 timerEventTriggeredRules.remove(rule);
@@ -404,7 +297,7 @@ public class RuleTriggerManager {
      * 
      * @param model the rule model
      */
-    public void addRuleModel(RuleModel model) {
+    public synchronized void addRuleModel(RuleModel model) {
         for (Rule rule : model.getRules()) {
             addRule(rule);
         }
@@ -415,10 +308,11 @@ public class RuleTriggerManager {
      * 
      * @param ruleModel the rule model
      */
-    public void removeRuleModel(RuleModel ruleModel) {
-        removeRules(UPDATE, updateEventTriggeredRules.values(), ruleModel);
-        removeRules(CHANGE, changedEventTriggeredRules.values(), ruleModel);
-        removeRules(COMMAND, commandEventTriggeredRules.values(), ruleModel);
+    public synchronized void removeRuleModel(RuleModel ruleModel) {
+        Collection<Rule> modelRules = ruleModel != null ? ruleModel.getRules() : Collections.<Rule> emptyList();
+        updateEventTriggers.remove(modelRules);
+        changedEventTriggers.remove(modelRules);
+        commandEventTriggers.remove(modelRules);
         removeRules(STARTUP, Collections.singletonList(systemStartupTriggeredRules), ruleModel);
         removeRules(SHUTDOWN, Collections.singletonList(systemShutdownTriggeredRules), ruleModel);
         removeRules(TIMER, Collections.singletonList(timerEventTriggeredRules), ruleModel);
@@ -525,4 +419,5 @@ public class RuleTriggerManager {
         }
         return jobIdentity;
     }
+
 }
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.ecore.InternalEObject
+import org.eclipse.smarthome.core.items.GenericItem
+import org.eclipse.smarthome.core.library.items.NumberItem
+import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.library.types.DecimalType
+import org.eclipse.smarthome.core.library.types.OnOffType
+import org.eclipse.smarthome.core.types.Command
+import org.eclipse.smarthome.core.types.State
+import org.eclipse.smarthome.model.rule.rules.EventTrigger
+import org.eclipse.smarthome.model.rule.rules.Rule
+import org.eclipse.smarthome.model.rule.rules.RulesFactory
+import org.eclipse.smarthome.model.rule.runtime.internal.engine.RuleTriggerManager.TriggerTypes
+import org.junit.Test
+
+/**
+ * The ItemTriggerIndexTest checks the matching of update, change and command triggers of rules.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemTriggerIndexTest {
+
+    def updateIndex = new ItemTriggerIndex(TriggerTypes.UPDATE)
+    def changeIndex = new ItemTriggerIndex(TriggerTypes.CHANGE)
+    def commandIndex = new ItemTriggerIndex(TriggerTypes.COMMAND)
+
+    @Test
+    void 'assert decimal triggers match equal values of any scale'() {
+        def item = new NumberItem("Temperature")
+        def updateRule = createRule("update", updated("Temperature", "5"))
+        def commandRule = createRule("command", commanded("Temperature", "5.0"))
+        updateIndex.add(updateRule)
+        commandIndex.add(commandRule)
+
+        assertThat updateIndex.getRules(item, null, new DecimalType("5.0")), is([updateRule])
+        assertThat updateIndex.getRules(item, null, new DecimalType("5")), is([updateRule])
+        assertThat updateIndex.getRules(item, null, new DecimalType("5.5")), is([])
+        assertThat commandIndex.getRules(item, null, new DecimalType("5")), is([commandRule])
+    }
+
+    @Test
+    void 'assert changed triggers match their old and new states'() {
+        def item = new SwitchItem("Light")
+        def fromOffToOn = createRule("fromOffToOn", changed("Light", "OFF", "ON"))
+        def toOn = createRule("toOn", changed("Light", null, "ON"))
+        def anyChange = createRule("anyChange", changed("Light", null, null))
+        [fromOffToOn, toOn, anyChange].each { changeIndex.add(it) }
+
+        assertThat changeIndex.getRules(item, OnOffType.OFF, OnOffType.ON) as Set,
+                is([fromOffToOn, toOn, anyChange] as Set)
+        assertThat changeIndex.getRules(item, OnOffType.ON, OnOffType.OFF), is([anyChange])
+        assertThat changeIndex.getRules(new SwitchItem("Other"), OnOffType.OFF, OnOffType.ON), is([])
+    }
+
+    @Test
+    void 'assert triggers with unparseable values never match and do not affect the others'() {
+        def item = new SwitchItem("Light")
+        def unparseable = createRule("unparseable", updated("Light", "FOO"))
+        def on = createRule("on", updated("Light", "ON"))
+        updateIndex.add(unparseable)
+        updateIndex.add(on)
+
+        assertThat updateIndex.getRules(item, null, OnOffType.ON), is([on])
+        assertThat updateIndex.getRules(item, null, OnOffType.OFF), is([])
+    }
+
+    @Test
+    void 'assert triggers are parsed again when the accepted types of the item change'() {
+        def item = new TestItem("Value", [OnOffType])
+        def rule = createRule("five", updated("Value", "5"))
+        updateIndex.add(rule)
+
+        assertThat updateIndex.getRules(item, null, new DecimalType(5)), is([])
+
+        item.acceptedDataTypes = [DecimalType]
+        assertThat updateIndex.getRules(item, null, new DecimalType(5)), is([rule])
+    }
+
+    @Test
+    void 'assert a rule is only added once'() {
+        def item = new SwitchItem("Light")
+        def rule = createRule("on", updated("Light", "ON"), updated("Light", null))
+        updateIndex.add(rule)
+        updateIndex.add(rule)
+
+        assertThat updateIndex.getRules(item, null, OnOffType.ON), is([rule, rule])
+        assertThat updateIndex.getAll() as List, is([rule])
+    }
+
+    @Test
+    void 'assert removed rules and rules of unloaded models do not match anymore'() {
+        def item = new SwitchItem("Light")
+        def rule1 = createRule("rule1", updated("Light", "ON"))
+        def rule2 = createRule("rule2", updated("Light", "ON"))
+        def rule3 = createRule("rule3", updated("Light", "ON"))
+        [rule1, rule2, rule3].each { updateIndex.add(it) }
+
+        updateIndex.remove([rule1])
+        assertThat updateIndex.getRules(item, null, OnOffType.ON), is([rule2, rule3])
+
+        // the rules of a removed model become proxies
+        ((InternalEObject) rule2).eSetProxyURI(URI.createURI("test.rules#rule2"))
+        updateIndex.remove([])
+        assertThat updateIndex.getRules(item, null, OnOffType.ON), is([rule3])
+
+        updateIndex.remove([rule3])
+        assertThat updateIndex.getRules(item, null, OnOffType.ON), is([])
+        assertThat updateIndex.getAll() as List, is([])
+    }
+
+    def createRule(String name, EventTrigger... triggers) {
+        Rule rule = RulesFactory.eINSTANCE.createRule()
+        rule.name = name
+        rule.eventtrigger.addAll(triggers)
+        return rule
+    }
+
+    def updated(String itemName, String state) {
+        def trigger = RulesFactory.eINSTANCE.createUpdateEventTrigger()
+        trigger.item = itemName
+        trigger.state = state
+        return trigger
+    }
+
+    def changed(String itemName, String oldState, String newState) {
+        def trigger = RulesFactory.eINSTANCE.createChangedEventTrigger()
+        trigger.item = itemName
+        trigger.oldState = oldState
+        trigger.newState = newState
+        return trigger
+    }
+
+    def commanded(String itemName, String command) {
+        def trigger = RulesFactory.eINSTANCE.createCommandEventTrigger()
+        trigger.item = itemName
+        trigger.command = command
+        return trigger
+    }
+
+    class TestItem extends GenericItem {
+
+        List<Class<? extends State>> acceptedDataTypes
+
+        TestItem(String name, List<Class<? extends State>> acceptedDataTypes) {
+            super("Test", name)
+            this.acceptedDataTypes = acceptedDataTypes
+        }
+
+        @Override
+        public List<Class<? extends State>> getAcceptedDataTypes() {
+            return acceptedDataTypes
+        }
+
+        @Override
+        public List<Class<? extends Command>> getAcceptedCommandTypes() {
+            return []
+        }
+    }
+}
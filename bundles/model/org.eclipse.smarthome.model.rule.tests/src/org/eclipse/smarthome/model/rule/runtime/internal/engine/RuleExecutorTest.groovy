@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.rule.runtime.internal.engine
+
+import static org.hamcrest.CoreMatchers.*
+import static org.junit.Assert.*
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.eclipse.smarthome.core.metrics.MetricsManager
+import org.eclipse.smarthome.core.scriptengine.Script
+import org.junit.After
+import org.junit.Test
+
+/**
+ * The RuleExecutorTest checks the serialization, the queue bounds and the rejection of rule executions and the ids
+ * of the rules.
+ *
+ * @author agent - Initial contribution
+ */
+class RuleExecutorTest {
+
+    def calls = Collections.synchronizedList([])
+
+    def executor
+
+    @After
+    void tearDown() {
+        executor?.shutdown()
+        RuleExecutor.retainExecutionTimes([] as Set)
+    }
+
+    @Test
+    void 'assert a serialized rule never runs concurrently with itself'() {
+        executor = new RuleExecutor(4, 100, true)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(11)
+        (1..10).each { i ->
+            executor.execute("rule", "rule", script {
+                maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()))
+                blocker.await()
+                calls.add(i)
+                running.decrementAndGet()
+                done.countDown()
+            }, null)
+        }
+        executor.execute("other", "other", script {
+            calls.add("other")
+            done.countDown()
+        }, null)
+
+        // the other rule is not held up by the blocked rule
+        waitFor { calls.contains("other") }
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat maxRunning.get(), is(1)
+        assertThat calls, is(["other"] + (1..10).toList())
+    }
+
+    @Test
+    void 'assert executions beyond the queue capacity are rejected'() {
+        executor = new RuleExecutor(1, 2, false)
+        def started = new CountDownLatch(1)
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(3)
+        assertThat executor.execute("blocking", "blocking", script {
+            started.countDown()
+            blocker.await()
+            done.countDown()
+        }, null), is(true)
+        assertThat started.await(5, TimeUnit.SECONDS), is(true)
+
+        assertThat executor.execute("queued1", "queued1", script { done.countDown() }, null), is(true)
+        assertThat executor.execute("queued2", "queued2", script { done.countDown() }, null), is(true)
+        assertThat executor.execute("rejected", "rejected", script { calls.add("rejected") }, null), is(false)
+        assertThat executor.getRejectedExecutions(), is(1L)
+        assertThat executor.getExecutions().collect { it.ruleName + ":" + it.running } as Set,
+                is(["blocking:true", "queued1:false", "queued2:false"] as Set)
+
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is([])
+        waitFor { executor.getExecutions().isEmpty() }
+        assertThat executor.execute("accepted", "accepted", script { calls.add("accepted") }, null), is(true)
+    }
+
+    @Test
+    void 'assert the waiting executions of a serialized rule are bounded by the queue capacity'() {
+        executor = new RuleExecutor(1, 2, true)
+        def started = new CountDownLatch(1)
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(3)
+        executor.execute("rule", "rule", script {
+            started.countDown()
+            blocker.await()
+            done.countDown()
+        }, null)
+        assertThat started.await(5, TimeUnit.SECONDS), is(true)
+
+        assertThat executor.execute("rule", "rule", script { done.countDown() }, null), is(true)
+        assertThat executor.execute("rule", "rule", script { done.countDown() }, null), is(true)
+        assertThat executor.execute("rule", "rule", script { calls.add("rejected") }, null), is(false)
+        assertThat executor.getRejectedExecutions(), is(1L)
+
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is([])
+    }
+
+    @Test
+    void 'assert an accepted execution of a serialized rule is not discarded when the pool is full'() {
+        executor = new RuleExecutor(1, 1, true)
+        def started = new CountDownLatch(1)
+        def blocker = new CountDownLatch(1)
+        def done = new CountDownLatch(3)
+        executor.execute("rule", "rule", script {
+            started.countDown()
+            blocker.await()
+            calls.add("first")
+            done.countDown()
+        }, null)
+        assertThat started.await(5, TimeUnit.SECONDS), is(true)
+        assertThat executor.execute("rule", "rule", script {
+            calls.add("second")
+            done.countDown()
+        }, null), is(true)
+        assertThat executor.execute("other", "other", script {
+            calls.add("other")
+            done.countDown()
+        }, null), is(true)
+
+        blocker.countDown()
+
+        assertThat done.await(5, TimeUnit.SECONDS), is(true)
+        assertThat calls, is(["first", "second", "other"])
+        assertThat executor.getRejectedExecutions(), is(0L)
+    }
+
+    @Test
+    void 'assert rules with the same name get different ids, which are valid metric names'() {
+        def id = RuleExecutor.getRuleId("demo.rules", 3, "Switch the light.on")
+
+        assertThat id, is("demo_rules.3.Switch_the_light_on")
+        assertThat RuleExecutor.getRuleId("demo.rules", 4, "Switch the light.on"), is(not(id))
+        assertThat RuleExecutor.getRuleId("other.rules", 3, "Switch the light.on"), is(not(id))
+        assertThat RuleExecutor.getRuleId(null, 0, "rule"), is("unknown.0.rule")
+    }
+
+    @Test
+    void 'assert executions are rejected after shutdown'() {
+        executor = new RuleExecutor(1, 2, true)
+        executor.shutdown()
+
+        assertThat executor.execute("rule", "rule", script { calls.add("rule") }, null), is(false)
+        assertThat executor.execute("rule", "rule", script { calls.add("rule") }, null), is(false)
+        Thread.sleep(100)
+
+        assertThat calls, is([])
+        assertThat executor.getExecutions(), is([])
+    }
+
+    @Test
+    void 'assert the execution times of removed rules are dropped'() {
+        RuleExecutor.recordExecutionTime("kept", 100)
+        RuleExecutor.recordExecutionTime("removed", 100)
+
+        RuleExecutor.retainExecutionTimes(["kept"] as Set)
+
+        def metrics = MetricsManager.getRegistry().getMetrics()
+        assertThat metrics.containsKey("rules.execution.time.kept"), is(true)
+        assertThat metrics.containsKey("rules.execution.time.removed"), is(false)
+        assertThat metrics.containsKey("rules.execution.time"), is(true)
+    }
+
+    def script(Closure closure) {
+        return [execute: { context -> closure() }] as Script
+    }
+
+    def waitFor(Closure condition) {
+        def deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertThat condition(), is(true)
+    }
+}
@@ -10,7 +10,11 @@ package org.eclipse.smarthome.model.script.runtime.internal.engine;
 import static com.google.common.collect.Iterables.filter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -18,6 +22,13 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.metrics.Counter;
+import org.eclipse.smarthome.core.metrics.Gauge;
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
 import org.eclipse.smarthome.core.scriptengine.Script;
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine;
 import org.eclipse.smarthome.core.scriptengine.ScriptExecutionException;
@@ -37,21 +48,66 @@ import com.google.common.base.Predicate;
 
 /**
  * This is the implementation of a {@link ScriptEngine} which is made available as an OSGi service.
+ * <p>
+ * The expressions parsed from strings are kept in a cache of the {@value #CACHE_SIZE} most recently used scripts, so
+ * that scripts, which are executed repeatedly, are parsed and validated only once. The synthetic resources of the
+ * scripts are removed from the resource set, when they are evicted from the cache or fail to parse. As the items are
+ * resolved when a script is parsed, the cache is cleared whenever items are added, updated or removed. Cache hits and
+ * misses are counted in the {@code scripts.cache.*} metrics of the {@link MetricsManager}, the parse durations in
+ * {@code scripts.parse.time}.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Oliver Libutzki - Reorganization of Guice injection
  *
  */
 @SuppressWarnings("restriction")
-public class ScriptEngineImpl implements ScriptEngine {
+public class ScriptEngineImpl implements ScriptEngine, ItemRegistryChangeListener {
+
+    /** the maximum number of parsed scripts in the cache */
+    public static final int CACHE_SIZE = 100;
+
+    private static final String CACHE_SIZE_METRIC = "scripts.cache.size";
 
     protected XtextResourceSet resourceSet;
 
+    /** guards the resource set, must be acquired before the cache */
+    private final Object parseLock = new Object();
+
+    /** the parsed scripts by their text in access order, guarded by itself */
+    private final Map<String, XExpression> parsedScripts = new LinkedHashMap<String, XExpression>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XExpression> eldest) {
+            if (size() > CACHE_SIZE) {
+                removeResource(eldest.getValue().eResource());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong syntheticResourceCount = new AtomicLong();
+
+    private final Counter cacheHits = MetricsManager.counter("scripts.cache.hits");
+
+    private final Counter cacheMisses = MetricsManager.counter("scripts.cache.misses");
+
+    private final Histogram parseTime = MetricsManager.histogram("scripts.parse.time");
+
     public ScriptEngineImpl() {
     }
 
     public void activate() {
-
+        MetricsManager.gauge(CACHE_SIZE_METRIC, new Gauge() {
+            @Override
+            public long getValue() {
+                synchronized (parsedScripts) {
+                    return parsedScripts.size();
+                }
+            }
+        });
     }
 
     private XtextResourceSet getResourceSet() {
@@ -63,7 +119,39 @@ public class ScriptEngineImpl implements ScriptEngine {
     }
 
     public void deactivate() {
-        this.resourceSet = null;
+        MetricsManager.getRegistry().remove(CACHE_SIZE_METRIC);
+        synchronized (parseLock) {
+            clearCache();
+            this.resourceSet = null;
+        }
+    }
+
+    public void setItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.addRegistryChangeListener(this);
+    }
+
+    public void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(this);
+    }
+
+    @Override
+    public void added(Item element) {
+        clearCache();
+    }
+
+    @Override
+    public void removed(Item element) {
+        clearCache();
+    }
+
+    @Override
+    public void updated(Item oldElement, Item element) {
+        clearCache();
+    }
+
+    @Override
+    public void allItemsChanged(Collection<String> oldItemNames) {
+        clearCache();
     }
 
     /**
@@ -93,10 +181,57 @@ public class ScriptEngineImpl implements ScriptEngine {
     }
 
     private XExpression parseScriptIntoXTextEObject(String scriptAsString) throws ScriptParsingException {
+        XExpression expression;
+        synchronized (parsedScripts) {
+            expression = parsedScripts.get(scriptAsString);
+        }
+        if (expression != null) {
+            cacheHits.increment();
+            return expression;
+        }
+        synchronized (parseLock) {
+            // the script might have been parsed while waiting for the lock
+            synchronized (parsedScripts) {
+                expression = parsedScripts.get(scriptAsString);
+            }
+            if (expression != null) {
+                cacheHits.increment();
+                return expression;
+            }
+            cacheMisses.increment();
+            long start = System.nanoTime();
+            try {
+                expression = parseScript(scriptAsString);
+            } finally {
+                parseTime.record(MetricsManager.elapsedMicros(start));
+            }
+            if (expression != null) {
+                synchronized (parsedScripts) {
+                    parsedScripts.put(scriptAsString, expression);
+                }
+            }
+            return expression;
+        }
+    }
+
+    private XExpression parseScript(String scriptAsString) throws ScriptParsingException {
         XtextResourceSet resourceSet = getResourceSet();
         Resource resource = resourceSet.createResource(computeUnusedUri(resourceSet)); // IS-A XtextResource
+        boolean parsed = false;
         try {
-            resource.load(new StringInputStream(scriptAsString), resourceSet.getLoadOptions());
+            XExpression expression = loadScript(resource, scriptAsString);
+            parsed = expression != null;
+            return expression;
+        } finally {
+            if (!parsed) {
+                removeResource(resource);
+            }
+        }
+    }
+
+    private XExpression loadScript(Resource resource, String scriptAsString) throws ScriptParsingException {
+        try {
+            resource.load(new StringInputStream(scriptAsString), resource.getResourceSet().getLoadOptions());
         } catch (IOException e) {
             throw new ScriptParsingException(
                     "Unexpected IOException; from close() of a String-based ByteArrayInputStream, no real I/O; how is that possible???",
@@ -124,12 +259,37 @@ public class ScriptEngineImpl implements ScriptEngine {
         }
     }
 
+    /**
+     * Removes the resources of all cached scripts from the resource set and clears the cache.
+     */
+    private void clearCache() {
+        synchronized (parseLock) {
+            synchronized (parsedScripts) {
+                for (XExpression expression : parsedScripts.values()) {
+                    removeResource(expression.eResource());
+                }
+                parsedScripts.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes a synthetic resource from the resource set. The resource is not unloaded, as the expression might still
+     * be executed by a script.
+     */
+    private void removeResource(Resource resource) {
+        if (resource != null && resource.getResourceSet() != null) {
+            resource.getResourceSet().getResources().remove(resource);
+        }
+    }
+
     protected URI computeUnusedUri(ResourceSet resourceSet) {
         String name = "__synthetic";
         final int MAX_TRIES = 1000;
         for (int i = 0; i < MAX_TRIES; i++) {
             // NOTE: The "filename extension" (".script") must match the file.extensions in the *.mwe2
-            URI syntheticUri = URI.createURI(name + Math.random() + "." + Script.SCRIPT_FILEEXT);
+            URI syntheticUri = URI.createURI(name + syntheticResourceCount.incrementAndGet() + "."
+                    + Script.SCRIPT_FILEEXT);
             if (resourceSet.getResource(syntheticUri, false) == null)
                 return syntheticUri;
         }
@@ -7,14 +7,21 @@
  */
 package org.eclipse.smarthome.model.script.tests.scriptengine
 
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import org.eclipse.smarthome.core.common.registry.ProviderChangeListener
 import org.eclipse.smarthome.core.items.ItemProvider;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.SwitchItem
+import org.eclipse.smarthome.core.metrics.MetricsManager
 import org.eclipse.smarthome.core.scriptengine.ScriptEngine
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.Before;
 import org.junit.Test
 import org.eclipse.smarthome.core.scriptengine.Script;
+import org.eclipse.smarthome.core.scriptengine.ScriptParsingException
 
 import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
@@ -30,15 +37,17 @@ class ScriptEngineOSGiTest extends OSGiTest {
 
 	ItemRegistry itemRegistry
 	ItemProvider itemProvider
+	ProviderChangeListener itemProviderListener
 	def ITEM_NAME = "Switch1"
+	def items = [new SwitchItem(ITEM_NAME)]
 
 	@Before
 	void setUp() {
 		itemRegistry = getService(ItemRegistry)
 		itemProvider = [
-			getAll: {[new SwitchItem(ITEM_NAME)]},
-			addProviderChangeListener: {def itemCHangeListener -> },
-			removeProviderChangeListener: {def itemCHangeListener -> }] as ItemProvider
+			getAll: {items},
+			addProviderChangeListener: {def itemChangeListener -> itemProviderListener = itemChangeListener},
+			removeProviderChangeListener: {def itemChangeListener -> }] as ItemProvider
 	}
 	
 	@Test
@@ -66,5 +75,135 @@ class ScriptEngineOSGiTest extends OSGiTest {
 		
 		unregisterService itemProvider
 	}
-	
+
+	@Test
+	void 'assert a script keeps no state of its previous executions'() {
+		Script script = getService(ScriptEngine).newScriptFromString("""
+			var count = 0
+			count = count + 1
+			count
+		""")
+
+		assertThat script.execute(), is(1)
+		assertThat script.execute(), is(1)
+	}
+
+	@Test
+	void 'assert a script can be executed by several threads at once'() {
+		Script script = getService(ScriptEngine).newScriptFromString("""
+			var sum = 0
+			var i = 0
+			while (i < 1000) {
+				sum = sum + i
+				i = i + 1
+			}
+			sum
+		""")
+		def executor = Executors.newFixedThreadPool(8)
+		try {
+			def tasks = (1..80).collect { [call: { script.execute() }] as Callable }
+			def results = executor.invokeAll(tasks, 30, TimeUnit.SECONDS)
+
+			assertThat results.collect { it.get() } as Set, is([499500] as Set)
+		} finally {
+			executor.shutdownNow()
+		}
+	}
+
+	@Test
+	void 'assert a script resolves the current item after the item has been replaced'() {
+		registerService itemProvider
+		Script script = getService(ScriptEngine).newScriptFromString(ITEM_NAME)
+		def oldItem = items[0]
+
+		// the second execution takes the item from the cache
+		assertThat script.execute(), is(sameInstance(oldItem))
+		assertThat script.execute(), is(sameInstance(oldItem))
+
+		def newItem = new SwitchItem(ITEM_NAME)
+		items = [newItem]
+		itemProviderListener.removed(itemProvider, oldItem)
+		itemProviderListener.added(itemProvider, newItem)
+
+		assertThat script.execute(), is(sameInstance(newItem))
+
+		items = []
+		itemProviderListener.removed(itemProvider, newItem)
+
+		assertThat script.execute(), is(nullValue())
+	}
+
+	@Test
+	void 'assert a repeatedly parsed script is taken from the cache'() {
+		registerService itemProvider
+		ScriptEngine scriptEngine = getService(ScriptEngine)
+		def script = ITEM_NAME + ".state == ON"
+
+		scriptEngine.newScriptFromString(script)
+		def hits = cacheHits()
+		def misses = cacheMisses()
+		scriptEngine.newScriptFromString(script)
+
+		assertThat cacheHits(), is(hits + 1)
+		assertThat cacheMisses(), is(misses)
+	}
+
+	@Test
+	void 'assert the cache is cleared when an item is added or removed'() {
+		registerService itemProvider
+		ScriptEngine scriptEngine = getService(ScriptEngine)
+		def script = ITEM_NAME + ".state == ON"
+		scriptEngine.newScriptFromString(script)
+		assertThat syntheticResources(scriptEngine).size(), is(not(0))
+
+		def newItem = new SwitchItem("Switch2")
+		items = items + newItem
+		itemProviderListener.added(itemProvider, newItem)
+
+		assertThat syntheticResources(scriptEngine).size(), is(0)
+		def misses = cacheMisses()
+		scriptEngine.newScriptFromString(script)
+		assertThat cacheMisses(), is(misses + 1)
+
+		items = items - newItem
+		itemProviderListener.removed(itemProvider, newItem)
+
+		assertThat syntheticResources(scriptEngine).size(), is(0)
+		scriptEngine.newScriptFromString(script)
+		assertThat cacheMisses(), is(misses + 2)
+	}
+
+	@Test
+	void 'assert the resources of evicted and unparseable scripts are removed from the resource set'() {
+		ScriptEngine scriptEngine = getService(ScriptEngine)
+		int cacheSize = scriptEngine.CACHE_SIZE
+
+		(0..cacheSize).each { i ->
+			scriptEngine.newScriptFromString("1 + " + i)
+		}
+
+		assertThat syntheticResources(scriptEngine).size(), is(cacheSize)
+
+		try {
+			scriptEngine.newScriptFromString("1 +")
+			fail("The script must not be parsed.")
+		} catch (ScriptParsingException e) {
+			// expected
+		}
+
+		assertThat syntheticResources(scriptEngine).size(), is(cacheSize)
+	}
+
+	def cacheHits() {
+		MetricsManager.counter("scripts.cache.hits").getCount()
+	}
+
+	def cacheMisses() {
+		MetricsManager.counter("scripts.cache.misses").getCount()
+	}
+
+	def syntheticResources(ScriptEngine scriptEngine) {
+		scriptEngine.@resourceSet.resources.findAll { it.URI.toString().startsWith("__synthetic") }
+	}
+
 }
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2014-2015 openHAB UG (haftungsbeschraenkt) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.smarthome.model.script.interpreter;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider;
+import org.eclipse.smarthome.model.script.scoping.StateAndCommandProvider;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * The {@link FeatureBindingCache} keeps what the {@link ScriptInterpreter} has resolved for the fields of the scripts
+ * and rules, so that a script, which is executed many times, does not resolve its names again on every execution:
+ * <ul>
+ * <li>whether a field has been inferred from the script model (i.e. is a variable, state, command or item) and to
+ * which state or command constant it refers; the entries are weakly referenced by the fields and dropped together with
+ * the model, when it is reloaded</li>
+ * <li>the items by their names; the entries are dropped whenever the item registry adds, updates or removes an item of
+ * the same name</li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@Singleton
+@SuppressWarnings("restriction")
+public class FeatureBindingCache {
+
+    /**
+     * The binding of a field of a script.
+     */
+    public static final class FieldBinding {
+
+        private static final FieldBinding NOT_INFERRED = new FieldBinding(false, null, null);
+
+        private final boolean inferred;
+        private final QualifiedName name;
+        private final Type constant;
+
+        private FieldBinding(boolean inferred, QualifiedName name, Type constant) {
+            this.inferred = inferred;
+            this.name = name;
+            this.constant = constant;
+        }
+
+        /**
+         * Returns whether the field has been inferred from the script model or is a Java field.
+         *
+         * @return true if the field is a variable, state, command or item, false if it is a Java field
+         */
+        public boolean isInferred() {
+            return inferred;
+        }
+
+        /**
+         * Returns the name of the variable or item.
+         *
+         * @return the name or null if the field is not inferred
+         */
+        public QualifiedName getName() {
+            return name;
+        }
+
+        /**
+         * Returns the state or command constant of the same name.
+         *
+         * @return the constant or null if there is none
+         */
+        public Type getConstant() {
+            return constant;
+        }
+    }
+
+    private final IItemRegistryProvider itemRegistryProvider;
+
+    private final IJvmModelAssociations jvmModelAssociations;
+
+    private final ImmutableMap<String, Type> constants;
+
+    private final ConcurrentMap<JvmField, FieldBinding> fieldBindings = new MapMaker().weakKeys().makeMap();
+
+    private final ConcurrentMap<String, Item> items = new MapMaker().makeMap();
+
+    /** incremented on every change of the item registry to discard items, which have been looked up before */
+    private final AtomicLong itemRegistryChanges = new AtomicLong();
+
+    private volatile ItemRegistry itemRegistry;
+
+    private final RegistryChangeListener<Item> itemRegistryChangeListener = new RegistryChangeListener<Item>() {
+
+        @Override
+        public void added(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void removed(Item element) {
+            invalidate(element.getName());
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            invalidate(oldElement.getName());
+            invalidate(element.getName());
+        }
+    };
+
+    @Inject
+    public FeatureBindingCache(IItemRegistryProvider itemRegistryProvider,
+            IJvmModelAssociations jvmModelAssociations, StateAndCommandProvider stateAndCommandProvider) {
+        this.itemRegistryProvider = itemRegistryProvider;
+        this.jvmModelAssociations = jvmModelAssociations;
+        ImmutableMap.Builder<String, Type> constants = ImmutableMap.builder();
+        for (Type type : stateAndCommandProvider.getAllTypes()) {
+            constants.put(type.toString(), type);
+        }
+        this.constants = constants.build();
+    }
+
+    /**
+     * Returns the binding of a field, which is resolved on the first call.
+     *
+     * @param field the field (must not be null)
+     * @return the binding (not null)
+     */
+    public FieldBinding getBinding(JvmField field) {
+        FieldBinding binding = fieldBindings.get(field);
+        if (binding == null) {
+            if (jvmModelAssociations.getSourceElements(field).isEmpty()) {
+                binding = FieldBinding.NOT_INFERRED;
+            } else {
+                String name = field.getSimpleName();
+                binding = new FieldBinding(true, QualifiedName.create(name), constants.get(name));
+            }
+            fieldBindings.put(field, binding);
+        }
+        return binding;
+    }
+
+    /**
+     * Returns the state or command constant of the given name.
+     *
+     * @param name the name of the constant, e.g. ON
+     * @return the constant or null if there is none
+     */
+    public Type getStateOrCommand(String name) {
+        return constants.get(name);
+    }
+
+    /**
+     * Returns the item of the given name.
+     *
+     * @param name the name of the item
+     * @return the item or null if the item does not exist or the item registry is not available
+     */
+    public Item getItem(String name) {
+        ItemRegistry itemRegistry = itemRegistryProvider.get();
+        if (itemRegistry == null) {
+            return null;
+        }
+        if (this.itemRegistry != itemRegistry && !track(itemRegistry)) {
+            return itemRegistry.get(name);
+        }
+        Item item = items.get(name);
+        if (item == null) {
+            long changes = itemRegistryChanges.get();
+            item = itemRegistry.get(name);
+            if (item != null) {
+                items.put(name, item);
+                // the registry might have changed while the item has been looked up
+                if (itemRegistryChanges.get() != changes) {
+                    items.remove(name, item);
+                }
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Listens to the given item registry, if it is not listened to yet.
+     *
+     * @return true if the items of the registry are cached, false if the registry has just been replaced
+     */
+    private synchronized boolean track(ItemRegistry itemRegistry) {
+        if (this.itemRegistry == itemRegistry) {
+            return true;
+        }
+        if (this.itemRegistry != null) {
+            this.itemRegistry.removeRegistryChangeListener(itemRegistryChangeListener);
+        }
+        this.itemRegistry = itemRegistry;
+        itemRegistry.addRegistryChangeListener(itemRegistryChangeListener);
+        itemRegistryChanges.incrementAndGet();
+        items.clear();
+        return false;
+    }
+
+    private void invalidate(String itemName) {
+        itemRegistryChanges.incrementAndGet();
+        items.remove(itemName);
+    }
+
+}
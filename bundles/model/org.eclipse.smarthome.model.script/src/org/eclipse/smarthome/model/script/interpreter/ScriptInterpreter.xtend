@@ -9,24 +9,21 @@ package org.eclipse.smarthome.model.script.interpreter;
 
 import com.google.inject.Inject
 import org.eclipse.smarthome.core.items.Item
-import org.eclipse.smarthome.core.items.ItemNotFoundException
 import org.eclipse.smarthome.core.types.Type
-import org.eclipse.smarthome.model.script.engine.IItemRegistryProvider
 import org.eclipse.smarthome.model.script.lib.NumberExtensions
-import org.eclipse.smarthome.model.script.scoping.StateAndCommandProvider
 import org.eclipse.xtext.common.types.JvmField
-import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.xbase.XAbstractFeatureCall
 import org.eclipse.xtext.xbase.XAssignment
 import org.eclipse.xtext.xbase.interpreter.IEvaluationContext
 import org.eclipse.xtext.xbase.interpreter.impl.XbaseInterpreter
-import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations
 import org.eclipse.xtext.common.types.JvmIdentifiableElement
 
 /**
  * The script interpreter handles ESH specific script components, which are not known
  * to the standard Xbase interpreter.
+ * The resolved fields, states, commands and items are kept in the {@link FeatureBindingCache},
+ * so that they are not resolved again whenever a script is executed.
  * 
  * @author Kai Kreuzer - Initial contribution and API
  * @author Oliver Libutzki - Xtext 2.5.0 migration
@@ -36,26 +33,19 @@ import org.eclipse.xtext.common.types.JvmIdentifiableElement
 public class ScriptInterpreter extends XbaseInterpreter {
 
 	@Inject
-	IItemRegistryProvider itemRegistryProvider
-
-	@Inject
-	StateAndCommandProvider stateAndCommandProvider
-
-	@Inject
-	extension IJvmModelAssociations
+	FeatureBindingCache featureBindingCache
 
 	override protected _invokeFeature(JvmField jvmField, XAbstractFeatureCall featureCall, Object receiver,
 		IEvaluationContext context, CancelIndicator indicator) {
 
 		// Check if the JvmField is inferred
-		val sourceElement = jvmField.sourceElements.head
-		if (sourceElement != null) {
-			val value = context.getValue(QualifiedName.create(jvmField.simpleName))
+		val binding = featureBindingCache.getBinding(jvmField)
+		if (binding.inferred) {
+			val value = context.getValue(binding.name)
 			value ?: {
 
 				// Looks like we have an state, command or item field
-				val fieldName = jvmField.simpleName
-				fieldName.stateOrCommand ?: fieldName.item
+				binding.constant ?: jvmField.simpleName.item
 			}
 		} else {
 			super._invokeFeature(jvmField, featureCall, receiver, context, indicator)
@@ -73,20 +63,11 @@ public class ScriptInterpreter extends XbaseInterpreter {
 	}
 
 	def protected Type getStateOrCommand(String name) {
-		for (Type type : stateAndCommandProvider.getAllTypes()) {
-			if (type.toString == name) {
-				return type
-			}
-		}
+		featureBindingCache.getStateOrCommand(name)
 	}
 
 	def protected Item getItem(String name) {
-		val itemRegistry = itemRegistryProvider.get()
-		try {
-			return itemRegistry.getItem(name);
-		} catch (ItemNotFoundException e) {
-			return null;
-		}
+		featureBindingCache.getItem(name)
 	}
 
 	override protected boolean eq(Object a, Object b) {
@@ -103,9 +84,9 @@ public class ScriptInterpreter extends XbaseInterpreter {
 		IEvaluationContext context, CancelIndicator indicator) {
 
 		// Check if the JvmField is inferred
-		val sourceElement = jvmField.sourceElements.head
-		if (sourceElement != null) {
-			context.assignValue(QualifiedName.create(jvmField.simpleName), value)
+		val binding = featureBindingCache.getBinding(jvmField)
+		if (binding.inferred) {
+			context.assignValue(binding.name, value)
 			value
 		} else {
 			super._assigneValueTo(jvmField, assignment, value, context, indicator)
@@ -9,8 +9,13 @@ package org.eclipse.smarthome.storage.mapdb;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
+import org.eclipse.smarthome.core.metrics.Histogram;
+import org.eclipse.smarthome.core.metrics.MetricsManager;
+import org.eclipse.smarthome.core.storage.BulkStorage;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.mapdb.DB;
 import org.slf4j.Logger;
@@ -25,11 +30,15 @@ import com.google.gson.GsonBuilder;
  * the given values using their JSON representation (generated by {@code Gson}.
  * This transformation should help maintaining version compatibility of the stored
  * data.
+ * <p>
+ * Every change is committed immediately, {@link #putAll(Map)} and {@link #removeAll(Collection)} commit all changes
+ * at once. The durations of the commits are recorded in the histogram {@code storage.commit.time} of the
+ * {@link MetricsManager}.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial Contribution and API
  * @author Alex Tugarev - Loading with Class.forName() if classLoader is null
  */
-public class MapDbStorage<T> implements Storage<T> {
+public class MapDbStorage<T> implements BulkStorage<T> {
 
     private static final String TYPE_SEPARATOR = "@@@";
 
@@ -41,6 +50,8 @@ public class MapDbStorage<T> implements Storage<T> {
 
     private transient Gson mapper;
 
+    private final Histogram commitTime = MetricsManager.histogram("storage.commit.time");
+
     public MapDbStorage(DB db, String name, ClassLoader classLoader) {
         this.db = db;
         this.classLoader = classLoader;
@@ -54,7 +65,7 @@ public class MapDbStorage<T> implements Storage<T> {
     @Override
     public T put(String key, T value) {
         String previousValue = map.put(key, serialize(value));
-        db.commit();
+        commit();
         return deserialize(previousValue);
     }
 
@@ -64,10 +75,45 @@ public class MapDbStorage<T> implements Storage<T> {
     @Override
     public T remove(String key) {
         String removedElement = map.remove(key);
-        db.commit();
+        commit();
         return deserialize(removedElement);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Map<String, T> values) {
+        Map<String, String> serializedValues = new LinkedHashMap<>();
+        for (Entry<String, T> value : values.entrySet()) {
+            serializedValues.put(value.getKey(), serialize(value.getValue()));
+        }
+        map.putAll(serializedValues);
+        commit();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, T> removeAll(Collection<String> keys) {
+        Map<String, T> removedValues = new LinkedHashMap<>();
+        for (String key : keys) {
+            String removedElement = map.remove(key);
+            if (removedElement != null) {
+                removedValues.put(key, deserialize(removedElement));
+            }
+        }
+        commit();
+        return removedValues;
+    }
+
+    private void commit() {
+        long start = System.nanoTime();
+        db.commit();
+        commitTime.record(MetricsManager.elapsedMicros(start));
+    }
+
     /**
      * {@inheritDoc}
      */
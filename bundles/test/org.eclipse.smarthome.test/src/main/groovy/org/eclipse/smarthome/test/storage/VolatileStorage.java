@@ -8,9 +8,11 @@
 package org.eclipse.smarthome.test.storage;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.smarthome.core.storage.BulkStorage;
 import org.eclipse.smarthome.core.storage.Storage;
 
 /**
@@ -19,7 +21,7 @@ import org.eclipse.smarthome.core.storage.Storage;
  * @author Thomas.Eichstaedt-Engelen - Initial Contribution and API
  * @author Kai Kreuzer - improved return values
  */
-public class VolatileStorage<T> implements Storage<T> {
+public class VolatileStorage<T> implements BulkStorage<T> {
 
     Map<String, T> storage = new ConcurrentHashMap<String, T>();
 
@@ -39,6 +41,29 @@ public class VolatileStorage<T> implements Storage<T> {
         return storage.remove(key);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Map<String, T> values) {
+        storage.putAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, T> removeAll(Collection<String> keys) {
+        Map<String, T> removedValues = new LinkedHashMap<>();
+        for (String key : keys) {
+            T removedValue = storage.remove(key);
+            if (removedValue != null) {
+                removedValues.put(key, removedValue);
+            }
+        }
+        return removedValues;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1046,6 +1046,13 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         }
     }
 
+    @Override
+    public void addAll(Collection<Item> elements) {
+        if (itemRegistry != null) {
+            itemRegistry.addAll(elements);
+        }
+    }
+
     @Override
     public Item update(Item element) {
         if (itemRegistry != null) {
@@ -1064,6 +1071,15 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         }
     }
 
+    @Override
+    public Collection<Item> removeAll(Collection<String> keys) {
+        if (itemRegistry != null) {
+            return itemRegistry.removeAll(keys);
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public Item get(String key) {
         if (itemRegistry != null) {